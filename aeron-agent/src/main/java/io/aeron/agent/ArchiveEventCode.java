@@ -67,6 +67,10 @@ public enum ArchiveEventCode implements EventCode
     CMD_IN_START_RECORDING2(31, StartRecordingRequest2Decoder.TEMPLATE_ID, ArchiveEventDissector::controlRequest),
     CMD_IN_EXTEND_RECORDING2(32, ExtendRecordingRequest2Decoder.TEMPLATE_ID, ArchiveEventDissector::controlRequest),
     CMD_IN_STOP_RECORDING_BY_IDENTITY(33, StopRecordingByIdentityRequestDecoder.TEMPLATE_ID,
+        ArchiveEventDissector::controlRequest),
+    CMD_IN_FIND_POSITION(34, FindPositionRequestDecoder.TEMPLATE_ID, ArchiveEventDissector::controlRequest),
+    CMD_IN_FILTERED_REPLAY(35, FilteredReplayRequestDecoder.TEMPLATE_ID, ArchiveEventDissector::controlRequest),
+    CMD_IN_LIST_RECORDINGS_PAGE(36, ListRecordingsPageRequestDecoder.TEMPLATE_ID,
         ArchiveEventDissector::controlRequest);
 
     static final int EVENT_CODE_TYPE = EventCodeType.ARCHIVE.getTypeCode();
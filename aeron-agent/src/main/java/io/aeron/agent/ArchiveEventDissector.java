@@ -77,6 +77,11 @@ final class ArchiveEventDissector
         new TaggedReplicateRequestDecoder();
     private static final StopRecordingByIdentityRequestDecoder STOP_RECORDING_BY_IDENTITY_REQUEST_DECODER =
         new StopRecordingByIdentityRequestDecoder();
+    private static final FindPositionRequestDecoder FIND_POSITION_REQUEST_DECODER = new FindPositionRequestDecoder();
+    private static final FilteredReplayRequestDecoder FILTERED_REPLAY_REQUEST_DECODER =
+        new FilteredReplayRequestDecoder();
+    private static final ListRecordingsPageRequestDecoder LIST_RECORDINGS_PAGE_REQUEST_DECODER =
+        new ListRecordingsPageRequestDecoder();
     private static final ControlResponseDecoder CONTROL_RESPONSE_DECODER = new ControlResponseDecoder();
 
     private ArchiveEventDissector()
@@ -385,6 +390,33 @@ final class ArchiveEventDissector
                 appendStopRecordingByIdentity(builder);
                 break;
 
+            case CMD_IN_FIND_POSITION:
+                FIND_POSITION_REQUEST_DECODER.wrap(
+                    buffer,
+                    offset + relativeOffset,
+                    HEADER_DECODER.blockLength(),
+                    HEADER_DECODER.version());
+                appendFindPosition(builder);
+                break;
+
+            case CMD_IN_FILTERED_REPLAY:
+                FILTERED_REPLAY_REQUEST_DECODER.wrap(
+                    buffer,
+                    offset + relativeOffset,
+                    HEADER_DECODER.blockLength(),
+                    HEADER_DECODER.version());
+                appendFilteredReplay(builder);
+                break;
+
+            case CMD_IN_LIST_RECORDINGS_PAGE:
+                LIST_RECORDINGS_PAGE_REQUEST_DECODER.wrap(
+                    buffer,
+                    offset + relativeOffset,
+                    HEADER_DECODER.blockLength(),
+                    HEADER_DECODER.version());
+                appendListRecordingsPage(builder);
+                break;
+
             default:
                 builder.append(": unknown command");
         }
@@ -574,6 +606,40 @@ final class ArchiveEventDissector
             .append(", recordingId=").append(STOP_RECORDING_BY_IDENTITY_REQUEST_DECODER.recordingId());
     }
 
+    private static void appendFindPosition(final StringBuilder builder)
+    {
+        builder.append(": controlSessionId=").append(FIND_POSITION_REQUEST_DECODER.controlSessionId())
+            .append(", correlationId=").append(FIND_POSITION_REQUEST_DECODER.correlationId())
+            .append(", recordingId=").append(FIND_POSITION_REQUEST_DECODER.recordingId())
+            .append(", timestamp=").append(FIND_POSITION_REQUEST_DECODER.timestamp());
+    }
+
+    private static void appendFilteredReplay(final StringBuilder builder)
+    {
+        builder.append(": controlSessionId=").append(FILTERED_REPLAY_REQUEST_DECODER.controlSessionId())
+            .append(", correlationId=").append(FILTERED_REPLAY_REQUEST_DECODER.correlationId())
+            .append(", recordingId=").append(FILTERED_REPLAY_REQUEST_DECODER.recordingId())
+            .append(", position=").append(FILTERED_REPLAY_REQUEST_DECODER.position())
+            .append(", length=").append(FILTERED_REPLAY_REQUEST_DECODER.length())
+            .append(", replayStreamId=").append(FILTERED_REPLAY_REQUEST_DECODER.replayStreamId())
+            .append(", filterType=").append(FILTERED_REPLAY_REQUEST_DECODER.filterType())
+            .append(", filterOffset=").append(FILTERED_REPLAY_REQUEST_DECODER.filterOffset())
+            .append(", filterMask=").append(FILTERED_REPLAY_REQUEST_DECODER.filterMask())
+            .append(", filterValue=").append(FILTERED_REPLAY_REQUEST_DECODER.filterValue())
+            .append(", replayChannel=");
+
+        FILTERED_REPLAY_REQUEST_DECODER.getReplayChannel(builder);
+    }
+
+    private static void appendListRecordingsPage(final StringBuilder builder)
+    {
+        builder.append(": controlSessionId=").append(LIST_RECORDINGS_PAGE_REQUEST_DECODER.controlSessionId())
+            .append(", correlationId=").append(LIST_RECORDINGS_PAGE_REQUEST_DECODER.correlationId())
+            .append(", fromRecordingId=").append(LIST_RECORDINGS_PAGE_REQUEST_DECODER.fromRecordingId())
+            .append(", recordCount=").append(LIST_RECORDINGS_PAGE_REQUEST_DECODER.recordCount())
+            .append(", projection=").append(LIST_RECORDINGS_PAGE_REQUEST_DECODER.projection());
+    }
+
     private static void appendStopPosition(final StringBuilder builder)
     {
         builder.append(": controlSessionId=").append(STOP_POSITION_REQUEST_DECODER.controlSessionId())
@@ -26,6 +26,7 @@ import java.util.EnumSet;
 import static io.aeron.agent.ArchiveEventCode.*;
 import static io.aeron.agent.CommonEventEncoder.*;
 import static io.aeron.agent.EventConfiguration.ARCHIVE_EVENT_CODES;
+import static io.aeron.agent.EventConfiguration.DROPPED_EVENTS;
 import static java.util.EnumSet.complementOf;
 import static java.util.EnumSet.of;
 
@@ -86,5 +87,9 @@ public final class ArchiveEventLogger
                 ringBuffer.commit(index);
             }
         }
+        else
+        {
+            DROPPED_EVENTS.incrementAndGet();
+        }
     }
 }
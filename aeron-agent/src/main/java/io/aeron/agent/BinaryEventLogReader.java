@@ -0,0 +1,200 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.agent;
+
+import org.agrona.IoUtil;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.aeron.agent.BinaryEventLogWriterAgent.*;
+import static io.aeron.agent.CommonEventDissector.dissectLogStartMessage;
+import static java.time.ZoneId.systemDefault;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.BitUtil.align;
+
+/**
+ * Offline tool to dissect the files written by {@link BinaryEventLogWriterAgent} into the same text format as
+ * {@link EventLogReaderAgent}.
+ * <p>
+ * Usage: {@code BinaryEventLogReader <file or directory>...} where a directory will have all binary event log files
+ * within it dissected in name order, which is the order they were written.
+ */
+public final class BinaryEventLogReader
+{
+    /**
+     * Type id passed to the handler for the start timestamps from the header of a file.
+     */
+    public static final int LOG_START_TYPE_ID = -1;
+
+    /**
+     * Dissect binary event log files to {@link System#out}.
+     *
+     * @param args files or directories of binary event log files.
+     */
+    public static void main(final String[] args)
+    {
+        if (0 == args.length)
+        {
+            System.err.println("Usage: BinaryEventLogReader <file or directory>...");
+            System.exit(-1);
+        }
+
+        final List<File> files = new ArrayList<>();
+        for (final String arg : args)
+        {
+            final File file = new File(arg);
+            if (file.isDirectory())
+            {
+                final File[] logFiles = file.listFiles(
+                    (dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+                if (null != logFiles)
+                {
+                    Arrays.sort(logFiles);
+                    files.addAll(Arrays.asList(logFiles));
+                }
+            }
+            else
+            {
+                files.add(file);
+            }
+        }
+
+        final PrintStream out = System.out;
+        final StringBuilder builder = new StringBuilder();
+        for (final File file : files)
+        {
+            out.println("file: " + file);
+            final boolean isEventLog = readFile(file, (msgTypeId, buffer, index, length) ->
+            {
+                builder.setLength(0);
+                dissect(msgTypeId, buffer, index, builder);
+                out.println(builder);
+            });
+
+            if (!isEventLog)
+            {
+                out.println("not a binary event log file: " + file);
+            }
+        }
+    }
+
+    /**
+     * Read the records of a binary event log file in the order they were written. Events are passed to the handler
+     * with the index being the start of the event as it was encoded in the ring buffer. The file header is passed
+     * first as a record of type {@link #LOG_START_TYPE_ID} with the start timestamps in ns and ms.
+     *
+     * @param file    to be read.
+     * @param handler for each record in the file.
+     * @return true if the file is a binary event log otherwise false.
+     */
+    public static boolean readFile(final File file, final MessageHandler handler)
+    {
+        final MappedByteBuffer mappedBuffer = IoUtil.mapExistingFile(file, "binary event log");
+        try
+        {
+            final UnsafeBuffer buffer = new UnsafeBuffer(mappedBuffer);
+            final int capacity = buffer.capacity();
+            if (capacity < FILE_HEADER_LENGTH ||
+                MAGIC != buffer.getIntVolatile(MAGIC_OFFSET) ||
+                VERSION != buffer.getInt(VERSION_OFFSET))
+            {
+                return false;
+            }
+
+            handler.onMessage(LOG_START_TYPE_ID, buffer, START_TIMESTAMP_NS_OFFSET, SIZE_OF_LONG + SIZE_OF_LONG);
+
+            int offset = FILE_HEADER_LENGTH;
+            while (offset <= capacity - RECORD_HEADER_LENGTH)
+            {
+                final int recordLength = buffer.getIntVolatile(offset + RECORD_LENGTH_OFFSET);
+                if (recordLength < RECORD_HEADER_LENGTH)
+                {
+                    break;
+                }
+
+                final int typeId = buffer.getInt(offset + RECORD_TYPE_ID_OFFSET);
+                handler.onMessage(
+                    typeId, buffer, offset + RECORD_HEADER_LENGTH, recordLength - RECORD_HEADER_LENGTH);
+
+                offset += align(recordLength, RECORD_ALIGNMENT);
+            }
+
+            return true;
+        }
+        finally
+        {
+            IoUtil.unmap(mappedBuffer);
+        }
+    }
+
+    /**
+     * Dissect a record from a binary event log file into text.
+     *
+     * @param typeId  of the record.
+     * @param buffer  containing the record.
+     * @param index   at which the event begins.
+     * @param builder to append the text to.
+     */
+    public static void dissect(
+        final int typeId, final MutableDirectBuffer buffer, final int index, final StringBuilder builder)
+    {
+        final int eventCodeTypeId = typeId >> 16;
+        final int eventCodeId = typeId & 0xFFFF;
+
+        if (LOG_START_TYPE_ID == typeId)
+        {
+            final long startTimestampNs = buffer.getLong(index);
+            final long startTimestampMs = buffer.getLong(index + SIZE_OF_LONG);
+            dissectLogStartMessage(startTimestampNs, startTimestampMs, systemDefault(), builder);
+        }
+        else if (DROPPED_EVENTS_TYPE_ID == typeId)
+        {
+            builder
+                .append('[')
+                .append(((double)buffer.getLong(index)) / 1_000_000_000.0)
+                .append("] dropped events total=")
+                .append(buffer.getLong(index + SIZE_OF_LONG));
+        }
+        else if (DriverEventCode.EVENT_CODE_TYPE == eventCodeTypeId)
+        {
+            DriverEventCode.get(eventCodeId).decode(buffer, index, builder);
+        }
+        else if (ArchiveEventCode.EVENT_CODE_TYPE == eventCodeTypeId)
+        {
+            ArchiveEventCode.get(eventCodeId).decode(buffer, index, builder);
+        }
+        else if (ClusterEventCode.EVENT_CODE_TYPE == eventCodeTypeId)
+        {
+            ClusterEventCode.get(eventCodeId).decode(buffer, index, builder);
+        }
+        else
+        {
+            builder.append("Unknown EventCodeType: ").append(eventCodeTypeId);
+        }
+    }
+
+    private BinaryEventLogReader()
+    {
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.agent;
+
+import org.agrona.IoUtil;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayDeque;
+
+import static io.aeron.agent.EventConfiguration.*;
+import static java.lang.System.*;
+import static org.agrona.BitUtil.*;
+import static org.agrona.SystemUtil.getSizeAsInt;
+
+/**
+ * Reader of {@link EventConfiguration#EVENT_RING_BUFFER} which copies the raw events without formatting into a
+ * sequence of memory-mapped rolling files so it can keep up with a busy producer. The files can be dissected into
+ * text offline with {@link BinaryEventLogReader}.
+ * <p>
+ * Each file begins with a header of {@link #FILE_HEADER_LENGTH} bytes:
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                            Magic                              |
+ *  +---------------------------------------------------------------+
+ *  |                           Version                             |
+ *  +---------------------------------------------------------------+
+ *  |                    Start Timestamp in ns                      |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                    Start Timestamp in ms                      |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                     File Sequence Number                      |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ * Followed by records aligned to {@link #RECORD_ALIGNMENT} which have a header of the unaligned record length and
+ * the event type id followed by the event as it was encoded into the ring buffer. A record length of 0 marks the end
+ * of the records in a file. The record length is written last with ordered semantics so a file can be followed while
+ * it is being written.
+ * <p>
+ * When events have been dropped because the ring buffer was full a record with type id
+ * {@link #DROPPED_EVENTS_TYPE_ID} is written which contains the timestamp in ns and the total of dropped events.
+ */
+public final class BinaryEventLogWriterAgent implements Agent, MessageHandler
+{
+    /**
+     * Directory in which the binary event log files will be created.
+     */
+    public static final String DIR_PROP_NAME = "aeron.event.log.binary.dir";
+
+    /**
+     * Length in bytes of each binary event log file.
+     */
+    public static final String FILE_LENGTH_PROP_NAME = "aeron.event.log.binary.file.length";
+
+    /**
+     * Default length in bytes of each binary event log file.
+     */
+    public static final int FILE_LENGTH_DEFAULT = 64 * 1024 * 1024;
+
+    /**
+     * Minimum length in bytes of a binary event log file so that any event will fit.
+     */
+    public static final int FILE_LENGTH_MIN = 64 * 1024;
+
+    /**
+     * Maximum number of binary event log files to retain before deleting the oldest.
+     */
+    public static final String MAX_FILES_PROP_NAME = "aeron.event.log.binary.max.files";
+
+    /**
+     * Default maximum number of binary event log files to retain before deleting the oldest.
+     */
+    public static final int MAX_FILES_DEFAULT = 10;
+
+    /**
+     * Prefix of the name for binary event log files.
+     */
+    public static final String FILE_PREFIX = "event-log-";
+
+    /**
+     * Suffix of the name for binary event log files.
+     */
+    public static final String FILE_SUFFIX = ".bin";
+
+    /**
+     * Magic number at the start of a binary event log file.
+     */
+    public static final int MAGIC = 0x41454C47;
+
+    /**
+     * Version of the binary event log file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Offset in the file header of the {@link #MAGIC} number.
+     */
+    public static final int MAGIC_OFFSET = 0;
+
+    /**
+     * Offset in the file header of the {@link #VERSION} of the file format.
+     */
+    public static final int VERSION_OFFSET = MAGIC_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Offset in the file header of the timestamp in ns at which the file was started.
+     */
+    public static final int START_TIMESTAMP_NS_OFFSET = VERSION_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Offset in the file header of the epoch timestamp in ms at which the file was started.
+     */
+    public static final int START_TIMESTAMP_MS_OFFSET = START_TIMESTAMP_NS_OFFSET + SIZE_OF_LONG;
+
+    /**
+     * Offset in the file header of the sequence number of the file which increases for each file rolled.
+     */
+    public static final int FILE_SEQUENCE_OFFSET = START_TIMESTAMP_MS_OFFSET + SIZE_OF_LONG;
+
+    /**
+     * Length of the file header after which the first record begins.
+     */
+    public static final int FILE_HEADER_LENGTH = CACHE_LINE_LENGTH;
+
+    /**
+     * Offset in a record header of the unaligned length of the record including the header.
+     */
+    public static final int RECORD_LENGTH_OFFSET = 0;
+
+    /**
+     * Offset in a record header of the type id of the event contained in the record.
+     */
+    public static final int RECORD_TYPE_ID_OFFSET = RECORD_LENGTH_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Length of a record header after which the encoded event begins.
+     */
+    public static final int RECORD_HEADER_LENGTH = RECORD_TYPE_ID_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Alignment of records in a file.
+     */
+    public static final int RECORD_ALIGNMENT = SIZE_OF_LONG;
+
+    /**
+     * Type id of a record which reports events dropped because the ring buffer was full. Ring buffer type ids are
+     * always positive so this does not clash with an event.
+     */
+    public static final int DROPPED_EVENTS_TYPE_ID = 0;
+
+    private static final int DROPPED_EVENTS_RECORD_LENGTH = RECORD_HEADER_LENGTH + SIZE_OF_LONG + SIZE_OF_LONG;
+
+    private final ManyToOneRingBuffer ringBuffer;
+    private final File dir;
+    private final int fileLength;
+    private final int maxFiles;
+    private final ArrayDeque<File> files = new ArrayDeque<>();
+    private final UnsafeBuffer buffer = new UnsafeBuffer(0, 0);
+    private MappedByteBuffer mappedBuffer;
+    private long startTimestampMs;
+    private long fileSequence = 0;
+    private long droppedEvents = 0;
+    private int offset;
+
+    BinaryEventLogWriterAgent()
+    {
+        this(
+            new File(getProperty(DIR_PROP_NAME, getProperty("java.io.tmpdir") + File.separator + "aeron-event-log")),
+            getSizeAsInt(FILE_LENGTH_PROP_NAME, FILE_LENGTH_DEFAULT),
+            Integer.getInteger(MAX_FILES_PROP_NAME, MAX_FILES_DEFAULT),
+            EVENT_RING_BUFFER);
+    }
+
+    BinaryEventLogWriterAgent(
+        final File dir, final int fileLength, final int maxFiles, final ManyToOneRingBuffer ringBuffer)
+    {
+        if (fileLength < FILE_LENGTH_MIN)
+        {
+            throw new IllegalArgumentException(
+                "binary event log file length less than min length of " + FILE_LENGTH_MIN + ": " + fileLength);
+        }
+
+        if (maxFiles < 1)
+        {
+            throw new IllegalArgumentException("binary event log max files must be at least 1: " + maxFiles);
+        }
+
+        this.dir = dir;
+        this.fileLength = fileLength;
+        this.maxFiles = maxFiles;
+        this.ringBuffer = ringBuffer;
+    }
+
+    public void onStart()
+    {
+        IoUtil.ensureDirectoryExists(dir, "binary event log");
+        startTimestampMs = currentTimeMillis();
+        droppedEvents = DROPPED_EVENTS.get();
+        rollFile();
+    }
+
+    public void onClose()
+    {
+        if (null != mappedBuffer)
+        {
+            IoUtil.unmap(mappedBuffer);
+            mappedBuffer = null;
+            buffer.wrap(0, 0);
+        }
+    }
+
+    public String roleName()
+    {
+        return "event-log-binary-writer";
+    }
+
+    public int doWork()
+    {
+        int workCount = ringBuffer.read(this);
+
+        final long droppedEvents = DROPPED_EVENTS.get();
+        if (droppedEvents != this.droppedEvents)
+        {
+            this.droppedEvents = droppedEvents;
+            final int recordOffset = claim(DROPPED_EVENTS_RECORD_LENGTH);
+            buffer.putLong(recordOffset + RECORD_HEADER_LENGTH, nanoTime());
+            buffer.putLong(recordOffset + RECORD_HEADER_LENGTH + SIZE_OF_LONG, droppedEvents);
+            commit(recordOffset, DROPPED_EVENTS_TYPE_ID, DROPPED_EVENTS_RECORD_LENGTH);
+            ++workCount;
+        }
+
+        return workCount;
+    }
+
+    public void onMessage(final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+    {
+        final int recordLength = RECORD_HEADER_LENGTH + length;
+        final int recordOffset = claim(recordLength);
+
+        this.buffer.putBytes(recordOffset + RECORD_HEADER_LENGTH, buffer, index, length);
+        commit(recordOffset, msgTypeId, recordLength);
+    }
+
+    /**
+     * Name of a binary event log file for a run of the writer.
+     *
+     * @param startTimestampMs at which the writer was started.
+     * @param fileSequence     of the file within the run.
+     * @return name of a binary event log file for a run of the writer.
+     */
+    public static String fileName(final long startTimestampMs, final long fileSequence)
+    {
+        return FILE_PREFIX + String.format("%013d-%08d", startTimestampMs, fileSequence) + FILE_SUFFIX;
+    }
+
+    private int claim(final int recordLength)
+    {
+        if (offset + align(recordLength, RECORD_ALIGNMENT) > fileLength)
+        {
+            rollFile();
+        }
+
+        final int recordOffset = offset;
+        offset += align(recordLength, RECORD_ALIGNMENT);
+
+        return recordOffset;
+    }
+
+    private void commit(final int recordOffset, final int typeId, final int recordLength)
+    {
+        buffer.putInt(recordOffset + RECORD_TYPE_ID_OFFSET, typeId);
+        buffer.putIntOrdered(recordOffset + RECORD_LENGTH_OFFSET, recordLength);
+    }
+
+    private void rollFile()
+    {
+        onClose();
+
+        final File file = new File(dir, fileName(startTimestampMs, fileSequence));
+        mappedBuffer = IoUtil.mapNewFile(file, fileLength, false);
+        buffer.wrap(mappedBuffer);
+
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putLong(START_TIMESTAMP_NS_OFFSET, nanoTime());
+        buffer.putLong(START_TIMESTAMP_MS_OFFSET, currentTimeMillis());
+        buffer.putLong(FILE_SEQUENCE_OFFSET, fileSequence);
+        buffer.putIntOrdered(MAGIC_OFFSET, MAGIC);
+
+        offset = FILE_HEADER_LENGTH;
+        ++fileSequence;
+
+        files.addLast(file);
+        while (files.size() > maxFiles)
+        {
+            IoUtil.delete(files.pollFirst(), true);
+        }
+    }
+}
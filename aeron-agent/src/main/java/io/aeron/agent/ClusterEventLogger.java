@@ -25,6 +25,7 @@ import static io.aeron.agent.ClusterEventCode.NEW_LEADERSHIP_TERM;
 import static io.aeron.agent.ClusterEventEncoder.*;
 import static io.aeron.agent.CommonEventEncoder.captureLength;
 import static io.aeron.agent.CommonEventEncoder.encodedLength;
+import static io.aeron.agent.EventConfiguration.DROPPED_EVENTS;
 import static io.aeron.agent.EventConfiguration.EVENT_RING_BUFFER;
 
 /**
@@ -80,6 +81,10 @@ public final class ClusterEventLogger
                 ringBuffer.commit(index);
             }
         }
+        else
+        {
+            DROPPED_EVENTS.incrementAndGet();
+        }
     }
 
     public <T extends Enum<T>> void logStateChange(
@@ -108,6 +113,10 @@ public final class ClusterEventLogger
                 ringBuffer.commit(index);
             }
         }
+        else
+        {
+            DROPPED_EVENTS.incrementAndGet();
+        }
     }
 
     public static int toEventCodeId(final ClusterEventCode eventCode)
@@ -28,7 +28,10 @@ import static io.aeron.agent.DriverEventCode.*;
 import static io.aeron.agent.DriverEventEncoder.encode;
 import static io.aeron.agent.DriverEventEncoder.*;
 import static io.aeron.agent.EventConfiguration.DRIVER_EVENT_CODES;
+import static io.aeron.agent.EventConfiguration.DROPPED_EVENTS;
 import static io.aeron.agent.EventConfiguration.EVENT_RING_BUFFER;
+import static io.aeron.agent.EventConfiguration.FRAME_IN_FILTER;
+import static io.aeron.agent.EventConfiguration.FRAME_OUT_FILTER;
 import static org.agrona.BitUtil.SIZE_OF_INT;
 import static org.agrona.BitUtil.SIZE_OF_LONG;
 
@@ -66,12 +69,21 @@ public final class DriverEventLogger
                     ringBuffer.commit(index);
                 }
             }
+            else
+            {
+                DROPPED_EVENTS.incrementAndGet();
+            }
         }
     }
 
     public void logFrameIn(
         final DirectBuffer srcBuffer, final int srcOffset, final int bufferLength, final InetSocketAddress dstAddress)
     {
+        if (!FRAME_IN_FILTER.shouldLog(srcBuffer, srcOffset, bufferLength))
+        {
+            return;
+        }
+
         final int length = bufferLength + socketAddressLength(dstAddress);
         final int captureLength = captureLength(length);
         final int encodedLength = encodedLength(captureLength);
@@ -89,10 +101,19 @@ public final class DriverEventLogger
                 ringBuffer.commit(index);
             }
         }
+        else
+        {
+            DROPPED_EVENTS.incrementAndGet();
+        }
     }
 
     public void logFrameOut(final ByteBuffer srcBuffer, final InetSocketAddress dstAddress)
     {
+        if (!FRAME_OUT_FILTER.shouldLog(srcBuffer, srcBuffer.position(), srcBuffer.remaining()))
+        {
+            return;
+        }
+
         final int length = srcBuffer.remaining() + socketAddressLength(dstAddress);
         final int captureLength = captureLength(length);
         final int encodedLength = encodedLength(captureLength);
@@ -116,6 +137,10 @@ public final class DriverEventLogger
                 ringBuffer.commit(index);
             }
         }
+        else
+        {
+            DROPPED_EVENTS.incrementAndGet();
+        }
     }
 
     public void logPublicationRemoval(final String uri, final int sessionId, final int streamId)
@@ -137,6 +162,10 @@ public final class DriverEventLogger
                 ringBuffer.commit(index);
             }
         }
+        else
+        {
+            DROPPED_EVENTS.incrementAndGet();
+        }
     }
 
     public void logSubscriptionRemoval(final String uri, final int streamId, final long id)
@@ -158,6 +187,10 @@ public final class DriverEventLogger
                 ringBuffer.commit(index);
             }
         }
+        else
+        {
+            DROPPED_EVENTS.incrementAndGet();
+        }
     }
 
     public void logImageRemoval(final String uri, final int sessionId, final int streamId, final long id)
@@ -179,6 +212,10 @@ public final class DriverEventLogger
                 ringBuffer.commit(index);
             }
         }
+        else
+        {
+            DROPPED_EVENTS.incrementAndGet();
+        }
     }
 
     public void logString(final DriverEventCode code, final String value)
@@ -199,6 +236,10 @@ public final class DriverEventLogger
                 ringBuffer.commit(index);
             }
         }
+        else
+        {
+            DROPPED_EVENTS.incrementAndGet();
+        }
     }
 
     public static int toEventCodeId(final DriverEventCode code)
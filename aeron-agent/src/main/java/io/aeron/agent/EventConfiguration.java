@@ -21,6 +21,7 @@ import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
 
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import static io.aeron.agent.DriverEventCode.*;
@@ -68,6 +69,39 @@ final class EventConfiguration
      */
     public static final String ENABLED_CLUSTER_EVENT_CODES_PROP_NAME = "aeron.event.cluster.log";
 
+    /**
+     * Comma separated list of stream ids for which {@link DriverEventCode#FRAME_IN} and
+     * {@link DriverEventCode#FRAME_OUT} events are logged. All streams are logged if not set.
+     */
+    public static final String FRAME_LOG_STREAM_IDS_PROP_NAME = "aeron.event.log.frame.stream.ids";
+
+    /**
+     * Comma separated list of session ids for which {@link DriverEventCode#FRAME_IN} and
+     * {@link DriverEventCode#FRAME_OUT} events are logged. All sessions are logged if not set.
+     */
+    public static final String FRAME_LOG_SESSION_IDS_PROP_NAME = "aeron.event.log.frame.session.ids";
+
+    /**
+     * Log 1 in N frames for {@link DriverEventCode#FRAME_IN} and {@link DriverEventCode#FRAME_OUT} events after
+     * filtering by stream and session id.
+     */
+    public static final String FRAME_LOG_SAMPLE_RATE_PROP_NAME = "aeron.event.log.frame.sample.rate";
+
+    /**
+     * Default for logging 1 in N frames which is to log every frame.
+     */
+    public static final int FRAME_LOG_SAMPLE_RATE_DEFAULT = 1;
+
+    /**
+     * Maximum number of frames per second, in each direction, to log after sampling. 0 means no limit.
+     */
+    public static final String FRAME_LOG_RATE_LIMIT_PROP_NAME = "aeron.event.log.frame.rate.limit";
+
+    /**
+     * Default maximum number of frames per second to log which is no limit.
+     */
+    public static final long FRAME_LOG_RATE_LIMIT_DEFAULT = 0;
+
     /**
      * Event codes for admin events within the driver, i.e. does not include frame capture.
      */
@@ -120,6 +154,11 @@ final class EventConfiguration
      */
     public static final ManyToOneRingBuffer EVENT_RING_BUFFER;
 
+    /**
+     * Count of events which could not be logged because {@link #EVENT_RING_BUFFER} was full.
+     */
+    public static final AtomicLong DROPPED_EVENTS = new AtomicLong();
+
     static
     {
         EVENT_RING_BUFFER = new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirectAligned(
@@ -130,6 +169,9 @@ final class EventConfiguration
     public static final EnumSet<ArchiveEventCode> ARCHIVE_EVENT_CODES = EnumSet.noneOf(ArchiveEventCode.class);
     public static final EnumSet<ClusterEventCode> CLUSTER_EVENT_CODES = EnumSet.noneOf(ClusterEventCode.class);
 
+    static final FrameLogFilter FRAME_IN_FILTER = new FrameLogFilter();
+    static final FrameLogFilter FRAME_OUT_FILTER = new FrameLogFilter();
+
     private EventConfiguration()
     {
     }
@@ -144,6 +186,13 @@ final class EventConfiguration
 
         CLUSTER_EVENT_CODES.clear();
         CLUSTER_EVENT_CODES.addAll(getEnabledClusterEventCodes(getProperty(ENABLED_CLUSTER_EVENT_CODES_PROP_NAME)));
+
+        final String streamIds = getProperty(FRAME_LOG_STREAM_IDS_PROP_NAME);
+        final String sessionIds = getProperty(FRAME_LOG_SESSION_IDS_PROP_NAME);
+        final int sampleRate = Integer.getInteger(FRAME_LOG_SAMPLE_RATE_PROP_NAME, FRAME_LOG_SAMPLE_RATE_DEFAULT);
+        final long rateLimit = Long.getLong(FRAME_LOG_RATE_LIMIT_PROP_NAME, FRAME_LOG_RATE_LIMIT_DEFAULT);
+        FRAME_IN_FILTER.configure(streamIds, sessionIds, sampleRate, rateLimit);
+        FRAME_OUT_FILTER.configure(streamIds, sessionIds, sampleRate, rateLimit);
     }
 
     /**
@@ -154,7 +203,10 @@ final class EventConfiguration
         DRIVER_EVENT_CODES.clear();
         ARCHIVE_EVENT_CODES.clear();
         CLUSTER_EVENT_CODES.clear();
+        FRAME_IN_FILTER.reset();
+        FRAME_OUT_FILTER.reset();
         EVENT_RING_BUFFER.unblock();
+        DROPPED_EVENTS.set(0);
     }
 
     /**
@@ -38,7 +38,8 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
  * A Java agent which when attached to a JVM will weave byte code to intercept events as defined by
  * {@link DriverEventCode}. Events are recorded to an in-memory {@link org.agrona.concurrent.ringbuffer.RingBuffer}
  * which is consumed and appended asynchronous to a log as defined by the class {@link #READER_CLASSNAME_PROP_NAME}
- * which defaults to {@link EventLogReaderAgent}.
+ * which defaults to {@link EventLogReaderAgent}. For high event rates {@link BinaryEventLogWriterAgent} can be used
+ * to write the raw events to file which can be dissected later with {@link BinaryEventLogReader}.
  */
 public final class EventLogAgent
 {
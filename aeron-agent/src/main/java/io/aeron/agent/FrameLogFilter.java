@@ -0,0 +1,258 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.agent;
+
+import org.agrona.DirectBuffer;
+import org.agrona.Strings;
+import org.agrona.collections.IntHashSet;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.aeron.protocol.HeaderFlyweight.*;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+
+/**
+ * Filter for {@link DriverEventCode#FRAME_IN} and {@link DriverEventCode#FRAME_OUT} events which is evaluated before
+ * the frame is copied into the ring buffer so frame logging can be left on with bounded overhead.
+ * <p>
+ * Frames can be filtered by stream id and session id, then sampled 1 in N, then rate limited with a token bucket
+ * which allows a burst of up to a second's worth of frames. A frame with a type which has no stream or session id,
+ * e.g. an error frame, is only filtered by id when no ids are configured.
+ * <p>
+ * The filter can be applied from multiple threads, e.g. the sender and receiver both send frames.
+ */
+final class FrameLogFilter
+{
+    private static final long ONE_SECOND_NS = TimeUnit.SECONDS.toNanos(1);
+    private static final int DATA_SESSION_ID_OFFSET = 12;
+    private static final int CONTROL_SESSION_ID_OFFSET = 8;
+
+    private final IntHashSet streamIds = new IntHashSet();
+    private final IntHashSet sessionIds = new IntHashSet();
+    private final AtomicLong frameCount = new AtomicLong();
+    private final AtomicLong theoreticalArrivalTimeNs = new AtomicLong();
+    private volatile boolean isEnabled = false;
+    private int sampleRate = 1;
+    private long emissionIntervalNs = 0;
+    private long burstToleranceNs = 0;
+
+    /**
+     * Configure the filter.
+     *
+     * @param streamIds          to be logged as a comma separated list, or null or empty for all streams.
+     * @param sessionIds         to be logged as a comma separated list, or null or empty for all sessions.
+     * @param sampleRate         to log 1 in N frames which pass the id filters.
+     * @param maxFramesPerSecond to be logged after sampling, or 0 for no limit.
+     */
+    void configure(
+        final String streamIds, final String sessionIds, final int sampleRate, final long maxFramesPerSecond)
+    {
+        if (sampleRate < 1)
+        {
+            throw new IllegalArgumentException("sample rate must be at least 1: " + sampleRate);
+        }
+
+        if (maxFramesPerSecond < 0)
+        {
+            throw new IllegalArgumentException("max frames per second must not be negative: " + maxFramesPerSecond);
+        }
+
+        isEnabled = false;
+
+        parseIds(streamIds, this.streamIds);
+        parseIds(sessionIds, this.sessionIds);
+        this.sampleRate = sampleRate;
+        emissionIntervalNs = 0 == maxFramesPerSecond ? 0 : Math.max(1, ONE_SECOND_NS / maxFramesPerSecond);
+        burstToleranceNs = ONE_SECOND_NS - emissionIntervalNs;
+        frameCount.set(0);
+        theoreticalArrivalTimeNs.set(0);
+
+        isEnabled = !this.streamIds.isEmpty() || !this.sessionIds.isEmpty() ||
+            sampleRate > 1 || 0 != emissionIntervalNs;
+    }
+
+    /**
+     * Reset the filter so all frames are logged.
+     */
+    void reset()
+    {
+        isEnabled = false;
+        streamIds.clear();
+        sessionIds.clear();
+        sampleRate = 1;
+        emissionIntervalNs = 0;
+        burstToleranceNs = 0;
+    }
+
+    /**
+     * Should a frame be logged.
+     *
+     * @param buffer containing the frame.
+     * @param offset at which the frame begins.
+     * @param length of the frame in bytes.
+     * @return true if the frame should be logged.
+     */
+    boolean shouldLog(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (!isEnabled)
+        {
+            return true;
+        }
+
+        if (!streamIds.isEmpty() || !sessionIds.isEmpty())
+        {
+            if (length < MIN_HEADER_LENGTH)
+            {
+                return false;
+            }
+
+            final int sessionIdOffset = sessionIdOffset(buffer.getShort(offset + TYPE_FIELD_OFFSET, LITTLE_ENDIAN));
+            if (sessionIdOffset < 0 || length < sessionIdOffset + (2 * SIZE_OF_INT))
+            {
+                return false;
+            }
+
+            final int sessionId = buffer.getInt(offset + sessionIdOffset, LITTLE_ENDIAN);
+            final int streamId = buffer.getInt(offset + sessionIdOffset + SIZE_OF_INT, LITTLE_ENDIAN);
+            if (!matches(sessionId, streamId))
+            {
+                return false;
+            }
+        }
+
+        return sample();
+    }
+
+    /**
+     * Should a frame be logged.
+     *
+     * @param buffer containing the frame.
+     * @param offset at which the frame begins.
+     * @param length of the frame in bytes.
+     * @return true if the frame should be logged.
+     */
+    boolean shouldLog(final ByteBuffer buffer, final int offset, final int length)
+    {
+        if (!isEnabled)
+        {
+            return true;
+        }
+
+        if (!streamIds.isEmpty() || !sessionIds.isEmpty())
+        {
+            if (length < MIN_HEADER_LENGTH)
+            {
+                return false;
+            }
+
+            final int sessionIdOffset = sessionIdOffset(getShort(buffer, offset + TYPE_FIELD_OFFSET));
+            if (sessionIdOffset < 0 || length < sessionIdOffset + (2 * SIZE_OF_INT))
+            {
+                return false;
+            }
+
+            final int sessionId = getInt(buffer, offset + sessionIdOffset);
+            final int streamId = getInt(buffer, offset + sessionIdOffset + SIZE_OF_INT);
+            if (!matches(sessionId, streamId))
+            {
+                return false;
+            }
+        }
+
+        return sample();
+    }
+
+    private boolean matches(final int sessionId, final int streamId)
+    {
+        return (streamIds.isEmpty() || streamIds.contains(streamId)) &&
+            (sessionIds.isEmpty() || sessionIds.contains(sessionId));
+    }
+
+    private boolean sample()
+    {
+        if (sampleRate > 1 && 0 != (frameCount.getAndIncrement() % sampleRate))
+        {
+            return false;
+        }
+
+        return 0 == emissionIntervalNs || tryAcquireToken();
+    }
+
+    private boolean tryAcquireToken()
+    {
+        final long nowNs = System.nanoTime();
+        while (true)
+        {
+            final long tatNs = theoreticalArrivalTimeNs.get();
+            final long newTatNs = Math.max(tatNs, nowNs) + emissionIntervalNs;
+            if (newTatNs - nowNs > burstToleranceNs + emissionIntervalNs)
+            {
+                return false;
+            }
+
+            if (theoreticalArrivalTimeNs.compareAndSet(tatNs, newTatNs))
+            {
+                return true;
+            }
+        }
+    }
+
+    private static int sessionIdOffset(final short type)
+    {
+        switch (type & 0xFFFF)
+        {
+            case HDR_TYPE_PAD:
+            case HDR_TYPE_DATA:
+            case HDR_TYPE_SETUP:
+                return DATA_SESSION_ID_OFFSET;
+
+            case HDR_TYPE_NAK:
+            case HDR_TYPE_SM:
+            case HDR_TYPE_RTTM:
+                return CONTROL_SESSION_ID_OFFSET;
+
+            default:
+                return -1;
+        }
+    }
+
+    private static short getShort(final ByteBuffer buffer, final int index)
+    {
+        final short value = buffer.getShort(index);
+        return LITTLE_ENDIAN == buffer.order() ? value : Short.reverseBytes(value);
+    }
+
+    private static int getInt(final ByteBuffer buffer, final int index)
+    {
+        final int value = buffer.getInt(index);
+        return LITTLE_ENDIAN == buffer.order() ? value : Integer.reverseBytes(value);
+    }
+
+    private static void parseIds(final String ids, final IntHashSet idSet)
+    {
+        idSet.clear();
+        if (!Strings.isEmpty(ids))
+        {
+            for (final String id : ids.split(","))
+            {
+                idSet.add(Integer.parseInt(id.trim()));
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.agent;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.aeron.agent.BinaryEventLogWriterAgent.*;
+import static org.agrona.BufferUtil.allocateDirectAligned;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryEventLogWriterAgentTest
+{
+    private static final int MSG_TYPE_ID = 7;
+
+    private final ManyToOneRingBuffer ringBuffer = new ManyToOneRingBuffer(
+        new UnsafeBuffer(allocateDirectAligned(64 * 1024 + TRAILER_LENGTH, 64)));
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[1024]);
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    public void shouldWriteEventsWhichCanBeReadBackInOrder()
+    {
+        final BinaryEventLogWriterAgent agent = new BinaryEventLogWriterAgent(
+            tempDir, FILE_LENGTH_MIN, 10, ringBuffer);
+        agent.onStart();
+
+        final int eventCount = 5;
+        for (int i = 0; i < eventCount; i++)
+        {
+            srcBuffer.putInt(0, i);
+            assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, 4 + i));
+        }
+
+        assertEquals(eventCount, agent.doWork());
+        agent.onClose();
+
+        final File[] files = logFiles();
+        assertEquals(1, files.length);
+
+        final List<Integer> values = new ArrayList<>();
+        assertTrue(BinaryEventLogReader.readFile(files[0], (msgTypeId, buffer, index, length) ->
+        {
+            if (MSG_TYPE_ID == msgTypeId)
+            {
+                assertEquals(4 + values.size(), length);
+                values.add(buffer.getInt(index));
+            }
+        }));
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), values);
+    }
+
+    @Test
+    public void shouldRollFilesAndDeleteOldest()
+    {
+        final int maxFiles = 2;
+        final BinaryEventLogWriterAgent agent = new BinaryEventLogWriterAgent(
+            tempDir, FILE_LENGTH_MIN, maxFiles, ringBuffer);
+        agent.onStart();
+
+        final int eventCount = (FILE_LENGTH_MIN / (srcBuffer.capacity() + RECORD_HEADER_LENGTH)) * 3;
+        for (int i = 0; i < eventCount; i++)
+        {
+            srcBuffer.putInt(0, i);
+            assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, srcBuffer.capacity()));
+            agent.doWork();
+        }
+
+        agent.onClose();
+
+        final File[] files = logFiles();
+        assertEquals(maxFiles, files.length);
+
+        final List<Integer> values = new ArrayList<>();
+        for (final File file : files)
+        {
+            BinaryEventLogReader.readFile(file, (msgTypeId, buffer, index, length) ->
+            {
+                if (MSG_TYPE_ID == msgTypeId)
+                {
+                    values.add(buffer.getInt(index));
+                }
+            });
+        }
+
+        assertEquals(eventCount - 1, (int)values.get(values.size() - 1));
+        for (int i = 1; i < values.size(); i++)
+        {
+            assertEquals(values.get(i - 1) + 1, (int)values.get(i));
+        }
+    }
+
+    @Test
+    public void shouldRecordDroppedEvents()
+    {
+        final BinaryEventLogWriterAgent agent = new BinaryEventLogWriterAgent(
+            tempDir, FILE_LENGTH_MIN, 10, ringBuffer);
+        agent.onStart();
+
+        final long expectedDroppedEvents = EventConfiguration.DROPPED_EVENTS.addAndGet(3);
+        assertEquals(1, agent.doWork());
+        assertEquals(0, agent.doWork());
+        agent.onClose();
+
+        final long[] droppedEvents = new long[1];
+        BinaryEventLogReader.readFile(logFiles()[0], (msgTypeId, buffer, index, length) ->
+        {
+            if (DROPPED_EVENTS_TYPE_ID == msgTypeId)
+            {
+                droppedEvents[0] = buffer.getLong(index + 8);
+            }
+        });
+
+        assertEquals(expectedDroppedEvents, droppedEvents[0]);
+    }
+
+    private File[] logFiles()
+    {
+        final File[] files = tempDir.listFiles((dir, name) -> name.startsWith(FILE_PREFIX));
+        Arrays.sort(files);
+
+        return files;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.agent;
+
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.StatusMessageFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_DATA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FrameLogFilterTest
+{
+    private final FrameLogFilter filter = new FrameLogFilter();
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+    private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+    private final StatusMessageFlyweight statusMessage = new StatusMessageFlyweight();
+
+    @Test
+    public void shouldLogAllFramesByDefault()
+    {
+        dataFrame(1, 2);
+
+        assertTrue(filter.shouldLog(buffer, 0, DataHeaderFlyweight.HEADER_LENGTH));
+        assertTrue(filter.shouldLog(buffer, 0, 0));
+    }
+
+    @Test
+    public void shouldFilterByStreamAndSessionId()
+    {
+        filter.configure("10,11", "7", 1, 0);
+
+        dataFrame(7, 10);
+        assertTrue(filter.shouldLog(buffer, 0, DataHeaderFlyweight.HEADER_LENGTH));
+
+        dataFrame(7, 12);
+        assertFalse(filter.shouldLog(buffer, 0, DataHeaderFlyweight.HEADER_LENGTH));
+
+        dataFrame(8, 11);
+        assertFalse(filter.shouldLog(buffer, 0, DataHeaderFlyweight.HEADER_LENGTH));
+
+        statusMessage.wrap(buffer, 0, buffer.capacity());
+        statusMessage.headerType(StatusMessageFlyweight.HDR_TYPE_SM);
+        statusMessage.sessionId(7).streamId(11);
+        assertTrue(filter.shouldLog(buffer, 0, StatusMessageFlyweight.HEADER_LENGTH));
+
+        assertFalse(filter.shouldLog(buffer, 0, 4));
+    }
+
+    @Test
+    public void shouldFilterByteBufferInEitherByteOrder()
+    {
+        filter.configure("10", null, 1, 0);
+        dataFrame(7, 10);
+
+        final ByteBuffer byteBuffer = ByteBuffer.allocate(64);
+        byteBuffer.put(buffer.byteArray(), 0, DataHeaderFlyweight.HEADER_LENGTH).flip();
+
+        assertTrue(filter.shouldLog(byteBuffer, 0, byteBuffer.remaining()));
+        byteBuffer.order(ByteOrder.LITTLE_ENDIAN);
+        assertTrue(filter.shouldLog(byteBuffer, 0, byteBuffer.remaining()));
+
+        dataFrame(7, 11);
+        byteBuffer.clear();
+        byteBuffer.put(buffer.byteArray(), 0, DataHeaderFlyweight.HEADER_LENGTH).flip();
+        assertFalse(filter.shouldLog(byteBuffer, 0, byteBuffer.remaining()));
+    }
+
+    @Test
+    public void shouldSampleOneInN()
+    {
+        filter.configure(null, null, 4, 0);
+        dataFrame(1, 2);
+
+        int logged = 0;
+        for (int i = 0; i < 100; i++)
+        {
+            if (filter.shouldLog(buffer, 0, DataHeaderFlyweight.HEADER_LENGTH))
+            {
+                ++logged;
+            }
+        }
+
+        assertEquals(25, logged);
+    }
+
+    @Test
+    public void shouldLimitRateToBurstOfOneSecond()
+    {
+        filter.configure(null, null, 1, 100);
+        dataFrame(1, 2);
+
+        int logged = 0;
+        for (int i = 0; i < 1000; i++)
+        {
+            if (filter.shouldLog(buffer, 0, DataHeaderFlyweight.HEADER_LENGTH))
+            {
+                ++logged;
+            }
+        }
+
+        assertTrue(logged >= 100 && logged <= 105, "logged=" + logged);
+    }
+
+    @Test
+    public void shouldLogAllFramesAfterReset()
+    {
+        filter.configure("10", null, 1000, 1);
+        dataFrame(1, 2);
+        assertFalse(filter.shouldLog(buffer, 0, DataHeaderFlyweight.HEADER_LENGTH));
+
+        filter.reset();
+        assertTrue(filter.shouldLog(buffer, 0, DataHeaderFlyweight.HEADER_LENGTH));
+    }
+
+    @Test
+    public void shouldRejectInvalidSampleRate()
+    {
+        assertThrows(IllegalArgumentException.class, () -> filter.configure(null, null, 0, 0));
+    }
+
+    private void dataFrame(final int sessionId, final int streamId)
+    {
+        dataHeader.wrap(buffer, 0, buffer.capacity());
+        dataHeader.headerType(HDR_TYPE_DATA);
+        dataHeader.sessionId(sessionId).streamId(streamId);
+    }
+}
@@ -28,6 +28,7 @@ abstract class AbstractListRecordingsSession implements Session
     protected final ControlResponseProxy proxy;
     protected final long correlationId;
     protected boolean isDone = false;
+    private volatile boolean isAborted;
 
     AbstractListRecordingsSession(
         final long correlationId,
@@ -45,12 +46,12 @@ abstract class AbstractListRecordingsSession implements Session
 
     public void abort()
     {
-        isDone = true;
+        isAborted = true;
     }
 
     public boolean isDone()
     {
-        return isDone;
+        return isDone || isAborted;
     }
 
     public long sessionId()
@@ -62,7 +63,7 @@ abstract class AbstractListRecordingsSession implements Session
     {
         int workCount = 0;
 
-        if (!isDone)
+        if (!isDone && !isAborted)
         {
             workCount += sendDescriptors();
         }
@@ -194,6 +194,16 @@ public class Archive implements AutoCloseable
          */
         static final String RECORDING_SEGMENT_SUFFIX = ".rec";
 
+        /**
+         * Recording timestamp index file suffix extension.
+         */
+        static final String RECORDING_INDEX_SUFFIX = ".idx";
+
+        /**
+         * Compressed recording segment file suffix extension.
+         */
+        static final String RECORDING_COMPRESSED_SEGMENT_SUFFIX = ".recz";
+
         /**
          * Maximum block length of data read from disk in a single operation during a replay.
          */
@@ -224,6 +234,123 @@ public class Archive implements AutoCloseable
          */
         public static final int SEGMENT_FILE_LENGTH_DEFAULT = 128 * 1024 * 1024;
 
+        /**
+         * Minimum number of bytes recorded between entries in the sparse timestamp index kept beside the segments of
+         * each recording which is used to find a position by timestamp. The index is disabled by default and is
+         * enabled by setting a positive interval, e.g. 256k.
+         */
+        public static final String RECORDING_INDEX_INTERVAL_PROP_NAME = "aeron.archive.recording.index.interval";
+
+        /**
+         * Default minimum number of bytes recorded between entries in the recording timestamp index which is 0 so the
+         * index is not kept unless an interval is configured.
+         *
+         * @see #RECORDING_INDEX_INTERVAL_PROP_NAME
+         */
+        public static final int RECORDING_INDEX_INTERVAL_DEFAULT = 0;
+
+        /**
+         * Should the recording timestamp index use the reserved value of the first frame in a block, e.g. a publish
+         * timestamp supplied by a {@link io.aeron.ReservedValueSupplier}, rather than the archive
+         * {@link EpochClock} time in ms when the block is recorded.
+         */
+        public static final String RECORDING_INDEX_RESERVED_VALUE_PROP_NAME =
+            "aeron.archive.recording.index.reserved.value";
+
+        /**
+         * Should recording segment files be memory mapped so blocks are copied directly into the page cache rather
+         * than written with a system call per block.
+         */
+        public static final String RECORDING_WRITER_MAPPED_PROP_NAME = "aeron.archive.recording.writer.mapped";
+
+        /**
+         * Minimum interval between syncs of a memory mapped recording segment to storage when
+         * {@link #FILE_SYNC_LEVEL_PROP_NAME} is greater than 0. A value of 0 syncs after every block, otherwise pending
+         * writes are synced on the recording session duty cycle once the interval has elapsed, as measured by
+         * {@link Context#nanoClock()}, even if no further blocks arrive.
+         */
+        public static final String RECORDING_WRITER_MAPPED_SYNC_INTERVAL_PROP_NAME =
+            "aeron.archive.recording.writer.mapped.sync.interval";
+
+        /**
+         * Default interval between syncs of a memory mapped recording segment which is after every block.
+         *
+         * @see #RECORDING_WRITER_MAPPED_SYNC_INTERVAL_PROP_NAME
+         */
+        public static final long RECORDING_WRITER_MAPPED_SYNC_INTERVAL_DEFAULT_NS = 0;
+
+        /**
+         * Should completed recording segments be compressed in the background to reduce the storage used by cold
+         * recordings. Compressed segments are decompressed on the fly when replayed.
+         */
+        public static final String SEGMENT_COMPRESSION_ENABLED_PROP_NAME = "aeron.archive.segment.compression.enabled";
+
+        /**
+         * Length of the uncompressed blocks a segment is divided into when compressed. Each block can be decompressed
+         * independently so this bounds the work to start a replay from any position.
+         */
+        public static final String SEGMENT_COMPRESSION_BLOCK_LENGTH_PROP_NAME =
+            "aeron.archive.segment.compression.block.length";
+
+        /**
+         * Default length of the uncompressed blocks a segment is divided into when compressed.
+         *
+         * @see #SEGMENT_COMPRESSION_BLOCK_LENGTH_PROP_NAME
+         */
+        public static final int SEGMENT_COMPRESSION_BLOCK_LENGTH_DEFAULT = 64 * 1024;
+
+        /**
+         * Deflate compression level from 1 to 9 used when compressing segments.
+         */
+        public static final String SEGMENT_COMPRESSION_LEVEL_PROP_NAME = "aeron.archive.segment.compression.level";
+
+        /**
+         * Default deflate compression level used when compressing segments which favours speed.
+         *
+         * @see #SEGMENT_COMPRESSION_LEVEL_PROP_NAME
+         */
+        public static final int SEGMENT_COMPRESSION_LEVEL_DEFAULT = 1;
+
+        /**
+         * Secondary directory, e.g. on a slower and larger mount, to which aged recording segments are moved. Tiering
+         * of segments is disabled when not set.
+         */
+        public static final String SECONDARY_DIR_PROP_NAME = "aeron.archive.secondary.dir";
+
+        /**
+         * Minimum time since a completed segment was last written before it is moved to the secondary directory.
+         */
+        public static final String SEGMENT_TIERING_AGE_PROP_NAME = "aeron.archive.segment.tiering.age";
+
+        /**
+         * Default minimum time since a completed segment was last written before it is moved to the secondary
+         * directory.
+         *
+         * @see #SEGMENT_TIERING_AGE_PROP_NAME
+         */
+        public static final long SEGMENT_TIERING_AGE_DEFAULT_NS = TimeUnit.HOURS.toNanos(24);
+
+        /**
+         * Minimum number of bytes a completed segment must be behind the latest position of a recording before it is
+         * moved to the secondary directory.
+         */
+        public static final String SEGMENT_TIERING_POSITION_THRESHOLD_PROP_NAME =
+            "aeron.archive.segment.tiering.position.threshold";
+
+        /**
+         * Default minimum number of bytes a completed segment must be behind the latest position of a recording before
+         * it is moved to the secondary directory.
+         *
+         * @see #SEGMENT_TIERING_POSITION_THRESHOLD_PROP_NAME
+         */
+        public static final long SEGMENT_TIERING_POSITION_THRESHOLD_DEFAULT = 0;
+
+        /**
+         * Should a replay from the secondary directory prefetch the next segment into the page cache while the
+         * current segment is being replayed.
+         */
+        public static final String SEGMENT_TIERING_PREFETCH_PROP_NAME = "aeron.archive.segment.tiering.prefetch";
+
         /**
          * The level at which recording files should be sync'ed to disk.
          * <ul>
@@ -313,6 +440,120 @@ public class Archive implements AutoCloseable
          */
         public static final int MAX_CONCURRENT_REPLAYS_DEFAULT = 20;
 
+        /**
+         * Maximum number of replications which can be active at a time. Further replications are queued and started
+         * in order as active replications complete. Replications which merge with a live stream are not queued so
+         * they can catch up promptly. A value of 0 means no limit.
+         */
+        public static final String MAX_CONCURRENT_REPLICATIONS_PROP_NAME = "aeron.archive.max.concurrent.replications";
+
+        /**
+         * Default maximum number of concurrent replications which is unlimited.
+         *
+         * @see #MAX_CONCURRENT_REPLICATIONS_PROP_NAME
+         */
+        public static final int MAX_CONCURRENT_REPLICATIONS_DEFAULT = 0;
+
+        /**
+         * Rate in bytes per second at which each replication is recorded. Replications which merge with a live stream
+         * are not paced. A value of 0 means no limit.
+         */
+        public static final String REPLICATION_RATE_LIMIT_PROP_NAME = "aeron.archive.replication.rate.limit";
+
+        /**
+         * Default rate in bytes per second at which each replication is recorded which is unlimited.
+         *
+         * @see #REPLICATION_RATE_LIMIT_PROP_NAME
+         */
+        public static final long REPLICATION_RATE_LIMIT_DEFAULT = 0;
+
+        /**
+         * Rate in bytes per second at which all replications combined are recorded so they do not starve live
+         * recordings. Replications which merge with a live stream are not paced. A value of 0 means no limit.
+         */
+        public static final String REPLICATION_AGGREGATE_RATE_LIMIT_PROP_NAME =
+            "aeron.archive.replication.aggregate.rate.limit";
+
+        /**
+         * Default rate in bytes per second at which all replications combined are recorded which is unlimited.
+         *
+         * @see #REPLICATION_AGGREGATE_RATE_LIMIT_PROP_NAME
+         */
+        public static final long REPLICATION_AGGREGATE_RATE_LIMIT_DEFAULT = 0;
+
+        /**
+         * Number of control session worker threads, in {@link ArchiveThreadingMode#DEDICATED} mode, across which
+         * listings of the catalog are partitioned by control session. A value of 0 means listings are run on the
+         * conductor thread.
+         * <p>
+         * Only the listing of recordings is offloaded. Polling control requests from clients and all other requests,
+         * such as starting and stopping recordings, replays, replication, and catalog updates, are still processed by
+         * the conductor, as are writes to the control response publications. Workers therefore help when large
+         * listings would otherwise hold up the conductor but do not scale the throughput of other control requests.
+         */
+        public static final String CONTROL_SESSION_WORKERS_PROP_NAME = "aeron.archive.control.session.workers";
+
+        /**
+         * Default number of control session worker threads which is none so listings run on the conductor thread.
+         *
+         * @see #CONTROL_SESSION_WORKERS_PROP_NAME
+         */
+        public static final int CONTROL_SESSION_WORKERS_DEFAULT = 0;
+
+        /**
+         * Maximum length in bytes read from a recording segment in a single operation during a replay. Smaller reads
+         * reduce the page cache held by concurrent replays at the cost of more system calls. Must be at least
+         * {@link #REPLAY_READ_LENGTH_MIN} so a frame always fits.
+         */
+        public static final String REPLAY_READ_LENGTH_PROP_NAME = "aeron.archive.replay.read.length";
+
+        /**
+         * Minimum replay read length which is large enough for a frame with the maximum MTU.
+         *
+         * @see #REPLAY_READ_LENGTH_PROP_NAME
+         */
+        public static final int REPLAY_READ_LENGTH_MIN = 64 * 1024;
+
+        /**
+         * Default replay read length which is the length of the replay buffer.
+         *
+         * @see #REPLAY_READ_LENGTH_PROP_NAME
+         */
+        public static final int REPLAY_READ_LENGTH_DEFAULT = MAX_BLOCK_LENGTH;
+
+        /**
+         * Length in bytes of a recording segment read ahead of a replay into the page cache on a helper thread so the
+         * replay does not stall on storage. A value of 0 leaves read ahead to the operating system.
+         */
+        public static final String REPLAY_READ_AHEAD_LENGTH_PROP_NAME = "aeron.archive.replay.read.ahead.length";
+
+        /**
+         * Default replay read ahead length which leaves read ahead to the operating system.
+         *
+         * @see #REPLAY_READ_AHEAD_LENGTH_PROP_NAME
+         */
+        public static final int REPLAY_READ_AHEAD_LENGTH_DEFAULT = 0;
+
+        /**
+         * Maximum length in bytes read ahead across all replays which has not yet been consumed by a replay. Further
+         * read ahead is deferred until replays catch up so the page cache held by read ahead is bounded.
+         */
+        public static final String REPLAY_READ_AHEAD_MAX_RESIDENT_LENGTH_PROP_NAME =
+            "aeron.archive.replay.read.ahead.max.resident.length";
+
+        /**
+         * Default maximum length in bytes read ahead across all replays which has not yet been consumed.
+         *
+         * @see #REPLAY_READ_AHEAD_MAX_RESIDENT_LENGTH_PROP_NAME
+         */
+        public static final long REPLAY_READ_AHEAD_MAX_RESIDENT_LENGTH_DEFAULT = 64 * 1024 * 1024;
+
+        /**
+         * Should a counter of the max time to read a block from storage be allocated for each replay.
+         */
+        public static final String REPLAY_READ_COUNTERS_ENABLED_PROP_NAME =
+            "aeron.archive.replay.read.counters.enabled";
+
         /**
          * Maximum number of entries for the archive {@link Catalog}. Increasing this limit will require use of the
          * {@link CatalogTool}. The number of entries can be reduced by extending existing recordings rather than
@@ -392,6 +633,34 @@ public class Archive implements AutoCloseable
          */
         public static final int ARCHIVE_CONTROL_SESSIONS_TYPE_ID = 102;
 
+        /**
+         * The type id of the {@link Counter} used for keeping track of the bytes of segments that were compressed.
+         */
+        public static final int ARCHIVE_SEGMENT_BYTES_COMPRESSED_IN_TYPE_ID = 103;
+
+        /**
+         * The type id of the {@link Counter} used for keeping track of the bytes written for compressed segments.
+         */
+        public static final int ARCHIVE_SEGMENT_BYTES_COMPRESSED_OUT_TYPE_ID = 104;
+
+        /**
+         * The type id of the {@link Counter} used for keeping track of the bytes of segments moved to the secondary
+         * directory.
+         */
+        public static final int ARCHIVE_SEGMENT_BYTES_TIERED_TYPE_ID = 105;
+
+        /**
+         * The type id of the {@link Counter} used for keeping track of the position a replication has reached in the
+         * destination recording.
+         */
+        public static final int ARCHIVE_REPLICATION_POSITION_TYPE_ID = 106;
+
+        /**
+         * The type id of the {@link Counter} used for keeping track of the max time in nanoseconds taken to read a
+         * block from storage for a replay.
+         */
+        public static final int ARCHIVE_REPLAY_MAX_READ_TIME_TYPE_ID = 107;
+
         /**
          * Size in bytes of the error buffer for the archive when not externally provided.
          */
@@ -436,6 +705,130 @@ public class Archive implements AutoCloseable
             return getSizeAsInt(SEGMENT_FILE_LENGTH_PROP_NAME, SEGMENT_FILE_LENGTH_DEFAULT);
         }
 
+        /**
+         * Minimum number of bytes recorded between entries in the recording timestamp index.
+         *
+         * @return minimum number of bytes recorded between entries in the recording timestamp index.
+         * @see #RECORDING_INDEX_INTERVAL_PROP_NAME
+         */
+        public static int recordingIndexInterval()
+        {
+            return getSizeAsInt(RECORDING_INDEX_INTERVAL_PROP_NAME, RECORDING_INDEX_INTERVAL_DEFAULT);
+        }
+
+        /**
+         * Should the recording timestamp index use the reserved value of frames rather than the archive clock.
+         *
+         * @return true if the recording timestamp index should use the reserved value of frames.
+         * @see #RECORDING_INDEX_RESERVED_VALUE_PROP_NAME
+         */
+        public static boolean recordingIndexReservedValue()
+        {
+            return "true".equals(getProperty(RECORDING_INDEX_RESERVED_VALUE_PROP_NAME));
+        }
+
+        /**
+         * Should recording segment files be memory mapped for writing.
+         *
+         * @return true if recording segment files should be memory mapped for writing.
+         * @see #RECORDING_WRITER_MAPPED_PROP_NAME
+         */
+        public static boolean recordingWriterMapped()
+        {
+            return "true".equals(getProperty(RECORDING_WRITER_MAPPED_PROP_NAME));
+        }
+
+        /**
+         * Minimum interval between syncs of a memory mapped recording segment to storage.
+         *
+         * @return minimum interval in nanoseconds between syncs of a memory mapped recording segment.
+         * @see #RECORDING_WRITER_MAPPED_SYNC_INTERVAL_PROP_NAME
+         */
+        public static long recordingWriterMappedSyncIntervalNs()
+        {
+            return getDurationInNanos(
+                RECORDING_WRITER_MAPPED_SYNC_INTERVAL_PROP_NAME, RECORDING_WRITER_MAPPED_SYNC_INTERVAL_DEFAULT_NS);
+        }
+
+        /**
+         * Should completed recording segments be compressed in the background.
+         *
+         * @return true if completed recording segments should be compressed in the background.
+         * @see #SEGMENT_COMPRESSION_ENABLED_PROP_NAME
+         */
+        public static boolean segmentCompressionEnabled()
+        {
+            return "true".equals(getProperty(SEGMENT_COMPRESSION_ENABLED_PROP_NAME));
+        }
+
+        /**
+         * Length of the uncompressed blocks a segment is divided into when compressed.
+         *
+         * @return length of the uncompressed blocks a segment is divided into when compressed.
+         * @see #SEGMENT_COMPRESSION_BLOCK_LENGTH_PROP_NAME
+         */
+        public static int segmentCompressionBlockLength()
+        {
+            return getSizeAsInt(SEGMENT_COMPRESSION_BLOCK_LENGTH_PROP_NAME, SEGMENT_COMPRESSION_BLOCK_LENGTH_DEFAULT);
+        }
+
+        /**
+         * Deflate compression level used when compressing segments.
+         *
+         * @return deflate compression level used when compressing segments.
+         * @see #SEGMENT_COMPRESSION_LEVEL_PROP_NAME
+         */
+        public static int segmentCompressionLevel()
+        {
+            return Integer.getInteger(SEGMENT_COMPRESSION_LEVEL_PROP_NAME, SEGMENT_COMPRESSION_LEVEL_DEFAULT);
+        }
+
+        /**
+         * Secondary directory to which aged recording segments are moved.
+         *
+         * @return secondary directory to which aged recording segments are moved or null if not set.
+         * @see #SECONDARY_DIR_PROP_NAME
+         */
+        public static String secondaryDirName()
+        {
+            return System.getProperty(SECONDARY_DIR_PROP_NAME);
+        }
+
+        /**
+         * Minimum time since a completed segment was last written before it is moved to the secondary directory.
+         *
+         * @return minimum time in nanoseconds since a completed segment was last written before it is moved.
+         * @see #SEGMENT_TIERING_AGE_PROP_NAME
+         */
+        public static long segmentTieringAgeNs()
+        {
+            return getDurationInNanos(SEGMENT_TIERING_AGE_PROP_NAME, SEGMENT_TIERING_AGE_DEFAULT_NS);
+        }
+
+        /**
+         * Minimum number of bytes a completed segment must be behind the latest position of a recording before it is
+         * moved to the secondary directory.
+         *
+         * @return minimum number of bytes a completed segment must be behind the latest position of a recording.
+         * @see #SEGMENT_TIERING_POSITION_THRESHOLD_PROP_NAME
+         */
+        public static long segmentTieringPositionThreshold()
+        {
+            return getSizeAsLong(
+                SEGMENT_TIERING_POSITION_THRESHOLD_PROP_NAME, SEGMENT_TIERING_POSITION_THRESHOLD_DEFAULT);
+        }
+
+        /**
+         * Should a replay from the secondary directory prefetch the next segment.
+         *
+         * @return true if a replay from the secondary directory should prefetch the next segment.
+         * @see #SEGMENT_TIERING_PREFETCH_PROP_NAME
+         */
+        public static boolean segmentTieringPrefetch()
+        {
+            return "true".equals(getProperty(SEGMENT_TIERING_PREFETCH_PROP_NAME));
+        }
+
         /**
          * The level at which files should be sync'ed to disk.
          * <ul>
@@ -550,6 +943,96 @@ public class Archive implements AutoCloseable
             return Integer.getInteger(MAX_CONCURRENT_REPLAYS_PROP_NAME, MAX_CONCURRENT_REPLAYS_DEFAULT);
         }
 
+        /**
+         * The maximum number of replications that can be active concurrently after which further requests are queued.
+         *
+         * @return the maximum number of replications that can be active concurrently or 0 for no limit.
+         * @see #MAX_CONCURRENT_REPLICATIONS_PROP_NAME
+         */
+        public static int maxConcurrentReplications()
+        {
+            return Integer.getInteger(MAX_CONCURRENT_REPLICATIONS_PROP_NAME, MAX_CONCURRENT_REPLICATIONS_DEFAULT);
+        }
+
+        /**
+         * Rate in bytes per second at which each replication is recorded.
+         *
+         * @return rate in bytes per second at which each replication is recorded or 0 for no limit.
+         * @see #REPLICATION_RATE_LIMIT_PROP_NAME
+         */
+        public static long replicationRateLimit()
+        {
+            return getSizeAsLong(REPLICATION_RATE_LIMIT_PROP_NAME, REPLICATION_RATE_LIMIT_DEFAULT);
+        }
+
+        /**
+         * Rate in bytes per second at which all replications combined are recorded.
+         *
+         * @return rate in bytes per second at which all replications combined are recorded or 0 for no limit.
+         * @see #REPLICATION_AGGREGATE_RATE_LIMIT_PROP_NAME
+         */
+        public static long replicationAggregateRateLimit()
+        {
+            return getSizeAsLong(REPLICATION_AGGREGATE_RATE_LIMIT_PROP_NAME, REPLICATION_AGGREGATE_RATE_LIMIT_DEFAULT);
+        }
+
+        /**
+         * Number of control session worker threads across which listings are partitioned in dedicated mode. Other
+         * control requests are processed by the conductor.
+         *
+         * @return number of control session worker threads or 0 to run listings on the conductor thread.
+         * @see #CONTROL_SESSION_WORKERS_PROP_NAME
+         */
+        public static int controlSessionWorkers()
+        {
+            return Integer.getInteger(CONTROL_SESSION_WORKERS_PROP_NAME, CONTROL_SESSION_WORKERS_DEFAULT);
+        }
+
+        /**
+         * Maximum length in bytes read from a recording segment in a single operation during a replay.
+         *
+         * @return maximum length in bytes read from a recording segment in a single operation during a replay.
+         * @see #REPLAY_READ_LENGTH_PROP_NAME
+         */
+        public static int replayReadLength()
+        {
+            return getSizeAsInt(REPLAY_READ_LENGTH_PROP_NAME, REPLAY_READ_LENGTH_DEFAULT);
+        }
+
+        /**
+         * Length in bytes of a recording segment read ahead of a replay into the page cache.
+         *
+         * @return length in bytes of a recording segment read ahead of a replay or 0 for no explicit read ahead.
+         * @see #REPLAY_READ_AHEAD_LENGTH_PROP_NAME
+         */
+        public static int replayReadAheadLength()
+        {
+            return getSizeAsInt(REPLAY_READ_AHEAD_LENGTH_PROP_NAME, REPLAY_READ_AHEAD_LENGTH_DEFAULT);
+        }
+
+        /**
+         * Maximum length in bytes read ahead across all replays which has not yet been consumed by a replay.
+         *
+         * @return maximum length in bytes read ahead across all replays which has not yet been consumed.
+         * @see #REPLAY_READ_AHEAD_MAX_RESIDENT_LENGTH_PROP_NAME
+         */
+        public static long replayReadAheadMaxResidentLength()
+        {
+            return getSizeAsLong(
+                REPLAY_READ_AHEAD_MAX_RESIDENT_LENGTH_PROP_NAME, REPLAY_READ_AHEAD_MAX_RESIDENT_LENGTH_DEFAULT);
+        }
+
+        /**
+         * Should a counter of the max time to read a block from storage be allocated for each replay.
+         *
+         * @return true if a counter of the max read time should be allocated for each replay.
+         * @see #REPLAY_READ_COUNTERS_ENABLED_PROP_NAME
+         */
+        public static boolean replayReadCountersEnabled()
+        {
+            return "true".equals(getProperty(REPLAY_READ_COUNTERS_ENABLED_PROP_NAME));
+        }
+
         /**
          * Maximum number of catalog entries to allocate for the catalog file.
          *
@@ -711,9 +1194,30 @@ public class Archive implements AutoCloseable
         private long maxCatalogEntries = Configuration.maxCatalogEntries();
         private int segmentFileLength = Configuration.segmentFileLength();
         private int fileSyncLevel = Configuration.fileSyncLevel();
+        private int recordingIndexInterval = Configuration.recordingIndexInterval();
+        private boolean recordingIndexReservedValue = Configuration.recordingIndexReservedValue();
+        private boolean recordingWriterMapped = Configuration.recordingWriterMapped();
+        private long recordingWriterMappedSyncIntervalNs = Configuration.recordingWriterMappedSyncIntervalNs();
+        private boolean segmentCompressionEnabled = Configuration.segmentCompressionEnabled();
+        private int segmentCompressionBlockLength = Configuration.segmentCompressionBlockLength();
+        private int segmentCompressionLevel = Configuration.segmentCompressionLevel();
+        private File secondaryDir;
+        private String secondaryDirectoryName = Configuration.secondaryDirName();
+        private long segmentTieringAgeNs = Configuration.segmentTieringAgeNs();
+        private long segmentTieringPositionThreshold = Configuration.segmentTieringPositionThreshold();
+        private boolean segmentTieringPrefetch = Configuration.segmentTieringPrefetch();
         private int catalogFileSyncLevel = Configuration.catalogFileSyncLevel();
         private int maxConcurrentRecordings = Configuration.maxConcurrentRecordings();
         private int maxConcurrentReplays = Configuration.maxConcurrentReplays();
+        private int maxConcurrentReplications = Configuration.maxConcurrentReplications();
+        private long replicationRateLimit = Configuration.replicationRateLimit();
+        private long replicationAggregateRateLimit = Configuration.replicationAggregateRateLimit();
+        private int controlSessionWorkers = Configuration.controlSessionWorkers();
+        private int replayReadLength = Configuration.replayReadLength();
+        private int replayReadAheadLength = Configuration.replayReadAheadLength();
+        private long replayReadAheadMaxResidentLength = Configuration.replayReadAheadMaxResidentLength();
+        private boolean replayReadCountersEnabled = Configuration.replayReadCountersEnabled();
+        private ReplayReadAhead replayReadAhead;
 
         private ArchiveThreadingMode threadingMode = Configuration.threadingMode();
         private ThreadFactory threadFactory;
@@ -723,8 +1227,11 @@ public class Archive implements AutoCloseable
         private Supplier<IdleStrategy> replayerIdleStrategySupplier;
         private Supplier<IdleStrategy> recorderIdleStrategySupplier;
         private EpochClock epochClock;
+        private NanoClock nanoClock;
         private AuthenticatorSupplier authenticatorSupplier;
         private Counter controlSessionsCounter;
+        private SegmentCompactor segmentCompactor;
+        private SegmentTiering segmentTiering;
 
         private int errorBufferLength = 0;
         private ErrorHandler errorHandler;
@@ -772,29 +1279,116 @@ public class Archive implements AutoCloseable
                     "catalogFileSyncLevel " + catalogFileSyncLevel + " < fileSyncLevel " + fileSyncLevel);
             }
 
-            if (null == archiveDir)
+            if (recordingIndexInterval < 0)
             {
-                archiveDir = new File(archiveDirectoryName);
+                throw new ConfigurationException("recordingIndexInterval must not be negative: " +
+                    recordingIndexInterval);
             }
 
-            if (deleteArchiveOnStart)
+            if (segmentCompressionBlockLength <= 0)
             {
-                IoUtil.delete(archiveDir, false);
+                throw new ConfigurationException("segmentCompressionBlockLength must be positive: " +
+                    segmentCompressionBlockLength);
             }
 
-            if (!archiveDir.exists() && !archiveDir.mkdirs())
+            if (segmentCompressionLevel < 1 || segmentCompressionLevel > 9)
             {
-                throw new ArchiveException(
-                    "failed to create archive dir: " + archiveDir.getAbsolutePath());
+                throw new ConfigurationException("segmentCompressionLevel must be in range 1-9: " +
+                    segmentCompressionLevel);
+            }
+
+            if (maxConcurrentReplications < 0)
+            {
+                throw new ConfigurationException("maxConcurrentReplications must not be negative: " +
+                    maxConcurrentReplications);
+            }
+
+            if (replicationRateLimit < 0 || replicationAggregateRateLimit < 0)
+            {
+                throw new ConfigurationException("replication rate limits must not be negative: " +
+                    replicationRateLimit + ", " + replicationAggregateRateLimit);
+            }
+
+            if (controlSessionWorkers < 0)
+            {
+                throw new ConfigurationException("controlSessionWorkers must not be negative: " +
+                    controlSessionWorkers);
+            }
+
+            if (recordingWriterMappedSyncIntervalNs < 0)
+            {
+                throw new ConfigurationException("recordingWriterMappedSyncIntervalNs must not be negative: " +
+                    recordingWriterMappedSyncIntervalNs);
+            }
+
+            if (replayReadLength < Configuration.REPLAY_READ_LENGTH_MIN ||
+                replayReadLength > Configuration.MAX_BLOCK_LENGTH)
+            {
+                throw new ConfigurationException("replayReadLength must be in range " +
+                    Configuration.REPLAY_READ_LENGTH_MIN + "-" + Configuration.MAX_BLOCK_LENGTH + ": " +
+                    replayReadLength);
+            }
+
+            if (replayReadAheadLength < 0)
+            {
+                throw new ConfigurationException("replayReadAheadLength must not be negative: " +
+                    replayReadAheadLength);
+            }
+
+            if (replayReadAheadLength > 0 && replayReadAheadMaxResidentLength < replayReadAheadLength)
+            {
+                throw new ConfigurationException("replayReadAheadMaxResidentLength=" +
+                    replayReadAheadMaxResidentLength + " must be at least replayReadAheadLength=" +
+                    replayReadAheadLength);
+            }
+
+            if (null == archiveDir)
+            {
+                archiveDir = new File(archiveDirectoryName);
+            }
+
+            if (deleteArchiveOnStart)
+            {
+                IoUtil.delete(archiveDir, false);
+            }
+
+            if (!archiveDir.exists() && !archiveDir.mkdirs())
+            {
+                throw new ArchiveException(
+                    "failed to create archive dir: " + archiveDir.getAbsolutePath());
             }
 
             archiveDirChannel = channelForDirectorySync(archiveDir, catalogFileSyncLevel);
 
+            if (null == secondaryDir && null != secondaryDirectoryName)
+            {
+                secondaryDir = new File(secondaryDirectoryName);
+            }
+
+            if (null != secondaryDir)
+            {
+                if (!secondaryDir.exists() && !secondaryDir.mkdirs())
+                {
+                    throw new ArchiveException(
+                        "failed to create secondary dir: " + secondaryDir.getAbsolutePath());
+                }
+
+                if (secondaryDir.getAbsoluteFile().equals(archiveDir.getAbsoluteFile()))
+                {
+                    throw new ConfigurationException("secondaryDir must not be the archiveDir: " + secondaryDir);
+                }
+            }
+
             if (null == epochClock)
             {
                 epochClock = SystemEpochClock.INSTANCE;
             }
 
+            if (null == nanoClock)
+            {
+                nanoClock = SystemNanoClock.INSTANCE;
+            }
+
             if (null != aeron)
             {
                 aeronDirectoryName = aeron.context().aeronDirectoryName();
@@ -920,7 +1514,39 @@ public class Archive implements AutoCloseable
                     Configuration.ARCHIVE_CONTROL_SESSIONS_TYPE_ID, "Archive Control Sessions");
             }
 
-            int expectedCount = DEDICATED == threadingMode ? 2 : 0;
+            if (null != secondaryDir && null == segmentTiering)
+            {
+                segmentTiering = new SegmentTiering(
+                    archiveDir,
+                    secondaryDir,
+                    fileSyncLevel > 0,
+                    segmentTieringPrefetch,
+                    aeron.addCounter(
+                        Configuration.ARCHIVE_SEGMENT_BYTES_TIERED_TYPE_ID, "Archive segment bytes tiered"),
+                    countedErrorHandler);
+            }
+
+            if (replayReadAheadLength > 0 && null == replayReadAhead)
+            {
+                replayReadAhead = new ReplayReadAhead(
+                    replayReadAheadLength, replayReadAheadMaxResidentLength, countedErrorHandler);
+            }
+
+            if (segmentCompressionEnabled && null == segmentCompactor)
+            {
+                segmentCompactor = new SegmentCompactor(
+                    archiveDir,
+                    segmentCompressionBlockLength,
+                    segmentCompressionLevel,
+                    fileSyncLevel > 0,
+                    aeron.addCounter(
+                        Configuration.ARCHIVE_SEGMENT_BYTES_COMPRESSED_IN_TYPE_ID, "Archive segment bytes compressed"),
+                    aeron.addCounter(
+                        Configuration.ARCHIVE_SEGMENT_BYTES_COMPRESSED_OUT_TYPE_ID, "Archive compressed segment bytes"),
+                    countedErrorHandler);
+            }
+
+            int expectedCount = DEDICATED == threadingMode ? 2 + controlSessionWorkers : 0;
             expectedCount += aeron.conductorAgentInvoker() == null ? 1 : 0;
             abortLatch = new CountDownLatch(expectedCount);
 
@@ -1223,293 +1849,642 @@ public class Archive implements AutoCloseable
          */
         public Context recordingEventsChannel(final String recordingEventsChannel)
         {
-            this.recordingEventsChannel = recordingEventsChannel;
+            this.recordingEventsChannel = recordingEventsChannel;
+            return this;
+        }
+
+        /**
+         * Get the stream id on which the recording events publication will publish.
+         *
+         * @return the stream id on which the recording events publication will publish.
+         * @see io.aeron.archive.client.AeronArchive.Configuration#RECORDING_EVENTS_STREAM_ID_PROP_NAME
+         */
+        public int recordingEventsStreamId()
+        {
+            return recordingEventsStreamId;
+        }
+
+        /**
+         * Set the stream id on which the recording events publication will publish.
+         *
+         * @param recordingEventsStreamId stream id on which the recording events publication will publish.
+         * @return this for a fluent API.
+         * @see io.aeron.archive.client.AeronArchive.Configuration#RECORDING_EVENTS_STREAM_ID_PROP_NAME
+         */
+        public Context recordingEventsStreamId(final int recordingEventsStreamId)
+        {
+            this.recordingEventsStreamId = recordingEventsStreamId;
+            return this;
+        }
+
+        /**
+         * Should the recording events channel be enabled.
+         *
+         * @return true if the recording events channel should be enabled.
+         * @see io.aeron.archive.client.AeronArchive.Configuration#RECORDING_EVENTS_ENABLED_PROP_NAME
+         */
+        public boolean recordingEventsEnabled()
+        {
+            return recordingEventsEnabled;
+        }
+
+        /**
+         * Set if the recording events channel should be enabled.
+         *
+         * @param recordingEventsEnabled indication of if the recording events channel should be enabled.
+         * @return this for a fluent API.
+         * @see io.aeron.archive.client.AeronArchive.Configuration#RECORDING_EVENTS_ENABLED_PROP_NAME
+         */
+        public Context recordingEventsEnabled(final boolean recordingEventsEnabled)
+        {
+            this.recordingEventsEnabled = recordingEventsEnabled;
+            return this;
+        }
+
+        /**
+         * Get the channel URI for replicating stream from another archive as replays.
+         *
+         * @return the channel URI for replicating stream from another archive as replays.
+         * @see Archive.Configuration#REPLICATION_CHANNEL_PROP_NAME
+         */
+        public String replicationChannel()
+        {
+            return replicationChannel;
+        }
+
+        /**
+         * The channel URI for replicating stream from another archive as replays.
+         *
+         * @param replicationChannel channel URI for replicating stream from another archive as replays.
+         * @return this for a fluent API.
+         * @see Archive.Configuration#REPLICATION_CHANNEL_PROP_NAME
+         */
+        public Context replicationChannel(final String replicationChannel)
+        {
+            this.replicationChannel = replicationChannel;
+            return this;
+        }
+
+        /**
+         * The timeout in nanoseconds to wait for connection to be established.
+         *
+         * @param connectTimeoutNs to wait for a connection to be established.
+         * @return this for a fluent API.
+         * @see Configuration#CONNECT_TIMEOUT_PROP_NAME
+         */
+        public Context connectTimeoutNs(final long connectTimeoutNs)
+        {
+            this.connectTimeoutNs = connectTimeoutNs;
+            return this;
+        }
+
+        /**
+         * The timeout in nanoseconds to wait for connection to be established.
+         *
+         * @return the message timeout in nanoseconds to wait for a connection to be established.
+         * @see Configuration#CONNECT_TIMEOUT_PROP_NAME
+         */
+        public long connectTimeoutNs()
+        {
+            return connectTimeoutNs;
+        }
+
+        /**
+         * The timeout in nanoseconds for or a replay publication to linger after draining.
+         *
+         * @param replayLingerTimeoutNs in nanoseconds for a replay publication to linger after draining.
+         * @return this for a fluent API.
+         * @see Configuration#REPLAY_LINGER_TIMEOUT_PROP_NAME
+         * @see io.aeron.driver.Configuration#PUBLICATION_LINGER_PROP_NAME
+         */
+        public Context replayLingerTimeoutNs(final long replayLingerTimeoutNs)
+        {
+            this.replayLingerTimeoutNs = replayLingerTimeoutNs;
+            return this;
+        }
+
+        /**
+         * The timeout in nanoseconds for a replay publication to linger after draining.
+         *
+         * @return the timeout in nanoseconds for a replay publication to linger after draining.
+         * @see Configuration#REPLAY_LINGER_TIMEOUT_PROP_NAME
+         * @see io.aeron.driver.Configuration#PUBLICATION_LINGER_PROP_NAME
+         */
+        public long replayLingerTimeoutNs()
+        {
+            return replayLingerTimeoutNs;
+        }
+
+        /**
+         * Provides an explicit {@link Checksum} for checksum computation during recording.
+         *
+         * @param recordChecksum to be used for recordings.
+         * @return this for a fluent API.
+         * @see Configuration#RECORD_CHECKSUM_PROP_NAME
+         */
+        public Context recordChecksum(final Checksum recordChecksum)
+        {
+            this.recordChecksum = recordChecksum;
+            return this;
+        }
+
+        /**
+         * Get the {@link Checksum} for checksum computation during recording.
+         *
+         * @return the {@link Checksum} instance for checksum computation during recording or
+         * {@code null} if no {@link Checksum} was configured.
+         * @see Configuration#RECORD_CHECKSUM_PROP_NAME
+         */
+        public Checksum recordChecksum()
+        {
+            return recordChecksum;
+        }
+
+        /**
+         * The {@link Checksum} for checksum computation during replay.
+         *
+         * @param replayChecksum to be used for replays.
+         * @return this for a fluent API.
+         * @see Configuration#REPLAY_CHECKSUM_PROP_NAME
+         */
+        public Context replayChecksum(final Checksum replayChecksum)
+        {
+            this.replayChecksum = replayChecksum;
+            return this;
+        }
+
+        /**
+         * Get the {@link Checksum} for checksum computation during replay.
+         *
+         * @return the {@link Checksum} instance for checksum computation during replay or
+         * {@code null} if no replay {@link Checksum} was configured.
+         * @see Configuration#REPLAY_CHECKSUM_PROP_NAME
+         */
+        public Checksum replayChecksum()
+        {
+            return replayChecksum;
+        }
+
+        /**
+         * Provides an {@link IdleStrategy} supplier for idling the conductor or composite {@link Agent}. Which is also
+         * the default for recorder and replayer {@link Agent}s.
+         *
+         * @param idleStrategySupplier supplier for idling the conductor.
+         * @return this for a fluent API.
+         */
+        public Context idleStrategySupplier(final Supplier<IdleStrategy> idleStrategySupplier)
+        {
+            this.idleStrategySupplier = idleStrategySupplier;
+            return this;
+        }
+
+        /**
+         * Get a new {@link IdleStrategy} for idling the conductor or composite {@link Agent}. Which is also
+         * the default for recorder and replayer {@link Agent}s.
+         *
+         * @return a new {@link IdleStrategy} for idling the conductor or composite {@link Agent}.
+         */
+        public IdleStrategy idleStrategy()
+        {
+            return idleStrategySupplier.get();
+        }
+
+        /**
+         * Provides an {@link IdleStrategy} supplier for idling the recorder {@link Agent}.
+         *
+         * @param idleStrategySupplier supplier for idling the conductor.
+         * @return this for a fluent API.
+         */
+        public Context recorderIdleStrategySupplier(final Supplier<IdleStrategy> idleStrategySupplier)
+        {
+            this.recorderIdleStrategySupplier = idleStrategySupplier;
+            return this;
+        }
+
+        /**
+         * Get a new {@link IdleStrategy} for idling the recorder {@link Agent}.
+         *
+         * @return a new {@link IdleStrategy} for idling the recorder {@link Agent}.
+         */
+        public IdleStrategy recorderIdleStrategy()
+        {
+            return recorderIdleStrategySupplier.get();
+        }
+
+        /**
+         * Provides an {@link IdleStrategy} supplier for idling the replayer {@link Agent}.
+         *
+         * @param idleStrategySupplier supplier for idling the replayer.
+         * @return this for a fluent API.
+         */
+        public Context replayerIdleStrategySupplier(final Supplier<IdleStrategy> idleStrategySupplier)
+        {
+            this.replayerIdleStrategySupplier = idleStrategySupplier;
+            return this;
+        }
+
+        /**
+         * Get a new {@link IdleStrategy} for idling the replayer {@link Agent}.
+         *
+         * @return a new {@link IdleStrategy} for idling the replayer {@link Agent}.
+         */
+        public IdleStrategy replayerIdleStrategy()
+        {
+            return replayerIdleStrategySupplier.get();
+        }
+
+        /**
+         * Set the {@link EpochClock} to be used for tracking wall clock time.
+         *
+         * @param clock {@link EpochClock} to be used for tracking wall clock time.
+         * @return this for a fluent API.
+         */
+        public Context epochClock(final EpochClock clock)
+        {
+            this.epochClock = clock;
+            return this;
+        }
+
+        /**
+         * Get the {@link EpochClock} to used for tracking wall clock time.
+         *
+         * @return the {@link EpochClock} to used for tracking wall clock time.
+         */
+        public EpochClock epochClock()
+        {
+            return epochClock;
+        }
+
+        /**
+         * Set the {@link NanoClock} to be used for measuring intervals such as syncs and rate limits.
+         *
+         * @param clock {@link NanoClock} to be used for measuring intervals.
+         * @return this for a fluent API.
+         */
+        public Context nanoClock(final NanoClock clock)
+        {
+            this.nanoClock = clock;
+            return this;
+        }
+
+        /**
+         * Get the {@link NanoClock} to be used for measuring intervals such as syncs and rate limits.
+         *
+         * @return the {@link NanoClock} to be used for measuring intervals.
+         */
+        public NanoClock nanoClock()
+        {
+            return nanoClock;
+        }
+
+        /**
+         * Get the file length used for recording data segment files.
+         *
+         * @return the file length used for recording data segment files
+         */
+        int segmentFileLength()
+        {
+            return segmentFileLength;
+        }
+
+        /**
+         * Set the file length to be used for recording data segment files. If the {@link Image#termBufferLength()} is
+         * larger than the segment file length then the term length will be used.
+         *
+         * @param segmentFileLength the file length to be used for recording data segment files.
+         * @return this for a fluent API.
+         */
+        public Context segmentFileLength(final int segmentFileLength)
+        {
+            this.segmentFileLength = segmentFileLength;
+            return this;
+        }
+
+        /**
+         * Get the minimum number of bytes recorded between entries in the recording timestamp index. 0 means the
+         * index is disabled.
+         *
+         * @return minimum number of bytes recorded between entries in the recording timestamp index.
+         * @see Configuration#RECORDING_INDEX_INTERVAL_PROP_NAME
+         */
+        public int recordingIndexInterval()
+        {
+            return recordingIndexInterval;
+        }
+
+        /**
+         * Set the minimum number of bytes recorded between entries in the recording timestamp index. 0 disables the
+         * index.
+         *
+         * @param recordingIndexInterval minimum number of bytes recorded between entries in the index.
+         * @return this for a fluent API.
+         * @see Configuration#RECORDING_INDEX_INTERVAL_PROP_NAME
+         */
+        public Context recordingIndexInterval(final int recordingIndexInterval)
+        {
+            this.recordingIndexInterval = recordingIndexInterval;
             return this;
         }
 
         /**
-         * Get the stream id on which the recording events publication will publish.
+         * Should the recording timestamp index use the reserved value of the first frame in a block rather than the
+         * {@link #epochClock()} time in ms when the block is recorded.
          *
-         * @return the stream id on which the recording events publication will publish.
-         * @see io.aeron.archive.client.AeronArchive.Configuration#RECORDING_EVENTS_STREAM_ID_PROP_NAME
+         * @return true if the recording timestamp index should use the reserved value of frames.
+         * @see Configuration#RECORDING_INDEX_RESERVED_VALUE_PROP_NAME
          */
-        public int recordingEventsStreamId()
+        public boolean recordingIndexReservedValue()
         {
-            return recordingEventsStreamId;
+            return recordingIndexReservedValue;
         }
 
         /**
-         * Set the stream id on which the recording events publication will publish.
+         * Should the recording timestamp index use the reserved value of the first frame in a block rather than the
+         * {@link #epochClock()} time in ms when the block is recorded. Reserved values which go backwards are not
+         * indexed so lookups remain a binary search.
          *
-         * @param recordingEventsStreamId stream id on which the recording events publication will publish.
+         * @param recordingIndexReservedValue true if the index should use the reserved value of frames.
          * @return this for a fluent API.
-         * @see io.aeron.archive.client.AeronArchive.Configuration#RECORDING_EVENTS_STREAM_ID_PROP_NAME
+         * @see Configuration#RECORDING_INDEX_RESERVED_VALUE_PROP_NAME
          */
-        public Context recordingEventsStreamId(final int recordingEventsStreamId)
+        public Context recordingIndexReservedValue(final boolean recordingIndexReservedValue)
         {
-            this.recordingEventsStreamId = recordingEventsStreamId;
+            this.recordingIndexReservedValue = recordingIndexReservedValue;
             return this;
         }
 
         /**
-         * Should the recording events channel be enabled.
+         * Should recording segment files be memory mapped so blocks are copied directly into the page cache.
          *
-         * @return true if the recording events channel should be enabled.
-         * @see io.aeron.archive.client.AeronArchive.Configuration#RECORDING_EVENTS_ENABLED_PROP_NAME
+         * @return true if recording segment files should be memory mapped for writing.
+         * @see Configuration#RECORDING_WRITER_MAPPED_PROP_NAME
          */
-        public boolean recordingEventsEnabled()
+        public boolean recordingWriterMapped()
         {
-            return recordingEventsEnabled;
+            return recordingWriterMapped;
         }
 
         /**
-         * Set if the recording events channel should be enabled.
+         * Should recording segment files be memory mapped so blocks are copied directly into the page cache rather
+         * than written with a system call per block.
          *
-         * @param recordingEventsEnabled indication of if the recording events channel should be enabled.
+         * @param recordingWriterMapped true if recording segment files should be memory mapped for writing.
          * @return this for a fluent API.
-         * @see io.aeron.archive.client.AeronArchive.Configuration#RECORDING_EVENTS_ENABLED_PROP_NAME
+         * @see Configuration#RECORDING_WRITER_MAPPED_PROP_NAME
          */
-        public Context recordingEventsEnabled(final boolean recordingEventsEnabled)
+        public Context recordingWriterMapped(final boolean recordingWriterMapped)
         {
-            this.recordingEventsEnabled = recordingEventsEnabled;
+            this.recordingWriterMapped = recordingWriterMapped;
             return this;
         }
 
         /**
-         * Get the channel URI for replicating stream from another archive as replays.
+         * Minimum interval between syncs of a memory mapped recording segment to storage when
+         * {@link #fileSyncLevel()} is greater than 0.
          *
-         * @return the channel URI for replicating stream from another archive as replays.
-         * @see Archive.Configuration#REPLICATION_CHANNEL_PROP_NAME
+         * @return minimum interval in nanoseconds between syncs or 0 to sync after every block.
+         * @see Configuration#RECORDING_WRITER_MAPPED_SYNC_INTERVAL_PROP_NAME
          */
-        public String replicationChannel()
+        public long recordingWriterMappedSyncIntervalNs()
         {
-            return replicationChannel;
+            return recordingWriterMappedSyncIntervalNs;
         }
 
         /**
-         * The channel URI for replicating stream from another archive as replays.
+         * Minimum interval between syncs of a memory mapped recording segment to storage when
+         * {@link #fileSyncLevel()} is greater than 0. A segment is always synced when it is complete or closed.
          *
-         * @param replicationChannel channel URI for replicating stream from another archive as replays.
+         * @param syncIntervalNs minimum interval in nanoseconds between syncs or 0 to sync after every block.
          * @return this for a fluent API.
-         * @see Archive.Configuration#REPLICATION_CHANNEL_PROP_NAME
+         * @see Configuration#RECORDING_WRITER_MAPPED_SYNC_INTERVAL_PROP_NAME
          */
-        public Context replicationChannel(final String replicationChannel)
+        public Context recordingWriterMappedSyncIntervalNs(final long syncIntervalNs)
         {
-            this.replicationChannel = replicationChannel;
+            this.recordingWriterMappedSyncIntervalNs = syncIntervalNs;
             return this;
         }
 
         /**
-         * The timeout in nanoseconds to wait for connection to be established.
+         * Should completed recording segments be compressed in the background.
          *
-         * @param connectTimeoutNs to wait for a connection to be established.
+         * @return true if completed recording segments should be compressed in the background.
+         * @see Configuration#SEGMENT_COMPRESSION_ENABLED_PROP_NAME
+         */
+        public boolean segmentCompressionEnabled()
+        {
+            return segmentCompressionEnabled;
+        }
+
+        /**
+         * Should completed recording segments be compressed in the background.
+         *
+         * @param segmentCompressionEnabled true if completed recording segments should be compressed.
          * @return this for a fluent API.
-         * @see Configuration#CONNECT_TIMEOUT_PROP_NAME
+         * @see Configuration#SEGMENT_COMPRESSION_ENABLED_PROP_NAME
          */
-        public Context connectTimeoutNs(final long connectTimeoutNs)
+        public Context segmentCompressionEnabled(final boolean segmentCompressionEnabled)
         {
-            this.connectTimeoutNs = connectTimeoutNs;
+            this.segmentCompressionEnabled = segmentCompressionEnabled;
             return this;
         }
 
         /**
-         * The timeout in nanoseconds to wait for connection to be established.
+         * Length of the uncompressed blocks a segment is divided into when compressed.
          *
-         * @return the message timeout in nanoseconds to wait for a connection to be established.
-         * @see Configuration#CONNECT_TIMEOUT_PROP_NAME
+         * @return length of the uncompressed blocks a segment is divided into when compressed.
+         * @see Configuration#SEGMENT_COMPRESSION_BLOCK_LENGTH_PROP_NAME
          */
-        public long connectTimeoutNs()
+        public int segmentCompressionBlockLength()
         {
-            return connectTimeoutNs;
+            return segmentCompressionBlockLength;
         }
 
         /**
-         * The timeout in nanoseconds for or a replay publication to linger after draining.
+         * Length of the uncompressed blocks a segment is divided into when compressed.
          *
-         * @param replayLingerTimeoutNs in nanoseconds for a replay publication to linger after draining.
+         * @param segmentCompressionBlockLength length of the uncompressed blocks a segment is divided into.
          * @return this for a fluent API.
-         * @see Configuration#REPLAY_LINGER_TIMEOUT_PROP_NAME
-         * @see io.aeron.driver.Configuration#PUBLICATION_LINGER_PROP_NAME
+         * @see Configuration#SEGMENT_COMPRESSION_BLOCK_LENGTH_PROP_NAME
          */
-        public Context replayLingerTimeoutNs(final long replayLingerTimeoutNs)
+        public Context segmentCompressionBlockLength(final int segmentCompressionBlockLength)
         {
-            this.replayLingerTimeoutNs = replayLingerTimeoutNs;
+            this.segmentCompressionBlockLength = segmentCompressionBlockLength;
             return this;
         }
 
         /**
-         * The timeout in nanoseconds for a replay publication to linger after draining.
+         * Deflate compression level used when compressing segments.
          *
-         * @return the timeout in nanoseconds for a replay publication to linger after draining.
-         * @see Configuration#REPLAY_LINGER_TIMEOUT_PROP_NAME
-         * @see io.aeron.driver.Configuration#PUBLICATION_LINGER_PROP_NAME
+         * @return deflate compression level used when compressing segments.
+         * @see Configuration#SEGMENT_COMPRESSION_LEVEL_PROP_NAME
          */
-        public long replayLingerTimeoutNs()
+        public int segmentCompressionLevel()
         {
-            return replayLingerTimeoutNs;
+            return segmentCompressionLevel;
         }
 
         /**
-         * Provides an explicit {@link Checksum} for checksum computation during recording.
+         * Deflate compression level used when compressing segments.
          *
-         * @param recordChecksum to be used for recordings.
+         * @param segmentCompressionLevel deflate compression level from 1 to 9.
          * @return this for a fluent API.
-         * @see Configuration#RECORD_CHECKSUM_PROP_NAME
+         * @see Configuration#SEGMENT_COMPRESSION_LEVEL_PROP_NAME
          */
-        public Context recordChecksum(final Checksum recordChecksum)
+        public Context segmentCompressionLevel(final int segmentCompressionLevel)
         {
-            this.recordChecksum = recordChecksum;
+            this.segmentCompressionLevel = segmentCompressionLevel;
             return this;
         }
 
         /**
-         * Get the {@link Checksum} for checksum computation during recording.
+         * Set the directory name of the secondary directory to which aged recording segments are moved.
+         * This name is used if {@link #secondaryDir(File)} is not set.
          *
-         * @return the {@link Checksum} instance for checksum computation during recording or
-         * {@code null} if no {@link Checksum} was configured.
-         * @see Configuration#RECORD_CHECKSUM_PROP_NAME
+         * @param secondaryDirectoryName to which aged recording segments are moved.
+         * @return this for a fluent API.
+         * @see Configuration#SECONDARY_DIR_PROP_NAME
          */
-        public Checksum recordChecksum()
+        public Context secondaryDirectoryName(final String secondaryDirectoryName)
         {
-            return recordChecksum;
+            this.secondaryDirectoryName = secondaryDirectoryName;
+            return this;
         }
 
         /**
-         * The {@link Checksum} for checksum computation during replay.
+         * Get the directory name of the secondary directory to which aged recording segments are moved.
          *
-         * @param replayChecksum to be used for replays.
-         * @return this for a fluent API.
-         * @see Configuration#REPLAY_CHECKSUM_PROP_NAME
+         * @return the directory name of the secondary directory or null if tiering is not enabled.
+         * @see Configuration#SECONDARY_DIR_PROP_NAME
          */
-        public Context replayChecksum(final Checksum replayChecksum)
+        public String secondaryDirectoryName()
         {
-            this.replayChecksum = replayChecksum;
-            return this;
+            return secondaryDirectoryName;
         }
 
         /**
-         * Get the {@link Checksum} for checksum computation during replay.
+         * Get the secondary directory to which aged recording segments are moved.
          *
-         * @return the {@link Checksum} instance for checksum computation during replay or
-         * {@code null} if no replay {@link Checksum} was configured.
-         * @see Configuration#REPLAY_CHECKSUM_PROP_NAME
+         * @return the secondary directory to which aged recording segments are moved or null if not enabled.
          */
-        public Checksum replayChecksum()
+        public File secondaryDir()
         {
-            return replayChecksum;
+            return secondaryDir;
         }
 
         /**
-         * Provides an {@link IdleStrategy} supplier for idling the conductor or composite {@link Agent}. Which is also
-         * the default for recorder and replayer {@link Agent}s.
+         * Set the secondary directory to which aged recording segments are moved, e.g. a slower and larger mount.
          *
-         * @param idleStrategySupplier supplier for idling the conductor.
+         * @param secondaryDir to which aged recording segments are moved.
          * @return this for a fluent API.
          */
-        public Context idleStrategySupplier(final Supplier<IdleStrategy> idleStrategySupplier)
+        public Context secondaryDir(final File secondaryDir)
         {
-            this.idleStrategySupplier = idleStrategySupplier;
+            this.secondaryDir = secondaryDir;
             return this;
         }
 
         /**
-         * Get a new {@link IdleStrategy} for idling the conductor or composite {@link Agent}. Which is also
-         * the default for recorder and replayer {@link Agent}s.
+         * Minimum time since a completed segment was last written before it is moved to the secondary directory.
          *
-         * @return a new {@link IdleStrategy} for idling the conductor or composite {@link Agent}.
+         * @return minimum time in nanoseconds since a completed segment was last written before it is moved.
+         * @see Configuration#SEGMENT_TIERING_AGE_PROP_NAME
          */
-        public IdleStrategy idleStrategy()
+        public long segmentTieringAgeNs()
         {
-            return idleStrategySupplier.get();
+            return segmentTieringAgeNs;
         }
 
         /**
-         * Provides an {@link IdleStrategy} supplier for idling the recorder {@link Agent}.
+         * Minimum time since a completed segment was last written before it is moved to the secondary directory.
          *
-         * @param idleStrategySupplier supplier for idling the conductor.
+         * @param segmentTieringAgeNs minimum time in nanoseconds since a completed segment was last written.
          * @return this for a fluent API.
+         * @see Configuration#SEGMENT_TIERING_AGE_PROP_NAME
          */
-        public Context recorderIdleStrategySupplier(final Supplier<IdleStrategy> idleStrategySupplier)
+        public Context segmentTieringAgeNs(final long segmentTieringAgeNs)
         {
-            this.recorderIdleStrategySupplier = idleStrategySupplier;
+            this.segmentTieringAgeNs = segmentTieringAgeNs;
             return this;
         }
 
         /**
-         * Get a new {@link IdleStrategy} for idling the recorder {@link Agent}.
+         * Minimum number of bytes a completed segment must be behind the latest position of a recording before it is
+         * moved to the secondary directory.
          *
-         * @return a new {@link IdleStrategy} for idling the recorder {@link Agent}.
+         * @return minimum number of bytes a completed segment must be behind the latest position of a recording.
+         * @see Configuration#SEGMENT_TIERING_POSITION_THRESHOLD_PROP_NAME
          */
-        public IdleStrategy recorderIdleStrategy()
+        public long segmentTieringPositionThreshold()
         {
-            return recorderIdleStrategySupplier.get();
+            return segmentTieringPositionThreshold;
         }
 
         /**
-         * Provides an {@link IdleStrategy} supplier for idling the replayer {@link Agent}.
+         * Minimum number of bytes a completed segment must be behind the latest position of a recording before it is
+         * moved to the secondary directory.
          *
-         * @param idleStrategySupplier supplier for idling the replayer.
+         * @param segmentTieringPositionThreshold minimum number of bytes behind the latest position of a recording.
          * @return this for a fluent API.
+         * @see Configuration#SEGMENT_TIERING_POSITION_THRESHOLD_PROP_NAME
          */
-        public Context replayerIdleStrategySupplier(final Supplier<IdleStrategy> idleStrategySupplier)
+        public Context segmentTieringPositionThreshold(final long segmentTieringPositionThreshold)
         {
-            this.replayerIdleStrategySupplier = idleStrategySupplier;
+            this.segmentTieringPositionThreshold = segmentTieringPositionThreshold;
             return this;
         }
 
         /**
-         * Get a new {@link IdleStrategy} for idling the replayer {@link Agent}.
+         * Should a replay from the secondary directory prefetch the next segment.
          *
-         * @return a new {@link IdleStrategy} for idling the replayer {@link Agent}.
+         * @return true if a replay from the secondary directory should prefetch the next segment.
+         * @see Configuration#SEGMENT_TIERING_PREFETCH_PROP_NAME
          */
-        public IdleStrategy replayerIdleStrategy()
+        public boolean segmentTieringPrefetch()
         {
-            return replayerIdleStrategySupplier.get();
+            return segmentTieringPrefetch;
         }
 
         /**
-         * Set the {@link EpochClock} to be used for tracking wall clock time.
+         * Should a replay from the secondary directory prefetch the next segment into the page cache.
          *
-         * @param clock {@link EpochClock} to be used for tracking wall clock time.
+         * @param segmentTieringPrefetch true if a replay from the secondary directory should prefetch.
          * @return this for a fluent API.
+         * @see Configuration#SEGMENT_TIERING_PREFETCH_PROP_NAME
          */
-        public Context epochClock(final EpochClock clock)
+        public Context segmentTieringPrefetch(final boolean segmentTieringPrefetch)
         {
-            this.epochClock = clock;
+            this.segmentTieringPrefetch = segmentTieringPrefetch;
             return this;
         }
 
         /**
-         * Get the {@link EpochClock} to used for tracking wall clock time.
+         * Get the {@link SegmentTiering} which moves aged segments to the secondary directory.
          *
-         * @return the {@link EpochClock} to used for tracking wall clock time.
+         * @return the {@link SegmentTiering} or null if a secondary directory is not configured.
          */
-        public EpochClock epochClock()
+        SegmentTiering segmentTiering()
         {
-            return epochClock;
+            return segmentTiering;
         }
 
         /**
-         * Get the file length used for recording data segment files.
+         * Get the {@link SegmentCompactor} which compresses completed segments in the background.
          *
-         * @return the file length used for recording data segment files
+         * @return the {@link SegmentCompactor} or null if segment compression is not enabled.
          */
-        int segmentFileLength()
+        SegmentCompactor segmentCompactor()
         {
-            return segmentFileLength;
+            return segmentCompactor;
         }
 
         /**
-         * Set the file length to be used for recording data segment files. If the {@link Image#termBufferLength()} is
-         * larger than the segment file length then the term length will be used.
+         * Get the {@link ReplayReadAhead} which reads recording segments ahead of replays into the page cache.
          *
-         * @param segmentFileLength the file length to be used for recording data segment files.
-         * @return this for a fluent API.
+         * @return the {@link ReplayReadAhead} or null if replay read ahead is not enabled.
          */
-        public Context segmentFileLength(final int segmentFileLength)
+        ReplayReadAhead replayReadAhead()
         {
-            this.segmentFileLength = segmentFileLength;
-            return this;
+            return replayReadAhead;
         }
 
         /**
@@ -1524,7 +2499,7 @@ public class Archive implements AutoCloseable
          * @see #catalogFileSyncLevel()
          * @see Configuration#FILE_SYNC_LEVEL_PROP_NAME
          */
-        int fileSyncLevel()
+        public int fileSyncLevel()
         {
             return fileSyncLevel;
         }
@@ -1808,6 +2783,202 @@ public class Archive implements AutoCloseable
             return this;
         }
 
+        /**
+         * Get the max number of concurrent replications after which further replications are queued.
+         *
+         * @return the max number of concurrent replications or 0 for no limit.
+         * @see Configuration#MAX_CONCURRENT_REPLICATIONS_PROP_NAME
+         */
+        public int maxConcurrentReplications()
+        {
+            return maxConcurrentReplications;
+        }
+
+        /**
+         * Set the max number of concurrent replications after which further replications are queued.
+         *
+         * @param maxConcurrentReplications the max number of concurrent replications or 0 for no limit.
+         * @return this for a fluent API.
+         * @see Configuration#MAX_CONCURRENT_REPLICATIONS_PROP_NAME
+         */
+        public Context maxConcurrentReplications(final int maxConcurrentReplications)
+        {
+            this.maxConcurrentReplications = maxConcurrentReplications;
+            return this;
+        }
+
+        /**
+         * Get the rate in bytes per second at which each replication is recorded.
+         *
+         * @return the rate in bytes per second at which each replication is recorded or 0 for no limit.
+         * @see Configuration#REPLICATION_RATE_LIMIT_PROP_NAME
+         */
+        public long replicationRateLimit()
+        {
+            return replicationRateLimit;
+        }
+
+        /**
+         * Set the rate in bytes per second at which each replication is recorded.
+         *
+         * @param replicationRateLimit in bytes per second or 0 for no limit.
+         * @return this for a fluent API.
+         * @see Configuration#REPLICATION_RATE_LIMIT_PROP_NAME
+         */
+        public Context replicationRateLimit(final long replicationRateLimit)
+        {
+            this.replicationRateLimit = replicationRateLimit;
+            return this;
+        }
+
+        /**
+         * Get the rate in bytes per second at which all replications combined are recorded.
+         *
+         * @return the rate in bytes per second at which all replications combined are recorded or 0 for no limit.
+         * @see Configuration#REPLICATION_AGGREGATE_RATE_LIMIT_PROP_NAME
+         */
+        public long replicationAggregateRateLimit()
+        {
+            return replicationAggregateRateLimit;
+        }
+
+        /**
+         * Set the rate in bytes per second at which all replications combined are recorded.
+         *
+         * @param replicationAggregateRateLimit in bytes per second or 0 for no limit.
+         * @return this for a fluent API.
+         * @see Configuration#REPLICATION_AGGREGATE_RATE_LIMIT_PROP_NAME
+         */
+        public Context replicationAggregateRateLimit(final long replicationAggregateRateLimit)
+        {
+            this.replicationAggregateRateLimit = replicationAggregateRateLimit;
+            return this;
+        }
+
+        /**
+         * Get the number of control session worker threads across which listings are partitioned in
+         * {@link ArchiveThreadingMode#DEDICATED} mode. Other control requests are processed by the conductor.
+         *
+         * @return the number of control session worker threads or 0 to run listings on the conductor thread.
+         * @see Configuration#CONTROL_SESSION_WORKERS_PROP_NAME
+         */
+        public int controlSessionWorkers()
+        {
+            return controlSessionWorkers;
+        }
+
+        /**
+         * Set the number of control session worker threads across which listings are partitioned in
+         * {@link ArchiveThreadingMode#DEDICATED} mode. Other control requests are processed by the conductor.
+         *
+         * @param controlSessionWorkers the number of control session worker threads or 0 to run listings on the
+         *                              conductor thread.
+         * @return this for a fluent API.
+         * @see Configuration#CONTROL_SESSION_WORKERS_PROP_NAME
+         */
+        public Context controlSessionWorkers(final int controlSessionWorkers)
+        {
+            this.controlSessionWorkers = controlSessionWorkers;
+            return this;
+        }
+
+        /**
+         * Get the maximum length in bytes read from a recording segment in a single operation during a replay.
+         *
+         * @return the maximum length in bytes read from a recording segment in a single operation during a replay.
+         * @see Configuration#REPLAY_READ_LENGTH_PROP_NAME
+         */
+        public int replayReadLength()
+        {
+            return replayReadLength;
+        }
+
+        /**
+         * Set the maximum length in bytes read from a recording segment in a single operation during a replay.
+         *
+         * @param replayReadLength the maximum length in bytes read in a single operation during a replay.
+         * @return this for a fluent API.
+         * @see Configuration#REPLAY_READ_LENGTH_PROP_NAME
+         */
+        public Context replayReadLength(final int replayReadLength)
+        {
+            this.replayReadLength = replayReadLength;
+            return this;
+        }
+
+        /**
+         * Get the length in bytes of a recording segment read ahead of a replay into the page cache.
+         *
+         * @return the length in bytes of a recording segment read ahead of a replay or 0 for no explicit read ahead.
+         * @see Configuration#REPLAY_READ_AHEAD_LENGTH_PROP_NAME
+         */
+        public int replayReadAheadLength()
+        {
+            return replayReadAheadLength;
+        }
+
+        /**
+         * Set the length in bytes of a recording segment read ahead of a replay into the page cache on a helper
+         * thread.
+         *
+         * @param replayReadAheadLength the length in bytes read ahead of a replay or 0 for no explicit read ahead.
+         * @return this for a fluent API.
+         * @see Configuration#REPLAY_READ_AHEAD_LENGTH_PROP_NAME
+         */
+        public Context replayReadAheadLength(final int replayReadAheadLength)
+        {
+            this.replayReadAheadLength = replayReadAheadLength;
+            return this;
+        }
+
+        /**
+         * Get the maximum length in bytes read ahead across all replays which has not yet been consumed by a replay.
+         *
+         * @return the maximum length in bytes read ahead across all replays which has not yet been consumed.
+         * @see Configuration#REPLAY_READ_AHEAD_MAX_RESIDENT_LENGTH_PROP_NAME
+         */
+        public long replayReadAheadMaxResidentLength()
+        {
+            return replayReadAheadMaxResidentLength;
+        }
+
+        /**
+         * Set the maximum length in bytes read ahead across all replays which has not yet been consumed by a replay.
+         *
+         * @param replayReadAheadMaxResidentLength the maximum length in bytes read ahead and not yet consumed.
+         * @return this for a fluent API.
+         * @see Configuration#REPLAY_READ_AHEAD_MAX_RESIDENT_LENGTH_PROP_NAME
+         */
+        public Context replayReadAheadMaxResidentLength(final long replayReadAheadMaxResidentLength)
+        {
+            this.replayReadAheadMaxResidentLength = replayReadAheadMaxResidentLength;
+            return this;
+        }
+
+        /**
+         * Should a counter of the max time to read a block from storage be allocated for each replay.
+         *
+         * @return true if a counter of the max read time should be allocated for each replay.
+         * @see Configuration#REPLAY_READ_COUNTERS_ENABLED_PROP_NAME
+         */
+        public boolean replayReadCountersEnabled()
+        {
+            return replayReadCountersEnabled;
+        }
+
+        /**
+         * Should a counter of the max time to read a block from storage be allocated for each replay.
+         *
+         * @param replayReadCountersEnabled true if a counter of the max read time should be allocated for each replay.
+         * @return this for a fluent API.
+         * @see Configuration#REPLAY_READ_COUNTERS_ENABLED_PROP_NAME
+         */
+        public Context replayReadCountersEnabled(final boolean replayReadCountersEnabled)
+        {
+            this.replayReadCountersEnabled = replayReadCountersEnabled;
+            return this;
+        }
+
         /**
          * Delete the archive directory if the {@link #archiveDir()} value is not null.
          * <p>
@@ -2128,6 +3299,29 @@ public class Archive implements AutoCloseable
         return recordingId + "-" + segmentBasePosition + Configuration.RECORDING_SEGMENT_SUFFIX;
     }
 
+    /**
+     * The filename to be used for the timestamp index of a recording.
+     *
+     * @param recordingId to identify the recorded stream.
+     * @return the filename to be used for the timestamp index of a recording.
+     */
+    static String indexFileName(final long recordingId)
+    {
+        return recordingId + Configuration.RECORDING_INDEX_SUFFIX;
+    }
+
+    /**
+     * The filename to be used for a compressed segment file based on recording id and position the segment begins.
+     *
+     * @param recordingId         to identify the recorded stream.
+     * @param segmentBasePosition at which the segment file begins.
+     * @return the filename to be used for a compressed segment file.
+     */
+    static String compressedSegmentFileName(final long recordingId, final long segmentBasePosition)
+    {
+        return recordingId + "-" + segmentBasePosition + Configuration.RECORDING_COMPRESSED_SEGMENT_SUFFIX;
+    }
+
     /**
      * Get the {@link FileChannel} for the parent directory for the recordings and catalog so it can be sync'ed
      * to storage when new files are created.
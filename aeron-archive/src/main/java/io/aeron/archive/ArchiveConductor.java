@@ -29,6 +29,7 @@ import org.agrona.LangUtil;
 import org.agrona.SemanticVersion;
 import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.collections.LongHashSet;
 import org.agrona.collections.Object2ObjectHashMap;
 import org.agrona.concurrent.*;
 import org.agrona.concurrent.status.CountersReader;
@@ -37,9 +38,11 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileAttribute;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.concurrent.ThreadLocalRandom;
@@ -48,6 +51,9 @@ import java.util.concurrent.TimeUnit;
 import static io.aeron.Aeron.NULL_VALUE;
 import static io.aeron.CommonContext.SPY_PREFIX;
 import static io.aeron.archive.Archive.Configuration.MAX_BLOCK_LENGTH;
+import static io.aeron.archive.Archive.Configuration.RECORDING_COMPRESSED_SEGMENT_SUFFIX;
+import static io.aeron.archive.Archive.compressedSegmentFileName;
+import static io.aeron.archive.Archive.indexFileName;
 import static io.aeron.archive.Archive.segmentFileName;
 import static io.aeron.archive.client.AeronArchive.NULL_POSITION;
 import static io.aeron.archive.client.AeronArchive.segmentFileBasePosition;
@@ -65,6 +71,8 @@ abstract class ArchiveConductor
     implements AvailableImageHandler, UnavailableCounterHandler
 {
     private static final long MARK_FILE_UPDATE_INTERVAL_MS = TimeUnit.SECONDS.toMillis(1);
+    private static final long SEGMENT_TIERING_CHECK_INTERVAL_MS = TimeUnit.SECONDS.toMillis(1);
+    private static final int SEGMENT_TIERING_CHECK_LIMIT = 64;
     private static final EnumSet<StandardOpenOption> FILE_OPTIONS = EnumSet.of(READ, WRITE);
     private static final FileAttribute<?>[] NO_ATTRIBUTES = new FileAttribute[0];
 
@@ -81,12 +89,16 @@ abstract class ArchiveConductor
     private final RecordingDescriptorDecoder recordingDescriptorDecoder = new RecordingDescriptorDecoder();
     private final ControlResponseProxy controlResponseProxy = new ControlResponseProxy();
     private final UnsafeBuffer counterMetadataBuffer = new UnsafeBuffer(new byte[METADATA_LENGTH]);
+    private final LongHashSet pendingTieringRecordingIds = new LongHashSet();
+    private final LongHashSet pendingCompactionRecordingIds = new LongHashSet();
+    private final ArrayDeque<SegmentCompactor.SegmentCompaction> pendingCompactions = new ArrayDeque<>();
 
     private final Runnable aeronCloseHandler = this::abort;
     private final Aeron aeron;
     private final AgentInvoker aeronAgentInvoker;
     private final AgentInvoker driverAgentInvoker;
     private final EpochClock epochClock;
+    private final NanoClock nanoClock;
     private final CachedEpochClock cachedEpochClock = new CachedEpochClock();
     private final File archiveDir;
     private final FileChannel archiveDirChannel;
@@ -98,16 +110,29 @@ abstract class ArchiveConductor
     private final Authenticator authenticator;
     private final ControlSessionProxy controlSessionProxy;
     private final long connectTimeoutMs;
+    private final SegmentTiering segmentTiering;
+    private final SegmentCompactor segmentCompactor;
+    private final File secondaryDir;
+    private final long segmentTieringAgeMs;
+    private final long segmentTieringPositionThreshold;
     private long timeOfLastMarkFileUpdateMs;
+    private long timeOfLastSegmentTieringCheckMs;
+    private long segmentTieringCursor;
     private long nextSessionId = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
     private final int maxConcurrentRecordings;
     private final int maxConcurrentReplays;
+    private final int maxConcurrentReplications;
+    private final ReplicationPacer aggregateReplicationPacer;
+    private final ArrayDeque<ReplicationSession> pendingReplications = new ArrayDeque<>();
+    private int activeReplicationCount;
     private int replayId = 1;
     private volatile boolean isAbort;
 
     protected final Archive.Context ctx;
     SessionWorker<ReplaySession> replayer;
     SessionWorker<RecordingSession> recorder;
+    ControlSessionWorker[] controlSessionWorkers;
+    final Agent[] backgroundAgents;
 
     ArchiveConductor(final Archive.Context ctx)
     {
@@ -119,11 +144,21 @@ abstract class ArchiveConductor
         aeronAgentInvoker = aeron.conductorAgentInvoker();
         driverAgentInvoker = ctx.mediaDriverAgentInvoker();
         epochClock = ctx.epochClock();
+        nanoClock = ctx.nanoClock();
         archiveDir = ctx.archiveDir();
         archiveDirChannel = ctx.archiveDirChannel();
         maxConcurrentRecordings = ctx.maxConcurrentRecordings();
         maxConcurrentReplays = ctx.maxConcurrentReplays();
+        maxConcurrentReplications = ctx.maxConcurrentReplications();
+        aggregateReplicationPacer = ctx.replicationAggregateRateLimit() > 0 ?
+            new ReplicationPacer(ctx.replicationAggregateRateLimit(), null, nanoClock.nanoTime()) : null;
         connectTimeoutMs = TimeUnit.NANOSECONDS.toMillis(ctx.connectTimeoutNs());
+        segmentTiering = ctx.segmentTiering();
+        segmentCompactor = ctx.segmentCompactor();
+        secondaryDir = null == segmentTiering ? null : segmentTiering.secondaryDir();
+        segmentTieringAgeMs = TimeUnit.NANOSECONDS.toMillis(ctx.segmentTieringAgeNs());
+        segmentTieringPositionThreshold = ctx.segmentTieringPositionThreshold();
+        backgroundAgents = newBackgroundAgents(segmentCompactor, segmentTiering, ctx.replayReadAhead());
 
         aeron.addUnavailableCounterHandler(this);
         aeron.addCloseHandler(aeronCloseHandler);
@@ -154,6 +189,7 @@ abstract class ArchiveConductor
     {
         replayer = newReplayer();
         recorder = newRecorder();
+        controlSessionWorkers = newControlSessionWorkers();
     }
 
     public void onAvailableImage(final Image image)
@@ -183,6 +219,8 @@ abstract class ArchiveConductor
 
     protected abstract SessionWorker<ReplaySession> newReplayer();
 
+    protected abstract ControlSessionWorker[] newControlSessionWorkers();
+
     protected final void preSessionsClose()
     {
         closeSessionWorkers();
@@ -225,6 +263,10 @@ abstract class ArchiveConductor
             isAbort = true;
             replayer.abort();
             recorder.abort();
+            for (final ControlSessionWorker controlSessionWorker : controlSessionWorkers)
+            {
+                controlSessionWorker.abort();
+            }
 
             ctx.errorCounter().close();
             ctx.abortLatch().await(AgentRunner.RETRY_CLOSE_TIMEOUT_MS * 3L, TimeUnit.MILLISECONDS);
@@ -255,11 +297,27 @@ abstract class ArchiveConductor
                 markFile.updateActivityTimestamp(nowMs);
                 timeOfLastMarkFileUpdateMs = nowMs;
             }
+
+            if (null != segmentTiering && (0 != segmentTieringCursor ||
+                nowMs >= (timeOfLastSegmentTieringCheckMs + SEGMENT_TIERING_CHECK_INTERVAL_MS)))
+            {
+                workCount += checkSegmentTiering(nowMs);
+            }
         }
 
         workCount += invokeDriverConductor();
         workCount += runTasks(taskQueue);
 
+        if (null != segmentTiering)
+        {
+            workCount += pollSegmentTiering();
+        }
+
+        if (null != segmentCompactor)
+        {
+            workCount += pollSegmentCompactor();
+        }
+
         return workCount;
     }
 
@@ -463,16 +521,46 @@ abstract class ArchiveConductor
         }
         else
         {
+            final ControlSessionWorker worker = controlSessionWorker(controlSession);
             final ListRecordingsSession session = new ListRecordingsSession(
                 correlationId,
                 fromId,
                 count,
                 catalog,
-                controlResponseProxy,
+                worker.controlResponseProxy(),
                 controlSession,
-                descriptorBuffer);
-            addSession(session);
-            controlSession.activeListing(session);
+                worker.descriptorBuffer());
+            worker.addListing(controlSession, session);
+        }
+    }
+
+    void newListRecordingsPageSession(
+        final long correlationId,
+        final long fromRecordingId,
+        final int count,
+        final int projection,
+        final ControlSession controlSession)
+    {
+        if (controlSession.hasActiveListing())
+        {
+            final String msg = "active listing already in progress";
+            controlSession.sendErrorResponse(correlationId, ACTIVE_LISTING, msg, controlResponseProxy);
+        }
+        else
+        {
+            final ControlSessionWorker worker = controlSessionWorker(controlSession);
+            final ListRecordingsPageSession session = new ListRecordingsPageSession(
+                correlationId,
+                fromRecordingId,
+                count,
+                projection,
+                catalog,
+                worker.controlResponseProxy(),
+                controlSession,
+                worker.descriptorBuffer(),
+                worker.pageBuffer(),
+                worker.recordingDescriptorDecoder());
+            worker.addListing(controlSession, session);
         }
     }
 
@@ -491,6 +579,7 @@ abstract class ArchiveConductor
         }
         else
         {
+            final ControlSessionWorker worker = controlSessionWorker(controlSession);
             final ListRecordingsForUriSession session = new ListRecordingsForUriSession(
                 correlationId,
                 fromRecordingId,
@@ -498,12 +587,11 @@ abstract class ArchiveConductor
                 channelFragment,
                 streamId,
                 catalog,
-                controlResponseProxy,
+                worker.controlResponseProxy(),
                 controlSession,
-                descriptorBuffer,
-                recordingDescriptorDecoder);
-            addSession(session);
-            controlSession.activeListing(session);
+                worker.descriptorBuffer(),
+                worker.recordingDescriptorDecoder());
+            worker.addListing(controlSession, session);
         }
     }
 
@@ -551,6 +639,7 @@ abstract class ArchiveConductor
         final long length,
         final int replayStreamId,
         final String replayChannel,
+        final ReplayFilter replayFilter,
         final ControlSession controlSession)
     {
         if (replaySessionByIdMap.size() >= maxConcurrentReplays)
@@ -600,7 +689,12 @@ abstract class ArchiveConductor
             replayPublication,
             recordingSummary,
             null == recordingSession ? null : recordingSession.recordingPosition(),
-            ctx.replayChecksum());
+            ctx.replayChecksum(),
+            segmentTiering,
+            replayFilter,
+            ctx.replayReadLength(),
+            ctx.replayReadAhead(),
+            newReplayMaxReadTimeCounter(replaySessionId, recordingId));
 
         replaySessionByIdMap.put(replaySessionId, replaySession);
         replayer.addSession(replaySession);
@@ -663,7 +757,12 @@ abstract class ArchiveConductor
             replayPublication,
             recordingSummary,
             limitCounter,
-            ctx.replayChecksum());
+            ctx.replayChecksum(),
+            segmentTiering,
+            null,
+            ctx.replayReadLength(),
+            ctx.replayReadAhead(),
+            newReplayMaxReadTimeCounter(replaySessionId, recordingId));
 
         replaySessionByIdMap.put(replaySessionId, replaySession);
         replayer.addSession(replaySession);
@@ -800,10 +899,38 @@ abstract class ArchiveConductor
         }
     }
 
+    void findPosition(
+        final long correlationId, final long recordingId, final long timestamp, final ControlSession controlSession)
+    {
+        if (hasRecording(recordingId, correlationId, controlSession))
+        {
+            final File indexFile = new File(archiveDir, indexFileName(recordingId));
+            if (!indexFile.exists())
+            {
+                final String msg = "no timestamp index for recording " + recordingId;
+                controlSession.sendErrorResponse(correlationId, msg, controlResponseProxy);
+                return;
+            }
+
+            try
+            {
+                final long startPosition = catalog.startPosition(recordingId);
+                final long position = RecordingTimestampIndex.findPosition(indexFile, timestamp);
+                controlSession.sendOkResponse(correlationId, max(position, startPosition), controlResponseProxy);
+            }
+            catch (final IOException ex)
+            {
+                controlSession.sendErrorResponse(correlationId, ex.getMessage(), controlResponseProxy);
+            }
+        }
+    }
+
     void truncateRecording(
         final long correlationId, final long recordingId, final long position, final ControlSession controlSession)
     {
         if (hasRecording(recordingId, correlationId, controlSession) &&
+            isNotTiering(correlationId, controlSession, recordingId) &&
+            isNotCompacting(correlationId, controlSession, recordingId) &&
             isValidTruncate(correlationId, controlSession, recordingId, position))
         {
             final long stopPosition = recordingSummary.stopPosition;
@@ -818,7 +945,29 @@ abstract class ArchiveConductor
             {
                 if (stopPosition != position)
                 {
+                    if (isTieredSegment(recordingId, segmentBasePosition))
+                    {
+                        pendingTieringRecordingIds.add(recordingId);
+                        segmentTiering.requestRestore(new SegmentTiering.SegmentRestore(
+                            recordingId, segmentBasePosition, correlationId, position, controlSession));
+                        return;
+                    }
+
                     final File file = new File(archiveDir, segmentFileName(recordingId, segmentBasePosition));
+                    if (null != segmentCompactor && !file.exists() &&
+                        new File(archiveDir, compressedSegmentFileName(recordingId, segmentBasePosition)).exists())
+                    {
+                        pendingCompactionRecordingIds.add(recordingId);
+                        segmentCompactor.requestDecompression(new SegmentCompactor.SegmentDecompression(
+                            recordingId, segmentBasePosition, correlationId, position, controlSession));
+                        return;
+                    }
+
+                    if (!restoreCompressedSegment(correlationId, controlSession, recordingId, segmentBasePosition))
+                    {
+                        return;
+                    }
+
                     if (!eraseRemainingSegment(
                         correlationId, controlSession, position, segmentLength, segmentOffset, termLength, file))
                     {
@@ -831,7 +980,25 @@ abstract class ArchiveConductor
                 deleteSegmentFile(correlationId, recordingId, segmentBasePosition, controlSession);
             }
 
+            final File indexFile = new File(archiveDir, indexFileName(recordingId));
+            if (indexFile.exists())
+            {
+                try
+                {
+                    RecordingTimestampIndex.truncate(indexFile, position);
+                }
+                catch (final IOException ex)
+                {
+                    controlSession.sendErrorResponse(correlationId, ex.getMessage(), controlResponseProxy);
+                    return;
+                }
+            }
+
             catalog.stopPosition(recordingId, position);
+            if (catalog.tieredPosition(recordingId) > segmentBasePosition)
+            {
+                catalog.tieredPosition(recordingId, segmentBasePosition);
+            }
 
             for (long p = segmentBasePosition + segmentLength; p <= stopPosition; p += segmentLength)
             {
@@ -907,6 +1074,10 @@ abstract class ArchiveConductor
         if (!isAbort)
         {
             catalog.recordingStopped(recordingId, session.recordedPosition(), epochClock.time());
+            if (null != segmentCompactor)
+            {
+                requestLastSegmentCompaction(recordingId);
+            }
 
             session.controlSession().attemptSignal(
                 session.correlationId(),
@@ -980,7 +1151,18 @@ abstract class ArchiveConductor
             controlSession);
 
         replicationSessionByIdMap.put(replicationId, replicationSession);
-        addSession(replicationSession);
+
+        if (replicationSession.isLiveMerge() ||
+            0 == maxConcurrentReplications ||
+            activeReplicationCount < maxConcurrentReplications)
+        {
+            ++activeReplicationCount;
+            addSession(replicationSession);
+        }
+        else
+        {
+            pendingReplications.addLast(replicationSession);
+        }
 
         controlSession.sendOkResponse(correlationId, replicationId, controlResponseProxy);
     }
@@ -996,6 +1178,11 @@ abstract class ArchiveConductor
         else
         {
             session.abort();
+            if (pendingReplications.contains(session))
+            {
+                closeSession(session);
+            }
+
             controlSession.sendOkResponse(correlationId, controlResponseProxy);
         }
     }
@@ -1016,10 +1203,14 @@ abstract class ArchiveConductor
 
     void deleteDetachedSegments(final long correlationId, final long recordingId, final ControlSession controlSession)
     {
-        if (hasRecording(recordingId, correlationId, controlSession))
+        if (hasRecording(recordingId, correlationId, controlSession) &&
+            isNotCompacting(correlationId, controlSession, recordingId))
         {
             final long deletedSegmentCount = deleteDetachedSegments(recordingId);
-            controlSession.sendOkResponse(correlationId, deletedSegmentCount, controlResponseProxy);
+            if (purgeTimestampIndex(correlationId, controlSession, recordingId))
+            {
+                controlSession.sendOkResponse(correlationId, deletedSegmentCount, controlResponseProxy);
+            }
         }
     }
 
@@ -1030,11 +1221,15 @@ abstract class ArchiveConductor
         final ControlSession controlSession)
     {
         if (hasRecording(recordingId, correlationId, controlSession) &&
+            isNotCompacting(correlationId, controlSession, recordingId) &&
             isValidDetach(correlationId, controlSession, recordingId, newStartPosition))
         {
             catalog.startPosition(recordingId, newStartPosition);
             final long deletedSegmentCount = deleteDetachedSegments(recordingId);
-            controlSession.sendOkResponse(correlationId, deletedSegmentCount, controlResponseProxy);
+            if (purgeTimestampIndex(correlationId, controlSession, recordingId))
+            {
+                controlSession.sendOkResponse(correlationId, deletedSegmentCount, controlResponseProxy);
+            }
         }
     }
 
@@ -1109,6 +1304,10 @@ abstract class ArchiveConductor
     {
         if (hasRecording(srcRecordingId, correlationId, controlSession) &&
             hasRecording(dstRecordingId, correlationId, controlSession) &&
+            isNotTiering(correlationId, controlSession, srcRecordingId) &&
+            isNotTiering(correlationId, controlSession, dstRecordingId) &&
+            isNotCompacting(correlationId, controlSession, srcRecordingId) &&
+            isNotCompacting(correlationId, controlSession, dstRecordingId) &&
             isValidAttach(correlationId, controlSession, srcRecordingId, dstRecordingId))
         {
             long attachedSegmentCount = 0;
@@ -1120,20 +1319,24 @@ abstract class ArchiveConductor
 
             while (position >= segmentFileBasePosition)
             {
-                final File srcFile = new File(archiveDir, segmentFileName(srcRecordingId, position));
                 if (position == recordingSummary.stopPosition)
                 {
-                    srcFile.delete();
+                    deleteSegmentFiles(srcRecordingId, position);
                     position -= segmentLength;
                     continue;
                 }
-                else if (!srcFile.exists())
+
+                final File srcFile = findSegmentFile(srcRecordingId, position);
+                if (null == srcFile)
                 {
                     break;
                 }
 
-                final String dstFile = segmentFileName(dstRecordingId, position);
-                if (!srcFile.renameTo(new File(archiveDir, dstFile)))
+                final boolean isCompressed = srcFile.getName().endsWith(RECORDING_COMPRESSED_SEGMENT_SUFFIX);
+                final File dstFile = new File(srcFile.getParentFile(), isCompressed ?
+                    compressedSegmentFileName(dstRecordingId, position) : segmentFileName(dstRecordingId, position));
+
+                if (!srcFile.renameTo(dstFile))
                 {
                     final String msg = "failed to rename " + srcFile + " to " + dstFile;
                     controlSession.sendErrorResponse(correlationId, msg, controlResponseProxy);
@@ -1144,7 +1347,20 @@ abstract class ArchiveConductor
                 position -= segmentLength;
             }
 
+            try
+            {
+                RecordingTimestampIndex.migrate(
+                    new File(archiveDir, indexFileName(srcRecordingId)),
+                    new File(archiveDir, indexFileName(dstRecordingId)));
+            }
+            catch (final IOException ex)
+            {
+                controlSession.sendErrorResponse(correlationId, ex.getMessage(), controlResponseProxy);
+                return;
+            }
+
             catalog.startPosition(dstRecordingId, startPosition);
+            catalog.tieredPosition(dstRecordingId, catalog.tieredPosition(srcRecordingId));
             catalog.stopPosition(srcRecordingId, startPosition);
             controlSession.sendOkResponse(correlationId, attachedSegmentCount, controlResponseProxy);
         }
@@ -1153,6 +1369,24 @@ abstract class ArchiveConductor
     void removeReplicationSession(final ReplicationSession replicationSession)
     {
         replicationSessionByIdMap.remove(replicationSession.sessionId());
+
+        if (!pendingReplications.remove(replicationSession))
+        {
+            --activeReplicationCount;
+            if (!isClosed())
+            {
+                startPendingReplications();
+            }
+        }
+    }
+
+    private void startPendingReplications()
+    {
+        while (activeReplicationCount < maxConcurrentReplications && !pendingReplications.isEmpty())
+        {
+            ++activeReplicationCount;
+            addSession(pendingReplications.pollFirst());
+        }
     }
 
     private long deleteDetachedSegments(final long recordingId)
@@ -1164,8 +1398,7 @@ abstract class ArchiveConductor
 
         while (filenamePosition >= 0)
         {
-            final File f = new File(archiveDir, segmentFileName(recordingId, filenamePosition));
-            if (!f.delete())
+            if (!deleteSegmentFiles(recordingId, filenamePosition))
             {
                 break;
             }
@@ -1177,6 +1410,23 @@ abstract class ArchiveConductor
         return count;
     }
 
+    private boolean purgeTimestampIndex(
+        final long correlationId, final ControlSession controlSession, final long recordingId)
+    {
+        try
+        {
+            RecordingTimestampIndex.purge(
+                new File(archiveDir, indexFileName(recordingId)), catalog.startPosition(recordingId));
+        }
+        catch (final IOException ex)
+        {
+            controlSession.sendErrorResponse(correlationId, ex.getMessage(), controlResponseProxy);
+            return false;
+        }
+
+        return true;
+    }
+
     private int findTermOffsetForStart(
         final long correlationId,
         final ControlSession controlSession,
@@ -1258,6 +1508,12 @@ abstract class ArchiveConductor
         return termOffset;
     }
 
+    private ControlSessionWorker controlSessionWorker(final ControlSession controlSession)
+    {
+        final int index = (int)((controlSession.sessionId() & Long.MAX_VALUE) % controlSessionWorkers.length);
+        return controlSessionWorkers[index];
+    }
+
     private int runTasks(final ArrayDeque<Runnable> taskQueue)
     {
         int workCount = 0;
@@ -1409,7 +1665,8 @@ abstract class ArchiveConductor
             controlSession,
             ctx.recordChecksumBuffer(),
             ctx.recordChecksum(),
-            autoStop);
+            autoStop,
+            null);
 
         recordingSessionByIdMap.put(recordingId, session);
         recorder.addSession(session);
@@ -1422,6 +1679,35 @@ abstract class ArchiveConductor
             RecordingSignal.START);
     }
 
+    private Counter newReplayMaxReadTimeCounter(final long replaySessionId, final long recordingId)
+    {
+        if (!ctx.replayReadCountersEnabled())
+        {
+            return null;
+        }
+
+        return aeron.addCounter(
+            Archive.Configuration.ARCHIVE_REPLAY_MAX_READ_TIME_TYPE_ID,
+            "archive-replay max read time ns: replaySessionId=" + replaySessionId + " recordingId=" + recordingId);
+    }
+
+    private ReplicationPacer newReplicationPacer(final long correlationId)
+    {
+        final ReplicationSession replicationSession = replicationSessionByIdMap.get(correlationId);
+        if (null == replicationSession || replicationSession.isLiveMerge())
+        {
+            return null;
+        }
+
+        final long rateLimit = ctx.replicationRateLimit();
+        if (0 == rateLimit && null == aggregateReplicationPacer)
+        {
+            return null;
+        }
+
+        return new ReplicationPacer(rateLimit, aggregateReplicationPacer, nanoClock.nanoTime());
+    }
+
     private void extendRecordingSession(
         final ControlSession controlSession,
         final long correlationId,
@@ -1438,6 +1724,13 @@ abstract class ArchiveConductor
             throw new ArchiveException(msg);
         }
 
+        if (pendingCompactionRecordingIds.contains(recordingId))
+        {
+            final String msg = "cannot extend recording while segment compaction in progress for " + recordingId;
+            controlSession.attemptErrorResponse(correlationId, msg, controlResponseProxy);
+            throw new ArchiveException(msg);
+        }
+
         catalog.recordingSummary(recordingId, recordingSummary);
         validateImageForExtendRecording(correlationId, controlSession, image, recordingSummary);
 
@@ -1466,7 +1759,8 @@ abstract class ArchiveConductor
             controlSession,
             ctx.recordChecksumBuffer(),
             ctx.recordChecksum(),
-            autoStop);
+            autoStop,
+            newReplicationPacer(correlationId));
 
         recordingSessionByIdMap.put(recordingId, session);
         catalog.extendRecording(recordingId, controlSession.sessionId(), correlationId, image.sessionId());
@@ -1799,13 +2093,387 @@ abstract class ArchiveConductor
         final long segmentBasePosition,
         final ControlSession controlSession)
     {
-        final File file = new File(archiveDir, segmentFileName(recordingId, segmentBasePosition));
-        if (file.exists() && !file.delete())
+        for (final File file : segmentFiles(recordingId, segmentBasePosition))
+        {
+            if (file.exists() && !file.delete())
+            {
+                final String msg = "failed to delete " + file;
+                controlSession.sendErrorResponse(correlationId, msg, controlResponseProxy);
+                throw new ArchiveException(msg);
+            }
+        }
+    }
+
+    private File[] segmentFiles(final long recordingId, final long segmentBasePosition)
+    {
+        final String fileName = segmentFileName(recordingId, segmentBasePosition);
+        final String compressedFileName = compressedSegmentFileName(recordingId, segmentBasePosition);
+
+        if (null == secondaryDir)
+        {
+            return new File[]{ new File(archiveDir, fileName), new File(archiveDir, compressedFileName) };
+        }
+
+        return new File[]
         {
-            final String msg = "failed to delete " + file;
+            new File(archiveDir, fileName),
+            new File(archiveDir, compressedFileName),
+            new File(secondaryDir, fileName),
+            new File(secondaryDir, compressedFileName)
+        };
+    }
+
+    private File findSegmentFile(final long recordingId, final long segmentBasePosition)
+    {
+        for (final File file : segmentFiles(recordingId, segmentBasePosition))
+        {
+            if (file.exists())
+            {
+                return file;
+            }
+        }
+
+        return null;
+    }
+
+    private boolean deleteSegmentFiles(final long recordingId, final long segmentBasePosition)
+    {
+        boolean isDeleted = false;
+        for (final File file : segmentFiles(recordingId, segmentBasePosition))
+        {
+            isDeleted |= file.delete();
+        }
+
+        return isDeleted;
+    }
+
+    private boolean isNotTiering(
+        final long correlationId, final ControlSession controlSession, final long recordingId)
+    {
+        if (pendingTieringRecordingIds.contains(recordingId))
+        {
+            final String msg = "segment tiering in progress for recording " + recordingId;
             controlSession.sendErrorResponse(correlationId, msg, controlResponseProxy);
-            throw new ArchiveException(msg);
+            return false;
         }
+
+        return true;
+    }
+
+    private boolean isNotCompacting(
+        final long correlationId, final ControlSession controlSession, final long recordingId)
+    {
+        if (pendingCompactionRecordingIds.contains(recordingId))
+        {
+            final String msg = "segment compaction in progress for recording " + recordingId;
+            controlSession.sendErrorResponse(correlationId, msg, controlResponseProxy);
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean isTieredSegment(final long recordingId, final long segmentBasePosition)
+    {
+        if (null == secondaryDir)
+        {
+            return false;
+        }
+
+        final String fileName = segmentFileName(recordingId, segmentBasePosition);
+        final String compressedFileName = compressedSegmentFileName(recordingId, segmentBasePosition);
+
+        return !new File(archiveDir, fileName).exists() &&
+            !new File(archiveDir, compressedFileName).exists() &&
+            (new File(secondaryDir, fileName).exists() || new File(secondaryDir, compressedFileName).exists());
+    }
+
+    private int checkSegmentTiering(final long nowMs)
+    {
+        int workCount = 0;
+        final long count = catalog.countEntries();
+        long recordingId = segmentTieringCursor;
+
+        for (int i = 0; i < SEGMENT_TIERING_CHECK_LIMIT && recordingId < count; i++, recordingId++)
+        {
+            if (!pendingTieringRecordingIds.contains(recordingId) &&
+                !pendingCompactionRecordingIds.contains(recordingId) &&
+                catalog.hasRecording(recordingId))
+            {
+                workCount += checkSegmentTiering(recordingId, nowMs);
+            }
+        }
+
+        if (recordingId < count)
+        {
+            segmentTieringCursor = recordingId;
+        }
+        else
+        {
+            segmentTieringCursor = 0;
+            timeOfLastSegmentTieringCheckMs = nowMs;
+        }
+
+        return workCount;
+    }
+
+    private int checkSegmentTiering(final long recordingId, final long nowMs)
+    {
+        catalog.recordingSummary(recordingId, recordingSummary);
+
+        long latestPosition = recordingSummary.stopPosition;
+        if (NULL_POSITION == latestPosition)
+        {
+            final RecordingSession recordingSession = recordingSessionByIdMap.get(recordingId);
+            if (null == recordingSession)
+            {
+                return 0;
+            }
+
+            latestPosition = recordingSession.recordedPosition();
+        }
+
+        final int segmentLength = recordingSummary.segmentFileLength;
+        final long startPosition = recordingSummary.startPosition;
+        final long segmentBasePosition = max(
+            catalog.tieredPosition(recordingId),
+            segmentFileBasePosition(startPosition, startPosition, recordingSummary.termBufferLength, segmentLength));
+
+        if ((segmentBasePosition + segmentLength + segmentTieringPositionThreshold) >= latestPosition)
+        {
+            return 0;
+        }
+
+        final long lastModifiedMs = max(
+            new File(archiveDir, segmentFileName(recordingId, segmentBasePosition)).lastModified(),
+            new File(archiveDir, compressedSegmentFileName(recordingId, segmentBasePosition)).lastModified());
+
+        if (0 == lastModifiedMs)
+        {
+            if (new File(secondaryDir, segmentFileName(recordingId, segmentBasePosition)).exists() ||
+                new File(secondaryDir, compressedSegmentFileName(recordingId, segmentBasePosition)).exists())
+            {
+                catalog.tieredPosition(recordingId, segmentBasePosition + segmentLength);
+                return 1;
+            }
+
+            return 0;
+        }
+
+        if ((nowMs - lastModifiedMs) < segmentTieringAgeMs)
+        {
+            return 0;
+        }
+
+        pendingTieringRecordingIds.add(recordingId);
+        segmentTiering.requestMove(new SegmentTiering.SegmentMove(recordingId, segmentBasePosition, segmentLength));
+
+        return 1;
+    }
+
+    private int pollSegmentTiering()
+    {
+        int workCount = 0;
+
+        SegmentTiering.SegmentMove move;
+        while (null != (move = segmentTiering.pollCompleted()))
+        {
+            final long recordingId = move.recordingId;
+            pendingTieringRecordingIds.remove(recordingId);
+
+            if (move.isMoved &&
+                catalog.hasRecording(recordingId) &&
+                catalog.tieredPosition(recordingId) <= move.segmentBasePosition)
+            {
+                catalog.tieredPosition(recordingId, move.segmentBasePosition + move.segmentLength);
+            }
+
+            ++workCount;
+        }
+
+        SegmentTiering.SegmentRestore restore;
+        while (null != (restore = segmentTiering.pollRestored()))
+        {
+            final long recordingId = restore.recordingId;
+            final ControlSession controlSession = restore.controlSession;
+            pendingTieringRecordingIds.remove(recordingId);
+
+            if (!controlSession.isDone())
+            {
+                if (restore.isRestored)
+                {
+                    truncateRecording(restore.correlationId, recordingId, restore.truncatePosition, controlSession);
+                }
+                else
+                {
+                    final String msg = "failed to restore tiered segment for recording " + recordingId;
+                    controlSession.sendErrorResponse(restore.correlationId, msg, controlResponseProxy);
+                }
+            }
+
+            ++workCount;
+        }
+
+        return workCount;
+    }
+
+    private int pollSegmentCompactor()
+    {
+        int workCount = 0;
+
+        SegmentCompactor.SegmentDecompression decompression;
+        while (null != (decompression = segmentCompactor.pollDecompressed()))
+        {
+            final long recordingId = decompression.recordingId;
+            final ControlSession controlSession = decompression.controlSession;
+            pendingCompactionRecordingIds.remove(recordingId);
+
+            if (!controlSession.isDone())
+            {
+                if (decompression.isDecompressed)
+                {
+                    truncateRecording(
+                        decompression.correlationId, recordingId, decompression.truncatePosition, controlSession);
+                }
+                else
+                {
+                    final String msg = "failed to decompress segment for recording " + recordingId;
+                    controlSession.sendErrorResponse(decompression.correlationId, msg, controlResponseProxy);
+                }
+            }
+
+            ++workCount;
+        }
+
+        SegmentCompactor.SegmentCompaction compaction;
+        while (null != (compaction = segmentCompactor.pollCompleted()))
+        {
+            pendingCompactionRecordingIds.remove(compaction.recordingId);
+            ++workCount;
+        }
+
+        while (null != (compaction = segmentCompactor.pollRequest()))
+        {
+            pendingCompactions.addLast(compaction);
+            ++workCount;
+        }
+
+        for (int i = 0, size = pendingCompactions.size(); i < size; i++)
+        {
+            compaction = pendingCompactions.pollFirst();
+            final long recordingId = compaction.recordingId;
+
+            if (pendingTieringRecordingIds.contains(recordingId) ||
+                pendingCompactionRecordingIds.contains(recordingId) ||
+                isActiveSegment(recordingId, compaction.segmentBasePosition))
+            {
+                pendingCompactions.addLast(compaction);
+            }
+            else if (isCompletedSegment(recordingId, compaction.segmentBasePosition))
+            {
+                pendingCompactionRecordingIds.add(recordingId);
+                segmentCompactor.requestCompaction(compaction);
+                ++workCount;
+            }
+        }
+
+        return workCount;
+    }
+
+    private boolean isCompletedSegment(final long recordingId, final long segmentBasePosition)
+    {
+        if (!catalog.hasRecording(recordingId))
+        {
+            return false;
+        }
+
+        catalog.recordingSummary(recordingId, recordingSummary);
+        final long startPosition = recordingSummary.startPosition;
+        final int segmentLength = recordingSummary.segmentFileLength;
+
+        if (segmentBasePosition < segmentFileBasePosition(
+            startPosition, startPosition, recordingSummary.termBufferLength, segmentLength))
+        {
+            return false;
+        }
+
+        final RecordingSession recordingSession = recordingSessionByIdMap.get(recordingId);
+        if (null != recordingSession)
+        {
+            return (segmentBasePosition + segmentLength) <= recordingSession.recordedPosition();
+        }
+
+        final long stopPosition = recordingSummary.stopPosition;
+
+        return NULL_POSITION != stopPosition && segmentBasePosition < stopPosition;
+    }
+
+    private boolean isActiveSegment(final long recordingId, final long segmentBasePosition)
+    {
+        final RecordingSession recordingSession = recordingSessionByIdMap.get(recordingId);
+        if (null == recordingSession)
+        {
+            return false;
+        }
+
+        catalog.recordingSummary(recordingId, recordingSummary);
+
+        return (segmentBasePosition + recordingSummary.segmentFileLength) > recordingSession.recordedPosition();
+    }
+
+    private void requestLastSegmentCompaction(final long recordingId)
+    {
+        catalog.recordingSummary(recordingId, recordingSummary);
+        final long stopPosition = recordingSummary.stopPosition;
+        final long segmentBasePosition = segmentFileBasePosition(
+            recordingSummary.startPosition,
+            stopPosition,
+            recordingSummary.termBufferLength,
+            recordingSummary.segmentFileLength);
+
+        if (segmentBasePosition < stopPosition)
+        {
+            pendingCompactions.addLast(new SegmentCompactor.SegmentCompaction(recordingId, segmentBasePosition));
+        }
+    }
+
+    private boolean restoreCompressedSegment(
+        final long correlationId,
+        final ControlSession controlSession,
+        final long recordingId,
+        final long segmentBasePosition)
+    {
+        final File file = new File(archiveDir, segmentFileName(recordingId, segmentBasePosition));
+        final File compressedFile = new File(archiveDir, compressedSegmentFileName(recordingId, segmentBasePosition));
+        if (!file.exists() && compressedFile.exists())
+        {
+            try
+            {
+                CompressedSegment.decompress(compressedFile, file);
+                Files.delete(compressedFile.toPath());
+            }
+            catch (final IOException ex)
+            {
+                controlSession.sendErrorResponse(correlationId, ex.getMessage(), controlResponseProxy);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static Agent[] newBackgroundAgents(final Agent... agents)
+    {
+        int count = 0;
+        for (final Agent agent : agents)
+        {
+            if (null != agent)
+            {
+                agents[count++] = agent;
+            }
+        }
+
+        return Arrays.copyOf(agents, count);
     }
 
     private Counter getOrAddCounter(final int counterId)
@@ -33,7 +33,9 @@ public enum ArchiveThreadingMode
     SHARED,
 
     /**
-     * 3 Threads, one dedicated to each of the {@link org.agrona.concurrent.Agent}s.
+     * A thread dedicated to each of the {@link org.agrona.concurrent.Agent}s, being the conductor, recorder, and
+     * replayer plus any control session workers, segment compactor, segment tiering, and replay read ahead which are
+     * configured.
      */
     DEDICATED
 }
@@ -65,9 +65,8 @@ import static org.agrona.BitUtil.*;
  *  +---------------+-----------------------------------------------+
  *  |     valid     |                  Reserved                     |
  *  +---------------+-----------------------------------------------+
- *  |                          Reserved                             |
- *  +---------------------------------------------------------------+
- *  |                          Reserved                             |
+ *  |                       Tiered Position                         |
+ *  |                                                               |
  *  +---------------------------------------------------------------+
  *  |                          Reserved                             |
  *  +---------------------------------------------------------------+
@@ -373,9 +372,13 @@ class Catalog implements AutoCloseable
 
         descriptorHeaderEncoder
             .wrap(catalogBuffer, 0)
-            .length(descriptorEncoder.encodedLength())
             .valid(VALID);
 
+        final int length = descriptorEncoder.encodedLength();
+        catalogBuffer.putIntOrdered(
+            RecordingDescriptorHeaderEncoder.lengthEncodingOffset(),
+            nativeOrder() == BYTE_ORDER ? length : Integer.reverseBytes(length));
+
         forceWrites(catalogChannel, forceWrites, forceMetadata);
 
         return recordingId;
@@ -419,7 +422,7 @@ class Catalog implements AutoCloseable
 
         buffer.wrap(catalogByteBuffer, recordingDescriptorOffset(recordingId), recordLength);
 
-        return descriptorLength(buffer) > 0;
+        return descriptorLengthVolatile(buffer) > 0;
     }
 
     boolean wrapAndValidateDescriptor(final long recordingId, final UnsafeBuffer buffer)
@@ -431,7 +434,7 @@ class Catalog implements AutoCloseable
 
         buffer.wrap(catalogByteBuffer, recordingDescriptorOffset(recordingId), recordLength);
 
-        return descriptorLength(buffer) > 0 && isValidDescriptor(buffer);
+        return descriptorLengthVolatile(buffer) > 0 && isValidDescriptor(buffer);
     }
 
     boolean hasRecording(final long recordingId)
@@ -631,6 +634,26 @@ class Catalog implements AutoCloseable
         return nativeOrder() == BYTE_ORDER ? stopPosition : Long.reverseBytes(stopPosition);
     }
 
+    long tieredPosition(final long recordingId)
+    {
+        final int offset = recordingDescriptorOffset(recordingId) +
+            RecordingDescriptorHeaderDecoder.tieredPositionEncodingOffset();
+
+        final long tieredPosition = fieldAccessBuffer.getLongVolatile(offset);
+
+        return nativeOrder() == BYTE_ORDER ? tieredPosition : Long.reverseBytes(tieredPosition);
+    }
+
+    void tieredPosition(final long recordingId, final long position)
+    {
+        final int offset = recordingDescriptorOffset(recordingId) +
+            RecordingDescriptorHeaderDecoder.tieredPositionEncodingOffset();
+        final long tieredPosition = nativeOrder() == BYTE_ORDER ? position : Long.reverseBytes(position);
+
+        fieldAccessBuffer.putLongVolatile(offset, tieredPosition);
+        forceWrites(catalogChannel, forceWrites, forceMetadata);
+    }
+
     RecordingSummary recordingSummary(final long recordingId, final RecordingSummary summary)
     {
         final int offset = recordingDescriptorOffset(recordingId) + RecordingDescriptorHeaderDecoder.BLOCK_LENGTH;
@@ -653,6 +676,17 @@ class Catalog implements AutoCloseable
         return descriptorBuffer.getInt(RecordingDescriptorHeaderDecoder.lengthEncodingOffset(), BYTE_ORDER);
     }
 
+    /**
+     * Length of a descriptor read with volatile semantics. The length is written last when a recording is added so
+     * threads other than the conductor, such as control session workers, see a complete descriptor when it is set.
+     */
+    static int descriptorLengthVolatile(final UnsafeBuffer descriptorBuffer)
+    {
+        final int length = descriptorBuffer.getIntVolatile(RecordingDescriptorHeaderDecoder.lengthEncodingOffset());
+
+        return nativeOrder() == BYTE_ORDER ? length : Integer.reverseBytes(length);
+    }
+
     static boolean isValidDescriptor(final UnsafeBuffer descriptorBuffer)
     {
         return descriptorBuffer.getByte(RecordingDescriptorHeaderDecoder.validEncodingOffset()) == VALID;
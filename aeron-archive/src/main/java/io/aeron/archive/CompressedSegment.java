@@ -0,0 +1,251 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.archive.client.ArchiveException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.Deflater;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.file.StandardOpenOption.*;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * Format and operations for a recording segment which has been compressed in independent blocks so that it can be
+ * read from any position by only decompressing the blocks covering the range required.
+ * <p>
+ * The file begins with a header followed by an index of the file offset for each block plus one for the end of the
+ * last block so the stored length of a block is the difference between consecutive offsets. Blocks are deflate
+ * compressed without a wrapper unless they do not compress in which case the stored length will equal the
+ * uncompressed length and the block is stored raw.
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                            Magic                              |
+ *  +---------------------------------------------------------------+
+ *  |                           Version                             |
+ *  +---------------------------------------------------------------+
+ *  |                        Segment Length                         |
+ *  +---------------------------------------------------------------+
+ *  |                         Block Length                          |
+ *  +---------------------------------------------------------------+
+ *  |                         Block Count                           |
+ *  +---------------------------------------------------------------+
+ *  |                          Reserved                            ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ *  |                   Block File Offsets (N + 1)                 ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ *  |                         Block Data                           ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ */
+final class CompressedSegment
+{
+    static final int MAGIC = 0x41435347;
+    static final int VERSION = 1;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = MAGIC_OFFSET + SIZE_OF_INT;
+    static final int SEGMENT_LENGTH_OFFSET = VERSION_OFFSET + SIZE_OF_INT;
+    static final int BLOCK_LENGTH_OFFSET = SEGMENT_LENGTH_OFFSET + SIZE_OF_INT;
+    static final int BLOCK_COUNT_OFFSET = BLOCK_LENGTH_OFFSET + SIZE_OF_INT;
+    static final int HEADER_LENGTH = 32;
+
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private CompressedSegment()
+    {
+    }
+
+    /**
+     * Compress a raw segment file into a compressed segment file. The compressed file is written to a temporary file
+     * and then renamed so it is only visible when complete. The raw file is not removed.
+     *
+     * @param rawFile        to be compressed.
+     * @param compressedFile to be written.
+     * @param blockLength    of uncompressed data in each block.
+     * @param deflater       to compress with which will be reset for each block.
+     * @param forceWrites    should the compressed file be forced to storage before being renamed.
+     * @return the length of the compressed file.
+     * @throws IOException if the files cannot be read or written.
+     */
+    static long compress(
+        final File rawFile,
+        final File compressedFile,
+        final int blockLength,
+        final Deflater deflater,
+        final boolean forceWrites) throws IOException
+    {
+        final File tmpFile = new File(compressedFile.getPath() + TMP_SUFFIX);
+        final byte[] input = new byte[blockLength];
+        final byte[] output = new byte[blockLength];
+        final ByteBuffer inputBuffer = ByteBuffer.wrap(input);
+        final long fileLength;
+
+        try (FileChannel rawChannel = FileChannel.open(rawFile.toPath(), READ);
+            FileChannel channel = FileChannel.open(tmpFile.toPath(), CREATE, WRITE, TRUNCATE_EXISTING))
+        {
+            final long segmentLength = rawChannel.size();
+            final int blockCount = (int)((segmentLength + blockLength - 1) / blockLength);
+            final ByteBuffer header = ByteBuffer
+                .allocate(HEADER_LENGTH + ((blockCount + 1) * SIZE_OF_LONG))
+                .order(LITTLE_ENDIAN);
+
+            header
+                .putInt(MAGIC_OFFSET, MAGIC)
+                .putInt(VERSION_OFFSET, VERSION)
+                .putInt(SEGMENT_LENGTH_OFFSET, (int)segmentLength)
+                .putInt(BLOCK_LENGTH_OFFSET, blockLength)
+                .putInt(BLOCK_COUNT_OFFSET, blockCount);
+
+            long fileOffset = header.capacity();
+            for (int i = 0; i < blockCount; i++)
+            {
+                header.putLong(HEADER_LENGTH + (i * SIZE_OF_LONG), fileOffset);
+
+                final int length = (int)Math.min(blockLength, segmentLength - ((long)i * blockLength));
+                inputBuffer.clear().limit(length);
+                readFully(rawChannel, inputBuffer, (long)i * blockLength);
+
+                deflater.reset();
+                deflater.setInput(input, 0, length);
+                deflater.finish();
+
+                int compressedLength = 0;
+                while (!deflater.finished() && compressedLength < output.length)
+                {
+                    compressedLength += deflater.deflate(output, compressedLength, output.length - compressedLength);
+                }
+
+                if (deflater.finished() && compressedLength < length)
+                {
+                    fileOffset += writeFully(channel, ByteBuffer.wrap(output, 0, compressedLength), fileOffset);
+                }
+                else
+                {
+                    inputBuffer.flip();
+                    fileOffset += writeFully(channel, inputBuffer, fileOffset);
+                }
+            }
+
+            header.putLong(HEADER_LENGTH + (blockCount * SIZE_OF_LONG), fileOffset);
+            header.clear();
+            writeFully(channel, header, 0);
+
+            if (forceWrites)
+            {
+                channel.force(true);
+            }
+
+            fileLength = fileOffset;
+        }
+        catch (final IOException ex)
+        {
+            Files.deleteIfExists(tmpFile.toPath());
+            throw ex;
+        }
+
+        Files.move(tmpFile.toPath(), compressedFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+        return fileLength;
+    }
+
+    /**
+     * Decompress a compressed segment back to a raw segment file, e.g. so it can be modified by a truncate.
+     *
+     * @param compressedFile to be decompressed.
+     * @param rawFile        to be written.
+     * @throws IOException if the files cannot be read or written.
+     */
+    static void decompress(final File compressedFile, final File rawFile) throws IOException
+    {
+        final File tmpFile = new File(rawFile.getPath() + TMP_SUFFIX);
+
+        try (CompressedSegmentFileChannel compressedChannel = CompressedSegmentFileChannel.open(compressedFile, 1);
+            FileChannel channel = FileChannel.open(tmpFile.toPath(), CREATE, WRITE, TRUNCATE_EXISTING))
+        {
+            final ByteBuffer buffer = ByteBuffer.allocate(compressedChannel.blockLength());
+            final long segmentLength = compressedChannel.size();
+            long position = 0;
+
+            while (position < segmentLength)
+            {
+                buffer.clear();
+                final int bytesRead = compressedChannel.read(buffer, position);
+                buffer.flip();
+                writeFully(channel, buffer, position);
+                position += bytesRead;
+            }
+        }
+        catch (final IOException ex)
+        {
+            Files.deleteIfExists(tmpFile.toPath());
+            throw ex;
+        }
+
+        Files.move(tmpFile.toPath(), rawFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Is the file name that of a temporary file left by an incomplete compression or decompression.
+     *
+     * @param fileName to check.
+     * @return true if the file name is that of a temporary file.
+     */
+    static boolean isTemporaryFile(final String fileName)
+    {
+        return fileName.endsWith(TMP_SUFFIX);
+    }
+
+    static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException
+    {
+        long fileOffset = position;
+        while (buffer.remaining() > 0)
+        {
+            final int bytesRead = channel.read(buffer, fileOffset);
+            if (bytesRead < 0)
+            {
+                throw new ArchiveException("unexpected end of file at " + fileOffset);
+            }
+
+            fileOffset += bytesRead;
+        }
+    }
+
+    private static int writeFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+        throws IOException
+    {
+        final int length = buffer.remaining();
+        long fileOffset = position;
+        while (buffer.remaining() > 0)
+        {
+            fileOffset += channel.write(buffer, fileOffset);
+        }
+
+        return length;
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.archive.client.ArchiveException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static io.aeron.archive.CompressedSegment.*;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * Read only {@link FileChannel} over a {@link CompressedSegment} which presents the uncompressed contents of the
+ * segment so that it can be read by position in the same way as a raw segment file.
+ * <p>
+ * Blocks are decompressed on demand and a small number of the most recently used are cached so that sequential reads
+ * which are smaller than a block, such as a replay, only decompress each block once.
+ */
+final class CompressedSegmentFileChannel extends FileChannel
+{
+    private final FileChannel channel;
+    private final Inflater inflater = new Inflater(true);
+    private final int segmentLength;
+    private final int blockLength;
+    private final int blockCount;
+    private final long[] blockFileOffsets;
+    private final byte[] compressedBlock;
+    private final byte[][] cachedBlocks;
+    private final int[] cachedBlockIndices;
+    private final long[] cachedBlockTimestamps;
+    private long readCount;
+    private long position;
+
+    private CompressedSegmentFileChannel(final FileChannel channel, final int cacheBlockCount) throws IOException
+    {
+        this.channel = channel;
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).order(LITTLE_ENDIAN);
+        readFully(channel, header, 0);
+
+        if (MAGIC != header.getInt(MAGIC_OFFSET) || VERSION != header.getInt(VERSION_OFFSET))
+        {
+            throw new ArchiveException("invalid compressed segment header: magic=" + header.getInt(MAGIC_OFFSET) +
+                " version=" + header.getInt(VERSION_OFFSET));
+        }
+
+        segmentLength = header.getInt(SEGMENT_LENGTH_OFFSET);
+        blockLength = header.getInt(BLOCK_LENGTH_OFFSET);
+        blockCount = header.getInt(BLOCK_COUNT_OFFSET);
+
+        final ByteBuffer index = ByteBuffer.allocate((blockCount + 1) * SIZE_OF_LONG).order(LITTLE_ENDIAN);
+        readFully(channel, index, HEADER_LENGTH);
+        blockFileOffsets = new long[blockCount + 1];
+        for (int i = 0; i <= blockCount; i++)
+        {
+            blockFileOffsets[i] = index.getLong(i * SIZE_OF_LONG);
+        }
+
+        compressedBlock = new byte[blockLength];
+        cachedBlocks = new byte[cacheBlockCount][blockLength];
+        cachedBlockIndices = new int[cacheBlockCount];
+        cachedBlockTimestamps = new long[cacheBlockCount];
+        Arrays.fill(cachedBlockIndices, -1);
+    }
+
+    /**
+     * Open a compressed segment for reading.
+     *
+     * @param file            containing the compressed segment.
+     * @param cacheBlockCount number of decompressed blocks to cache.
+     * @return a new channel which presents the uncompressed contents of the segment.
+     * @throws IOException if the file cannot be opened or read.
+     */
+    static CompressedSegmentFileChannel open(final File file, final int cacheBlockCount) throws IOException
+    {
+        final FileChannel channel = FileChannel.open(file.toPath(), READ);
+        try
+        {
+            return new CompressedSegmentFileChannel(channel, Math.max(1, cacheBlockCount));
+        }
+        catch (final IOException | RuntimeException ex)
+        {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Length of uncompressed data in each block.
+     *
+     * @return length of uncompressed data in each block.
+     */
+    int blockLength()
+    {
+        return blockLength;
+    }
+
+    public int read(final ByteBuffer dst, final long position) throws IOException
+    {
+        if (position < 0)
+        {
+            throw new IllegalArgumentException("negative position: " + position);
+        }
+
+        if (position >= segmentLength)
+        {
+            return -1;
+        }
+
+        long offset = position;
+        int bytesRead = 0;
+        while (dst.remaining() > 0 && offset < segmentLength)
+        {
+            final int blockIndex = (int)(offset / blockLength);
+            final byte[] block = block(blockIndex);
+            final int blockOffset = (int)(offset - ((long)blockIndex * blockLength));
+            final int length = Math.min(dst.remaining(), blockUncompressedLength(blockIndex) - blockOffset);
+
+            dst.put(block, blockOffset, length);
+            offset += length;
+            bytesRead += length;
+        }
+
+        return bytesRead;
+    }
+
+    public int read(final ByteBuffer dst) throws IOException
+    {
+        final int bytesRead = read(dst, position);
+        if (bytesRead > 0)
+        {
+            position += bytesRead;
+        }
+
+        return bytesRead;
+    }
+
+    public long read(final ByteBuffer[] dsts, final int offset, final int length) throws IOException
+    {
+        long totalBytesRead = 0;
+        for (int i = offset, limit = offset + length; i < limit; i++)
+        {
+            final int bytesRead = read(dsts[i]);
+            if (bytesRead < 0)
+            {
+                return 0 == totalBytesRead ? -1 : totalBytesRead;
+            }
+
+            totalBytesRead += bytesRead;
+        }
+
+        return totalBytesRead;
+    }
+
+    public long position()
+    {
+        return position;
+    }
+
+    public FileChannel position(final long newPosition)
+    {
+        position = newPosition;
+        return this;
+    }
+
+    public long size()
+    {
+        return segmentLength;
+    }
+
+    public long transferTo(final long position, final long count, final WritableByteChannel target) throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate((int)Math.min(count, blockLength));
+        long transferred = 0;
+        while (transferred < count)
+        {
+            buffer.clear().limit((int)Math.min(buffer.capacity(), count - transferred));
+            final int bytesRead = read(buffer, position + transferred);
+            if (bytesRead <= 0)
+            {
+                break;
+            }
+
+            buffer.flip();
+            while (buffer.remaining() > 0)
+            {
+                target.write(buffer);
+            }
+            transferred += bytesRead;
+        }
+
+        return transferred;
+    }
+
+    public int write(final ByteBuffer src)
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public long write(final ByteBuffer[] srcs, final int offset, final int length)
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public int write(final ByteBuffer src, final long position)
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public FileChannel truncate(final long size)
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public void force(final boolean metaData)
+    {
+    }
+
+    public long transferFrom(final ReadableByteChannel src, final long position, final long count)
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public MappedByteBuffer map(final MapMode mode, final long position, final long size)
+    {
+        throw new UnsupportedOperationException("compressed segment cannot be mapped");
+    }
+
+    public FileLock lock(final long position, final long size, final boolean shared)
+    {
+        throw new UnsupportedOperationException("compressed segment cannot be locked");
+    }
+
+    public FileLock tryLock(final long position, final long size, final boolean shared)
+    {
+        throw new UnsupportedOperationException("compressed segment cannot be locked");
+    }
+
+    protected void implCloseChannel() throws IOException
+    {
+        inflater.end();
+        channel.close();
+    }
+
+    private int blockUncompressedLength(final int blockIndex)
+    {
+        return blockIndex < blockCount - 1 ? blockLength : segmentLength - (blockIndex * blockLength);
+    }
+
+    private byte[] block(final int blockIndex) throws IOException
+    {
+        int lruIndex = 0;
+        for (int i = 0; i < cachedBlockIndices.length; i++)
+        {
+            if (blockIndex == cachedBlockIndices[i])
+            {
+                cachedBlockTimestamps[i] = ++readCount;
+                return cachedBlocks[i];
+            }
+
+            if (cachedBlockTimestamps[i] < cachedBlockTimestamps[lruIndex])
+            {
+                lruIndex = i;
+            }
+        }
+
+        final byte[] block = cachedBlocks[lruIndex];
+        cachedBlockIndices[lruIndex] = -1;
+        decompressBlock(blockIndex, block);
+        cachedBlockIndices[lruIndex] = blockIndex;
+        cachedBlockTimestamps[lruIndex] = ++readCount;
+
+        return block;
+    }
+
+    private void decompressBlock(final int blockIndex, final byte[] block) throws IOException
+    {
+        final long fileOffset = blockFileOffsets[blockIndex];
+        final int storedLength = (int)(blockFileOffsets[blockIndex + 1] - fileOffset);
+        final int uncompressedLength = blockUncompressedLength(blockIndex);
+
+        if (storedLength == uncompressedLength)
+        {
+            readFully(channel, ByteBuffer.wrap(block, 0, uncompressedLength), fileOffset);
+            return;
+        }
+
+        readFully(channel, ByteBuffer.wrap(compressedBlock, 0, storedLength), fileOffset);
+
+        inflater.reset();
+        inflater.setInput(compressedBlock, 0, storedLength);
+        try
+        {
+            int length = 0;
+            while (length < uncompressedLength)
+            {
+                final int inflated = inflater.inflate(block, length, uncompressedLength - length);
+                if (0 == inflated && (inflater.finished() || inflater.needsInput()))
+                {
+                    break;
+                }
+
+                length += inflated;
+            }
+
+            if (length != uncompressedLength)
+            {
+                throw new ArchiveException(
+                    "compressed block " + blockIndex + " length " + length + " expected " + uncompressedLength);
+            }
+        }
+        catch (final DataFormatException ex)
+        {
+            throw new ArchiveException("corrupt compressed block " + blockIndex, ex, ArchiveException.GENERIC);
+        }
+    }
+}
@@ -58,4 +58,7 @@ class ControlRequestDecoders
     final ChallengeResponseDecoder challengeResponse = new ChallengeResponseDecoder();
     final KeepAliveRequestDecoder keepAliveRequest = new KeepAliveRequestDecoder();
     final TaggedReplicateRequestDecoder taggedReplicateRequest = new TaggedReplicateRequestDecoder();
+    final FindPositionRequestDecoder findPositionRequest = new FindPositionRequestDecoder();
+    final FilteredReplayRequestDecoder filteredReplayRequest = new FilteredReplayRequestDecoder();
+    final ListRecordingsPageRequestDecoder listRecordingsPageRequest = new ListRecordingsPageRequestDecoder();
 }
@@ -23,14 +23,20 @@ import io.aeron.archive.codecs.*;
 import io.aeron.logbuffer.BufferClaim;
 import org.agrona.DirectBuffer;
 import org.agrona.ExpandableArrayBuffer;
+import org.agrona.ExpandableRingBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
 
+import static io.aeron.archive.client.AeronArchive.PROJECTION_ORIGINAL_CHANNEL;
+import static io.aeron.archive.client.AeronArchive.PROJECTION_SOURCE_IDENTITY;
+import static io.aeron.archive.client.AeronArchive.PROJECTION_STRIPPED_CHANNEL;
 import static io.aeron.archive.codecs.RecordingDescriptorEncoder.recordingIdEncodingOffset;
 
 class ControlResponseProxy
 {
     private static final int SEND_ATTEMPTS = 3;
+    private static final int QUEUED_RESPONSE_MSG_TYPE_ID = 1;
     private static final int MESSAGE_HEADER_LENGTH = MessageHeaderEncoder.ENCODED_LENGTH;
     private static final int DESCRIPTOR_CONTENT_OFFSET =
         RecordingDescriptorHeaderDecoder.BLOCK_LENGTH + recordingIdEncodingOffset();
@@ -41,6 +47,7 @@ class ControlResponseProxy
     private final MessageHeaderEncoder messageHeaderEncoder = new MessageHeaderEncoder();
     private final ControlResponseEncoder responseEncoder = new ControlResponseEncoder();
     private final RecordingDescriptorEncoder recordingDescriptorEncoder = new RecordingDescriptorEncoder();
+    private final RecordingDescriptorPageEncoder recordingDescriptorPageEncoder = new RecordingDescriptorPageEncoder();
     private final RecordingSubscriptionDescriptorEncoder recordingSubscriptionDescriptorEncoder =
         new RecordingSubscriptionDescriptorEncoder();
     private final RecordingSignalEventEncoder recordingSignalEventEncoder = new RecordingSignalEventEncoder();
@@ -84,6 +91,105 @@ class ControlResponseProxy
         return 0;
     }
 
+    int queueDescriptor(
+        final long controlSessionId,
+        final long correlationId,
+        final UnsafeBuffer descriptorBuffer,
+        final RingBuffer queue)
+    {
+        final int messageLength = Catalog.descriptorLength(descriptorBuffer) + MESSAGE_HEADER_LENGTH;
+        final int contentLength = messageLength - recordingIdEncodingOffset() - MESSAGE_HEADER_LENGTH;
+
+        recordingDescriptorEncoder
+            .wrapAndApplyHeader(buffer, 0, messageHeaderEncoder)
+            .controlSessionId(controlSessionId)
+            .correlationId(correlationId);
+
+        buffer.putBytes(
+            MESSAGE_HEADER_LENGTH + recordingIdEncodingOffset(),
+            descriptorBuffer,
+            DESCRIPTOR_CONTENT_OFFSET,
+            contentLength);
+
+        return queue.write(QUEUED_RESPONSE_MSG_TYPE_ID, buffer, 0, messageLength) ? messageLength : 0;
+    }
+
+    int encodeDescriptorPage(
+        final long controlSessionId,
+        final long correlationId,
+        final int descriptorCount,
+        final int projection,
+        final long nextRecordingId,
+        final boolean isLast,
+        final DirectBuffer descriptorsBuffer,
+        final RecordingDescriptorDecoder decoder)
+    {
+        recordingDescriptorPageEncoder
+            .wrapAndApplyHeader(buffer, 0, messageHeaderEncoder)
+            .controlSessionId(controlSessionId)
+            .correlationId(correlationId)
+            .nextRecordingId(nextRecordingId)
+            .isLast(isLast ? BooleanType.TRUE : BooleanType.FALSE);
+
+        final RecordingDescriptorPageEncoder.DescriptorsEncoder descriptors =
+            recordingDescriptorPageEncoder.descriptorsCount(descriptorCount);
+
+        int descriptorOffset = 0;
+        for (int i = 0; i < descriptorCount; i++)
+        {
+            final int descriptorLength = descriptorsBuffer.getInt(
+                descriptorOffset + RecordingDescriptorHeaderDecoder.lengthEncodingOffset(),
+                RecordingDescriptorHeaderDecoder.BYTE_ORDER);
+
+            decoder.wrap(
+                descriptorsBuffer,
+                descriptorOffset + RecordingDescriptorHeaderDecoder.BLOCK_LENGTH,
+                RecordingDescriptorDecoder.BLOCK_LENGTH,
+                RecordingDescriptorDecoder.SCHEMA_VERSION);
+
+            descriptors.next()
+                .recordingId(decoder.recordingId())
+                .startTimestamp(decoder.startTimestamp())
+                .stopTimestamp(decoder.stopTimestamp())
+                .startPosition(decoder.startPosition())
+                .stopPosition(decoder.stopPosition())
+                .initialTermId(decoder.initialTermId())
+                .segmentFileLength(decoder.segmentFileLength())
+                .termBufferLength(decoder.termBufferLength())
+                .mtuLength(decoder.mtuLength())
+                .sessionId(decoder.sessionId())
+                .streamId(decoder.streamId());
+
+            int dataOffset = decoder.limit() + RecordingDescriptorDecoder.strippedChannelHeaderLength();
+            int dataLength = (projection & PROJECTION_STRIPPED_CHANNEL) != 0 ? decoder.strippedChannelLength() : 0;
+            descriptors.putStrippedChannel(descriptorsBuffer, dataOffset, dataLength);
+            decoder.skipStrippedChannel();
+
+            dataOffset = decoder.limit() + RecordingDescriptorDecoder.originalChannelHeaderLength();
+            dataLength = (projection & PROJECTION_ORIGINAL_CHANNEL) != 0 ? decoder.originalChannelLength() : 0;
+            descriptors.putOriginalChannel(descriptorsBuffer, dataOffset, dataLength);
+            decoder.skipOriginalChannel();
+
+            dataOffset = decoder.limit() + RecordingDescriptorDecoder.sourceIdentityHeaderLength();
+            dataLength = (projection & PROJECTION_SOURCE_IDENTITY) != 0 ? decoder.sourceIdentityLength() : 0;
+            descriptors.putSourceIdentity(descriptorsBuffer, dataOffset, dataLength);
+
+            descriptorOffset += RecordingDescriptorHeaderDecoder.BLOCK_LENGTH + descriptorLength;
+        }
+
+        return MESSAGE_HEADER_LENGTH + recordingDescriptorPageEncoder.encodedLength();
+    }
+
+    boolean sendEncoded(final int length, final ControlSession session)
+    {
+        return send(session, buffer, length);
+    }
+
+    boolean queueEncoded(final int length, final RingBuffer queue)
+    {
+        return queue.write(QUEUED_RESPONSE_MSG_TYPE_ID, buffer, 0, length);
+    }
+
     boolean sendSubscriptionDescriptor(
         final long controlSessionId,
         final long correlationId,
@@ -123,6 +229,57 @@ class ControlResponseProxy
         return sendResponseHook(session, buffer, MESSAGE_HEADER_LENGTH + responseEncoder.encodedLength());
     }
 
+    void queueResponse(
+        final long controlSessionId,
+        final long correlationId,
+        final long relevantId,
+        final ControlResponseCode code,
+        final String errorMessage,
+        final ExpandableRingBuffer queue)
+    {
+        responseEncoder
+            .wrapAndApplyHeader(buffer, 0, messageHeaderEncoder)
+            .controlSessionId(controlSessionId)
+            .correlationId(correlationId)
+            .relevantId(relevantId)
+            .code(code)
+            .version(AeronArchive.Configuration.PROTOCOL_SEMANTIC_VERSION)
+            .errorMessage(errorMessage);
+
+        if (!queue.append(buffer, 0, MESSAGE_HEADER_LENGTH + responseEncoder.encodedLength()))
+        {
+            throw new ArchiveException("failed to queue response: capacity=" + queue.capacity());
+        }
+    }
+
+    boolean queueResponse(
+        final long controlSessionId,
+        final long correlationId,
+        final long relevantId,
+        final ControlResponseCode code,
+        final String errorMessage,
+        final RingBuffer queue)
+    {
+        responseEncoder
+            .wrapAndApplyHeader(buffer, 0, messageHeaderEncoder)
+            .controlSessionId(controlSessionId)
+            .correlationId(correlationId)
+            .relevantId(relevantId)
+            .code(code)
+            .version(AeronArchive.Configuration.PROTOCOL_SEMANTIC_VERSION)
+            .errorMessage(errorMessage);
+
+        final int length = MESSAGE_HEADER_LENGTH + responseEncoder.encodedLength();
+
+        return queue.write(QUEUED_RESPONSE_MSG_TYPE_ID, buffer, 0, length);
+    }
+
+    boolean sendQueuedResponse(
+        final ControlSession session, final DirectBuffer buffer, final int offset, final int length)
+    {
+        return send(session, buffer, offset, length);
+    }
+
     boolean sendChallenge(
         final long controlSessionId,
         final long correlationId,
@@ -180,11 +337,16 @@ class ControlResponseProxy
     }
 
     private boolean send(final ControlSession session, final DirectBuffer buffer, final int length)
+    {
+        return send(session, buffer, 0, length);
+    }
+
+    private boolean send(final ControlSession session, final DirectBuffer buffer, final int offset, final int length)
     {
         int attempts = SEND_ATTEMPTS;
         do
         {
-            final long result = session.controlPublication().offer(buffer, 0, length);
+            final long result = session.controlPublication().offer(buffer, offset, length);
             if (result > 0)
             {
                 return true;
@@ -18,28 +18,44 @@ package io.aeron.archive;
 import io.aeron.Aeron;
 import io.aeron.Publication;
 import io.aeron.Subscription;
+import io.aeron.archive.client.ArchiveException;
 import io.aeron.archive.codecs.ControlResponseCode;
+import io.aeron.archive.codecs.RecordingDescriptorDecoder;
 import io.aeron.archive.codecs.RecordingSignal;
+import io.aeron.archive.codecs.ReplayFilterType;
 import io.aeron.archive.codecs.SourceLocation;
 import io.aeron.security.Authenticator;
 import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableRingBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.CachedEpochClock;
+import org.agrona.concurrent.MessageHandler;
 import org.agrona.concurrent.UnsafeBuffer;
-
-import java.util.ArrayDeque;
-import java.util.function.BooleanSupplier;
+import org.agrona.concurrent.ringbuffer.OneToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
 
 import static io.aeron.archive.client.ArchiveException.AUTHENTICATION_REJECTED;
 import static io.aeron.archive.client.ArchiveException.GENERIC;
 import static io.aeron.archive.codecs.ControlResponseCode.*;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+import static org.agrona.BufferUtil.allocateDirectAligned;
 
 /**
  * Control sessions are interacted with from the {@link ArchiveConductor}. The interaction may result in pending
  * send actions being queued for execution by the {@link ArchiveConductor}.
+ * <p>
+ * The {@link ArchiveConductor} is the only thread which writes to the control publication. When a listing is run
+ * on a dedicated {@link ControlSessionWorker} its responses are written to a ring buffer which the conductor drains
+ * in order with the other responses for the session.
  */
 final class ControlSession implements Session
 {
     private static final long RESEND_INTERVAL_MS = 200L;
+    private static final int QUEUED_RESPONSES_INITIAL_CAPACITY = 4096;
+    private static final int QUEUED_RESPONSES_BATCH_LIMIT = 16;
+    private static final int LISTING_RESPONSES_CAPACITY = 128 * 1024;
+    private static final int LISTING_RESPONSES_BATCH_LIMIT = 64;
     private static final String SESSION_REJECTED_MSG = "authentication rejected";
 
 
@@ -59,7 +75,11 @@ final class ControlSession implements Session
     private final ControlResponseProxy controlResponseProxy;
     private final Authenticator authenticator;
     private final ControlSessionProxy controlSessionProxy;
-    private final ArrayDeque<BooleanSupplier> queuedResponses = new ArrayDeque<>(8);
+    private final ExpandableRingBuffer queuedResponses =
+        new ExpandableRingBuffer(QUEUED_RESPONSES_INITIAL_CAPACITY, ExpandableRingBuffer.MAX_CAPACITY, false);
+    private final ExpandableRingBuffer.MessageConsumer queuedResponseSender = this::sendQueuedResponse;
+    private final MessageHandler listingResponseHandler = this::onListingResponse;
+    private OneToOneRingBuffer listingResponses;
     private final ControlSessionDemuxer demuxer;
     private final Publication controlPublication;
     private final String invalidVersionMessage;
@@ -186,6 +206,27 @@ final class ControlSession implements Session
         this.activeListing = activeListing;
     }
 
+    /**
+     * Direct the responses of listings for this session to a ring buffer which is drained by the conductor. This must
+     * be called on the conductor thread before the listing is handed to a dedicated {@link ControlSessionWorker}.
+     */
+    void queueListingResponses()
+    {
+        if (null == listingResponses)
+        {
+            listingResponses = new OneToOneRingBuffer(new UnsafeBuffer(allocateDirectAligned(
+                LISTING_RESPONSES_CAPACITY + RingBufferDescriptor.TRAILER_LENGTH, CACHE_LINE_LENGTH)));
+        }
+    }
+
+    int maxListingMessageLength()
+    {
+        final int maxMessageLength = controlPublication().maxMessageLength();
+
+        return null == listingResponses ?
+            maxMessageLength : Math.min(maxMessageLength, listingResponses.maxMsgLength());
+    }
+
     @SuppressWarnings("unused")
     void onChallengeResponse(final long correlationId, final byte[] encodedCredentials)
     {
@@ -263,6 +304,16 @@ final class ControlSession implements Session
         }
     }
 
+    void onListRecordingsPage(
+        final long correlationId, final long fromRecordingId, final int recordCount, final int projection)
+    {
+        attemptToGoActive();
+        if (State.ACTIVE == state)
+        {
+            conductor.newListRecordingsPageSession(correlationId, fromRecordingId, recordCount, projection, this);
+        }
+    }
+
     void onListRecording(final long correlationId, final long recordingId)
     {
         attemptToGoActive();
@@ -304,7 +355,38 @@ final class ControlSession implements Session
         if (State.ACTIVE == state)
         {
             conductor.startReplay(
-                correlationId, recordingId, position, length, replayStreamId, replayChannel, this);
+                correlationId, recordingId, position, length, replayStreamId, replayChannel, null, this);
+        }
+    }
+
+    void onStartFilteredReplay(
+        final long correlationId,
+        final long recordingId,
+        final long position,
+        final long length,
+        final int replayStreamId,
+        final String replayChannel,
+        final ReplayFilterType filterType,
+        final int filterOffset,
+        final long filterMask,
+        final long filterValue)
+    {
+        attemptToGoActive();
+        if (State.ACTIVE == state)
+        {
+            final ReplayFilter replayFilter;
+            try
+            {
+                replayFilter = new ReplayFilter(filterType, filterOffset, filterMask, filterValue);
+            }
+            catch (final IllegalArgumentException ex)
+            {
+                sendErrorResponse(correlationId, ex.getMessage(), controlResponseProxy);
+                return;
+            }
+
+            conductor.startReplay(
+                correlationId, recordingId, position, length, replayStreamId, replayChannel, replayFilter, this);
         }
     }
 
@@ -392,6 +474,15 @@ final class ControlSession implements Session
         }
     }
 
+    void onFindPosition(final long correlationId, final long recordingId, final long timestamp)
+    {
+        attemptToGoActive();
+        if (State.ACTIVE == state)
+        {
+            conductor.findPosition(correlationId, recordingId, timestamp, this);
+        }
+    }
+
     void onListRecordingSubscriptions(
         final long correlationId,
         final int pseudoIndex,
@@ -557,9 +648,17 @@ final class ControlSession implements Session
         sendResponse(correlationId, relevantId, ERROR, errorMessage, proxy);
     }
 
-    void sendRecordingUnknown(final long correlationId, final long recordingId, final ControlResponseProxy proxy)
+    boolean sendRecordingUnknown(final long correlationId, final long recordingId, final ControlResponseProxy proxy)
     {
+        if (isListingOnWorker())
+        {
+            return proxy.queueResponse(
+                controlSessionId, correlationId, recordingId, RECORDING_UNKNOWN, null, listingResponses);
+        }
+
         sendResponse(correlationId, recordingId, RECORDING_UNKNOWN, null, proxy);
+
+        return true;
     }
 
     void sendSubscriptionUnknown(final long correlationId, final ControlResponseProxy proxy)
@@ -574,7 +673,10 @@ final class ControlSession implements Session
         final String errorMessage,
         final ControlResponseProxy proxy)
     {
-        if (!proxy.sendResponse(controlSessionId, correlationId, relevantId, code, errorMessage, this))
+        drainListingResponses(Integer.MAX_VALUE);
+
+        if (!queuedResponses.isEmpty() ||
+            !proxy.sendResponse(controlSessionId, correlationId, relevantId, code, errorMessage, this))
         {
             queueResponse(correlationId, relevantId, code, errorMessage);
         }
@@ -582,20 +684,62 @@ final class ControlSession implements Session
 
     void attemptErrorResponse(final long correlationId, final String errorMessage, final ControlResponseProxy proxy)
     {
-        proxy.sendResponse(controlSessionId, correlationId, GENERIC, ERROR, errorMessage, this);
+        attemptErrorResponse(correlationId, GENERIC, errorMessage, proxy);
     }
 
     void attemptErrorResponse(
         final long correlationId, final long relevantId, final String errorMessage, final ControlResponseProxy proxy)
     {
-        proxy.sendResponse(controlSessionId, correlationId, relevantId, ERROR, errorMessage, this);
+        drainListingResponses(Integer.MAX_VALUE);
+
+        if (!queuedResponses.isEmpty())
+        {
+            queueResponse(correlationId, relevantId, ERROR, errorMessage);
+        }
+        else
+        {
+            proxy.sendResponse(controlSessionId, correlationId, relevantId, ERROR, errorMessage, this);
+        }
     }
 
     int sendDescriptor(final long correlationId, final UnsafeBuffer descriptorBuffer, final ControlResponseProxy proxy)
     {
+        if (isListingOnWorker())
+        {
+            return proxy.queueDescriptor(controlSessionId, correlationId, descriptorBuffer, listingResponses);
+        }
+
         return proxy.sendDescriptor(controlSessionId, correlationId, descriptorBuffer, this);
     }
 
+    boolean sendDescriptorPage(
+        final long correlationId,
+        final int descriptorCount,
+        final int projection,
+        final long nextRecordingId,
+        final boolean isLast,
+        final DirectBuffer descriptors,
+        final RecordingDescriptorDecoder decoder,
+        final ControlResponseProxy proxy)
+    {
+        final int length = proxy.encodeDescriptorPage(
+            controlSessionId,
+            correlationId,
+            descriptorCount,
+            projection,
+            nextRecordingId,
+            isLast,
+            descriptors,
+            decoder);
+
+        if (isListingOnWorker())
+        {
+            return proxy.queueEncoded(length, listingResponses);
+        }
+
+        return proxy.sendEncoded(length, this);
+    }
+
     boolean sendSubscriptionDescriptor(
         final long correlationId, final Subscription subscription, final ControlResponseProxy proxy)
     {
@@ -644,13 +788,35 @@ final class ControlSession implements Session
     private void queueResponse(
         final long correlationId, final long relevantId, final ControlResponseCode code, final String message)
     {
-        queuedResponses.offer(() -> controlResponseProxy.sendResponse(
-            controlSessionId,
-            correlationId,
-            relevantId,
-            code,
-            message,
-            this));
+        controlResponseProxy.queueResponse(controlSessionId, correlationId, relevantId, code, message, queuedResponses);
+    }
+
+    private boolean sendQueuedResponse(
+        final MutableDirectBuffer buffer, final int offset, final int length, final int headOffset)
+    {
+        return controlResponseProxy.sendQueuedResponse(this, buffer, offset, length);
+    }
+
+    private boolean isListingOnWorker()
+    {
+        return null != listingResponses && null != activeListing;
+    }
+
+    private int drainListingResponses(final int limit)
+    {
+        return null == listingResponses ? 0 : listingResponses.read(listingResponseHandler, limit);
+    }
+
+    private void onListingResponse(
+        final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+    {
+        if (!queuedResponses.isEmpty() || !controlResponseProxy.sendQueuedResponse(this, buffer, index, length))
+        {
+            if (!queuedResponses.append(buffer, index, length))
+            {
+                throw new ArchiveException("failed to queue response: capacity=" + queuedResponses.capacity());
+            }
+        }
     }
 
     private int waitForConnection(final long nowMs)
@@ -756,11 +922,12 @@ final class ControlSession implements Session
         }
         else
         {
+            workCount += drainListingResponses(LISTING_RESPONSES_BATCH_LIMIT);
+
             if (!queuedResponses.isEmpty())
             {
-                if (queuedResponses.peekFirst().getAsBoolean())
+                if (queuedResponses.consume(queuedResponseSender, QUEUED_RESPONSES_BATCH_LIMIT) > 0)
                 {
-                    queuedResponses.pollFirst();
                     activityDeadlineMs = Aeron.NULL_VALUE;
                     workCount++;
                 }
@@ -767,6 +767,68 @@ class ControlSessionDemuxer implements Session, FragmentHandler
                 controlSession.onStopRecordingByIdentity(correlationId, decoder.recordingId());
                 break;
             }
+
+            case FindPositionRequestDecoder.TEMPLATE_ID:
+            {
+                final FindPositionRequestDecoder decoder = decoders.findPositionRequest;
+                decoder.wrap(
+                    buffer,
+                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                    headerDecoder.blockLength(),
+                    headerDecoder.version());
+
+                final long correlationId = decoder.correlationId();
+                final long controlSessionId = decoder.controlSessionId();
+                final ControlSession controlSession = getControlSession(controlSessionId, correlationId);
+
+                controlSession.onFindPosition(correlationId, decoder.recordingId(), decoder.timestamp());
+                break;
+            }
+
+            case FilteredReplayRequestDecoder.TEMPLATE_ID:
+            {
+                final FilteredReplayRequestDecoder decoder = decoders.filteredReplayRequest;
+                decoder.wrap(
+                    buffer,
+                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                    headerDecoder.blockLength(),
+                    headerDecoder.version());
+
+                final long correlationId = decoder.correlationId();
+                final long controlSessionId = decoder.controlSessionId();
+                final ControlSession controlSession = getControlSession(controlSessionId, correlationId);
+
+                controlSession.onStartFilteredReplay(
+                    correlationId,
+                    decoder.recordingId(),
+                    decoder.position(),
+                    decoder.length(),
+                    decoder.replayStreamId(),
+                    decoder.replayChannel(),
+                    decoder.filterType(),
+                    decoder.filterOffset(),
+                    decoder.filterMask(),
+                    decoder.filterValue());
+                break;
+            }
+
+            case ListRecordingsPageRequestDecoder.TEMPLATE_ID:
+            {
+                final ListRecordingsPageRequestDecoder decoder = decoders.listRecordingsPageRequest;
+                decoder.wrap(
+                    buffer,
+                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                    headerDecoder.blockLength(),
+                    headerDecoder.version());
+
+                final long correlationId = decoder.correlationId();
+                final long controlSessionId = decoder.controlSessionId();
+                final ControlSession controlSession = getControlSession(controlSessionId, correlationId);
+
+                controlSession.onListRecordingsPage(
+                    correlationId, decoder.fromRecordingId(), decoder.recordCount(), decoder.projection());
+                break;
+            }
         }
     }
 
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.archive.codecs.RecordingDescriptorDecoder;
+import org.agrona.ErrorHandler;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import static io.aeron.archive.ListRecordingsPageSession.MAX_PAGE_LENGTH;
+
+/**
+ * Worker for listing recordings from the {@link Catalog}, which can be partitioned by control session so large
+ * listings do not hold up the {@link ArchiveConductor}. The conductor still polls control requests and processes all
+ * other requests, including catalog mutations, so only listings are offloaded to workers.
+ * <p>
+ * Each worker has its own response proxy and descriptor buffers so workers can run on separate threads. Workers
+ * which run on their own thread write responses to a queue per control session which the conductor drains, so
+ * the conductor remains the only writer to the control publications.
+ */
+class ControlSessionWorker extends SessionWorker<Session>
+{
+    private final ControlResponseProxy controlResponseProxy = new ControlResponseProxy();
+    private final UnsafeBuffer descriptorBuffer = new UnsafeBuffer();
+    private final ExpandableArrayBuffer pageBuffer = new ExpandableArrayBuffer(MAX_PAGE_LENGTH);
+    private final RecordingDescriptorDecoder recordingDescriptorDecoder = new RecordingDescriptorDecoder();
+
+    ControlSessionWorker(final String roleName, final ErrorHandler errorHandler)
+    {
+        super(roleName, errorHandler);
+    }
+
+    ControlResponseProxy controlResponseProxy()
+    {
+        return controlResponseProxy;
+    }
+
+    UnsafeBuffer descriptorBuffer()
+    {
+        return descriptorBuffer;
+    }
+
+    ExpandableArrayBuffer pageBuffer()
+    {
+        return pageBuffer;
+    }
+
+    RecordingDescriptorDecoder recordingDescriptorDecoder()
+    {
+        return recordingDescriptorDecoder;
+    }
+
+    void addListing(final ControlSession controlSession, final AbstractListRecordingsSession listing)
+    {
+        controlSession.activeListing(listing);
+        addSession(listing);
+    }
+}
@@ -29,6 +29,9 @@ final class DedicatedModeArchiveConductor extends ArchiveConductor
     private final ManyToOneConcurrentLinkedQueue<Session> closeQueue;
     private AgentRunner replayerAgentRunner;
     private AgentRunner recorderAgentRunner;
+    private AgentRunner[] controlSessionWorkerAgentRunners;
+    private AgentInvoker controlSessionWorkerAgentInvoker;
+    private AgentRunner[] backgroundAgentRunners;
 
     DedicatedModeArchiveConductor(final Archive.Context ctx)
     {
@@ -45,6 +48,31 @@ final class DedicatedModeArchiveConductor extends ArchiveConductor
 
         AgentRunner.startOnThread(replayerAgentRunner, ctx.threadFactory());
         AgentRunner.startOnThread(recorderAgentRunner, ctx.threadFactory());
+
+        if (ctx.controlSessionWorkers() > 0)
+        {
+            controlSessionWorkerAgentRunners = new AgentRunner[controlSessionWorkers.length];
+            for (int i = 0; i < controlSessionWorkers.length; i++)
+            {
+                controlSessionWorkerAgentRunners[i] = new AgentRunner(
+                    ctx.idleStrategy(), errorHandler, ctx.errorCounter(), controlSessionWorkers[i]);
+                AgentRunner.startOnThread(controlSessionWorkerAgentRunners[i], ctx.threadFactory());
+            }
+        }
+        else
+        {
+            controlSessionWorkerAgentInvoker = new AgentInvoker(
+                errorHandler, ctx.errorCounter(), controlSessionWorkers[0]);
+            controlSessionWorkerAgentInvoker.start();
+        }
+
+        backgroundAgentRunners = new AgentRunner[backgroundAgents.length];
+        for (int i = 0; i < backgroundAgents.length; i++)
+        {
+            backgroundAgentRunners[i] = new AgentRunner(
+                ctx.idleStrategy(), errorHandler, ctx.errorCounter(), backgroundAgents[i]);
+            AgentRunner.startOnThread(backgroundAgentRunners[i], ctx.threadFactory());
+        }
     }
 
     protected SessionWorker<RecordingSession> newRecorder()
@@ -57,15 +85,55 @@ final class DedicatedModeArchiveConductor extends ArchiveConductor
         return new DedicatedModeReplayer(errorHandler, ctx.errorCounter(), closeQueue, ctx.abortLatch());
     }
 
+    protected ControlSessionWorker[] newControlSessionWorkers()
+    {
+        final int count = ctx.controlSessionWorkers();
+        if (0 == count)
+        {
+            return new ControlSessionWorker[]{ new ControlSessionWorker("archive-control", errorHandler) };
+        }
+
+        final ControlSessionWorker[] workers = new ControlSessionWorker[count];
+        for (int i = 0; i < count; i++)
+        {
+            workers[i] = new DedicatedModeControlSessionWorker(
+                "archive-control-" + i, errorHandler, ctx.errorCounter(), closeQueue, ctx.abortLatch());
+        }
+
+        return workers;
+    }
+
     protected int preWork()
     {
-        return super.preWork() + processCloseQueue();
+        int workCount = super.preWork() + processCloseQueue();
+
+        if (null != controlSessionWorkerAgentInvoker)
+        {
+            workCount += controlSessionWorkerAgentInvoker.invoke();
+        }
+
+        return workCount;
     }
 
     protected void closeSessionWorkers()
     {
         CloseHelper.close(errorHandler, recorderAgentRunner);
         CloseHelper.close(errorHandler, replayerAgentRunner);
+        if (null != controlSessionWorkerAgentRunners)
+        {
+            for (final AgentRunner agentRunner : controlSessionWorkerAgentRunners)
+            {
+                CloseHelper.close(errorHandler, agentRunner);
+            }
+        }
+        CloseHelper.close(errorHandler, controlSessionWorkerAgentInvoker);
+        if (null != backgroundAgentRunners)
+        {
+            for (final AgentRunner agentRunner : backgroundAgentRunners)
+            {
+                CloseHelper.close(errorHandler, agentRunner);
+            }
+        }
 
         while (processCloseQueue() > 0 || !closeQueue.isEmpty())
         {
@@ -307,4 +375,115 @@ final class DedicatedModeArchiveConductor extends ArchiveConductor
             }
         }
     }
+
+    static class DedicatedModeControlSessionWorker extends ControlSessionWorker
+    {
+        private final ManyToOneConcurrentLinkedQueue<Session> sessionsQueue;
+        private final ManyToOneConcurrentLinkedQueue<Session> closeQueue;
+        private final AtomicCounter errorCounter;
+        private final CountDownLatch abortLatch;
+        private volatile boolean isAbort;
+
+        DedicatedModeControlSessionWorker(
+            final String roleName,
+            final ErrorHandler errorHandler,
+            final AtomicCounter errorCounter,
+            final ManyToOneConcurrentLinkedQueue<Session> closeQueue,
+            final CountDownLatch abortLatch)
+        {
+            super(roleName, errorHandler);
+
+            this.closeQueue = closeQueue;
+            this.errorCounter = errorCounter;
+            this.sessionsQueue = new ManyToOneConcurrentLinkedQueue<>();
+            this.abortLatch = abortLatch;
+        }
+
+        protected void abort()
+        {
+            isAbort = true;
+        }
+
+        protected void addSession(final Session session)
+        {
+            send(session);
+        }
+
+        void addListing(final ControlSession controlSession, final AbstractListRecordingsSession listing)
+        {
+            controlSession.queueListingResponses();
+            super.addListing(controlSession, listing);
+        }
+
+        protected int preWork()
+        {
+            if (isAbort)
+            {
+                throw new AgentTerminationException();
+            }
+
+            return drainSessionQueue();
+        }
+
+        protected void preSessionsClose()
+        {
+            drainSessionQueue();
+        }
+
+        private int drainSessionQueue()
+        {
+            int workCount = 0;
+            Session session;
+
+            while (null != (session = sessionsQueue.poll()))
+            {
+                workCount += 1;
+                super.addSession(session);
+            }
+
+            return workCount;
+        }
+
+        protected void closeSession(final Session session)
+        {
+            while (!closeQueue.offer(session))
+            {
+                if (!errorCounter.isClosed())
+                {
+                    errorCounter.increment();
+                }
+
+                Thread.yield();
+                if (Thread.currentThread().isInterrupted())
+                {
+                    break;
+                }
+            }
+        }
+
+        protected void postSessionsClose()
+        {
+            if (isAbort)
+            {
+                abortLatch.countDown();
+            }
+        }
+
+        private void send(final Session session)
+        {
+            while (!sessionsQueue.offer(session))
+            {
+                if (!errorCounter.isClosed())
+                {
+                    errorCounter.increment();
+                }
+
+                Thread.yield();
+                if (Thread.currentThread().isInterrupted())
+                {
+                    break;
+                }
+            }
+        }
+    }
 }
@@ -58,9 +58,7 @@ class ListRecordingsForUriSession extends AbstractListRecordingsSession
         {
             if (!catalog.wrapDescriptor(recordingId, descriptorBuffer))
             {
-                controlSession.sendRecordingUnknown(correlationId, recordingId, proxy);
-
-                isDone = true;
+                isDone = controlSession.sendRecordingUnknown(correlationId, recordingId, proxy);
                 break;
             }
 
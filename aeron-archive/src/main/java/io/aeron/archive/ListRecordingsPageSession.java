@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.archive.codecs.MessageHeaderEncoder;
+import io.aeron.archive.codecs.RecordingDescriptorDecoder;
+import io.aeron.archive.codecs.RecordingDescriptorHeaderDecoder;
+import io.aeron.archive.codecs.RecordingDescriptorPageEncoder;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import static io.aeron.Aeron.NULL_VALUE;
+import static io.aeron.archive.client.AeronArchive.PROJECTION_ORIGINAL_CHANNEL;
+import static io.aeron.archive.client.AeronArchive.PROJECTION_SOURCE_IDENTITY;
+import static io.aeron.archive.client.AeronArchive.PROJECTION_STRIPPED_CHANNEL;
+
+/**
+ * Listing which packs as many recording descriptors as fit into each response message rather than sending one
+ * message per descriptor. Only the variable length fields selected by the projection are included and each page
+ * carries the next recording id as a cursor so a listing can be resumed with a new request.
+ * <p>
+ * Descriptors are copied from the catalog as they are selected for a page and the page is encoded from the copies so
+ * the count of descriptors always matches what is encoded, even when the catalog is updated concurrently.
+ */
+class ListRecordingsPageSession extends AbstractListRecordingsSession
+{
+    static final int MAX_PAGE_LENGTH = 64 * 1024;
+    static final int PAGE_HEADER_LENGTH = MessageHeaderEncoder.ENCODED_LENGTH +
+        RecordingDescriptorPageEncoder.BLOCK_LENGTH + RecordingDescriptorPageEncoder.DescriptorsEncoder.sbeHeaderSize();
+    static final int ENTRY_FIXED_LENGTH = RecordingDescriptorPageEncoder.DescriptorsEncoder.sbeBlockLength() +
+        RecordingDescriptorPageEncoder.DescriptorsEncoder.strippedChannelHeaderLength() +
+        RecordingDescriptorPageEncoder.DescriptorsEncoder.originalChannelHeaderLength() +
+        RecordingDescriptorPageEncoder.DescriptorsEncoder.sourceIdentityHeaderLength();
+
+    private long recordingId;
+    private int remaining;
+    private final int projection;
+    private final RecordingDescriptorDecoder decoder;
+    private final MutableDirectBuffer pageBuffer;
+
+    ListRecordingsPageSession(
+        final long correlationId,
+        final long fromRecordingId,
+        final int count,
+        final int projection,
+        final Catalog catalog,
+        final ControlResponseProxy proxy,
+        final ControlSession controlSession,
+        final UnsafeBuffer descriptorBuffer,
+        final MutableDirectBuffer pageBuffer,
+        final RecordingDescriptorDecoder recordingDescriptorDecoder)
+    {
+        super(correlationId, catalog, proxy, controlSession, descriptorBuffer);
+
+        this.recordingId = fromRecordingId;
+        this.remaining = count;
+        this.projection = projection;
+        this.pageBuffer = pageBuffer;
+        this.decoder = recordingDescriptorDecoder;
+    }
+
+    protected int sendDescriptors()
+    {
+        final int maxPageLength = Math.min(MAX_PAGE_LENGTH, controlSession.maxListingMessageLength());
+        int pageLength = PAGE_HEADER_LENGTH;
+        int pageBufferLength = 0;
+        int descriptorCount = 0;
+        int recordsScanned = 0;
+        boolean isEndOfCatalog = false;
+        long toRecordingId = recordingId;
+
+        while (descriptorCount < remaining && recordsScanned < MAX_SCANS_PER_WORK_CYCLE)
+        {
+            if (!catalog.wrapDescriptor(toRecordingId, descriptorBuffer))
+            {
+                isEndOfCatalog = true;
+                break;
+            }
+
+            if (Catalog.isValidDescriptor(descriptorBuffer))
+            {
+                final int entryLength = entryLength(decoder, descriptorBuffer, projection);
+                if (descriptorCount > 0 && pageLength + entryLength > maxPageLength)
+                {
+                    break;
+                }
+
+                final int length = Catalog.DESCRIPTOR_HEADER_LENGTH + Catalog.descriptorLength(descriptorBuffer);
+                pageBuffer.putBytes(pageBufferLength, descriptorBuffer, 0, length);
+                pageBufferLength += length;
+
+                pageLength += entryLength;
+                ++descriptorCount;
+            }
+
+            ++toRecordingId;
+            ++recordsScanned;
+        }
+
+        final boolean isLast = isEndOfCatalog || descriptorCount >= remaining;
+        if (0 == descriptorCount && !isLast)
+        {
+            recordingId = toRecordingId;
+            return 0;
+        }
+
+        final boolean isSent = controlSession.sendDescriptorPage(
+            correlationId,
+            descriptorCount,
+            projection,
+            isEndOfCatalog ? NULL_VALUE : toRecordingId,
+            isLast,
+            pageBuffer,
+            decoder,
+            proxy);
+
+        if (!isSent)
+        {
+            isDone = controlSession.isDone();
+            return 0;
+        }
+
+        recordingId = toRecordingId;
+        remaining -= descriptorCount;
+        isDone = isLast;
+
+        return pageLength;
+    }
+
+    static int entryLength(
+        final RecordingDescriptorDecoder decoder, final UnsafeBuffer descriptorBuffer, final int projection)
+    {
+        decoder.wrap(
+            descriptorBuffer,
+            RecordingDescriptorHeaderDecoder.BLOCK_LENGTH,
+            RecordingDescriptorDecoder.BLOCK_LENGTH,
+            RecordingDescriptorDecoder.SCHEMA_VERSION);
+
+        int length = ENTRY_FIXED_LENGTH;
+
+        final int strippedChannelLength = decoder.strippedChannelLength();
+        length += (projection & PROJECTION_STRIPPED_CHANNEL) != 0 ? strippedChannelLength : 0;
+        decoder.skipStrippedChannel();
+
+        final int originalChannelLength = decoder.originalChannelLength();
+        length += (projection & PROJECTION_ORIGINAL_CHANNEL) != 0 ? originalChannelLength : 0;
+        decoder.skipOriginalChannel();
+
+        length += (projection & PROJECTION_SOURCE_IDENTITY) != 0 ? decoder.sourceIdentityLength() : 0;
+
+        return length;
+    }
+}
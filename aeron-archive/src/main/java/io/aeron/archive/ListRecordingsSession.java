@@ -46,8 +46,7 @@ class ListRecordingsSession extends AbstractListRecordingsSession
         {
             if (!catalog.wrapDescriptor(recordingId, descriptorBuffer))
             {
-                controlSession.sendRecordingUnknown(correlationId, recordingId, proxy);
-                isDone = true;
+                isDone = controlSession.sendRecordingUnknown(correlationId, recordingId, proxy);
                 break;
             }
 
@@ -25,12 +25,14 @@ import org.agrona.concurrent.UnsafeBuffer;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileAttribute;
 import java.util.EnumSet;
 
+import static io.aeron.archive.Archive.compressedSegmentFileName;
 import static io.aeron.archive.Archive.segmentFileName;
 import static io.aeron.archive.client.AeronArchive.*;
 import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
@@ -50,7 +52,8 @@ class RecordingReader implements AutoCloseable
     private final int termLength;
 
     private final UnsafeBuffer termBuffer;
-    private MappedByteBuffer mappedSegmentBuffer;
+    private ByteBuffer segmentBuffer;
+    private ByteBuffer decompressedSegmentBuffer;
 
     private final long replayLimit;
     private long replayPosition;
@@ -98,7 +101,7 @@ class RecordingReader implements AutoCloseable
 
         termOffset = (int)(fromPosition & (termLength - 1));
         termBaseSegmentOffset = segmentOffset - termOffset;
-        termBuffer = new UnsafeBuffer(mappedSegmentBuffer, termBaseSegmentOffset, termLength);
+        termBuffer = new UnsafeBuffer(segmentBuffer, termBaseSegmentOffset, termLength);
 
         if (fromPosition > startPosition &&
             (DataHeaderFlyweight.termOffset(termBuffer, termOffset) != termOffset ||
@@ -192,14 +195,17 @@ class RecordingReader implements AutoCloseable
             termBaseSegmentOffset = 0;
         }
 
-        termBuffer.wrap(mappedSegmentBuffer, termBaseSegmentOffset, termLength);
+        termBuffer.wrap(segmentBuffer, termBaseSegmentOffset, termLength);
     }
 
     private void closeRecordingSegment()
     {
-        final MappedByteBuffer mappedSegmentBuffer = this.mappedSegmentBuffer;
-        this.mappedSegmentBuffer = null;
-        IoUtil.unmap(mappedSegmentBuffer);
+        final ByteBuffer segmentBuffer = this.segmentBuffer;
+        this.segmentBuffer = null;
+        if (segmentBuffer instanceof MappedByteBuffer)
+        {
+            IoUtil.unmap((MappedByteBuffer)segmentBuffer);
+        }
     }
 
     private void openRecordingSegment()
@@ -209,12 +215,47 @@ class RecordingReader implements AutoCloseable
 
         if (!segmentFile.exists())
         {
-            throw new IllegalArgumentException("failed to open recording segment file " + segmentFileName);
+            final File compressedFile = new File(
+                archiveDir, compressedSegmentFileName(recordingId, segmentFilePosition));
+            if (!compressedFile.exists())
+            {
+                throw new IllegalArgumentException("failed to open recording segment file " + segmentFileName);
+            }
+
+            openCompressedRecordingSegment(compressedFile);
+            return;
         }
 
         try (FileChannel channel = FileChannel.open(segmentFile.toPath(), FILE_OPTIONS, NO_ATTRIBUTES))
         {
-            mappedSegmentBuffer = channel.map(READ_ONLY, 0, segmentLength);
+            segmentBuffer = channel.map(READ_ONLY, 0, segmentLength);
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+    }
+
+    private void openCompressedRecordingSegment(final File compressedFile)
+    {
+        if (null == decompressedSegmentBuffer)
+        {
+            decompressedSegmentBuffer = ByteBuffer.allocateDirect(segmentLength);
+        }
+
+        try (CompressedSegmentFileChannel channel = CompressedSegmentFileChannel.open(compressedFile, 1))
+        {
+            decompressedSegmentBuffer.clear();
+            while (decompressedSegmentBuffer.remaining() > 0)
+            {
+                if (channel.read(decompressedSegmentBuffer, decompressedSegmentBuffer.position()) <= 0)
+                {
+                    break;
+                }
+            }
+
+            decompressedSegmentBuffer.clear();
+            segmentBuffer = decompressedSegmentBuffer;
         }
         catch (final IOException ex)
         {
@@ -20,6 +20,8 @@ import io.aeron.archive.checksum.Checksum;
 import org.agrona.CloseHelper;
 import org.agrona.LangUtil;
 import org.agrona.concurrent.CountedErrorHandler;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.SystemNanoClock;
 import org.agrona.concurrent.UnsafeBuffer;
 
 import java.io.IOException;
@@ -46,6 +48,8 @@ class RecordingSession implements Session
     private final Image image;
     private final Counter position;
     private final RecordingWriter recordingWriter;
+    private final ReplicationPacer replicationPacer;
+    private final NanoClock nanoClock;
     private State state = State.INIT;
     private final String originalChannel;
     private final ControlSession controlSession;
@@ -65,7 +69,8 @@ class RecordingSession implements Session
         final ControlSession controlSession,
         final UnsafeBuffer checksumBuffer,
         final Checksum checksum,
-        final boolean autoStop)
+        final boolean autoStop,
+        final ReplicationPacer replicationPacer)
     {
         this.correlationId = correlationId;
         this.recordingId = recordingId;
@@ -75,7 +80,9 @@ class RecordingSession implements Session
         this.position = position;
         this.controlSession = controlSession;
         this.autoStop = autoStop;
+        this.replicationPacer = replicationPacer;
         countedErrorHandler = ctx.countedErrorHandler();
+        nanoClock = null != ctx.nanoClock() ? ctx.nanoClock() : SystemNanoClock.INSTANCE;
         progressEventPosition = image.joinPosition();
 
         blockLengthLimit = Math.min(image.termBufferLength(), Archive.Configuration.MAX_BLOCK_LENGTH);
@@ -149,6 +156,11 @@ class RecordingSession implements Session
             workCount += record();
         }
 
+        if (State.RECORDING == state)
+        {
+            workCount += sync();
+        }
+
         if (State.INACTIVE == state)
         {
             state(State.STOPPED);
@@ -207,9 +219,27 @@ class RecordingSession implements Session
     private int record()
     {
         int workCount = 0;
+        int blockLength = blockLengthLimit;
+
+        if (null != replicationPacer)
+        {
+            final long available = replicationPacer.available(nanoClock.nanoTime());
+            if (available <= 0)
+            {
+                return 0;
+            }
+
+            blockLength = (int)Math.min(blockLengthLimit, Math.max(available, image.mtuLength()));
+        }
+
         try
         {
-            workCount = image.blockPoll(recordingWriter, blockLengthLimit);
+            workCount = image.blockPoll(recordingWriter, blockLength);
+
+            if (null != replicationPacer && workCount > 0)
+            {
+                replicationPacer.consume(workCount);
+            }
 
             if (recordingWriter.isClosed())
             {
@@ -247,6 +277,20 @@ class RecordingSession implements Session
         return workCount;
     }
 
+    private int sync()
+    {
+        try
+        {
+            return recordingWriter.sync(nanoClock.nanoTime());
+        }
+        catch (final Exception ex)
+        {
+            state(State.INACTIVE);
+            LangUtil.rethrowUnchecked(ex);
+            return 0;
+        }
+    }
+
     private void state(final State newState)
     {
         //System.out.println("RecordingSession: " + state + " -> " + newState);
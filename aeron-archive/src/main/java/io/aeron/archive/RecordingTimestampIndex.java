@@ -0,0 +1,322 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import org.agrona.CloseHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+
+import static io.aeron.archive.client.AeronArchive.NULL_POSITION;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.file.StandardOpenOption.*;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * Sparse index of timestamp to position for a recording which is kept in a file beside the segment files so that a
+ * position can be found for a timestamp with a binary search rather than scanning the recording.
+ * <p>
+ * The file is a sequence of entries which are ordered by both timestamp and position. Positions are the start of a
+ * block and thus the start of a frame so they are valid for replay.
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                          Timestamp                            |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                           Position                            |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ */
+final class RecordingTimestampIndex implements AutoCloseable
+{
+    static final int TIMESTAMP_OFFSET = 0;
+    static final int POSITION_OFFSET = TIMESTAMP_OFFSET + SIZE_OF_LONG;
+    static final int ENTRY_LENGTH = POSITION_OFFSET + SIZE_OF_LONG;
+
+    private final boolean forceWrites;
+    private final boolean forceMetadata;
+    private final FileChannel fileChannel;
+    private final ByteBuffer entryBuffer = ByteBuffer.allocateDirect(ENTRY_LENGTH).order(LITTLE_ENDIAN);
+    private long fileLength;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private long lastPosition = NULL_POSITION;
+
+    RecordingTimestampIndex(final File file, final boolean forceWrites, final boolean forceMetadata)
+        throws IOException
+    {
+        this.forceWrites = forceWrites;
+        this.forceMetadata = forceMetadata;
+
+        fileChannel = FileChannel.open(file.toPath(), CREATE, READ, WRITE);
+        try
+        {
+            final long size = fileChannel.size();
+            fileLength = size - (size % ENTRY_LENGTH);
+            if (fileLength >= ENTRY_LENGTH)
+            {
+                readEntry(fileChannel, entryBuffer, fileLength - ENTRY_LENGTH);
+                lastTimestamp = entryBuffer.getLong(TIMESTAMP_OFFSET);
+                lastPosition = entryBuffer.getLong(POSITION_OFFSET);
+            }
+        }
+        catch (final IOException ex)
+        {
+            CloseHelper.quietClose(fileChannel);
+            throw ex;
+        }
+    }
+
+    /**
+     * Position of the last entry in the index.
+     *
+     * @return position of the last entry in the index or {@link io.aeron.archive.client.AeronArchive#NULL_POSITION}
+     * if the index is empty.
+     */
+    long lastPosition()
+    {
+        return lastPosition;
+    }
+
+    /**
+     * Append an entry to the index if it is ordered after the last entry by both timestamp and position.
+     *
+     * @param timestamp for the entry.
+     * @param position  in the recording for the entry.
+     * @return true if appended or false if out of order.
+     * @throws IOException if the write fails.
+     */
+    boolean append(final long timestamp, final long position) throws IOException
+    {
+        if (timestamp < lastTimestamp || position <= lastPosition)
+        {
+            return false;
+        }
+
+        entryBuffer.clear();
+        entryBuffer.putLong(TIMESTAMP_OFFSET, timestamp).putLong(POSITION_OFFSET, position);
+
+        do
+        {
+            fileLength += fileChannel.write(entryBuffer, fileLength);
+        }
+        while (entryBuffer.remaining() > 0);
+
+        if (forceWrites)
+        {
+            fileChannel.force(forceMetadata);
+        }
+
+        lastTimestamp = timestamp;
+        lastPosition = position;
+
+        return true;
+    }
+
+    public void close()
+    {
+        CloseHelper.close(fileChannel);
+    }
+
+    /**
+     * Find the position of the last entry in an index with a timestamp at or before the given timestamp.
+     *
+     * @param file      containing the index.
+     * @param timestamp to search for.
+     * @return the position of the entry or {@link io.aeron.archive.client.AeronArchive#NULL_POSITION} if the
+     * timestamp is before the first entry.
+     * @throws IOException if the index cannot be read.
+     */
+    static long findPosition(final File file, final long timestamp) throws IOException
+    {
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), READ))
+        {
+            final ByteBuffer entryBuffer = ByteBuffer.allocate(ENTRY_LENGTH).order(LITTLE_ENDIAN);
+            long low = 0;
+            long high = (fileChannel.size() / ENTRY_LENGTH) - 1;
+            long position = NULL_POSITION;
+
+            while (low <= high)
+            {
+                final long mid = (low + high) >>> 1;
+                readEntry(fileChannel, entryBuffer, mid * ENTRY_LENGTH);
+
+                if (entryBuffer.getLong(TIMESTAMP_OFFSET) <= timestamp)
+                {
+                    position = entryBuffer.getLong(POSITION_OFFSET);
+                    low = mid + 1;
+                }
+                else
+                {
+                    high = mid - 1;
+                }
+            }
+
+            return position;
+        }
+    }
+
+    /**
+     * Truncate an index so it only contains entries before a position.
+     *
+     * @param file     containing the index.
+     * @param position from which entries are removed.
+     * @throws IOException if the index cannot be read or truncated.
+     */
+    static void truncate(final File file, final long position) throws IOException
+    {
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), READ, WRITE))
+        {
+            fileChannel.truncate(findEntryIndex(fileChannel, position) * ENTRY_LENGTH);
+        }
+    }
+
+    /**
+     * Purge entries from an index which are before a position when the segments before it have been deleted. The
+     * index is deleted if no entries remain.
+     *
+     * @param file     containing the index.
+     * @param position before which entries are removed.
+     * @throws IOException if the index cannot be read, written, or deleted.
+     */
+    static void purge(final File file, final long position) throws IOException
+    {
+        if (!file.exists())
+        {
+            return;
+        }
+
+        final ByteBuffer buffer;
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), READ))
+        {
+            final long entryCount = fileChannel.size() / ENTRY_LENGTH;
+            final long entryIndex = findEntryIndex(fileChannel, position);
+            if (0 == entryIndex)
+            {
+                return;
+            }
+
+            buffer = ByteBuffer.allocate((int)((entryCount - entryIndex) * ENTRY_LENGTH));
+            long fileOffset = entryIndex * ENTRY_LENGTH;
+            while (buffer.remaining() > 0)
+            {
+                final int bytesRead = fileChannel.read(buffer, fileOffset);
+                if (bytesRead < 0)
+                {
+                    throw new IOException("unexpected end of index at " + fileOffset);
+                }
+
+                fileOffset += bytesRead;
+            }
+        }
+
+        if (0 == buffer.flip().remaining())
+        {
+            Files.delete(file.toPath());
+            return;
+        }
+
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), WRITE, TRUNCATE_EXISTING))
+        {
+            do
+            {
+                fileChannel.write(buffer);
+            }
+            while (buffer.remaining() > 0);
+        }
+    }
+
+    /**
+     * Prepend the entries of a source index to a destination index when segments are migrated from the source
+     * recording to the start of the destination recording. The source index is deleted.
+     *
+     * @param srcFile containing the index of the source recording.
+     * @param dstFile containing the index of the destination recording.
+     * @throws IOException if the indexes cannot be read or written.
+     */
+    static void migrate(final File srcFile, final File dstFile) throws IOException
+    {
+        if (!srcFile.exists())
+        {
+            return;
+        }
+
+        final byte[] srcEntries = Files.readAllBytes(srcFile.toPath());
+        final byte[] dstEntries = dstFile.exists() ? Files.readAllBytes(dstFile.toPath()) : new byte[0];
+        final int srcLength = srcEntries.length - (srcEntries.length % ENTRY_LENGTH);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(srcLength + dstEntries.length);
+        buffer.put(srcEntries, 0, srcLength).put(dstEntries).flip();
+
+        try (FileChannel fileChannel = FileChannel.open(dstFile.toPath(), CREATE, WRITE, TRUNCATE_EXISTING))
+        {
+            do
+            {
+                fileChannel.write(buffer);
+            }
+            while (buffer.remaining() > 0);
+        }
+
+        Files.delete(srcFile.toPath());
+    }
+
+    private static long findEntryIndex(final FileChannel fileChannel, final long position) throws IOException
+    {
+        final ByteBuffer entryBuffer = ByteBuffer.allocate(ENTRY_LENGTH).order(LITTLE_ENDIAN);
+        long low = 0;
+        long high = (fileChannel.size() / ENTRY_LENGTH) - 1;
+
+        while (low <= high)
+        {
+            final long mid = (low + high) >>> 1;
+            readEntry(fileChannel, entryBuffer, mid * ENTRY_LENGTH);
+
+            if (entryBuffer.getLong(POSITION_OFFSET) < position)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid - 1;
+            }
+        }
+
+        return low;
+    }
+
+    private static void readEntry(final FileChannel fileChannel, final ByteBuffer entryBuffer, final long offset)
+        throws IOException
+    {
+        entryBuffer.clear();
+        long fileOffset = offset;
+        do
+        {
+            final int bytesRead = fileChannel.read(entryBuffer, fileOffset);
+            if (bytesRead < 0)
+            {
+                throw new IOException("unexpected end of index at " + fileOffset);
+            }
+
+            fileOffset += bytesRead;
+        }
+        while (entryBuffer.remaining() > 0);
+    }
+}
@@ -18,23 +18,34 @@ package io.aeron.archive;
 import io.aeron.Image;
 import io.aeron.archive.checksum.Checksum;
 import io.aeron.archive.client.ArchiveException;
+import io.aeron.exceptions.ConfigurationException;
 import io.aeron.logbuffer.BlockHandler;
 import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
 import org.agrona.LangUtil;
 import org.agrona.concurrent.CountedErrorHandler;
+import org.agrona.concurrent.EpochClock;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.SystemNanoClock;
 import org.agrona.concurrent.UnsafeBuffer;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 
+import static io.aeron.archive.client.AeronArchive.NULL_POSITION;
 import static io.aeron.archive.client.AeronArchive.segmentFileBasePosition;
 import static io.aeron.logbuffer.FrameDescriptor.*;
 import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static io.aeron.protocol.DataHeaderFlyweight.RESERVED_VALUE_OFFSET;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
 import static org.agrona.BitUtil.align;
 
 /**
@@ -47,6 +58,11 @@ import static org.agrona.BitUtil.align;
  * <li>Easier testing and in particular simplified re-use in testing.</li>
  * <li>Isolation of an external relationship, namely the file system.</li>
  * </ul>
+ * <p>
+ * When {@link Archive.Context#recordingWriterMapped()} is set then each segment file is memory mapped and blocks are
+ * copied directly into the mapping rather than written with a system call per block. Checksums are then computed in
+ * place in the mapping and syncs to storage are at most once per
+ * {@link Archive.Context#recordingWriterMappedSyncIntervalNs()} and when a segment is complete.
  */
 class RecordingWriter implements BlockHandler, AutoCloseable
 {
@@ -59,10 +75,22 @@ class RecordingWriter implements BlockHandler, AutoCloseable
     private final FileChannel archiveDirChannel;
     private final File archiveDir;
     private final CountedErrorHandler countedErrorHandler;
+    private final int indexInterval;
+    private final boolean indexReservedValue;
+    private final EpochClock epochClock;
+    private final NanoClock nanoClock;
+    private final SegmentCompactor segmentCompactor;
+    private final boolean isMapped;
+    private final long mappedSyncIntervalNs;
+    private final UnsafeBuffer mappedBuffer = new UnsafeBuffer(0, 0);
 
     private long segmentBasePosition;
     private int segmentOffset;
+    private long timeOfLastSyncNs;
+    private boolean isSyncPending;
     private FileChannel recordingFileChannel;
+    private MappedByteBuffer mappedByteBuffer;
+    private RecordingTimestampIndex timestampIndex;
 
     private boolean isClosed = false;
 
@@ -85,10 +113,22 @@ class RecordingWriter implements BlockHandler, AutoCloseable
         forceMetadata = ctx.fileSyncLevel() > 1;
 
         countedErrorHandler = ctx.countedErrorHandler();
+        indexInterval = ctx.recordingIndexInterval();
+        indexReservedValue = ctx.recordingIndexReservedValue();
+        epochClock = ctx.epochClock();
+        nanoClock = null != ctx.nanoClock() ? ctx.nanoClock() : SystemNanoClock.INSTANCE;
+        segmentCompactor = ctx.segmentCompactor();
+        isMapped = ctx.recordingWriterMapped();
+        mappedSyncIntervalNs = ctx.recordingWriterMappedSyncIntervalNs();
 
         this.checksumBuffer = checksumBuffer;
         this.checksum = checksum;
 
+        if (indexInterval > 0 && null == epochClock)
+        {
+            throw new ConfigurationException("epochClock must be set when recordingIndexInterval is enabled");
+        }
+
         final int termLength = image.termBufferLength();
         final long joinPosition = image.joinPosition();
         segmentBasePosition = segmentFileBasePosition(startPosition, joinPosition, termLength, segmentLength);
@@ -102,31 +142,19 @@ class RecordingWriter implements BlockHandler, AutoCloseable
         {
             final boolean isPaddingFrame = termBuffer.getShort(typeOffset(termOffset)) == PADDING_FRAME_TYPE;
             final int dataLength = isPaddingFrame ? HEADER_LENGTH : length;
-            final ByteBuffer byteBuffer;
 
-            if (null == checksum || isPaddingFrame)
+            if (isMapped)
             {
-                byteBuffer = termBuffer.byteBuffer();
-                byteBuffer.limit(termOffset + dataLength).position(termOffset);
+                writeToMapping(termBuffer, termOffset, dataLength, isPaddingFrame);
             }
             else
             {
-                checksumBuffer.putBytes(0, termBuffer, termOffset, dataLength);
-                computeChecksum(checksum, checksumBuffer, dataLength);
-                byteBuffer = checksumBuffer.byteBuffer();
-                byteBuffer.limit(dataLength).position(0);
-            }
-
-            int fileOffset = segmentOffset;
-            do
-            {
-                fileOffset += recordingFileChannel.write(byteBuffer, fileOffset);
+                writeToChannel(termBuffer, termOffset, dataLength, isPaddingFrame);
             }
-            while (byteBuffer.remaining() > 0);
 
-            if (forceWrites)
+            if (null != timestampIndex && !isPaddingFrame)
             {
-                recordingFileChannel.force(forceMetadata);
+                updateIndex(termBuffer, termOffset);
             }
 
             segmentOffset += length;
@@ -152,18 +180,41 @@ class RecordingWriter implements BlockHandler, AutoCloseable
         if (!isClosed)
         {
             isClosed = true;
+            unmapSegment();
             CloseHelper.close(countedErrorHandler, recordingFileChannel);
+            CloseHelper.close(countedErrorHandler, timestampIndex);
         }
     }
 
     void init() throws IOException
     {
+        timeOfLastSyncNs = nanoClock.nanoTime();
+
+        if (segmentOffset != 0)
+        {
+            restoreCompressedSegment();
+        }
+
         openRecordingSegmentFile();
 
         if (segmentOffset != 0)
         {
             recordingFileChannel.position(segmentOffset);
         }
+
+        if (indexInterval > 0)
+        {
+            try
+            {
+                timestampIndex = new RecordingTimestampIndex(
+                    new File(archiveDir, Archive.indexFileName(recordingId)), forceWrites, forceMetadata);
+            }
+            catch (final IOException ex)
+            {
+                close();
+                throw ex;
+            }
+        }
     }
 
     boolean isClosed()
@@ -171,12 +222,150 @@ class RecordingWriter implements BlockHandler, AutoCloseable
         return isClosed;
     }
 
-    private void computeChecksum(final Checksum checksum, final UnsafeBuffer buffer, final int length)
+    private void updateIndex(final DirectBuffer termBuffer, final int termOffset) throws IOException
+    {
+        final long position = segmentBasePosition + segmentOffset;
+        final long lastIndexedPosition = timestampIndex.lastPosition();
+
+        if (NULL_POSITION == lastIndexedPosition || position - lastIndexedPosition >= indexInterval)
+        {
+            final long timestamp = indexReservedValue ?
+                termBuffer.getLong(termOffset + RESERVED_VALUE_OFFSET, LITTLE_ENDIAN) : epochClock.time();
+
+            timestampIndex.append(timestamp, position);
+        }
+    }
+
+    private void writeToChannel(
+        final DirectBuffer termBuffer, final int termOffset, final int dataLength, final boolean isPaddingFrame)
+        throws IOException
+    {
+        final ByteBuffer byteBuffer;
+
+        if (null == checksum || isPaddingFrame)
+        {
+            byteBuffer = termBuffer.byteBuffer();
+            byteBuffer.limit(termOffset + dataLength).position(termOffset);
+        }
+        else
+        {
+            checksumBuffer.putBytes(0, termBuffer, termOffset, dataLength);
+            computeChecksum(checksum, checksumBuffer, 0, dataLength);
+            byteBuffer = checksumBuffer.byteBuffer();
+            byteBuffer.limit(dataLength).position(0);
+        }
+
+        int fileOffset = segmentOffset;
+        do
+        {
+            fileOffset += recordingFileChannel.write(byteBuffer, fileOffset);
+        }
+        while (byteBuffer.remaining() > 0);
+
+        if (forceWrites)
+        {
+            recordingFileChannel.force(forceMetadata);
+        }
+    }
+
+    private void writeToMapping(
+        final DirectBuffer termBuffer, final int termOffset, final int dataLength, final boolean isPaddingFrame)
+        throws IOException
+    {
+        mappedBuffer.putBytes(segmentOffset, termBuffer, termOffset, dataLength);
+
+        if (null != checksum && !isPaddingFrame)
+        {
+            computeChecksum(checksum, mappedBuffer, segmentOffset, dataLength);
+        }
+
+        if (forceWrites)
+        {
+            if (0 == mappedSyncIntervalNs)
+            {
+                syncMapping();
+            }
+            else
+            {
+                isSyncPending = true;
+            }
+        }
+    }
+
+    /**
+     * Sync a memory mapped segment to storage if it has been written to and the sync interval has elapsed since the
+     * last sync. This is called on each duty cycle of the recording session so writes are synced even when no further
+     * blocks arrive.
+     *
+     * @param nowNs current time of the {@link NanoClock}.
+     * @return 1 if the segment was synced otherwise 0.
+     */
+    int sync(final long nowNs)
+    {
+        if (!isSyncPending || (nowNs - timeOfLastSyncNs) < mappedSyncIntervalNs)
+        {
+            return 0;
+        }
+
+        try
+        {
+            syncMapping();
+        }
+        catch (final Exception ex)
+        {
+            close();
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        isSyncPending = false;
+        timeOfLastSyncNs = nowNs;
+
+        return 1;
+    }
+
+    private void syncMapping() throws IOException
+    {
+        if (forceMetadata)
+        {
+            recordingFileChannel.force(true);
+        }
+        else
+        {
+            mappedByteBuffer.force();
+        }
+    }
+
+    private void unmapSegment()
+    {
+        if (null != mappedByteBuffer)
+        {
+            try
+            {
+                if (forceWrites && recordingFileChannel.isOpen())
+                {
+                    syncMapping();
+                }
+            }
+            catch (final Exception ex)
+            {
+                countedErrorHandler.onError(ex);
+            }
+
+            IoUtil.unmap(mappedByteBuffer);
+            mappedByteBuffer = null;
+            isSyncPending = false;
+            mappedBuffer.wrap(0, 0);
+        }
+    }
+
+    private void computeChecksum(
+        final Checksum checksum, final UnsafeBuffer buffer, final int offset, final int length)
     {
         final long address = buffer.addressOffset();
-        int frameOffset = 0;
+        final int limit = offset + length;
+        int frameOffset = offset;
 
-        while (frameOffset < length)
+        while (frameOffset < limit)
         {
             final int alignedLength = align(frameLength(buffer, frameOffset), FRAME_ALIGNMENT);
             final int computedChecksum = checksum.compute(
@@ -186,6 +375,19 @@ class RecordingWriter implements BlockHandler, AutoCloseable
         }
     }
 
+    private void restoreCompressedSegment() throws IOException
+    {
+        final File file = new File(archiveDir, Archive.segmentFileName(recordingId, segmentBasePosition));
+        final File compressedFile = new File(
+            archiveDir, Archive.compressedSegmentFileName(recordingId, segmentBasePosition));
+
+        if (!file.exists() && compressedFile.exists())
+        {
+            CompressedSegment.decompress(compressedFile, file);
+            Files.delete(compressedFile.toPath());
+        }
+    }
+
     private void openRecordingSegmentFile()
     {
         final File file = new File(archiveDir, Archive.segmentFileName(recordingId, segmentBasePosition));
@@ -196,6 +398,12 @@ class RecordingWriter implements BlockHandler, AutoCloseable
             recordingFile = new RandomAccessFile(file, "rw");
             recordingFile.setLength(segmentLength);
             recordingFileChannel = recordingFile.getChannel();
+            if (isMapped)
+            {
+                mappedByteBuffer = recordingFileChannel.map(READ_WRITE, 0, segmentLength);
+                mappedBuffer.wrap(mappedByteBuffer);
+            }
+
             if (forceWrites && null != archiveDirChannel)
             {
                 archiveDirChannel.force(forceMetadata);
@@ -211,7 +419,13 @@ class RecordingWriter implements BlockHandler, AutoCloseable
 
     private void onFileRollOver()
     {
+        unmapSegment();
         CloseHelper.close(recordingFileChannel);
+        if (null != segmentCompactor)
+        {
+            segmentCompactor.onSegmentComplete(recordingId, segmentBasePosition);
+        }
+
         segmentOffset = 0;
         segmentBasePosition += segmentLength;
 
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.archive.codecs.ReplayFilterType;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import static io.aeron.protocol.DataHeaderFlyweight.*;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+/**
+ * Filter evaluated by a {@link ReplaySession} on the first fragment of each message to decide if the message is
+ * forwarded. The selected field is masked and compared with a value so a message matches when
+ * {@code (field & mask) == value}.
+ * <p>
+ * Messages which do not match are replaced with padding so positions in the replay are consistent with the recording
+ * and only the padding headers are sent.
+ */
+final class ReplayFilter
+{
+    private final ReplayFilterType type;
+    private final int offset;
+    private final long mask;
+    private final long value;
+
+    ReplayFilter(final ReplayFilterType type, final int offset, final long mask, final long value)
+    {
+        if (null == type || ReplayFilterType.NULL_VAL == type)
+        {
+            throw new IllegalArgumentException("unknown filter type");
+        }
+
+        if (ReplayFilterType.PAYLOAD == type && offset < 0)
+        {
+            throw new IllegalArgumentException("payload filter offset must not be negative: " + offset);
+        }
+
+        this.type = type;
+        this.offset = offset;
+        this.mask = mask;
+        this.value = value;
+    }
+
+    /**
+     * Does the message beginning with the data frame at an offset in the buffer match the filter.
+     *
+     * @param buffer      containing the frame.
+     * @param frameOffset at which the frame begins.
+     * @param frameLength of the frame including the header.
+     * @return true if the message should be replayed.
+     */
+    boolean matches(final UnsafeBuffer buffer, final int frameOffset, final int frameLength)
+    {
+        final long field;
+        switch (type)
+        {
+            case RESERVED_VALUE:
+                field = buffer.getLong(frameOffset + RESERVED_VALUE_OFFSET, LITTLE_ENDIAN);
+                break;
+
+            case FLAGS:
+                field = buffer.getByte(frameOffset + FLAGS_FIELD_OFFSET) & 0xFF;
+                break;
+
+            default:
+                field = payloadValue(buffer, frameOffset + HEADER_LENGTH, frameLength - HEADER_LENGTH);
+                break;
+        }
+
+        return (field & mask) == value;
+    }
+
+    public String toString()
+    {
+        return "ReplayFilter{" +
+            "type=" + type +
+            ", offset=" + offset +
+            ", mask=" + mask +
+            ", value=" + value +
+            '}';
+    }
+
+    private long payloadValue(final UnsafeBuffer buffer, final int payloadOffset, final int payloadLength)
+    {
+        if (payloadLength - offset >= 8)
+        {
+            return buffer.getLong(payloadOffset + offset, LITTLE_ENDIAN);
+        }
+
+        long field = 0;
+        for (int i = Math.min(payloadLength, offset + 8) - 1; i >= offset; i--)
+        {
+            field = (field << 8) | (buffer.getByte(payloadOffset + i) & 0xFFL);
+        }
+
+        return field;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.CountedErrorHandler;
+import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads ranges of recording segments into the page cache on a helper thread ahead of the position being replayed so
+ * {@link ReplaySession}s do not stall on storage. The JDK offers no portable advisory hints such as
+ * {@code posix_fadvise} so the range is read explicitly and the data discarded.
+ * <p>
+ * Requests are queued by the replayer and processed in order. Segment files are opened for each request so a read
+ * ahead never holds a segment open which could prevent it being deleted or moved.
+ * <p>
+ * The JDK cannot advise the operating system to drop pages once they have been replayed so instead the length read
+ * ahead and not yet consumed across all replays is bounded. Replays {@link #release(long)} ranges as they read past
+ * them and further requests are refused while the bound would be exceeded, leaving the operating system to manage the
+ * page cache until replays catch up. Requests and releases are made on the replayer thread.
+ */
+final class ReplayReadAhead implements Agent
+{
+    private static final int REQUEST_LIMIT = 10;
+    private static final int READ_BUFFER_LENGTH = 256 * 1024;
+
+    private final ManyToOneConcurrentLinkedQueue<ReadAheadRequest> requestQueue =
+        new ManyToOneConcurrentLinkedQueue<>();
+    private final int readAheadLength;
+    private final long maxResidentLength;
+    private long residentLength;
+    private final CountedErrorHandler errorHandler;
+    private ByteBuffer readBuffer;
+
+    static final class ReadAheadRequest
+    {
+        final File file;
+        final long position;
+        final int length;
+
+        ReadAheadRequest(final File file, final long position, final int length)
+        {
+            this.file = file;
+            this.position = position;
+            this.length = length;
+        }
+    }
+
+    ReplayReadAhead(final int readAheadLength, final long maxResidentLength, final CountedErrorHandler errorHandler)
+    {
+        this.readAheadLength = readAheadLength;
+        this.maxResidentLength = maxResidentLength;
+        this.errorHandler = errorHandler;
+    }
+
+    public String roleName()
+    {
+        return "archive-replay-read-ahead";
+    }
+
+    public int doWork()
+    {
+        int workCount = 0;
+        ReadAheadRequest request;
+
+        while (workCount < REQUEST_LIMIT && null != (request = requestQueue.poll()))
+        {
+            readAhead(request);
+            workCount++;
+        }
+
+        return workCount;
+    }
+
+    /**
+     * Length in bytes read ahead of a replay for each request.
+     *
+     * @return length in bytes read ahead of a replay for each request.
+     */
+    int readAheadLength()
+    {
+        return readAheadLength;
+    }
+
+    /**
+     * Length in bytes read ahead across all replays which has not yet been released.
+     *
+     * @return length in bytes read ahead across all replays which has not yet been released.
+     */
+    long residentLength()
+    {
+        return residentLength;
+    }
+
+    /**
+     * Request a range of a segment file be read into the page cache if it does not take the length read ahead and
+     * not yet released beyond the max resident length.
+     *
+     * @param file     of the segment.
+     * @param position in the segment file at which to begin.
+     * @param length   of the range in bytes.
+     * @return true if the request was accepted and should be released once consumed, otherwise false.
+     */
+    boolean request(final File file, final long position, final int length)
+    {
+        if (residentLength + length > maxResidentLength)
+        {
+            return false;
+        }
+
+        residentLength += length;
+        requestQueue.offer(new ReadAheadRequest(file, position, length));
+
+        return true;
+    }
+
+    /**
+     * Release a length previously requested once it has been consumed by a replay or is no longer required.
+     *
+     * @param length in bytes to be released.
+     */
+    void release(final long length)
+    {
+        residentLength -= length;
+    }
+
+    private void readAhead(final ReadAheadRequest request)
+    {
+        if (null == readBuffer)
+        {
+            readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_LENGTH);
+        }
+
+        try (FileChannel fileChannel = FileChannel.open(request.file.toPath(), READ))
+        {
+            long position = request.position;
+            final long limit = request.position + request.length;
+            while (position < limit)
+            {
+                readBuffer.clear();
+                readBuffer.limit((int)Math.min(READ_BUFFER_LENGTH, limit - position));
+
+                final int bytesRead = fileChannel.read(readBuffer, position);
+                if (bytesRead <= 0)
+                {
+                    break;
+                }
+
+                position += bytesRead;
+            }
+        }
+        catch (final NoSuchFileException ignore)
+        {
+        }
+        catch (final IOException ex)
+        {
+            errorHandler.onError(ex);
+        }
+    }
+}
@@ -32,15 +32,18 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileAttribute;
 import java.util.EnumSet;
 
-import static io.aeron.archive.Archive.Configuration.MAX_BLOCK_LENGTH;
+import static io.aeron.Aeron.NULL_VALUE;
+import static io.aeron.archive.Archive.compressedSegmentFileName;
 import static io.aeron.archive.Archive.segmentFileName;
 import static io.aeron.archive.client.AeronArchive.NULL_POSITION;
 import static io.aeron.logbuffer.FrameDescriptor.*;
 import static io.aeron.protocol.DataHeaderFlyweight.*;
+import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.nio.file.StandardOpenOption.READ;
@@ -60,6 +63,11 @@ import static org.agrona.BitUtil.align;
  * <li>Stream recorded data into the publication {@link ExclusivePublication}.</li>
  * <li>If the replay is aborted part way through, send a ReplayAborted message and terminate.</li>
  * </ul>
+ * <p>
+ * Reads from a segment are limited to {@link Archive.Context#replayReadLength()} and, when a {@link ReplayReadAhead}
+ * is configured, the next range of the segment is requested to be read into the page cache once the replay is half
+ * way through the range previously requested. Ranges are released back to the {@link ReplayReadAhead} as they are
+ * read so the total read ahead across replays stays bounded.
  */
 class ReplaySession implements Session, AutoCloseable
 {
@@ -70,6 +78,7 @@ class ReplaySession implements Session, AutoCloseable
 
     private static final EnumSet<StandardOpenOption> FILE_OPTIONS = EnumSet.of(READ);
     private static final FileAttribute<?>[] NO_ATTRIBUTES = new FileAttribute[0];
+    private static final int COMPRESSED_SEGMENT_CACHE_BLOCK_COUNT = 2;
 
     private final long connectDeadlineMs;
     private final long correlationId;
@@ -93,11 +102,20 @@ class ReplaySession implements Session, AutoCloseable
     private final ControlSession controlSession;
     private final CachedEpochClock epochClock;
     private final File archiveDir;
+    private final SegmentTiering segmentTiering;
+    private final ReplayFilter replayFilter;
+    private boolean isMessageFilteredOut;
     private final Catalog catalog;
     private final Counter limitPosition;
     private final UnsafeBuffer replayBuffer;
+    private final int replayReadLength;
+    private final ReplayReadAhead replayReadAhead;
+    private final Counter maxReadTimeCounter;
     private FileChannel fileChannel;
     private File segmentFile;
+    private File readAheadFile;
+    private long readAheadPosition;
+    private long readAheadReleasePosition;
     private State state = State.INIT;
     private String errorMessage = null;
     private volatile boolean isAborted;
@@ -117,7 +135,12 @@ class ReplaySession implements Session, AutoCloseable
         final ExclusivePublication publication,
         final RecordingSummary recordingSummary,
         final Counter replayLimitPosition,
-        final Checksum checksum)
+        final Checksum checksum,
+        final SegmentTiering segmentTiering,
+        final ReplayFilter replayFilter,
+        final int replayReadLength,
+        final ReplayReadAhead replayReadAhead,
+        final Counter maxReadTimeCounter)
     {
         this.controlSession = controlSession;
         this.sessionId = replaySessionId;
@@ -128,6 +151,11 @@ class ReplaySession implements Session, AutoCloseable
         this.streamId = recordingSummary.streamId;
         this.epochClock = epochClock;
         this.archiveDir = archiveDir;
+        this.segmentTiering = segmentTiering;
+        this.replayFilter = replayFilter;
+        this.replayReadLength = replayReadLength;
+        this.replayReadAhead = replayReadAhead;
+        this.maxReadTimeCounter = maxReadTimeCounter;
         this.publication = publication;
         this.limitPosition = replayLimitPosition;
         this.replayBuffer = replayBuffer;
@@ -178,6 +206,7 @@ class ReplaySession implements Session, AutoCloseable
         final CountedErrorHandler errorHandler = controlSession.archiveConductor().context().countedErrorHandler();
         CloseHelper.close(errorHandler, fileChannel);
         CloseHelper.close(errorHandler, publication);
+        CloseHelper.close(errorHandler, maxReadTimeCounter);
     }
 
     public long sessionId()
@@ -263,7 +292,7 @@ class ReplaySession implements Session, AutoCloseable
     {
         if (null == fileChannel)
         {
-            if (!segmentFile.exists())
+            if (!segmentExists())
             {
                 if (epochClock.time() > connectDeadlineMs)
                 {
@@ -336,6 +365,8 @@ class ReplaySession implements Session, AutoCloseable
 
         int batchOffset = 0;
         int paddingFrameLength = 0;
+        int filteredOffset = NULL_VALUE;
+        final boolean wasMessageFilteredOut = isMessageFilteredOut;
         final int sessionId = publication.sessionId();
         final int streamId = publication.streamId();
         final long remaining = replayLimit - replayPosition;
@@ -367,6 +398,43 @@ class ReplaySession implements Session, AutoCloseable
                     verifyChecksum(checksum, batchOffset, alignedLength);
                 }
 
+                if (null != replayFilter)
+                {
+                    if ((frameFlags(replayBuffer, batchOffset) & BEGIN_FRAG_FLAG) == BEGIN_FRAG_FLAG)
+                    {
+                        isMessageFilteredOut = !replayFilter.matches(replayBuffer, batchOffset, frameLength);
+                    }
+
+                    if (isMessageFilteredOut)
+                    {
+                        if (NULL_VALUE == filteredOffset)
+                        {
+                            filteredOffset = batchOffset;
+                        }
+
+                        final int filteredLength = batchOffset + alignedLength - filteredOffset;
+                        if (0 == filteredOffset &&
+                            batchOffset > 0 &&
+                            filteredLength - HEADER_LENGTH > publication.maxMessageLength())
+                        {
+                            break;
+                        }
+
+                        frameType(replayBuffer, filteredOffset, HDR_TYPE_PAD);
+                        replayBuffer.putInt(filteredOffset + FRAME_LENGTH_FIELD_OFFSET, filteredLength, LITTLE_ENDIAN);
+                        replayBuffer.putInt(filteredOffset + SESSION_ID_FIELD_OFFSET, sessionId, LITTLE_ENDIAN);
+                        replayBuffer.putInt(filteredOffset + STREAM_ID_FIELD_OFFSET, streamId, LITTLE_ENDIAN);
+                        batchOffset += alignedLength;
+                        continue;
+                    }
+                    else if (0 == filteredOffset)
+                    {
+                        break;
+                    }
+
+                    filteredOffset = NULL_VALUE;
+                }
+
                 replayBuffer.putInt(batchOffset + SESSION_ID_FIELD_OFFSET, sessionId, LITTLE_ENDIAN);
                 replayBuffer.putInt(batchOffset + STREAM_ID_FIELD_OFFSET, streamId, LITTLE_ENDIAN);
                 batchOffset += alignedLength;
@@ -379,6 +447,24 @@ class ReplaySession implements Session, AutoCloseable
         }
 
         int workCount = 0;
+        if (0 == filteredOffset)
+        {
+            if (batchOffset > 0)
+            {
+                final long position = publication.appendPadding(batchOffset - HEADER_LENGTH);
+                if (hasPublicationAdvanced(position, batchOffset))
+                {
+                    workCount++;
+                }
+                else
+                {
+                    isMessageFilteredOut = wasMessageFilteredOut;
+                }
+            }
+
+            return workCount;
+        }
+
         if (batchOffset > 0)
         {
             final long position = publication.offerBlock(replayBuffer, 0, batchOffset);
@@ -388,6 +474,7 @@ class ReplaySession implements Session, AutoCloseable
             }
             else
             {
+                isMessageFilteredOut = wasMessageFilteredOut;
                 paddingFrameLength = 0;
             }
         }
@@ -444,10 +531,11 @@ class ReplaySession implements Session, AutoCloseable
     {
         if (publication.availableWindow() > 0)
         {
-            final int limit = min((int)min(availableReplay, MAX_BLOCK_LENGTH), termLength - termOffset);
+            final int limit = min((int)min(availableReplay, replayReadLength), termLength - termOffset);
             final ByteBuffer byteBuffer = replayBuffer.byteBuffer();
             byteBuffer.clear().limit(limit);
 
+            final long startNs = null != maxReadTimeCounter ? System.nanoTime() : 0;
             int position = termBaseSegmentOffset + termOffset;
             do
             {
@@ -461,12 +549,62 @@ class ReplaySession implements Session, AutoCloseable
             }
             while (byteBuffer.remaining() > 0);
 
+            if (null != maxReadTimeCounter)
+            {
+                final long readTimeNs = System.nanoTime() - startNs;
+                if (readTimeNs > maxReadTimeCounter.get())
+                {
+                    maxReadTimeCounter.setOrdered(readTimeNs);
+                }
+            }
+
+            if (null != readAheadFile)
+            {
+                requestReadAhead(position);
+            }
+
             return byteBuffer.limit();
         }
 
         return 0;
     }
 
+    private void requestReadAhead(final int segmentOffset)
+    {
+        releaseReadAhead(segmentOffset);
+
+        final int readAheadLength = replayReadAhead.readAheadLength();
+        final long readAheadLimit = min(segmentLength, min(replayLimit, stopPosition) - segmentFileBasePosition);
+
+        if (readAheadPosition < readAheadLimit && segmentOffset + (readAheadLength >> 1) >= readAheadPosition)
+        {
+            final long fromOffset = max(readAheadPosition, segmentOffset);
+            final int length = (int)min(readAheadLength, readAheadLimit - fromOffset);
+            if (length > 0)
+            {
+                if (replayReadAhead.request(readAheadFile, fromOffset, length))
+                {
+                    if (readAheadReleasePosition == readAheadPosition)
+                    {
+                        readAheadReleasePosition = fromOffset;
+                    }
+
+                    readAheadPosition = fromOffset + length;
+                }
+            }
+        }
+    }
+
+    private void releaseReadAhead(final long segmentOffset)
+    {
+        final long releasePosition = min(segmentOffset, readAheadPosition);
+        if (releasePosition > readAheadReleasePosition)
+        {
+            replayReadAhead.release(releasePosition - readAheadReleasePosition);
+            readAheadReleasePosition = releasePosition;
+        }
+    }
+
     private void onError(final String errorMessage)
     {
         state(State.INACTIVE);
@@ -524,6 +662,13 @@ class ReplaySession implements Session, AutoCloseable
         CloseHelper.close(fileChannel);
         fileChannel = null;
         segmentFile = null;
+        if (null != replayReadAhead)
+        {
+            releaseReadAhead(readAheadPosition);
+        }
+        readAheadFile = null;
+        readAheadPosition = 0;
+        readAheadReleasePosition = 0;
     }
 
     private void openRecordingSegment() throws IOException
@@ -533,7 +678,7 @@ class ReplaySession implements Session, AutoCloseable
             final String segmentFileName = segmentFileName(recordingId, segmentFileBasePosition);
             segmentFile = new File(archiveDir, segmentFileName);
 
-            if (!segmentFile.exists())
+            if (!segmentExists())
             {
                 final String msg = "recording segment not found " + segmentFileName;
                 onError(msg);
@@ -541,7 +686,74 @@ class ReplaySession implements Session, AutoCloseable
             }
         }
 
-        fileChannel = FileChannel.open(segmentFile.toPath(), FILE_OPTIONS, NO_ATTRIBUTES);
+        fileChannel = openSegment(archiveDir);
+        if (null == fileChannel && null != segmentTiering)
+        {
+            fileChannel = openSegment(segmentTiering.secondaryDir());
+            if (null != fileChannel)
+            {
+                final long nextSegmentFileBasePosition = segmentFileBasePosition + segmentLength;
+                if (nextSegmentFileBasePosition < replayLimit)
+                {
+                    segmentTiering.requestPrefetch(recordingId, nextSegmentFileBasePosition);
+                }
+            }
+        }
+
+        if (null == fileChannel)
+        {
+            final String msg = "recording segment not found " + segmentFile.getName();
+            onError(msg);
+            throw new ArchiveException(msg);
+        }
+    }
+
+    private FileChannel openSegment(final File dir) throws IOException
+    {
+        try
+        {
+            final File file = new File(dir, segmentFile.getName());
+            final FileChannel channel = FileChannel.open(file.toPath(), FILE_OPTIONS, NO_ATTRIBUTES);
+            if (null != replayReadAhead)
+            {
+                readAheadFile = file;
+            }
+
+            return channel;
+        }
+        catch (final NoSuchFileException ignore)
+        {
+        }
+
+        try
+        {
+            return CompressedSegmentFileChannel.open(
+                new File(dir, compressedSegmentFileName(recordingId, segmentFileBasePosition)),
+                COMPRESSED_SEGMENT_CACHE_BLOCK_COUNT);
+        }
+        catch (final NoSuchFileException ex)
+        {
+            return null;
+        }
+    }
+
+    private boolean segmentExists()
+    {
+        final String compressedSegmentFileName = compressedSegmentFileName(recordingId, segmentFileBasePosition);
+
+        if (segmentFile.exists() || new File(archiveDir, compressedSegmentFileName).exists())
+        {
+            return true;
+        }
+
+        if (null != segmentTiering)
+        {
+            final File secondaryDir = segmentTiering.secondaryDir();
+            return new File(secondaryDir, segmentFile.getName()).exists() ||
+                new File(secondaryDir, compressedSegmentFileName).exists();
+        }
+
+        return false;
     }
 
     static boolean notHeaderAligned(
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket which paces the rate in bytes per second at which replicated streams are recorded. Holding back the
+ * recording of a replication image applies flow control to the replay from the source archive.
+ * <p>
+ * A pacer can have a parent which is shared by all replications so the aggregate rate is also limited. The bucket
+ * is allowed to go into debt so a block of frames can be consumed whenever any budget is available, which keeps the
+ * long run rate to the limit without needing to split frames. Burst is limited to 100ms worth of bytes.
+ * <p>
+ * <b>Note:</b> Not thread safe and must only be used on the recorder thread.
+ */
+final class ReplicationPacer
+{
+    private static final long ONE_SECOND_NS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long bytesPerSecond;
+    private final long capacity;
+    private final ReplicationPacer parent;
+    private long tokens;
+    private long lastRefillNs;
+
+    ReplicationPacer(final long bytesPerSecond, final ReplicationPacer parent, final long nowNs)
+    {
+        this.bytesPerSecond = bytesPerSecond;
+        this.capacity = Math.max(1, bytesPerSecond / 10);
+        this.parent = parent;
+        this.tokens = capacity;
+        this.lastRefillNs = nowNs;
+    }
+
+    /**
+     * Bytes which can be consumed now as the minimum of this pacer and its parent.
+     *
+     * @param nowNs current time in nanoseconds.
+     * @return bytes which can be consumed now which will be {@link Long#MAX_VALUE} if not limited.
+     */
+    long available(final long nowNs)
+    {
+        long available = Long.MAX_VALUE;
+
+        if (bytesPerSecond > 0)
+        {
+            final long elapsedNs = Math.min(nowNs - lastRefillNs, ONE_SECOND_NS);
+            final long refill = (elapsedNs * bytesPerSecond) / ONE_SECOND_NS;
+            if (refill > 0)
+            {
+                tokens = Math.min(capacity, tokens + refill);
+                lastRefillNs = nowNs;
+            }
+
+            available = tokens;
+        }
+
+        if (null != parent)
+        {
+            available = Math.min(available, parent.available(nowNs));
+        }
+
+        return available;
+    }
+
+    /**
+     * Consume bytes from this pacer and its parent which may take them into debt.
+     *
+     * @param bytes which have been consumed.
+     */
+    void consume(final long bytes)
+    {
+        if (bytesPerSecond > 0)
+        {
+            tokens -= bytes;
+        }
+
+        if (null != parent)
+        {
+            parent.consume(bytes);
+        }
+    }
+
+    public String toString()
+    {
+        return "ReplicationPacer{" +
+            "bytesPerSecond=" + bytesPerSecond +
+            ", tokens=" + tokens +
+            ", parent=" + parent +
+            '}';
+    }
+}
@@ -82,6 +82,7 @@ class ReplicationSession implements Session, RecordingDescriptorConsumer
     private AeronArchive srcArchive;
     private Subscription recordingSubscription;
     private Image image;
+    private Counter positionCounter;
     private State state = State.CONNECT;
 
     ReplicationSession(
@@ -134,6 +135,11 @@ class ReplicationSession implements Session, RecordingDescriptorConsumer
         return state == State.DONE;
     }
 
+    boolean isLiveMerge()
+    {
+        return null != liveDestination;
+    }
+
     public void abort()
     {
         this.state(State.DONE);
@@ -146,6 +152,7 @@ class ReplicationSession implements Session, RecordingDescriptorConsumer
 
         stopRecording(countedErrorHandler);
         stopReplaySession(countedErrorHandler);
+        CloseHelper.close(countedErrorHandler, positionCounter);
 
         CloseHelper.close(countedErrorHandler, asyncConnect);
         CloseHelper.close(countedErrorHandler, srcArchive);
@@ -493,6 +500,13 @@ class ReplicationSession implements Session, RecordingDescriptorConsumer
         image = recordingSubscription.imageBySessionId((int)srcReplaySessionId);
         if (null != image)
         {
+            positionCounter = aeron.addCounter(
+                Archive.Configuration.ARCHIVE_REPLICATION_POSITION_TYPE_ID,
+                "archive-replication: replicationId=" + replicationId +
+                " srcRecordingId=" + srcRecordingId +
+                " dstRecordingId=" + dstRecordingId);
+            positionCounter.setOrdered(image.position());
+
             state(null == liveDestination ? State.REPLICATE : State.CATCHUP);
             workCount += 1;
         }
@@ -509,6 +523,8 @@ class ReplicationSession implements Session, RecordingDescriptorConsumer
         int workCount = 0;
 
         final long position = image.position();
+        positionCounter.setOrdered(position);
+
         if ((NULL_VALUE != srcStopPosition && position >= srcStopPosition) || image.isClosed())
         {
             if ((NULL_VALUE != srcStopPosition && position >= srcStopPosition) ||
@@ -534,6 +550,8 @@ class ReplicationSession implements Session, RecordingDescriptorConsumer
             throw new ArchiveException("replication image closed unexpectedly");
         }
 
+        positionCounter.setOrdered(image.position());
+
         if (image.position() >= srcRecordingPosition)
         {
             state(State.ATTEMPT_LIVE_JOIN);
@@ -585,6 +603,7 @@ class ReplicationSession implements Session, RecordingDescriptorConsumer
                 }
 
                 final long position = image.position();
+                positionCounter.setOrdered(position);
 
                 if (shouldAddLiveDestination(position))
                 {
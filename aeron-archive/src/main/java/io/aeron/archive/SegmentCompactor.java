@@ -0,0 +1,331 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.Counter;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.CountedErrorHandler;
+import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.zip.Deflater;
+
+import static io.aeron.archive.Archive.Configuration.RECORDING_SEGMENT_SUFFIX;
+import static io.aeron.archive.Archive.compressedSegmentFileName;
+import static io.aeron.archive.Archive.segmentFileName;
+
+/**
+ * Compresses completed recording segments in the background so that cold recordings use less storage. Segments are
+ * requested when a recording rolls over to a new segment, the last segment is requested by the conductor when a
+ * recording stops, and all raw segments found when the archive starts are requested with the conductor discarding
+ * those which are not complete.
+ * <p>
+ * Requests are not acted on directly. The {@link ArchiveConductor} polls them via {@link #pollRequest()} and hands a
+ * compaction back via {@link #requestCompaction(SegmentCompaction)} once it has claimed the recording, so truncate,
+ * purge, migrate, and tiering are rejected or deferred for the recording until the compaction is returned via
+ * {@link #pollCompleted()}. A segment is written to a {@link CompressedSegment} file and then the raw file is deleted.
+ * <p>
+ * Compressed segments are decompressed back to raw files so a recording can be truncated via
+ * {@link #requestDecompression(SegmentDecompression)}, with the conductor completing the truncate once the
+ * decompression is returned via {@link #pollDecompressed()}.
+ */
+final class SegmentCompactor implements Agent
+{
+    private final ManyToOneConcurrentLinkedQueue<SegmentCompaction> requestQueue =
+        new ManyToOneConcurrentLinkedQueue<>();
+    private final ManyToOneConcurrentLinkedQueue<SegmentCompaction> compactionQueue =
+        new ManyToOneConcurrentLinkedQueue<>();
+    private final ManyToOneConcurrentLinkedQueue<SegmentCompaction> completedQueue =
+        new ManyToOneConcurrentLinkedQueue<>();
+    private final ManyToOneConcurrentLinkedQueue<SegmentDecompression> decompressionQueue =
+        new ManyToOneConcurrentLinkedQueue<>();
+    private final ManyToOneConcurrentLinkedQueue<SegmentDecompression> decompressedQueue =
+        new ManyToOneConcurrentLinkedQueue<>();
+    private final File archiveDir;
+    private final int blockLength;
+    private final boolean forceWrites;
+    private final Deflater deflater;
+    private final Counter bytesInCounter;
+    private final Counter bytesOutCounter;
+    private final CountedErrorHandler errorHandler;
+
+    /**
+     * A request to compress a completed segment which is returned to the conductor when complete.
+     */
+    static final class SegmentCompaction
+    {
+        final long recordingId;
+        final long segmentBasePosition;
+        boolean isCompressed;
+
+        SegmentCompaction(final long recordingId, final long segmentBasePosition)
+        {
+            this.recordingId = recordingId;
+            this.segmentBasePosition = segmentBasePosition;
+        }
+    }
+
+    /**
+     * A request to decompress a segment so a recording can be truncated which is returned to the conductor when
+     * complete.
+     */
+    static final class SegmentDecompression
+    {
+        final long recordingId;
+        final long segmentBasePosition;
+        final long correlationId;
+        final long truncatePosition;
+        final ControlSession controlSession;
+        boolean isDecompressed;
+
+        SegmentDecompression(
+            final long recordingId,
+            final long segmentBasePosition,
+            final long correlationId,
+            final long truncatePosition,
+            final ControlSession controlSession)
+        {
+            this.recordingId = recordingId;
+            this.segmentBasePosition = segmentBasePosition;
+            this.correlationId = correlationId;
+            this.truncatePosition = truncatePosition;
+            this.controlSession = controlSession;
+        }
+    }
+
+    SegmentCompactor(
+        final File archiveDir,
+        final int blockLength,
+        final int level,
+        final boolean forceWrites,
+        final Counter bytesInCounter,
+        final Counter bytesOutCounter,
+        final CountedErrorHandler errorHandler)
+    {
+        this.archiveDir = archiveDir;
+        this.blockLength = blockLength;
+        this.forceWrites = forceWrites;
+        this.bytesInCounter = bytesInCounter;
+        this.bytesOutCounter = bytesOutCounter;
+        this.errorHandler = errorHandler;
+        deflater = new Deflater(level, true);
+    }
+
+    public void onStart()
+    {
+        final String[] fileNames = archiveDir.list();
+        if (null == fileNames)
+        {
+            return;
+        }
+
+        for (final String fileName : fileNames)
+        {
+            if (CompressedSegment.isTemporaryFile(fileName))
+            {
+                deleteFile(new File(archiveDir, fileName));
+            }
+        }
+
+        for (final String fileName : fileNames)
+        {
+            if (fileName.endsWith(RECORDING_SEGMENT_SUFFIX))
+            {
+                final int separatorIndex = fileName.indexOf('-');
+                if (separatorIndex > 0)
+                {
+                    try
+                    {
+                        final long recordingId = Long.parseLong(fileName.substring(0, separatorIndex));
+                        final long position = Long.parseLong(fileName.substring(
+                            separatorIndex + 1, fileName.length() - RECORDING_SEGMENT_SUFFIX.length()));
+
+                        requestQueue.offer(new SegmentCompaction(recordingId, position));
+                    }
+                    catch (final NumberFormatException ignore)
+                    {
+                    }
+                }
+            }
+        }
+    }
+
+    public int doWork()
+    {
+        int workCount = 0;
+
+        final SegmentDecompression decompression = decompressionQueue.poll();
+        if (null != decompression)
+        {
+            decompression.isDecompressed = decompress(
+                decompression.recordingId, decompression.segmentBasePosition);
+            decompressedQueue.offer(decompression);
+            ++workCount;
+        }
+
+        final SegmentCompaction compaction = compactionQueue.poll();
+        if (null != compaction)
+        {
+            compaction.isCompressed = compress(compaction.recordingId, compaction.segmentBasePosition);
+            completedQueue.offer(compaction);
+            ++workCount;
+        }
+
+        return workCount;
+    }
+
+    public void onClose()
+    {
+        deflater.end();
+        CloseHelper.close(errorHandler, bytesInCounter);
+        CloseHelper.close(errorHandler, bytesOutCounter);
+    }
+
+    public String roleName()
+    {
+        return "archive-segment-compactor";
+    }
+
+    /**
+     * Request a completed segment be compressed once claimed by the conductor.
+     *
+     * @param recordingId         of the segment.
+     * @param segmentBasePosition of the segment which will no longer be written to.
+     */
+    void onSegmentComplete(final long recordingId, final long segmentBasePosition)
+    {
+        requestQueue.offer(new SegmentCompaction(recordingId, segmentBasePosition));
+    }
+
+    /**
+     * Poll for a segment which has been requested for compaction but not yet claimed by the conductor.
+     *
+     * @return a requested compaction or null if none are outstanding.
+     */
+    SegmentCompaction pollRequest()
+    {
+        return requestQueue.poll();
+    }
+
+    /**
+     * Compress a segment which the conductor has claimed so that it will not be modified until returned.
+     *
+     * @param compaction to be performed and returned via {@link #pollCompleted()}.
+     */
+    void requestCompaction(final SegmentCompaction compaction)
+    {
+        compactionQueue.offer(compaction);
+    }
+
+    /**
+     * Poll for a compaction which has completed, either successfully or not.
+     *
+     * @return a completed compaction or null if none have completed.
+     */
+    SegmentCompaction pollCompleted()
+    {
+        return completedQueue.poll();
+    }
+
+    /**
+     * Decompress a segment which the conductor has claimed so that it can be truncated.
+     *
+     * @param decompression to be performed and returned via {@link #pollDecompressed()}.
+     */
+    void requestDecompression(final SegmentDecompression decompression)
+    {
+        decompressionQueue.offer(decompression);
+    }
+
+    /**
+     * Poll for a decompression which has completed, either successfully or not.
+     *
+     * @return a completed decompression or null if none have completed.
+     */
+    SegmentDecompression pollDecompressed()
+    {
+        return decompressedQueue.poll();
+    }
+
+    private boolean decompress(final long recordingId, final long segmentBasePosition)
+    {
+        final File segmentFile = new File(archiveDir, segmentFileName(recordingId, segmentBasePosition));
+        final File compressedFile = new File(archiveDir, compressedSegmentFileName(recordingId, segmentBasePosition));
+        if (segmentFile.exists())
+        {
+            return true;
+        }
+
+        try
+        {
+            CompressedSegment.decompress(compressedFile, segmentFile);
+            Files.delete(compressedFile.toPath());
+
+            return true;
+        }
+        catch (final IOException ex)
+        {
+            errorHandler.onError(ex);
+
+            return false;
+        }
+    }
+
+    private boolean compress(final long recordingId, final long segmentBasePosition)
+    {
+        final File segmentFile = new File(archiveDir, segmentFileName(recordingId, segmentBasePosition));
+        final long segmentLength = segmentFile.length();
+        if (0 == segmentLength)
+        {
+            return false;
+        }
+
+        final File compressedFile = new File(archiveDir, compressedSegmentFileName(recordingId, segmentBasePosition));
+        try
+        {
+            final long compressedLength = CompressedSegment.compress(
+                segmentFile, compressedFile, blockLength, deflater, forceWrites);
+
+            Files.delete(segmentFile.toPath());
+            bytesInCounter.getAndAdd(segmentLength);
+            bytesOutCounter.getAndAdd(compressedLength);
+
+            return true;
+        }
+        catch (final IOException ex)
+        {
+            errorHandler.onError(ex);
+            deleteFile(compressedFile);
+
+            return false;
+        }
+    }
+
+    private void deleteFile(final File file)
+    {
+        try
+        {
+            Files.deleteIfExists(file.toPath());
+        }
+        catch (final IOException ex)
+        {
+            errorHandler.onError(ex);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.Counter;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.CountedErrorHandler;
+import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+
+import static io.aeron.archive.Archive.compressedSegmentFileName;
+import static io.aeron.archive.Archive.segmentFileName;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Moves aged recording segments from the archive directory to a secondary directory, e.g. a slower and larger mount,
+ * and prefetches segments in the secondary directory into the page cache ahead of a replay.
+ * <p>
+ * The {@link ArchiveConductor} decides which segments are moved and records the position up to which a recording has
+ * been moved in the {@link Catalog} when notified of completion. A segment is copied to a temporary file in the
+ * destination directory which is renamed when complete and then the original is deleted. If the original was deleted
+ * during the copy, e.g. by a purge, then the copy is discarded. Segments are moved back to the archive directory in
+ * the same way when restored so they can be truncated.
+ */
+final class SegmentTiering implements Agent
+{
+    private static final String TMP_SUFFIX = ".tiering";
+    private static final long NOT_MOVED = -1;
+    private static final int PREFETCH_BUFFER_LENGTH = 1024 * 1024;
+
+    private final ManyToOneConcurrentLinkedQueue<SegmentMove> moveQueue = new ManyToOneConcurrentLinkedQueue<>();
+    private final ManyToOneConcurrentLinkedQueue<SegmentMove> completedQueue = new ManyToOneConcurrentLinkedQueue<>();
+    private final ManyToOneConcurrentLinkedQueue<SegmentRestore> restoreQueue = new ManyToOneConcurrentLinkedQueue<>();
+    private final ManyToOneConcurrentLinkedQueue<SegmentRestore> restoredQueue =
+        new ManyToOneConcurrentLinkedQueue<>();
+    private final ManyToOneConcurrentLinkedQueue<File> prefetchQueue = new ManyToOneConcurrentLinkedQueue<>();
+    private final File archiveDir;
+    private final File secondaryDir;
+    private final boolean forceWrites;
+    private final boolean isPrefetchEnabled;
+    private final Counter bytesTieredCounter;
+    private final CountedErrorHandler errorHandler;
+    private ByteBuffer prefetchBuffer;
+
+    /**
+     * A request to move a segment to the secondary directory which is returned to the conductor when complete.
+     */
+    static final class SegmentMove
+    {
+        final long recordingId;
+        final long segmentBasePosition;
+        final int segmentLength;
+        boolean isMoved;
+
+        SegmentMove(final long recordingId, final long segmentBasePosition, final int segmentLength)
+        {
+            this.recordingId = recordingId;
+            this.segmentBasePosition = segmentBasePosition;
+            this.segmentLength = segmentLength;
+        }
+    }
+
+    /**
+     * A request to move a segment back from the secondary directory so a recording can be truncated which is
+     * returned to the conductor when complete.
+     */
+    static final class SegmentRestore
+    {
+        final long recordingId;
+        final long segmentBasePosition;
+        final long correlationId;
+        final long truncatePosition;
+        final ControlSession controlSession;
+        boolean isRestored;
+
+        SegmentRestore(
+            final long recordingId,
+            final long segmentBasePosition,
+            final long correlationId,
+            final long truncatePosition,
+            final ControlSession controlSession)
+        {
+            this.recordingId = recordingId;
+            this.segmentBasePosition = segmentBasePosition;
+            this.correlationId = correlationId;
+            this.truncatePosition = truncatePosition;
+            this.controlSession = controlSession;
+        }
+    }
+
+    SegmentTiering(
+        final File archiveDir,
+        final File secondaryDir,
+        final boolean forceWrites,
+        final boolean isPrefetchEnabled,
+        final Counter bytesTieredCounter,
+        final CountedErrorHandler errorHandler)
+    {
+        this.archiveDir = archiveDir;
+        this.secondaryDir = secondaryDir;
+        this.forceWrites = forceWrites;
+        this.isPrefetchEnabled = isPrefetchEnabled;
+        this.bytesTieredCounter = bytesTieredCounter;
+        this.errorHandler = errorHandler;
+    }
+
+    public void onStart()
+    {
+        deleteTemporaryFiles(secondaryDir);
+        deleteTemporaryFiles(archiveDir);
+    }
+
+    public int doWork()
+    {
+        int workCount = 0;
+
+        final SegmentMove move = moveQueue.poll();
+        if (null != move)
+        {
+            final long length = moveSegment(archiveDir, secondaryDir, move.recordingId, move.segmentBasePosition);
+            if (NOT_MOVED != length)
+            {
+                bytesTieredCounter.getAndAdd(length);
+                move.isMoved = true;
+            }
+
+            completedQueue.offer(move);
+            ++workCount;
+        }
+
+        final SegmentRestore restore = restoreQueue.poll();
+        if (null != restore)
+        {
+            restore.isRestored = NOT_MOVED != moveSegment(
+                secondaryDir, archiveDir, restore.recordingId, restore.segmentBasePosition);
+            restoredQueue.offer(restore);
+            ++workCount;
+        }
+
+        final File prefetchFile = prefetchQueue.poll();
+        if (null != prefetchFile)
+        {
+            prefetch(prefetchFile);
+            ++workCount;
+        }
+
+        return workCount;
+    }
+
+    public void onClose()
+    {
+        CloseHelper.close(errorHandler, bytesTieredCounter);
+    }
+
+    public String roleName()
+    {
+        return "archive-segment-tiering";
+    }
+
+    /**
+     * The secondary directory to which aged segments are moved.
+     *
+     * @return the secondary directory to which aged segments are moved.
+     */
+    File secondaryDir()
+    {
+        return secondaryDir;
+    }
+
+    /**
+     * Request a segment be moved to the secondary directory.
+     *
+     * @param move to be performed and returned via {@link #pollCompleted()}.
+     */
+    void requestMove(final SegmentMove move)
+    {
+        moveQueue.offer(move);
+    }
+
+    /**
+     * Poll for a move which has completed, either successfully or not.
+     *
+     * @return a completed move or null if none have completed.
+     */
+    SegmentMove pollCompleted()
+    {
+        return completedQueue.poll();
+    }
+
+    /**
+     * Request a segment be moved back from the secondary directory to the archive directory.
+     *
+     * @param restore to be performed and returned via {@link #pollRestored()}.
+     */
+    void requestRestore(final SegmentRestore restore)
+    {
+        restoreQueue.offer(restore);
+    }
+
+    /**
+     * Poll for a restore which has completed, either successfully or not.
+     *
+     * @return a completed restore or null if none have completed.
+     */
+    SegmentRestore pollRestored()
+    {
+        return restoredQueue.poll();
+    }
+
+    /**
+     * Request a segment in the secondary directory be read ahead into the page cache if prefetch is enabled.
+     *
+     * @param recordingId         of the segment.
+     * @param segmentBasePosition of the segment.
+     */
+    void requestPrefetch(final long recordingId, final long segmentBasePosition)
+    {
+        if (!isPrefetchEnabled)
+        {
+            return;
+        }
+
+        final File file = new File(secondaryDir, segmentFileName(recordingId, segmentBasePosition));
+        prefetchQueue.offer(file.exists() ?
+            file : new File(secondaryDir, compressedSegmentFileName(recordingId, segmentBasePosition)));
+    }
+
+    private long moveSegment(
+        final File srcDir, final File dstDir, final long recordingId, final long segmentBasePosition)
+    {
+        final long rawLength = moveFile(srcDir, dstDir, segmentFileName(recordingId, segmentBasePosition));
+        final long compressedLength = moveFile(
+            srcDir, dstDir, compressedSegmentFileName(recordingId, segmentBasePosition));
+
+        if (NOT_MOVED == rawLength)
+        {
+            return compressedLength;
+        }
+
+        return NOT_MOVED == compressedLength ? rawLength : rawLength + compressedLength;
+    }
+
+    private long moveFile(final File srcDir, final File dstDir, final String fileName)
+    {
+        final File srcFile = new File(srcDir, fileName);
+        if (!srcFile.exists())
+        {
+            return NOT_MOVED;
+        }
+
+        final File dstFile = new File(dstDir, fileName);
+        final File tmpFile = new File(dstDir, fileName + TMP_SUFFIX);
+
+        try
+        {
+            final long length = srcFile.length();
+            Files.copy(srcFile.toPath(), tmpFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            if (forceWrites)
+            {
+                try (FileChannel channel = FileChannel.open(tmpFile.toPath(), WRITE))
+                {
+                    channel.force(true);
+                }
+            }
+
+            Files.move(tmpFile.toPath(), dstFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+            try
+            {
+                Files.delete(srcFile.toPath());
+            }
+            catch (final NoSuchFileException ex)
+            {
+                deleteFile(dstFile);
+                return NOT_MOVED;
+            }
+
+            return length;
+        }
+        catch (final IOException ex)
+        {
+            if (srcFile.exists())
+            {
+                errorHandler.onError(ex);
+            }
+
+            deleteFile(tmpFile);
+            return NOT_MOVED;
+        }
+    }
+
+    private void prefetch(final File file)
+    {
+        if (null == prefetchBuffer)
+        {
+            prefetchBuffer = ByteBuffer.allocateDirect(PREFETCH_BUFFER_LENGTH);
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), READ))
+        {
+            long position = 0;
+            int bytesRead;
+            do
+            {
+                prefetchBuffer.clear();
+                bytesRead = channel.read(prefetchBuffer, position);
+                position += bytesRead;
+            }
+            while (bytesRead > 0);
+        }
+        catch (final NoSuchFileException ignore)
+        {
+        }
+        catch (final IOException ex)
+        {
+            errorHandler.onError(ex);
+        }
+    }
+
+    private void deleteTemporaryFiles(final File dir)
+    {
+        final String[] fileNames = dir.list();
+        if (null != fileNames)
+        {
+            for (final String fileName : fileNames)
+            {
+                if (fileName.endsWith(TMP_SUFFIX))
+                {
+                    deleteFile(new File(dir, fileName));
+                }
+            }
+        }
+    }
+
+    private void deleteFile(final File file)
+    {
+        try
+        {
+            Files.deleteIfExists(file.toPath());
+        }
+        catch (final IOException ex)
+        {
+            errorHandler.onError(ex);
+        }
+    }
+}
@@ -23,6 +23,8 @@ final class SharedModeArchiveConductor extends ArchiveConductor
 {
     private AgentInvoker replayerAgentInvoker;
     private AgentInvoker recorderAgentInvoker;
+    private AgentInvoker controlSessionWorkerAgentInvoker;
+    private AgentInvoker[] backgroundAgentInvokers;
 
     SharedModeArchiveConductor(final Archive.Context ctx)
     {
@@ -36,8 +38,19 @@ final class SharedModeArchiveConductor extends ArchiveConductor
         replayerAgentInvoker = new AgentInvoker(errorHandler, ctx.errorCounter(), replayer);
         recorderAgentInvoker = new AgentInvoker(errorHandler, ctx.errorCounter(), recorder);
 
+        controlSessionWorkerAgentInvoker = new AgentInvoker(
+            errorHandler, ctx.errorCounter(), controlSessionWorkers[0]);
+
         replayerAgentInvoker.start();
         recorderAgentInvoker.start();
+        controlSessionWorkerAgentInvoker.start();
+
+        backgroundAgentInvokers = new AgentInvoker[backgroundAgents.length];
+        for (int i = 0; i < backgroundAgents.length; i++)
+        {
+            backgroundAgentInvokers[i] = new AgentInvoker(errorHandler, ctx.errorCounter(), backgroundAgents[i]);
+            backgroundAgentInvokers[i].start();
+        }
     }
 
     protected SessionWorker<RecordingSession> newRecorder()
@@ -50,21 +63,42 @@ final class SharedModeArchiveConductor extends ArchiveConductor
         return new SharedModeReplayer(errorHandler);
     }
 
+    protected ControlSessionWorker[] newControlSessionWorkers()
+    {
+        return new ControlSessionWorker[]{ new ControlSessionWorker("archive-control", errorHandler) };
+    }
+
     protected int preWork()
     {
-        return super.preWork() +
+        int workCount = super.preWork() +
             replayerAgentInvoker.invoke() +
             invokeAeronInvoker() +
             invokeDriverConductor() +
             recorderAgentInvoker.invoke() +
             invokeAeronInvoker() +
-            invokeDriverConductor();
+            invokeDriverConductor() +
+            controlSessionWorkerAgentInvoker.invoke();
+
+        for (final AgentInvoker agentInvoker : backgroundAgentInvokers)
+        {
+            workCount += agentInvoker.invoke();
+        }
+
+        return workCount;
     }
 
     protected void closeSessionWorkers()
     {
         CloseHelper.close(ctx.countedErrorHandler(), recorderAgentInvoker);
         CloseHelper.close(ctx.countedErrorHandler(), replayerAgentInvoker);
+        CloseHelper.close(ctx.countedErrorHandler(), controlSessionWorkerAgentInvoker);
+        if (null != backgroundAgentInvokers)
+        {
+            for (final AgentInvoker agentInvoker : backgroundAgentInvokers)
+            {
+                CloseHelper.close(ctx.countedErrorHandler(), agentInvoker);
+            }
+        }
     }
 
     class SharedModeRecorder extends SessionWorker<RecordingSession>
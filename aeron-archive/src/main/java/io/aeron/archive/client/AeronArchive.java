@@ -17,6 +17,7 @@ package io.aeron.archive.client;
 
 import io.aeron.*;
 import io.aeron.archive.codecs.ControlResponseCode;
+import io.aeron.archive.codecs.ReplayFilterType;
 import io.aeron.archive.codecs.SourceLocation;
 import io.aeron.exceptions.AeronException;
 import io.aeron.exceptions.ConcurrentConcludeException;
@@ -67,6 +68,32 @@ public class AeronArchive implements AutoCloseable
      */
     public static final long NULL_LENGTH = Aeron.NULL_VALUE;
 
+    /**
+     * Projection for a paged listing which includes only the fixed length fields of recording descriptors.
+     */
+    public static final int PROJECTION_FIXED_FIELDS = 0;
+
+    /**
+     * Projection for a paged listing which includes the stripped channel of recording descriptors.
+     */
+    public static final int PROJECTION_STRIPPED_CHANNEL = 0x1;
+
+    /**
+     * Projection for a paged listing which includes the original channel of recording descriptors.
+     */
+    public static final int PROJECTION_ORIGINAL_CHANNEL = 0x2;
+
+    /**
+     * Projection for a paged listing which includes the source identity of recording descriptors.
+     */
+    public static final int PROJECTION_SOURCE_IDENTITY = 0x4;
+
+    /**
+     * Projection for a paged listing which includes all fields of recording descriptors.
+     */
+    public static final int PROJECTION_ALL =
+        PROJECTION_STRIPPED_CHANNEL | PROJECTION_ORIGINAL_CHANNEL | PROJECTION_SOURCE_IDENTITY;
+
     /**
      * Indicates the client is no longer connected to an archive.
      */
@@ -928,6 +955,101 @@ public class AeronArchive implements AutoCloseable
         }
     }
 
+    /**
+     * Start a replay for a length in bytes of a recording from a position with a filter evaluated in the archive.
+     * Only messages for which the masked field equals the filter value are sent, other messages are replaced by
+     * padding so the positions of the replay match the recording.
+     * <p>
+     * A {@link ReplayFilterType#PAYLOAD} filter tests up to 8 little endian bytes at an offset in the first fragment
+     * of a message. A {@link ReplayFilterType#RESERVED_VALUE} or {@link ReplayFilterType#FLAGS} filter tests that
+     * field of the first fragment header.
+     *
+     * @param recordingId    to be replayed.
+     * @param position       from which the replay should begin or {@link #NULL_POSITION} if from the start.
+     * @param length         of the stream to be replayed. Use {@link Long#MAX_VALUE} to follow a live recording or
+     *                       {@link #NULL_LENGTH} to replay the whole stream of unknown length.
+     * @param filterType     of the field in a message to be tested by the filter.
+     * @param filterOffset   of the field in the payload when the type is {@link ReplayFilterType#PAYLOAD}.
+     * @param filterMask     applied to the field before comparing it with the value.
+     * @param filterValue    the masked field must equal for the message to be replayed.
+     * @param replayChannel  to which the replay should be sent.
+     * @param replayStreamId to which the replay should be sent.
+     * @return the id of the replay session which will be the same as the {@link Image#sessionId()} of the received
+     * replay for correlation with the matching channel and stream id in the lower 32 bits.
+     */
+    public long startFilteredReplay(
+        final long recordingId,
+        final long position,
+        final long length,
+        final ReplayFilterType filterType,
+        final int filterOffset,
+        final long filterMask,
+        final long filterValue,
+        final String replayChannel,
+        final int replayStreamId)
+    {
+        lock.lock();
+        try
+        {
+            ensureOpen();
+            ensureNotReentrant();
+
+            lastCorrelationId = aeron.nextCorrelationId();
+
+            if (!archiveProxy.filteredReplay(
+                recordingId,
+                position,
+                length,
+                filterType,
+                filterOffset,
+                filterMask,
+                filterValue,
+                replayChannel,
+                replayStreamId,
+                lastCorrelationId,
+                controlSessionId))
+            {
+                throw new ArchiveException("failed to send filtered replay request");
+            }
+
+            return pollForResponse(lastCorrelationId);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Start a replay for a length in bytes of a recording from the position found in the archive timestamp index at
+     * or before a timestamp. This is a {@link #findPosition(long, long)} followed by a
+     * {@link #startReplay(long, long, long, String, int)}.
+     * <p>
+     * The index is sparse so the replay may begin with messages from before the timestamp which should be skipped by
+     * the consumer if required.
+     *
+     * @param recordingId    to be replayed.
+     * @param timestamp      from which the replay should begin in the units of the archive recording index.
+     * @param length         of the stream to be replayed. Use {@link Long#MAX_VALUE} to follow a live recording or
+     *                       {@link #NULL_LENGTH} to replay the whole stream of unknown length.
+     * @param replayChannel  to which the replay should be sent.
+     * @param replayStreamId to which the replay should be sent.
+     * @return the id of the replay session which will be the same as the {@link Image#sessionId()} of the received
+     * replay for correlation with the matching channel and stream id in the lower 32 bits.
+     * @see #findPosition(long, long)
+     */
+    public long startReplayFromTimestamp(
+        final long recordingId,
+        final long timestamp,
+        final long length,
+        final String replayChannel,
+        final int replayStreamId)
+    {
+        final long position = findPosition(recordingId, timestamp);
+
+        return startReplay(recordingId, position, length, replayChannel, replayStreamId);
+    }
+
     /**
      * Start a replay for a length in bytes of a recording from a position bounded by a position counter.
      * If the position is {@link #NULL_POSITION} then the stream will be replayed from the start.
@@ -1180,6 +1302,54 @@ public class AeronArchive implements AutoCloseable
         }
     }
 
+    /**
+     * List recording descriptors from a recording id with a limit of record count where the archive packs many
+     * descriptors into each response message. This is significantly more efficient than
+     * {@link #listRecordings(long, int, RecordingDescriptorConsumer)} for large catalogs.
+     * <p>
+     * Variable length fields which are not included in the projection are dispatched as empty strings. The returned
+     * cursor can be used as the fromRecordingId of the next call to resume the listing.
+     *
+     * @param fromRecordingId at which to begin the listing.
+     * @param recordCount     to limit for each query.
+     * @param projection      of variable length fields to include, e.g. {@link #PROJECTION_ALL} or
+     *                        {@link #PROJECTION_FIXED_FIELDS}.
+     * @param consumer        to which the descriptors are dispatched.
+     * @return the recording id from which to resume the listing or {@link Aeron#NULL_VALUE} if the end of the
+     * catalog has been reached.
+     */
+    public long listRecordingsPage(
+        final long fromRecordingId,
+        final int recordCount,
+        final int projection,
+        final RecordingDescriptorConsumer consumer)
+    {
+        lock.lock();
+        try
+        {
+            ensureOpen();
+            ensureNotReentrant();
+
+            isInCallback = true;
+            lastCorrelationId = aeron.nextCorrelationId();
+
+            if (!archiveProxy.listRecordingsPage(
+                fromRecordingId, recordCount, projection, lastCorrelationId, controlSessionId))
+            {
+                throw new ArchiveException("failed to send list recordings page request");
+            }
+
+            pollForDescriptors(lastCorrelationId, recordCount, consumer);
+
+            return recordingDescriptorPoller().nextRecordingId();
+        }
+        finally
+        {
+            isInCallback = false;
+            lock.unlock();
+        }
+    }
+
     /**
      * List recording descriptors from a recording id with a limit of record count for a given channelFragment and
      * stream id.
@@ -1353,6 +1523,44 @@ public class AeronArchive implements AutoCloseable
         }
     }
 
+    /**
+     * Find the position in a recording at or before a timestamp using the sparse timestamp index the archive keeps
+     * beside the recording segments. The position is the start of a frame so is valid for replay. If the timestamp
+     * is before the first index entry then the start position of the recording is returned.
+     * <p>
+     * The timestamp is in the units of the index which is the archive epoch clock in ms by default or the reserved
+     * value of frames if the archive is configured to index by reserved value.
+     * <p>
+     * The index is only kept if the archive is configured with a recording index interval which is off by default.
+     *
+     * @param recordingId of the recording to search.
+     * @param timestamp   to find the position for.
+     * @return the position in the recording at or before the timestamp.
+     * @throws ArchiveException if the recording is unknown or has no timestamp index.
+     */
+    public long findPosition(final long recordingId, final long timestamp)
+    {
+        lock.lock();
+        try
+        {
+            ensureOpen();
+            ensureNotReentrant();
+
+            lastCorrelationId = aeron.nextCorrelationId();
+
+            if (!archiveProxy.findPosition(recordingId, timestamp, lastCorrelationId, controlSessionId))
+            {
+                throw new ArchiveException("failed to send find position request");
+            }
+
+            return pollForResponse(lastCorrelationId);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
     /**
      * Find the last recording that matches the given criteria.
      *
@@ -2035,7 +2243,7 @@ public class AeronArchive implements AutoCloseable
     public static class Configuration
     {
         public static final int PROTOCOL_MAJOR_VERSION = 1;
-        public static final int PROTOCOL_MINOR_VERSION = 5;
+        public static final int PROTOCOL_MINOR_VERSION = 8;
         public static final int PROTOCOL_PATCH_VERSION = 0;
         public static final int PROTOCOL_SEMANTIC_VERSION = SemanticVersion.compose(
             PROTOCOL_MAJOR_VERSION, PROTOCOL_MINOR_VERSION, PROTOCOL_PATCH_VERSION);
@@ -53,6 +53,7 @@ public class ArchiveProxy
     private ReplayRequestEncoder replayRequest;
     private StopReplayRequestEncoder stopReplayRequest;
     private ListRecordingsRequestEncoder listRecordingsRequest;
+    private ListRecordingsPageRequestEncoder listRecordingsPageRequest;
     private ListRecordingsForUriRequestEncoder listRecordingsForUriRequest;
     private ListRecordingRequestEncoder listRecordingRequest;
     private ExtendRecordingRequestEncoder extendRecordingRequest;
@@ -73,6 +74,8 @@ public class ArchiveProxy
     private AttachSegmentsRequestEncoder attachSegmentsRequest;
     private MigrateSegmentsRequestEncoder migrateSegmentsRequest;
     private TaggedReplicateRequestEncoder taggedReplicateRequest;
+    private FindPositionRequestEncoder findPositionRequest;
+    private FilteredReplayRequestEncoder filteredReplayRequest;
 
     /**
      * Create a proxy with a {@link Publication} for sending control message requests.
@@ -569,6 +572,39 @@ public class ArchiveProxy
         return offer(listRecordingsRequest.encodedLength());
     }
 
+    /**
+     * List recording descriptors in pages which pack many descriptors per response message.
+     *
+     * @param fromRecordingId  at which to begin listing which is the cursor returned by a previous page.
+     * @param recordCount      for the number of descriptors to be listed.
+     * @param projection       of the variable length fields to include, e.g. {@link AeronArchive#PROJECTION_ALL}.
+     * @param correlationId    for this request.
+     * @param controlSessionId for this request.
+     * @return true if successfully offered otherwise false.
+     */
+    public boolean listRecordingsPage(
+        final long fromRecordingId,
+        final int recordCount,
+        final int projection,
+        final long correlationId,
+        final long controlSessionId)
+    {
+        if (null == listRecordingsPageRequest)
+        {
+            listRecordingsPageRequest = new ListRecordingsPageRequestEncoder();
+        }
+
+        listRecordingsPageRequest
+            .wrapAndApplyHeader(buffer, 0, messageHeader)
+            .controlSessionId(controlSessionId)
+            .correlationId(correlationId)
+            .fromRecordingId(fromRecordingId)
+            .recordCount(recordCount)
+            .projection(projection);
+
+        return offer(listRecordingsPageRequest.encodedLength());
+    }
+
     /**
      * List a range of recording descriptors which match a channel URI fragment and stream id.
      *
@@ -812,6 +848,85 @@ public class ArchiveProxy
         return offer(stopPositionRequest.encodedLength());
     }
 
+    /**
+     * Find the position in a recording at or before a timestamp using the timestamp index kept by the archive.
+     *
+     * @param recordingId      of the recording to search.
+     * @param timestamp        to find the position for in the units of the archive recording index.
+     * @param correlationId    for this request.
+     * @param controlSessionId for this request.
+     * @return true if successfully offered otherwise false.
+     */
+    public boolean findPosition(
+        final long recordingId, final long timestamp, final long correlationId, final long controlSessionId)
+    {
+        if (null == findPositionRequest)
+        {
+            findPositionRequest = new FindPositionRequestEncoder();
+        }
+
+        findPositionRequest
+            .wrapAndApplyHeader(buffer, 0, messageHeader)
+            .controlSessionId(controlSessionId)
+            .correlationId(correlationId)
+            .recordingId(recordingId)
+            .timestamp(timestamp);
+
+        return offer(findPositionRequest.encodedLength());
+    }
+
+    /**
+     * Replay a recording from a given position with a filter applied in the archive so only messages which match
+     * are sent. Messages which do not match are replaced by padding so stream positions are preserved.
+     *
+     * @param recordingId      to be replayed.
+     * @param position         from which the replay should be started.
+     * @param length           of the stream to be replayed. Use {@link Long#MAX_VALUE} to follow a live stream.
+     * @param filterType       of the field in a message to be tested by the filter.
+     * @param filterOffset     of the field in the payload when the type is {@link ReplayFilterType#PAYLOAD}.
+     * @param filterMask       applied to the field before comparing it with the value.
+     * @param filterValue      the masked field must equal for the message to be replayed.
+     * @param replayChannel    to which the replay should be sent.
+     * @param replayStreamId   to which the replay should be sent.
+     * @param correlationId    for this request.
+     * @param controlSessionId for this request.
+     * @return true if successfully offered otherwise false.
+     */
+    public boolean filteredReplay(
+        final long recordingId,
+        final long position,
+        final long length,
+        final ReplayFilterType filterType,
+        final int filterOffset,
+        final long filterMask,
+        final long filterValue,
+        final String replayChannel,
+        final int replayStreamId,
+        final long correlationId,
+        final long controlSessionId)
+    {
+        if (null == filteredReplayRequest)
+        {
+            filteredReplayRequest = new FilteredReplayRequestEncoder();
+        }
+
+        filteredReplayRequest
+            .wrapAndApplyHeader(buffer, 0, messageHeader)
+            .controlSessionId(controlSessionId)
+            .correlationId(correlationId)
+            .recordingId(recordingId)
+            .position(position)
+            .length(length)
+            .replayStreamId(replayStreamId)
+            .filterType(filterType)
+            .filterOffset(filterOffset)
+            .filterMask(filterMask)
+            .filterValue(filterValue)
+            .replayChannel(replayChannel);
+
+        return offer(filteredReplayRequest.encodedLength());
+    }
+
     /**
      * Find the last recording that matches the given criteria.
      *
@@ -15,6 +15,7 @@
  */
 package io.aeron.archive.client;
 
+import io.aeron.Aeron;
 import io.aeron.ControlledFragmentAssembler;
 import io.aeron.Subscription;
 import io.aeron.archive.codecs.*;
@@ -31,6 +32,7 @@ public class RecordingDescriptorPoller implements ControlledFragmentHandler
     private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
     private final ControlResponseDecoder controlResponseDecoder = new ControlResponseDecoder();
     private final RecordingDescriptorDecoder recordingDescriptorDecoder = new RecordingDescriptorDecoder();
+    private final RecordingDescriptorPageDecoder recordingDescriptorPageDecoder = new RecordingDescriptorPageDecoder();
 
     private final long controlSessionId;
     private final int fragmentLimit;
@@ -40,6 +42,7 @@ public class RecordingDescriptorPoller implements ControlledFragmentHandler
 
     private long correlationId;
     private int remainingRecordCount;
+    private long nextRecordingId = Aeron.NULL_VALUE;
     private boolean isDispatchComplete = false;
     private RecordingDescriptorConsumer consumer;
 
@@ -115,6 +118,17 @@ public class RecordingDescriptorPoller implements ControlledFragmentHandler
         return remainingRecordCount;
     }
 
+    /**
+     * Cursor from the last page of descriptors received from which a paged listing can be resumed.
+     *
+     * @return the recording id from which to resume a paged listing or {@link Aeron#NULL_VALUE} if the end of the
+     * catalog has been reached.
+     */
+    public long nextRecordingId()
+    {
+        return nextRecordingId;
+    }
+
     /**
      * Reset the poller to dispatch the descriptors returned from a query.
      *
@@ -127,6 +141,7 @@ public class RecordingDescriptorPoller implements ControlledFragmentHandler
         this.correlationId = correlationId;
         this.consumer = consumer;
         this.remainingRecordCount = recordCount;
+        this.nextRecordingId = Aeron.NULL_VALUE;
         isDispatchComplete = false;
     }
 
@@ -222,6 +237,57 @@ public class RecordingDescriptorPoller implements ControlledFragmentHandler
                     }
                 }
                 break;
+
+            case RecordingDescriptorPageDecoder.TEMPLATE_ID:
+                recordingDescriptorPageDecoder.wrap(
+                    buffer,
+                    offset + MessageHeaderEncoder.ENCODED_LENGTH,
+                    messageHeaderDecoder.blockLength(),
+                    messageHeaderDecoder.version());
+
+                if (recordingDescriptorPageDecoder.controlSessionId() == controlSessionId &&
+                    recordingDescriptorPageDecoder.correlationId() == this.correlationId)
+                {
+                    return onDescriptorPage(recordingDescriptorPageDecoder);
+                }
+                break;
+        }
+
+        return Action.CONTINUE;
+    }
+
+    private Action onDescriptorPage(final RecordingDescriptorPageDecoder decoder)
+    {
+        nextRecordingId = decoder.nextRecordingId();
+        final boolean isLast = BooleanType.TRUE == decoder.isLast();
+
+        for (final RecordingDescriptorPageDecoder.DescriptorsDecoder descriptor : decoder.descriptors())
+        {
+            consumer.onRecordingDescriptor(
+                controlSessionId,
+                correlationId,
+                descriptor.recordingId(),
+                descriptor.startTimestamp(),
+                descriptor.stopTimestamp(),
+                descriptor.startPosition(),
+                descriptor.stopPosition(),
+                descriptor.initialTermId(),
+                descriptor.segmentFileLength(),
+                descriptor.termBufferLength(),
+                descriptor.mtuLength(),
+                descriptor.sessionId(),
+                descriptor.streamId(),
+                descriptor.strippedChannel(),
+                descriptor.originalChannel(),
+                descriptor.sourceIdentity());
+
+            --remainingRecordCount;
+        }
+
+        if (isLast || remainingRecordCount <= 0)
+        {
+            isDispatchComplete = true;
+            return Action.BREAK;
         }
 
         return Action.CONTINUE;
@@ -233,6 +299,7 @@ public class RecordingDescriptorPoller implements ControlledFragmentHandler
             "controlSessionId=" + controlSessionId +
             ", correlationId=" + correlationId +
             ", remainingRecordCount=" + remainingRecordCount +
+            ", nextRecordingId=" + nextRecordingId +
             ", isDispatchComplete=" + isDispatchComplete +
             '}';
     }
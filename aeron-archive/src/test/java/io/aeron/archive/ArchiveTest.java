@@ -22,6 +22,7 @@ import io.aeron.Publication;
 import io.aeron.archive.Archive.Context;
 import io.aeron.archive.checksum.Checksum;
 import io.aeron.archive.client.AeronArchive;
+import io.aeron.archive.client.RecordingDescriptorConsumer;
 import io.aeron.archive.client.RecordingSubscriptionDescriptorConsumer;
 import io.aeron.archive.status.RecordingPos;
 import io.aeron.driver.MediaDriver;
@@ -43,6 +44,8 @@ import org.junit.jupiter.params.provider.EnumSource;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -51,6 +54,7 @@ import java.util.function.IntConsumer;
 
 import static io.aeron.archive.Archive.Configuration.MAX_BLOCK_LENGTH;
 import static io.aeron.archive.ArchiveThreadingMode.DEDICATED;
+import static io.aeron.archive.ArchiveThreadingMode.INVOKER;
 import static io.aeron.archive.ArchiveThreadingMode.SHARED;
 import static io.aeron.archive.client.AeronArchive.segmentFileBasePosition;
 import static io.aeron.archive.codecs.SourceLocation.LOCAL;
@@ -302,6 +306,108 @@ public class ArchiveTest
         }
     }
 
+    @Test
+    @Timeout(10)
+    public void shouldListRecordingsOnControlSessionWorkersInDedicatedMode()
+    {
+        final String channel = "aeron:ipc";
+        final int recordingCount = 3;
+
+        final MediaDriver.Context driverCtx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.SHARED);
+        final Context archiveCtx = new Context()
+            .archiveDir(ArchiveTests.makeTestDirectory())
+            .threadingMode(DEDICATED)
+            .controlSessionWorkers(2);
+
+        try (ArchivingMediaDriver archivingMediaDriver = ArchivingMediaDriver.launch(driverCtx, archiveCtx);
+            AeronArchive archiveOne = AeronArchive.connect(new AeronArchive.Context()
+                .aeronDirectoryName(archivingMediaDriver.mediaDriver().aeronDirectoryName()));
+            AeronArchive archiveTwo = AeronArchive.connect(new AeronArchive.Context()
+                .aeronDirectoryName(archivingMediaDriver.mediaDriver().aeronDirectoryName())))
+        {
+            final CountersReader countersReader = archiveOne.context().aeron().countersReader();
+            for (int i = 0; i < recordingCount; i++)
+            {
+                try (Publication publication = archiveOne.addRecordedExclusivePublication(channel, i + 1))
+                {
+                    final int sessionId = publication.sessionId();
+                    while (Aeron.NULL_VALUE == RecordingPos.findCounterIdBySession(countersReader, sessionId))
+                    {
+                        Thread.yield();
+                    }
+                }
+            }
+
+            final ArrayList<Long> recordingIds = new ArrayList<>();
+            @SuppressWarnings("Indentation") final RecordingDescriptorConsumer consumer =
+                (controlSessionId, correlationId, recordingId, startTimestamp, stopTimestamp, startPosition,
+                stopPosition, initialTermId, segmentFileLength, termBufferLength, mtuLength, sessionId, streamId,
+                strippedChannel, originalChannel, sourceIdentity) -> recordingIds.add(recordingId);
+
+            assertEquals(recordingCount, archiveOne.listRecordings(0, 10, consumer));
+            final ArrayList<Long> recordingIdsOne = new ArrayList<>(recordingIds);
+
+            recordingIds.clear();
+            assertEquals(recordingCount, archiveTwo.listRecordings(0, 10, consumer));
+            assertEquals(recordingIdsOne, recordingIds);
+        }
+        finally
+        {
+            archiveCtx.deleteDirectory();
+            driverCtx.deleteDirectory();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ArchiveThreadingMode.class)
+    @Timeout(10)
+    void shouldOnlyRunSegmentCompactorOnItsOwnThreadInDedicatedMode(final ArchiveThreadingMode threadingMode)
+    {
+        final CopyOnWriteArrayList<Thread> threads = new CopyOnWriteArrayList<>();
+        final MediaDriver.Context driverCtx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.SHARED);
+        final Context archiveCtx = new Context()
+            .archiveDir(ArchiveTests.makeTestDirectory())
+            .threadingMode(threadingMode)
+            .segmentCompressionEnabled(true)
+            .threadFactory((runnable) ->
+            {
+                final Thread thread = new Thread(runnable);
+                threads.add(thread);
+                return thread;
+            });
+
+        try (ArchivingMediaDriver ignore = ArchivingMediaDriver.launch(driverCtx, archiveCtx))
+        {
+            if (DEDICATED == threadingMode)
+            {
+                while (!hasThread(threads, "archive-segment-compactor"))
+                {
+                    Thread.yield();
+                    Tests.checkInterruptStatus();
+                }
+            }
+            else
+            {
+                assertFalse(hasThread(threads, "archive-segment-compactor"));
+                assertEquals(INVOKER == threadingMode, threads.isEmpty());
+            }
+        }
+        finally
+        {
+            archiveCtx.deleteDirectory();
+            driverCtx.deleteDirectory();
+        }
+    }
+
+    private static boolean hasThread(final List<Thread> threads, final String name)
+    {
+        return threads.stream().anyMatch((thread) -> name.equals(thread.getName()));
+    }
+
     @Test
     void dataBufferIsAllocatedOnDemand()
     {
@@ -151,6 +151,23 @@ class CatalogTest
         }
     }
 
+    @Test
+    void shouldPersistTieredPosition()
+    {
+        try (Catalog catalog = new Catalog(archiveDir, null, 0, MAX_ENTRIES, clock, null, null))
+        {
+            assertEquals(0, catalog.tieredPosition(recordingTwoId));
+            catalog.tieredPosition(recordingTwoId, SEGMENT_LENGTH * 3L);
+        }
+
+        try (Catalog catalog = new Catalog(archiveDir, clock))
+        {
+            assertEquals(0, catalog.tieredPosition(recordingOneId));
+            assertEquals(SEGMENT_LENGTH * 3L, catalog.tieredPosition(recordingTwoId));
+            verifyRecordingForId(catalog, recordingTwoId, 7, 2, "channelH", "sourceV");
+        }
+    }
+
     @Test
     void shouldIncreaseMaxEntries()
     {
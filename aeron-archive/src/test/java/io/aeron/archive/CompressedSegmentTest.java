@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.Counter;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.CountedErrorHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class CompressedSegmentTest
+{
+    private static final int SEGMENT_LENGTH = 1024 * 1024;
+    private static final int BLOCK_LENGTH = 64 * 1024;
+
+    private final Deflater deflater = new Deflater(1, true);
+    private final Counter bytesInCounter = mock(Counter.class);
+    private final Counter bytesOutCounter = mock(Counter.class);
+    private File archiveDir;
+    private File rawFile;
+    private File compressedFile;
+    private byte[] segment;
+
+    @BeforeEach
+    void before() throws IOException
+    {
+        archiveDir = ArchiveTests.makeTestDirectory();
+        rawFile = new File(archiveDir, Archive.segmentFileName(3, 0));
+        compressedFile = new File(archiveDir, Archive.compressedSegmentFileName(3, 0));
+
+        segment = new byte[SEGMENT_LENGTH];
+        for (int i = 0; i < SEGMENT_LENGTH; i++)
+        {
+            segment[i] = (byte)(i / 1024);
+        }
+
+        final byte[] noise = new byte[BLOCK_LENGTH];
+        ThreadLocalRandom.current().nextBytes(noise);
+        System.arraycopy(noise, 0, segment, 5 * BLOCK_LENGTH, BLOCK_LENGTH);
+
+        Files.write(rawFile.toPath(), segment);
+    }
+
+    @AfterEach
+    void after()
+    {
+        deflater.end();
+        IoUtil.delete(archiveDir, false);
+    }
+
+    @Test
+    void shouldCompressSegmentAndReadAtAnyPosition() throws IOException
+    {
+        final long compressedLength = CompressedSegment.compress(
+            rawFile, compressedFile, BLOCK_LENGTH, deflater, false);
+
+        assertEquals(compressedLength, compressedFile.length());
+        assertTrue(compressedLength < SEGMENT_LENGTH);
+
+        try (CompressedSegmentFileChannel channel = CompressedSegmentFileChannel.open(compressedFile, 2))
+        {
+            assertEquals(SEGMENT_LENGTH, channel.size());
+
+            final int[] positions = { 0, 100, BLOCK_LENGTH - 10, 5 * BLOCK_LENGTH + 7, SEGMENT_LENGTH - 4096 };
+            for (final int position : positions)
+            {
+                final ByteBuffer buffer = ByteBuffer.allocate(4096);
+                assertEquals(4096, channel.read(buffer, position));
+                assertArrayEquals(Arrays.copyOfRange(segment, position, position + 4096), buffer.array());
+            }
+
+            assertEquals(-1, channel.read(ByteBuffer.allocate(8), SEGMENT_LENGTH));
+        }
+    }
+
+    @Test
+    void shouldDecompressToOriginalSegment() throws IOException
+    {
+        CompressedSegment.compress(rawFile, compressedFile, BLOCK_LENGTH, deflater, false);
+        Files.delete(rawFile.toPath());
+
+        CompressedSegment.decompress(compressedFile, rawFile);
+
+        assertArrayEquals(segment, Files.readAllBytes(rawFile.toPath()));
+    }
+
+    @Test
+    void shouldCompressCompletedSegmentAndDeleteRawFile() throws IOException
+    {
+        final SegmentCompactor compactor = new SegmentCompactor(
+            archiveDir, BLOCK_LENGTH, 1, false, bytesInCounter, bytesOutCounter, mock(CountedErrorHandler.class));
+
+        Files.write(new File(archiveDir, Archive.segmentFileName(3, SEGMENT_LENGTH)).toPath(), new byte[8]);
+        compactor.onStart();
+        assertEquals(0, compactor.doWork());
+        assertTrue(rawFile.exists());
+
+        final SegmentCompactor.SegmentCompaction firstRequest = compactor.pollRequest();
+        final SegmentCompactor.SegmentCompaction secondRequest = compactor.pollRequest();
+        assertNull(compactor.pollRequest());
+
+        final SegmentCompactor.SegmentCompaction compaction =
+            0 == firstRequest.segmentBasePosition ? firstRequest : secondRequest;
+        final SegmentCompactor.SegmentCompaction lastSegmentRequest =
+            compaction == firstRequest ? secondRequest : firstRequest;
+        assertEquals(3, compaction.recordingId);
+        assertEquals(0, compaction.segmentBasePosition);
+        assertEquals(3, lastSegmentRequest.recordingId);
+        assertEquals(SEGMENT_LENGTH, lastSegmentRequest.segmentBasePosition);
+
+        compactor.requestCompaction(compaction);
+        final int workCount = compactor.doWork();
+
+        assertEquals(1, workCount);
+        assertSame(compaction, compactor.pollCompleted());
+        assertTrue(compaction.isCompressed);
+        assertFalse(rawFile.exists());
+        assertTrue(compressedFile.exists());
+        assertEquals(0, compactor.doWork());
+        verify(bytesInCounter).getAndAdd(SEGMENT_LENGTH);
+        verify(bytesOutCounter).getAndAdd(compressedFile.length());
+    }
+}
@@ -16,11 +16,18 @@
 package io.aeron.archive;
 
 import io.aeron.Publication;
+import io.aeron.archive.codecs.ControlResponseDecoder;
+import io.aeron.archive.codecs.MessageHeaderDecoder;
 import io.aeron.security.Authenticator;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.MutableLong;
 import org.agrona.concurrent.CachedEpochClock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -83,4 +90,117 @@ public class ControlSessionTest
         session.doWork();
         assertTrue(session.isDone());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldSendQueuedResponsesInOrderOnceNoLongerBackPressured()
+    {
+        final ControlResponseProxy controlResponseProxy = new ControlResponseProxy();
+        final ControlSession session = newActiveSession(controlResponseProxy);
+        final List<Long> sentCorrelationIds = new ArrayList<>();
+        final MutableLong offerResult = new MutableLong(Publication.BACK_PRESSURED);
+        captureSentCorrelationIds(sentCorrelationIds, offerResult);
+
+        session.sendOkResponse(10L, controlResponseProxy);
+        offerResult.set(64L);
+        session.sendOkResponse(11L, controlResponseProxy);
+        session.sendOkResponse(12L, controlResponseProxy);
+        assertTrue(sentCorrelationIds.isEmpty());
+
+        session.doWork();
+        assertEquals(Arrays.asList(10L, 11L, 12L), sentCorrelationIds);
+        assertFalse(session.isDone());
+    }
+
+    @Test
+    public void shouldQueueErrorResponseBehindQueuedResponses()
+    {
+        final ControlResponseProxy controlResponseProxy = new ControlResponseProxy();
+        final ControlSession session = newActiveSession(controlResponseProxy);
+        final List<Long> sentCorrelationIds = new ArrayList<>();
+        final MutableLong offerResult = new MutableLong(Publication.BACK_PRESSURED);
+        captureSentCorrelationIds(sentCorrelationIds, offerResult);
+
+        session.sendOkResponse(10L, controlResponseProxy);
+        offerResult.set(64L);
+        session.attemptErrorResponse(11L, "error", controlResponseProxy);
+        session.sendErrorResponse(12L, "error", controlResponseProxy);
+        assertTrue(sentCorrelationIds.isEmpty());
+
+        session.doWork();
+        assertEquals(Arrays.asList(10L, 11L, 12L), sentCorrelationIds);
+    }
+
+    @Test
+    public void shouldSendListingResponsesFromWorkerInOrderWithConductorResponses()
+    {
+        final ControlResponseProxy controlResponseProxy = new ControlResponseProxy();
+        final ControlResponseProxy workerResponseProxy = new ControlResponseProxy();
+        final ControlSession session = newActiveSession(controlResponseProxy);
+        final List<Long> sentCorrelationIds = new ArrayList<>();
+        final MutableLong offerResult = new MutableLong(Publication.BACK_PRESSURED);
+        captureSentCorrelationIds(sentCorrelationIds, offerResult);
+
+        session.queueListingResponses();
+        session.activeListing(mock(Session.class));
+
+        session.sendOkResponse(10L, controlResponseProxy);
+        offerResult.set(64L);
+        assertTrue(session.sendRecordingUnknown(11L, 3L, workerResponseProxy));
+        assertTrue(sentCorrelationIds.isEmpty());
+
+        session.doWork();
+        assertEquals(Arrays.asList(10L, 11L), sentCorrelationIds);
+
+        assertTrue(session.sendRecordingUnknown(12L, 3L, workerResponseProxy));
+        session.sendOkResponse(13L, controlResponseProxy);
+        assertEquals(Arrays.asList(10L, 11L, 12L, 13L), sentCorrelationIds);
+    }
+
+    private ControlSession newActiveSession(final ControlResponseProxy controlResponseProxy)
+    {
+        final ControlSession session = new ControlSession(
+            1,
+            2,
+            CONNECT_TIMEOUT_MS,
+            null,
+            mockDemuxer,
+            mockControlPublication,
+            mockConductor,
+            cachedEpochClock,
+            controlResponseProxy,
+            mockAuthenticator,
+            mockSessionProxy);
+
+        session.authenticate(null);
+        session.onStopReplay(7L, 0L);
+
+        return session;
+    }
+
+    private void captureSentCorrelationIds(final List<Long> sentCorrelationIds, final MutableLong offerResult)
+    {
+        final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+        final ControlResponseDecoder responseDecoder = new ControlResponseDecoder();
+
+        when(mockControlPublication.isConnected()).thenReturn(true);
+        when(mockControlPublication.offer(any(DirectBuffer.class), anyInt(), anyInt())).thenAnswer(
+            (invocation) ->
+            {
+                final long result = offerResult.get();
+                if (result > 0)
+                {
+                    final DirectBuffer buffer = invocation.getArgument(0);
+                    final int offset = invocation.getArgument(1);
+                    headerDecoder.wrap(buffer, offset);
+                    responseDecoder.wrap(
+                        buffer,
+                        offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                        headerDecoder.blockLength(),
+                        headerDecoder.version());
+                    sentCorrelationIds.add(responseDecoder.correlationId());
+                }
+
+                return result;
+            });
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.Publication;
+import io.aeron.archive.codecs.BooleanType;
+import io.aeron.archive.codecs.MessageHeaderDecoder;
+import io.aeron.archive.codecs.RecordingDescriptorDecoder;
+import io.aeron.archive.codecs.RecordingDescriptorPageDecoder;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.EpochClock;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.aeron.Aeron.NULL_VALUE;
+import static io.aeron.archive.client.AeronArchive.PROJECTION_ALL;
+import static io.aeron.archive.client.AeronArchive.PROJECTION_FIXED_FIELDS;
+import static io.aeron.archive.client.AeronArchive.PROJECTION_ORIGINAL_CHANNEL;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ListRecordingsPageSessionTest
+{
+    private static final int MAX_ENTRIES = 1024;
+    private static final int SEGMENT_FILE_SIZE = 128 * 1024 * 1024;
+    private static final long CORRELATION_ID = 1;
+
+    private final File archiveDir = ArchiveTests.makeTestDirectory();
+    private final EpochClock clock = mock(EpochClock.class);
+    private final Publication publication = mock(Publication.class);
+    private final ControlSession controlSession = mock(ControlSession.class);
+    private final ControlResponseProxy controlResponseProxy = new ControlResponseProxy();
+    private final UnsafeBuffer descriptorBuffer = new UnsafeBuffer();
+    private final RecordingDescriptorDecoder recordingDescriptorDecoder = new RecordingDescriptorDecoder();
+    private final List<UnsafeBuffer> pages = new ArrayList<>();
+    private Catalog catalog;
+
+    @BeforeEach
+    void before()
+    {
+        catalog = new Catalog(archiveDir, null, 0, MAX_ENTRIES, clock, null, null);
+        for (int i = 0; i < 5; i++)
+        {
+            catalog.addNewRecording(
+                0L, 0L, 0, SEGMENT_FILE_SIZE, 4096, 1024, i, 1, "channel" + i, "channel" + i + "?tag=f", "source");
+        }
+
+        when(controlSession.controlPublication()).thenReturn(publication);
+        when(controlSession.maxListingMessageLength()).thenCallRealMethod();
+        when(controlSession.sendDescriptorPage(
+            anyLong(), anyInt(), anyInt(), anyLong(), anyBoolean(), any(), any(), any()))
+            .thenCallRealMethod();
+        when(publication.maxMessageLength()).thenReturn(8 * 1024);
+        when(publication.offer(any(DirectBuffer.class), anyInt(), anyInt())).then(
+            (invocation) ->
+            {
+                final DirectBuffer buffer = invocation.getArgument(0);
+                final int length = invocation.getArgument(2);
+                final UnsafeBuffer page = new UnsafeBuffer(new byte[length]);
+                page.putBytes(0, buffer, invocation.getArgument(1), length);
+                pages.add(page);
+
+                return (long)length;
+            });
+    }
+
+    @AfterEach
+    void after()
+    {
+        CloseHelper.close(catalog);
+        IoUtil.delete(archiveDir, false);
+    }
+
+    @Test
+    void shouldSendAllDescriptorsInOnePage()
+    {
+        final ListRecordingsPageSession session = newSession(0, 10, PROJECTION_ALL);
+
+        session.doWork();
+
+        assertTrue(session.isDone());
+        assertEquals(1, pages.size());
+
+        final RecordingDescriptorPageDecoder decoder = decodePage(0);
+        assertEquals(BooleanType.TRUE, decoder.isLast());
+        assertEquals(NULL_VALUE, decoder.nextRecordingId());
+
+        int i = 0;
+        for (final RecordingDescriptorPageDecoder.DescriptorsDecoder descriptor : decoder.descriptors())
+        {
+            assertEquals(i, descriptor.recordingId());
+            assertEquals(i, descriptor.sessionId());
+            assertEquals("channel" + i, descriptor.strippedChannel());
+            assertEquals("channel" + i + "?tag=f", descriptor.originalChannel());
+            assertEquals("source", descriptor.sourceIdentity());
+            i++;
+        }
+        assertEquals(5, i);
+    }
+
+    @Test
+    void shouldReturnCursorWhenRecordCountReached()
+    {
+        final ListRecordingsPageSession session = newSession(1, 2, PROJECTION_FIXED_FIELDS);
+
+        session.doWork();
+
+        assertTrue(session.isDone());
+        final RecordingDescriptorPageDecoder decoder = decodePage(0);
+        assertEquals(BooleanType.TRUE, decoder.isLast());
+        assertEquals(3, decoder.nextRecordingId());
+
+        final RecordingDescriptorPageDecoder.DescriptorsDecoder descriptors = decoder.descriptors();
+        assertEquals(2, descriptors.count());
+        assertEquals(1, descriptors.next().recordingId());
+        assertEquals("", descriptors.strippedChannel());
+        assertEquals("", descriptors.originalChannel());
+        assertEquals("", descriptors.sourceIdentity());
+    }
+
+    @Test
+    void shouldProjectOnlySelectedFields()
+    {
+        final ListRecordingsPageSession session = newSession(4, 1, PROJECTION_ORIGINAL_CHANNEL);
+
+        session.doWork();
+
+        final RecordingDescriptorPageDecoder.DescriptorsDecoder descriptors = decodePage(0).descriptors();
+        assertEquals(4, descriptors.next().recordingId());
+        assertEquals("", descriptors.strippedChannel());
+        assertEquals("channel4?tag=f", descriptors.originalChannel());
+        assertEquals("", descriptors.sourceIdentity());
+    }
+
+    @Test
+    void shouldSplitIntoPagesWhenMessageLengthExceeded()
+    {
+        final int pageLength = ListRecordingsPageSession.PAGE_HEADER_LENGTH + (2 * maxEntryLength());
+        when(publication.maxMessageLength()).thenReturn(pageLength);
+
+        final ListRecordingsPageSession session = newSession(0, 10, PROJECTION_ALL);
+        while (!session.isDone())
+        {
+            session.doWork();
+        }
+
+        assertEquals(3, pages.size());
+        assertEquals(BooleanType.FALSE, decodePage(0).isLast());
+        assertEquals(2, decodePage(0).nextRecordingId());
+        assertEquals(BooleanType.FALSE, decodePage(1).isLast());
+        assertEquals(4, decodePage(1).nextRecordingId());
+        assertEquals(BooleanType.TRUE, decodePage(2).isLast());
+        assertEquals(1, decodePage(2).descriptors().count());
+    }
+
+    @Test
+    void shouldSendEmptyLastPageWhenBeyondCatalog()
+    {
+        final ListRecordingsPageSession session = newSession(5, 10, PROJECTION_ALL);
+
+        session.doWork();
+
+        assertTrue(session.isDone());
+        final RecordingDescriptorPageDecoder decoder = decodePage(0);
+        assertEquals(BooleanType.TRUE, decoder.isLast());
+        assertEquals(NULL_VALUE, decoder.nextRecordingId());
+        assertEquals(0, decoder.descriptors().count());
+    }
+
+    @Test
+    void shouldResendPageWhenOfferFails()
+    {
+        when(publication.offer(any(DirectBuffer.class), anyInt(), anyInt())).thenReturn(Publication.BACK_PRESSURED);
+        final ListRecordingsPageSession session = newSession(0, 10, PROJECTION_ALL);
+
+        session.doWork();
+
+        assertFalse(session.isDone());
+        assertTrue(pages.isEmpty());
+    }
+
+    private ListRecordingsPageSession newSession(final long fromRecordingId, final int count, final int projection)
+    {
+        return new ListRecordingsPageSession(
+            CORRELATION_ID,
+            fromRecordingId,
+            count,
+            projection,
+            catalog,
+            controlResponseProxy,
+            controlSession,
+            descriptorBuffer,
+            new ExpandableArrayBuffer(),
+            recordingDescriptorDecoder);
+    }
+
+    private int maxEntryLength()
+    {
+        int length = 0;
+        for (int i = 0; i < 5; i++)
+        {
+            catalog.wrapDescriptor(i, descriptorBuffer);
+            final int entryLength = ListRecordingsPageSession.entryLength(
+                recordingDescriptorDecoder, descriptorBuffer, PROJECTION_ALL);
+            length = Math.max(length, entryLength);
+        }
+
+        return length;
+    }
+
+    private RecordingDescriptorPageDecoder decodePage(final int index)
+    {
+        final UnsafeBuffer page = pages.get(index);
+        final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder().wrap(page, 0);
+        assertEquals(RecordingDescriptorPageDecoder.TEMPLATE_ID, headerDecoder.templateId());
+
+        return new RecordingDescriptorPageDecoder().wrap(
+            page, MessageHeaderDecoder.ENCODED_LENGTH, headerDecoder.blockLength(), headerDecoder.version());
+    }
+}
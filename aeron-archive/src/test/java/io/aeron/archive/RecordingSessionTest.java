@@ -25,6 +25,7 @@ import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.protocol.DataHeaderFlyweight;
 import org.agrona.CloseHelper;
 import org.agrona.IoUtil;
+import org.agrona.concurrent.CachedNanoClock;
 import org.agrona.concurrent.EpochClock;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.jupiter.api.AfterEach;
@@ -33,6 +34,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
 
 import static io.aeron.Aeron.NULL_VALUE;
 import static io.aeron.archive.Archive.segmentFileName;
@@ -131,7 +133,8 @@ public class RecordingSessionTest
             CONTROL_SESSION,
             null,
             null,
-            false);
+            false,
+            null);
 
         assertEquals(RECORDING_ID, session.sessionId());
 
@@ -197,6 +200,60 @@ public class RecordingSessionTest
         session.close();
     }
 
+    @Test
+    public void shouldSyncMappedRecordingOnDutyCycleWhenIntervalElapsesWithoutFurtherBlocks()
+    {
+        final CachedNanoClock nanoClock = new CachedNanoClock();
+        final long syncIntervalNs = TimeUnit.MILLISECONDS.toNanos(10);
+        context
+            .recordingWriterMapped(true)
+            .recordingWriterMappedSyncIntervalNs(syncIntervalNs)
+            .fileSyncLevel(1)
+            .nanoClock(nanoClock);
+
+        final RecordingSession session = new RecordingSession(
+            NULL_VALUE,
+            RECORDING_ID,
+            START_POSITION,
+            SEGMENT_LENGTH,
+            CHANNEL,
+            null,
+            image,
+            mockPosition,
+            ARCHIVE_CHANNEL,
+            context,
+            CONTROL_SESSION,
+            null,
+            null,
+            false,
+            null);
+
+        session.doWork();
+
+        when(image.blockPoll(any(), anyInt())).thenAnswer(
+            (invocation) ->
+            {
+                final BlockHandler handle = invocation.getArgument(0);
+                handle.onBlock(mockLogBufferMapped, TERM_OFFSET, RECORDED_BLOCK_LENGTH, SESSION_ID, 0);
+
+                return RECORDED_BLOCK_LENGTH;
+            });
+
+        assertEquals(RECORDED_BLOCK_LENGTH, session.doWork());
+
+        doReturn(0).when(image).blockPoll(any(), anyInt());
+        nanoClock.advance(syncIntervalNs - 1);
+        assertEquals(0, session.doWork());
+
+        nanoClock.advance(1);
+        assertEquals(1, session.doWork());
+
+        nanoClock.advance(syncIntervalNs);
+        assertEquals(0, session.doWork());
+
+        session.abortClose();
+    }
+
     private static Subscription mockSubscription()
     {
         final Subscription subscription = mock(Subscription.class);
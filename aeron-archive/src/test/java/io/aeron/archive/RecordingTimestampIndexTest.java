@@ -0,0 +1,173 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import org.agrona.IoUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static io.aeron.archive.client.AeronArchive.NULL_POSITION;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingTimestampIndexTest
+{
+    private File archiveDir;
+    private File indexFile;
+
+    @BeforeEach
+    void before()
+    {
+        archiveDir = ArchiveTests.makeTestDirectory();
+        indexFile = new File(archiveDir, Archive.indexFileName(7));
+    }
+
+    @AfterEach
+    void after()
+    {
+        IoUtil.delete(archiveDir, false);
+    }
+
+    @Test
+    void shouldFindPositionAtOrBeforeTimestamp() throws IOException
+    {
+        try (RecordingTimestampIndex index = new RecordingTimestampIndex(indexFile, false, false))
+        {
+            for (int i = 0; i < 100; i++)
+            {
+                assertTrue(index.append(1000 + (i * 10), i * 1024L));
+            }
+        }
+
+        assertEquals(NULL_POSITION, RecordingTimestampIndex.findPosition(indexFile, 999));
+        assertEquals(0, RecordingTimestampIndex.findPosition(indexFile, 1000));
+        assertEquals(0, RecordingTimestampIndex.findPosition(indexFile, 1009));
+        assertEquals(1024, RecordingTimestampIndex.findPosition(indexFile, 1010));
+        assertEquals(50 * 1024, RecordingTimestampIndex.findPosition(indexFile, 1505));
+        assertEquals(99 * 1024, RecordingTimestampIndex.findPosition(indexFile, Long.MAX_VALUE));
+    }
+
+    @Test
+    void shouldNotAppendEntriesOutOfOrder() throws IOException
+    {
+        try (RecordingTimestampIndex index = new RecordingTimestampIndex(indexFile, false, false))
+        {
+            assertTrue(index.append(100, 0));
+            assertFalse(index.append(99, 1024));
+            assertFalse(index.append(101, 0));
+            assertTrue(index.append(100, 1024));
+            assertEquals(1024, index.lastPosition());
+        }
+
+        assertEquals(2 * RecordingTimestampIndex.ENTRY_LENGTH, indexFile.length());
+    }
+
+    @Test
+    void shouldContinueFromLastEntryWhenReopened() throws IOException
+    {
+        try (RecordingTimestampIndex index = new RecordingTimestampIndex(indexFile, false, false))
+        {
+            assertTrue(index.append(100, 0));
+            assertTrue(index.append(200, 1024));
+        }
+
+        try (RecordingTimestampIndex index = new RecordingTimestampIndex(indexFile, false, false))
+        {
+            assertEquals(1024, index.lastPosition());
+            assertFalse(index.append(150, 2048));
+            assertTrue(index.append(300, 2048));
+        }
+
+        assertEquals(2048, RecordingTimestampIndex.findPosition(indexFile, 300));
+    }
+
+    @Test
+    void shouldTruncateEntriesFromPosition() throws IOException
+    {
+        try (RecordingTimestampIndex index = new RecordingTimestampIndex(indexFile, false, false))
+        {
+            for (int i = 0; i < 10; i++)
+            {
+                index.append(i, i * 1024L);
+            }
+        }
+
+        RecordingTimestampIndex.truncate(indexFile, 4000);
+
+        assertEquals(4 * RecordingTimestampIndex.ENTRY_LENGTH, indexFile.length());
+        assertEquals(3 * 1024, RecordingTimestampIndex.findPosition(indexFile, Long.MAX_VALUE));
+    }
+
+    @Test
+    void shouldPurgeEntriesBeforePosition() throws IOException
+    {
+        try (RecordingTimestampIndex index = new RecordingTimestampIndex(indexFile, false, false))
+        {
+            for (int i = 0; i < 10; i++)
+            {
+                index.append(i, i * 1024L);
+            }
+        }
+
+        RecordingTimestampIndex.purge(indexFile, 4000);
+
+        assertEquals(6 * RecordingTimestampIndex.ENTRY_LENGTH, indexFile.length());
+        assertEquals(NULL_POSITION, RecordingTimestampIndex.findPosition(indexFile, 3));
+        assertEquals(4 * 1024, RecordingTimestampIndex.findPosition(indexFile, 4));
+        assertEquals(9 * 1024, RecordingTimestampIndex.findPosition(indexFile, Long.MAX_VALUE));
+    }
+
+    @Test
+    void shouldDeleteIndexWhenPurgeRemovesAllEntries() throws IOException
+    {
+        try (RecordingTimestampIndex index = new RecordingTimestampIndex(indexFile, false, false))
+        {
+            index.append(10, 0);
+            index.append(20, 1024);
+        }
+
+        RecordingTimestampIndex.purge(indexFile, 2048);
+
+        assertFalse(indexFile.exists());
+        RecordingTimestampIndex.purge(indexFile, 4096);
+    }
+
+    @Test
+    void shouldPrependSourceEntriesOnMigrate() throws IOException
+    {
+        final File srcIndexFile = new File(archiveDir, Archive.indexFileName(3));
+        try (RecordingTimestampIndex index = new RecordingTimestampIndex(srcIndexFile, false, false))
+        {
+            index.append(10, 0);
+            index.append(20, 1024);
+        }
+
+        try (RecordingTimestampIndex index = new RecordingTimestampIndex(indexFile, false, false))
+        {
+            index.append(30, 2048);
+        }
+
+        RecordingTimestampIndex.migrate(srcIndexFile, indexFile);
+
+        assertFalse(srcIndexFile.exists());
+        assertEquals(3 * RecordingTimestampIndex.ENTRY_LENGTH, indexFile.length());
+        assertEquals(1024, RecordingTimestampIndex.findPosition(indexFile, 25));
+        assertEquals(2048, RecordingTimestampIndex.findPosition(indexFile, 30));
+    }
+}
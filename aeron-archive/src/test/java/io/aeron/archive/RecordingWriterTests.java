@@ -19,8 +19,10 @@ import io.aeron.Image;
 import io.aeron.archive.Archive.Context;
 import io.aeron.archive.checksum.Checksum;
 import io.aeron.archive.client.ArchiveException;
+import io.aeron.exceptions.ConfigurationException;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import org.agrona.IoUtil;
+import org.agrona.concurrent.CachedNanoClock;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +30,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import static io.aeron.archive.Archive.segmentFileName;
 import static io.aeron.archive.checksum.Checksums.crc32;
@@ -98,6 +101,17 @@ class RecordingWriterTests
         assertTrue(recordingWriter.isClosed());
     }
 
+    @Test
+    void constructorThrowsConfigurationExceptionIfIndexIsEnabledWithoutEpochClock()
+    {
+        final Image image = mockImage(0L);
+        final Context ctx = new Context().archiveDir(archiveDir).recordingIndexInterval(1024);
+
+        assertThrows(
+            ConfigurationException.class,
+            () -> new RecordingWriter(1, 0, SEGMENT_LENGTH, image, ctx, null, null, null));
+    }
+
     @Test
     void closeShouldCloseTheUnderlyingFile() throws IOException
     {
@@ -393,6 +407,138 @@ class RecordingWriterTests
         assertEquals(sessionId, frameSessionId(fileBuffer, 0));
     }
 
+    @Test
+    void onBlockShouldRollOverToTheNextSegmentFileWhenMapped() throws IOException
+    {
+        final Image image = mockImage(0L);
+        final Context ctx = new Context().archiveDir(archiveDir).recordingWriterMapped(true).fileSyncLevel(1);
+        final RecordingWriter recordingWriter = new RecordingWriter(
+            13, 0, SEGMENT_LENGTH, image, ctx, null, null, null);
+        recordingWriter.init();
+
+        final byte[] data1 = new byte[992];
+        fill(data1, (byte)13);
+
+        final UnsafeBuffer termBuffer = new UnsafeBuffer(allocate(TERM_LENGTH));
+        frameType(termBuffer, 0, HDR_TYPE_DATA);
+        frameLengthOrdered(termBuffer, 0, 1024);
+        termBuffer.putBytes(HEADER_LENGTH, data1);
+
+        for (int i = 0; i < SEGMENT_LENGTH / 1024; i++)
+        {
+            recordingWriter.onBlock(termBuffer, 0, 1024, -1, -1);
+        }
+
+        frameType(termBuffer, 0, HDR_TYPE_DATA);
+        frameLengthOrdered(termBuffer, 0, 192);
+        final byte[] data2 = new byte[160];
+        fill(data2, (byte)22);
+        termBuffer.putBytes(HEADER_LENGTH, data2);
+
+        recordingWriter.onBlock(termBuffer, 0, 192, -1, -1);
+        recordingWriter.close();
+
+        final File segmentFile1 = segmentFile(13, 0);
+        assertEquals(SEGMENT_LENGTH, segmentFile1.length());
+
+        final UnsafeBuffer fileBuffer = new UnsafeBuffer();
+        fileBuffer.wrap(readAllBytes(segmentFile1.toPath()));
+        assertEquals(HDR_TYPE_DATA, frameType(fileBuffer, SEGMENT_LENGTH - 1024));
+        assertEquals(1024, frameLength(fileBuffer, SEGMENT_LENGTH - 1024));
+
+        byte[] fileBytes = new byte[992];
+        fileBuffer.getBytes(SEGMENT_LENGTH - 1024 + HEADER_LENGTH, fileBytes, 0, 992);
+        assertArrayEquals(data1, fileBytes);
+
+        final File segmentFile2 = segmentFile(13, SEGMENT_LENGTH);
+        assertEquals(SEGMENT_LENGTH, segmentFile2.length());
+        fileBuffer.wrap(readAllBytes(segmentFile2.toPath()));
+        assertEquals(HDR_TYPE_DATA, frameType(fileBuffer, 0));
+        assertEquals(192, frameLength(fileBuffer, 0));
+        fileBytes = new byte[160];
+        fileBuffer.getBytes(HEADER_LENGTH, fileBytes, 0, 160);
+        assertArrayEquals(data2, fileBytes);
+        assertEquals(0, frameLength(fileBuffer, 192));
+    }
+
+    @Test
+    void onBlockShouldComputeCrcInPlaceWhenMapped() throws IOException
+    {
+        final Image image = mockImage(0L);
+        final Context ctx = new Context().archiveDir(archiveDir).recordingWriterMapped(true);
+        final Checksum checksum = crc32();
+        final RecordingWriter recordingWriter = new RecordingWriter(
+            1, 0, SEGMENT_LENGTH, image, ctx, null, null, checksum);
+
+        recordingWriter.init();
+
+        final UnsafeBuffer termBuffer = new UnsafeBuffer(allocateDirectAligned(512, 64));
+        frameType(termBuffer, 96, HDR_TYPE_DATA);
+        frameTermId(termBuffer, 96, 96);
+        frameLengthOrdered(termBuffer, 96, 64);
+        frameSessionId(termBuffer, 96, 96);
+        termBuffer.setMemory(96 + HEADER_LENGTH, 32, (byte)96);
+        frameType(termBuffer, 160, HDR_TYPE_DATA);
+        frameTermId(termBuffer, 160, 160);
+        frameLengthOrdered(termBuffer, 160, 288);
+        frameSessionId(termBuffer, 160, 160);
+        termBuffer.setMemory(160 + HEADER_LENGTH, 256, (byte)160);
+
+        recordingWriter.onBlock(termBuffer, 96, 64, -1, -1);
+        recordingWriter.onBlock(termBuffer, 160, 288, -1, -1);
+        recordingWriter.close();
+
+        final UnsafeBuffer fileBuffer = new UnsafeBuffer();
+        fileBuffer.wrap(readAllBytes(segmentFile(1, 0).toPath()));
+        assertEquals(96, frameTermId(fileBuffer, 0));
+        assertEquals(
+            checksum.compute(termBuffer.addressOffset(), 96 + HEADER_LENGTH, 32),
+            frameSessionId(fileBuffer, 0));
+        assertEquals(160, frameTermId(fileBuffer, 64));
+        assertEquals(
+            checksum.compute(termBuffer.addressOffset(), 160 + HEADER_LENGTH, 256),
+            frameSessionId(fileBuffer, 64));
+        assertEquals(96, frameSessionId(termBuffer, 96));
+        assertEquals(160, frameSessionId(termBuffer, 160));
+    }
+
+    @Test
+    void syncShouldForceMappedWritesOnceIntervalElapsesWithoutFurtherBlocks() throws IOException
+    {
+        final Image image = mockImage(0L);
+        final CachedNanoClock nanoClock = new CachedNanoClock();
+        final long syncIntervalNs = TimeUnit.MILLISECONDS.toNanos(10);
+        final Context ctx = new Context()
+            .archiveDir(archiveDir)
+            .recordingWriterMapped(true)
+            .recordingWriterMappedSyncIntervalNs(syncIntervalNs)
+            .fileSyncLevel(1)
+            .nanoClock(nanoClock);
+        final RecordingWriter recordingWriter = new RecordingWriter(
+            1, 0, SEGMENT_LENGTH, image, ctx, null, null, null);
+
+        recordingWriter.init();
+        nanoClock.advance(syncIntervalNs);
+        assertEquals(0, recordingWriter.sync(nanoClock.nanoTime()));
+
+        final UnsafeBuffer termBuffer = new UnsafeBuffer(allocateDirectAligned(512, 64));
+        frameType(termBuffer, 0, HDR_TYPE_DATA);
+        frameLengthOrdered(termBuffer, 0, 128);
+        recordingWriter.onBlock(termBuffer, 0, 128, -1, -1);
+        assertEquals(1, recordingWriter.sync(nanoClock.nanoTime()));
+
+        recordingWriter.onBlock(termBuffer, 0, 128, -1, -1);
+        nanoClock.advance(syncIntervalNs - 1);
+
+        assertEquals(0, recordingWriter.sync(nanoClock.nanoTime()));
+        nanoClock.advance(1);
+        assertEquals(1, recordingWriter.sync(nanoClock.nanoTime()));
+        nanoClock.advance(syncIntervalNs);
+        assertEquals(0, recordingWriter.sync(nanoClock.nanoTime()));
+
+        recordingWriter.close();
+    }
+
     private Image mockImage(final long joinPosition)
     {
         final Image image = mock(Image.class);
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.archive.codecs.ReplayFilterType;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import static io.aeron.protocol.DataHeaderFlyweight.*;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayFilterTest
+{
+    private static final int FRAME_OFFSET = 64;
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[256]);
+
+    @Test
+    void shouldMatchMaskedPayloadValue()
+    {
+        buffer.putLong(FRAME_OFFSET + HEADER_LENGTH + 4, 0x1234_5678L, LITTLE_ENDIAN);
+        final int frameLength = HEADER_LENGTH + 12;
+
+        assertTrue(new ReplayFilter(ReplayFilterType.PAYLOAD, 4, 0xFFFF, 0x5678).matches(
+            buffer, FRAME_OFFSET, frameLength));
+        assertFalse(new ReplayFilter(ReplayFilterType.PAYLOAD, 4, 0xFFFF, 0x1234).matches(
+            buffer, FRAME_OFFSET, frameLength));
+    }
+
+    @Test
+    void shouldZeroExtendShortPayload()
+    {
+        buffer.putLong(FRAME_OFFSET + HEADER_LENGTH, -1L, LITTLE_ENDIAN);
+        final int frameLength = HEADER_LENGTH + 2;
+
+        assertTrue(new ReplayFilter(ReplayFilterType.PAYLOAD, 0, -1L, 0xFFFF).matches(
+            buffer, FRAME_OFFSET, frameLength));
+        assertTrue(new ReplayFilter(ReplayFilterType.PAYLOAD, 8, -1L, 0).matches(
+            buffer, FRAME_OFFSET, frameLength));
+    }
+
+    @Test
+    void shouldMatchReservedValueAndFlags()
+    {
+        buffer.putLong(FRAME_OFFSET + RESERVED_VALUE_OFFSET, 42L, LITTLE_ENDIAN);
+        buffer.putByte(FRAME_OFFSET + FLAGS_FIELD_OFFSET, (byte)BEGIN_AND_END_FLAGS);
+
+        assertTrue(new ReplayFilter(ReplayFilterType.RESERVED_VALUE, 0, -1L, 42L).matches(
+            buffer, FRAME_OFFSET, HEADER_LENGTH));
+        assertFalse(new ReplayFilter(ReplayFilterType.RESERVED_VALUE, 0, -1L, 7L).matches(
+            buffer, FRAME_OFFSET, HEADER_LENGTH));
+        assertTrue(new ReplayFilter(ReplayFilterType.FLAGS, 0, END_FLAG, END_FLAG).matches(
+            buffer, FRAME_OFFSET, HEADER_LENGTH));
+    }
+
+    @Test
+    void shouldRejectInvalidFilter()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ReplayFilter(null, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ReplayFilter(ReplayFilterType.NULL_VAL, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ReplayFilter(ReplayFilterType.PAYLOAD, -1, 0, 0));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import org.agrona.IoUtil;
+import org.agrona.concurrent.CountedErrorHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReplayReadAheadTest
+{
+    private static final int READ_AHEAD_LENGTH = 4096;
+    private static final long MAX_RESIDENT_LENGTH = 2 * READ_AHEAD_LENGTH;
+
+    private final CountedErrorHandler errorHandler = mock(CountedErrorHandler.class);
+    private final ReplayReadAhead replayReadAhead = new ReplayReadAhead(
+        READ_AHEAD_LENGTH, MAX_RESIDENT_LENGTH, errorHandler);
+    private File archiveDir;
+    private File segmentFile;
+
+    @BeforeEach
+    void before() throws IOException
+    {
+        archiveDir = ArchiveTests.makeTestDirectory();
+        segmentFile = new File(archiveDir, Archive.segmentFileName(1, 0));
+        Files.write(segmentFile.toPath(), new byte[4 * READ_AHEAD_LENGTH]);
+    }
+
+    @AfterEach
+    void after()
+    {
+        IoUtil.delete(archiveDir, false);
+    }
+
+    @Test
+    void shouldRefuseRequestsBeyondMaxResidentLengthUntilReleased()
+    {
+        assertTrue(replayReadAhead.request(segmentFile, 0, READ_AHEAD_LENGTH));
+        assertTrue(replayReadAhead.request(segmentFile, READ_AHEAD_LENGTH, READ_AHEAD_LENGTH));
+        assertEquals(MAX_RESIDENT_LENGTH, replayReadAhead.residentLength());
+
+        assertFalse(replayReadAhead.request(segmentFile, 2 * READ_AHEAD_LENGTH, 1));
+        assertEquals(MAX_RESIDENT_LENGTH, replayReadAhead.residentLength());
+        assertEquals(2, replayReadAhead.doWork());
+        assertEquals(MAX_RESIDENT_LENGTH, replayReadAhead.residentLength());
+
+        replayReadAhead.release(READ_AHEAD_LENGTH);
+        assertEquals(READ_AHEAD_LENGTH, replayReadAhead.residentLength());
+        assertTrue(replayReadAhead.request(segmentFile, 2 * READ_AHEAD_LENGTH, READ_AHEAD_LENGTH));
+        assertFalse(replayReadAhead.request(segmentFile, 3 * READ_AHEAD_LENGTH, READ_AHEAD_LENGTH));
+        assertEquals(1, replayReadAhead.doWork());
+
+        replayReadAhead.release(MAX_RESIDENT_LENGTH);
+        assertEquals(0, replayReadAhead.residentLength());
+        verify(errorHandler, never()).onError(any());
+    }
+
+    @Test
+    void shouldIgnoreRequestForSegmentWhichNoLongerExists() throws IOException
+    {
+        assertTrue(replayReadAhead.request(segmentFile, 0, READ_AHEAD_LENGTH));
+        Files.delete(segmentFile.toPath());
+
+        assertEquals(1, replayReadAhead.doWork());
+        verify(errorHandler, never()).onError(any());
+    }
+}
@@ -21,6 +21,7 @@ import io.aeron.Image;
 import io.aeron.archive.checksum.Checksum;
 import io.aeron.archive.client.AeronArchive;
 import io.aeron.archive.client.ArchiveException;
+import io.aeron.archive.codecs.ReplayFilterType;
 import io.aeron.logbuffer.BufferClaim;
 import io.aeron.logbuffer.Header;
 import io.aeron.logbuffer.LogBufferDescriptor;
@@ -314,6 +315,89 @@ public class ReplaySessionTest
         }
     }
 
+    @Test
+    public void shouldReleaseReadAheadAsReplayConsumesIt()
+    {
+        final long length = 4 * FRAME_LENGTH;
+        final long correlationId = 1L;
+        final ReplayReadAhead replayReadAhead = new ReplayReadAhead(
+            2 * FRAME_LENGTH, 2 * FRAME_LENGTH, mock(CountedErrorHandler.class));
+
+        try (ReplaySession replaySession = replaySession(
+            RECORDING_POSITION,
+            length,
+            correlationId,
+            mockReplayPub,
+            mockControlSession,
+            null,
+            null,
+            2 * FRAME_LENGTH,
+            replayReadAhead,
+            null))
+        {
+            when(mockReplayPub.isClosed()).thenReturn(false);
+            when(mockReplayPub.isConnected()).thenReturn(true);
+
+            final UnsafeBuffer termBuffer = new UnsafeBuffer(allocateDirectAligned(4096, 64));
+            mockPublication(mockReplayPub, termBuffer);
+
+            assertNotEquals(0, replaySession.doWork());
+            assertEquals(2 * FRAME_LENGTH, replayReadAhead.residentLength());
+            assertFalse(replayReadAhead.request(new File(archiveDir, "other.rec"), 0, 1));
+
+            assertNotEquals(0, replaySession.doWork());
+            assertEquals(0, replayReadAhead.residentLength());
+
+            replaySession.doWork();
+            assertTrue(replaySession.isDone());
+            assertEquals(0, replayReadAhead.residentLength());
+        }
+    }
+
+    @Test
+    public void shouldLimitReadLengthAndRequestReadAheadOfEachRead()
+    {
+        final long length = 4 * FRAME_LENGTH;
+        final long correlationId = 1L;
+        final ReplayReadAhead replayReadAhead = mock(ReplayReadAhead.class);
+        when(replayReadAhead.readAheadLength()).thenReturn(SEGMENT_LENGTH);
+        when(replayReadAhead.request(any(File.class), anyLong(), anyInt())).thenReturn(true);
+
+        try (ReplaySession replaySession = replaySession(
+            RECORDING_POSITION,
+            length,
+            correlationId,
+            mockReplayPub,
+            mockControlSession,
+            null,
+            null,
+            2 * FRAME_LENGTH,
+            replayReadAhead,
+            null))
+        {
+            when(mockReplayPub.isClosed()).thenReturn(false);
+            when(mockReplayPub.isConnected()).thenReturn(true);
+
+            final UnsafeBuffer termBuffer = new UnsafeBuffer(allocateDirectAligned(4096, 64));
+            mockPublication(mockReplayPub, termBuffer);
+
+            assertNotEquals(0, replaySession.doWork());
+            assertThat(messageCounter, is(1));
+            verify(replayReadAhead).request(
+                any(File.class), eq(INITIAL_TERM_OFFSET + 2L * FRAME_LENGTH), eq(2 * FRAME_LENGTH));
+
+            assertNotEquals(0, replaySession.doWork());
+            assertThat(messageCounter, is(3));
+
+            validateFrame(termBuffer, 0, FRAME_LENGTH, 0, UNFRAGMENTED, 0, 0);
+            validateFrame(termBuffer, FRAME_LENGTH, FRAME_LENGTH, 1, BEGIN_FRAG_FLAG, 0, 0);
+            validateFrame(termBuffer, 2 * FRAME_LENGTH, FRAME_LENGTH, 2, END_FRAG_FLAG, 0, 0);
+
+            verify(mockReplayPub).appendPadding(FRAME_LENGTH - HEADER_LENGTH);
+            verify(replayReadAhead, times(1)).request(any(File.class), anyLong(), anyInt());
+        }
+    }
+
     @Test
     public void shouldGiveUpIfPublishersAreNotConnectedAfterTimeout()
     {
@@ -647,6 +731,114 @@ public class ReplaySessionTest
 
     }
 
+    @Test
+    public void shouldPadFilteredFragmentedMessageWhenPaddingIsBackPressured() throws IOException
+    {
+        recordFrames(new int[]{ 2, 1, 1, 2 }, new byte[]{ UNFRAGMENTED, BEGIN_FRAG_FLAG, END_FRAG_FLAG, UNFRAGMENTED });
+        final ReplayFilter replayFilter = new ReplayFilter(ReplayFilterType.RESERVED_VALUE, 0, -1L, 2L);
+
+        try (ReplaySession replaySession = replaySession(
+            RECORDING_POSITION,
+            4 * FRAME_LENGTH,
+            1L,
+            mockReplayPub,
+            mockControlSession,
+            null,
+            null,
+            2 * FRAME_LENGTH,
+            null,
+            replayFilter))
+        {
+            when(mockReplayPub.isClosed()).thenReturn(false);
+            when(mockReplayPub.isConnected()).thenReturn(true);
+
+            final UnsafeBuffer termBuffer = new UnsafeBuffer(allocateDirectAligned(4096, 64));
+            mockPublication(mockReplayPub, termBuffer);
+
+            assertNotEquals(0, replaySession.doWork());
+
+            when(mockReplayPub.appendPadding(anyInt())).thenReturn(BACK_PRESSURED);
+            replaySession.doWork();
+
+            mockPublication(mockReplayPub, termBuffer);
+            assertNotEquals(0, replaySession.doWork());
+            assertNotEquals(0, replaySession.doWork());
+
+            validateFrame(termBuffer, 0, FRAME_LENGTH, 2, UNFRAGMENTED, 0, 0);
+            assertEquals(HDR_TYPE_PAD, frameType(termBuffer, FRAME_LENGTH));
+            assertEquals(FRAME_LENGTH, frameLength(termBuffer, FRAME_LENGTH));
+            validateFrame(termBuffer, 2 * FRAME_LENGTH, FRAME_LENGTH, 2, UNFRAGMENTED, 0, 0);
+
+            verify(mockReplayPub, times(2)).offerBlock(any(MutableDirectBuffer.class), anyInt(), anyInt());
+            verify(mockReplayPub, times(2)).appendPadding(FRAME_LENGTH - HEADER_LENGTH);
+        }
+    }
+
+    @Test
+    public void shouldForwardMatchingFragmentedMessageWhenOfferBlockIsBackPressured() throws IOException
+    {
+        recordFrames(new int[]{ 2, 2, 2, 1 }, new byte[]{ UNFRAGMENTED, BEGIN_FRAG_FLAG, END_FRAG_FLAG, UNFRAGMENTED });
+        final ReplayFilter replayFilter = new ReplayFilter(ReplayFilterType.RESERVED_VALUE, 0, -1L, 2L);
+
+        try (ReplaySession replaySession = replaySession(
+            RECORDING_POSITION,
+            4 * FRAME_LENGTH,
+            1L,
+            mockReplayPub,
+            mockControlSession,
+            null,
+            null,
+            2 * FRAME_LENGTH,
+            null,
+            replayFilter))
+        {
+            when(mockReplayPub.isClosed()).thenReturn(false);
+            when(mockReplayPub.isConnected()).thenReturn(true);
+
+            final UnsafeBuffer termBuffer = new UnsafeBuffer(allocateDirectAligned(4096, 64));
+            mockPublication(mockReplayPub, termBuffer);
+
+            assertNotEquals(0, replaySession.doWork());
+
+            when(mockReplayPub.offerBlock(any(MutableDirectBuffer.class), anyInt(), anyInt()))
+                .thenReturn(BACK_PRESSURED);
+            replaySession.doWork();
+
+            mockPublication(mockReplayPub, termBuffer);
+            assertNotEquals(0, replaySession.doWork());
+
+            validateFrame(termBuffer, 0, FRAME_LENGTH, 2, UNFRAGMENTED, 0, 0);
+            validateFrame(termBuffer, FRAME_LENGTH, FRAME_LENGTH, 2, BEGIN_FRAG_FLAG, 0, 0);
+            validateFrame(termBuffer, 2 * FRAME_LENGTH, FRAME_LENGTH, 2, END_FRAG_FLAG, 0, 0);
+            assertEquals(HDR_TYPE_PAD, frameType(termBuffer, 3 * FRAME_LENGTH));
+            assertEquals(FRAME_LENGTH, frameLength(termBuffer, 3 * FRAME_LENGTH));
+
+            verify(mockReplayPub, times(3)).offerBlock(any(MutableDirectBuffer.class), anyInt(), anyInt());
+            verify(mockReplayPub, never()).appendPadding(anyInt());
+        }
+    }
+
+    private void recordFrames(final int[] messages, final byte[] flags) throws IOException
+    {
+        final RecordingWriter writer = new RecordingWriter(
+            RECORDING_ID, START_POSITION, SEGMENT_LENGTH, mockImage, context, ARCHIVE_DIR_CHANNEL, null, null);
+
+        writer.init();
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(allocateDirectAligned(TERM_BUFFER_LENGTH, 64));
+        final DataHeaderFlyweight headerFwt = new DataHeaderFlyweight();
+        final Header header = new Header(INITIAL_TERM_ID, Integer.numberOfLeadingZeros(TERM_BUFFER_LENGTH));
+        header.buffer(buffer);
+
+        for (int i = 0; i < messages.length; i++)
+        {
+            recordFragment(writer, buffer, headerFwt, header, i * FRAME_LENGTH, FRAME_LENGTH, messages[i], flags[i],
+                HDR_TYPE_DATA, SESSION_ID);
+        }
+
+        writer.close();
+    }
+
     private void recordFragment(
         final RecordingWriter recordingWriter,
         final UnsafeBuffer buffer,
@@ -714,6 +906,31 @@ public class ReplaySessionTest
         final ControlSession controlSession,
         final Counter recordingPositionCounter,
         final Checksum checksum)
+    {
+        return replaySession(
+            position,
+            length,
+            correlationId,
+            replay,
+            controlSession,
+            recordingPositionCounter,
+            checksum,
+            Archive.Configuration.MAX_BLOCK_LENGTH,
+            null,
+            null);
+    }
+
+    private ReplaySession replaySession(
+        final long position,
+        final long length,
+        final long correlationId,
+        final ExclusivePublication replay,
+        final ControlSession controlSession,
+        final Counter recordingPositionCounter,
+        final Checksum checksum,
+        final int replayReadLength,
+        final ReplayReadAhead replayReadAhead,
+        final ReplayFilter replayFilter)
     {
         return new ReplaySession(
             position,
@@ -730,7 +947,12 @@ public class ReplaySessionTest
             replay,
             recordingSummary,
             recordingPositionCounter,
-            checksum);
+            checksum,
+            null,
+            replayFilter,
+            replayReadLength,
+            replayReadAhead,
+            null);
     }
 
     static void validateFrame(
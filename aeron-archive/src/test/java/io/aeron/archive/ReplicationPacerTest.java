@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationPacerTest
+{
+    private static final long BYTES_PER_SECOND = 10_000;
+
+    @Test
+    void shouldNotLimitWhenRateIsZero()
+    {
+        final ReplicationPacer pacer = new ReplicationPacer(0, null, 0);
+
+        pacer.consume(Long.MAX_VALUE / 2);
+
+        assertEquals(Long.MAX_VALUE, pacer.available(0));
+    }
+
+    @Test
+    void shouldAllowBurstOfOneTenthSecondThenRefillOverTime()
+    {
+        final ReplicationPacer pacer = new ReplicationPacer(BYTES_PER_SECOND, null, 0);
+        assertEquals(BYTES_PER_SECOND / 10, pacer.available(0));
+
+        pacer.consume(BYTES_PER_SECOND / 10);
+        assertEquals(0, pacer.available(0));
+
+        final long halfTenthSecondNs = TimeUnit.MILLISECONDS.toNanos(50);
+        assertEquals(BYTES_PER_SECOND / 20, pacer.available(halfTenthSecondNs));
+        assertEquals(BYTES_PER_SECOND / 10, pacer.available(TimeUnit.SECONDS.toNanos(10)));
+    }
+
+    @Test
+    void shouldGoIntoDebtAndRecover()
+    {
+        final ReplicationPacer pacer = new ReplicationPacer(BYTES_PER_SECOND, null, 0);
+
+        pacer.consume(BYTES_PER_SECOND / 10 + 4_000);
+        assertEquals(-4_000, pacer.available(0));
+
+        final long nowNs = TimeUnit.MILLISECONDS.toNanos(500);
+        assertEquals(1_000, pacer.available(nowNs));
+    }
+
+    @Test
+    void shouldLimitByParentShared()
+    {
+        final ReplicationPacer aggregate = new ReplicationPacer(BYTES_PER_SECOND, null, 0);
+        final ReplicationPacer pacerOne = new ReplicationPacer(0, aggregate, 0);
+        final ReplicationPacer pacerTwo = new ReplicationPacer(BYTES_PER_SECOND * 10, aggregate, 0);
+
+        pacerOne.consume(600);
+        assertEquals(400, pacerTwo.available(0));
+        assertEquals(400, pacerOne.available(0));
+
+        pacerTwo.consume(400);
+        assertEquals(0, pacerOne.available(0));
+        assertEquals(0, aggregate.available(0));
+    }
+}
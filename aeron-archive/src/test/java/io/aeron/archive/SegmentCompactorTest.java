@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.Counter;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.CountedErrorHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class SegmentCompactorTest
+{
+    private static final int SEGMENT_LENGTH = 64 * 1024;
+    private static final int BLOCK_LENGTH = 4096;
+
+    private final CountedErrorHandler errorHandler = mock(CountedErrorHandler.class);
+    private File archiveDir;
+    private SegmentCompactor segmentCompactor;
+
+    @BeforeEach
+    void before()
+    {
+        archiveDir = ArchiveTests.makeTestDirectory();
+        segmentCompactor = new SegmentCompactor(
+            archiveDir,
+            BLOCK_LENGTH,
+            Deflater.BEST_SPEED,
+            false,
+            mock(Counter.class),
+            mock(Counter.class),
+            errorHandler);
+    }
+
+    @AfterEach
+    void after()
+    {
+        segmentCompactor.onClose();
+        IoUtil.delete(archiveDir, false);
+    }
+
+    @Test
+    void shouldRequestRawSegmentsFoundOnStartAndSkipUnparsableNames() throws IOException
+    {
+        Files.write(new File(archiveDir, Archive.segmentFileName(1, 0)).toPath(), new byte[8]);
+        Files.write(new File(archiveDir, Archive.segmentFileName(1, SEGMENT_LENGTH)).toPath(), new byte[8]);
+        Files.write(new File(archiveDir, Archive.compressedSegmentFileName(2, 0)).toPath(), new byte[8]);
+        Files.write(new File(archiveDir, "x-0.rec").toPath(), new byte[8]);
+        Files.write(new File(archiveDir, "3-y.rec").toPath(), new byte[8]);
+
+        segmentCompactor.onStart();
+
+        final List<Long> positions = new ArrayList<>();
+        SegmentCompactor.SegmentCompaction compaction;
+        while (null != (compaction = segmentCompactor.pollRequest()))
+        {
+            assertEquals(1, compaction.recordingId);
+            positions.add(compaction.segmentBasePosition);
+        }
+
+        positions.sort(null);
+        assertEquals(Arrays.asList(0L, (long)SEGMENT_LENGTH), positions);
+    }
+
+    @Test
+    void shouldDecompressSegmentForTruncate() throws IOException
+    {
+        final byte[] segment = new byte[SEGMENT_LENGTH];
+        segment[SEGMENT_LENGTH - 1] = 7;
+        final File segmentFile = new File(archiveDir, Archive.segmentFileName(1, 0));
+        final File compressedFile = new File(archiveDir, Archive.compressedSegmentFileName(1, 0));
+        Files.write(segmentFile.toPath(), segment);
+        CompressedSegment.compress(segmentFile, compressedFile, BLOCK_LENGTH, new Deflater(1, true), false);
+        Files.delete(segmentFile.toPath());
+
+        final ControlSession controlSession = mock(ControlSession.class);
+        segmentCompactor.requestDecompression(new SegmentCompactor.SegmentDecompression(1, 0, 5, 1024, controlSession));
+        assertNull(segmentCompactor.pollDecompressed());
+        assertEquals(1, segmentCompactor.doWork());
+
+        final SegmentCompactor.SegmentDecompression decompression = segmentCompactor.pollDecompressed();
+        assertNotNull(decompression);
+        assertTrue(decompression.isDecompressed);
+        assertSame(controlSession, decompression.controlSession);
+        assertEquals(5, decompression.correlationId);
+        assertEquals(1024, decompression.truncatePosition);
+        assertFalse(compressedFile.exists());
+        assertArrayEquals(segment, Files.readAllBytes(segmentFile.toPath()));
+    }
+
+    @Test
+    void shouldReportFailedDecompressionOfMissingSegment()
+    {
+        final ControlSession controlSession = mock(ControlSession.class);
+        segmentCompactor.requestDecompression(new SegmentCompactor.SegmentDecompression(1, 0, 5, 1024, controlSession));
+        segmentCompactor.doWork();
+
+        assertFalse(segmentCompactor.pollDecompressed().isDecompressed);
+        assertFalse(new File(archiveDir, Archive.segmentFileName(1, 0)).exists());
+        verify(errorHandler).onError(any(IOException.class));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.Counter;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.CountedErrorHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class SegmentTieringTest
+{
+    private static final int SEGMENT_LENGTH = 64 * 1024;
+
+    private final Counter bytesTieredCounter = mock(Counter.class);
+    private final CountedErrorHandler errorHandler = mock(CountedErrorHandler.class);
+    private File archiveDir;
+    private File secondaryDir;
+    private SegmentTiering segmentTiering;
+
+    @BeforeEach
+    void before()
+    {
+        archiveDir = ArchiveTests.makeTestDirectory();
+        secondaryDir = new File(archiveDir, "secondary");
+        assertTrue(secondaryDir.mkdirs());
+        segmentTiering = new SegmentTiering(archiveDir, secondaryDir, false, true, bytesTieredCounter, errorHandler);
+    }
+
+    @AfterEach
+    void after()
+    {
+        IoUtil.delete(archiveDir, false);
+    }
+
+    @Test
+    void shouldMoveSegmentToSecondaryDir() throws IOException
+    {
+        final byte[] segment = new byte[SEGMENT_LENGTH];
+        segment[SEGMENT_LENGTH - 1] = 7;
+        Files.write(new File(archiveDir, Archive.segmentFileName(1, 0)).toPath(), segment);
+
+        segmentTiering.requestMove(new SegmentTiering.SegmentMove(1, 0, SEGMENT_LENGTH));
+        assertNull(segmentTiering.pollCompleted());
+        assertEquals(1, segmentTiering.doWork());
+
+        final SegmentTiering.SegmentMove move = segmentTiering.pollCompleted();
+        assertNotNull(move);
+        assertTrue(move.isMoved);
+        assertFalse(new File(archiveDir, Archive.segmentFileName(1, 0)).exists());
+        assertArrayEquals(segment, Files.readAllBytes(new File(secondaryDir, Archive.segmentFileName(1, 0)).toPath()));
+        verify(bytesTieredCounter).getAndAdd(SEGMENT_LENGTH);
+    }
+
+    @Test
+    void shouldMoveCompressedSegmentToSecondaryDir() throws IOException
+    {
+        Files.write(new File(archiveDir, Archive.compressedSegmentFileName(1, 0)).toPath(), new byte[128]);
+
+        segmentTiering.requestMove(new SegmentTiering.SegmentMove(1, 0, SEGMENT_LENGTH));
+        segmentTiering.doWork();
+
+        assertTrue(segmentTiering.pollCompleted().isMoved);
+        assertTrue(new File(secondaryDir, Archive.compressedSegmentFileName(1, 0)).exists());
+    }
+
+    @Test
+    void shouldNotReportMoveOfMissingSegment()
+    {
+        segmentTiering.requestMove(new SegmentTiering.SegmentMove(1, 0, SEGMENT_LENGTH));
+        segmentTiering.doWork();
+
+        assertFalse(segmentTiering.pollCompleted().isMoved);
+        assertFalse(new File(secondaryDir, Archive.segmentFileName(1, 0)).exists());
+    }
+
+    @Test
+    void shouldRemoveTemporaryFilesOnStart() throws IOException
+    {
+        final File tmpFile = new File(secondaryDir, Archive.segmentFileName(1, 0) + ".tiering");
+        final File restoreTmpFile = new File(archiveDir, Archive.segmentFileName(1, 0) + ".tiering");
+        Files.write(tmpFile.toPath(), new byte[8]);
+        Files.write(restoreTmpFile.toPath(), new byte[8]);
+
+        segmentTiering.onStart();
+
+        assertFalse(tmpFile.exists());
+        assertFalse(restoreTmpFile.exists());
+    }
+
+    @Test
+    void shouldRestoreSegmentToArchiveDir() throws IOException
+    {
+        final byte[] segment = new byte[SEGMENT_LENGTH];
+        segment[SEGMENT_LENGTH - 1] = 7;
+        Files.write(new File(secondaryDir, Archive.segmentFileName(1, 0)).toPath(), segment);
+
+        final ControlSession controlSession = mock(ControlSession.class);
+        segmentTiering.requestRestore(new SegmentTiering.SegmentRestore(1, 0, 5, 1024, controlSession));
+        assertNull(segmentTiering.pollRestored());
+        assertEquals(1, segmentTiering.doWork());
+
+        final SegmentTiering.SegmentRestore restore = segmentTiering.pollRestored();
+        assertNotNull(restore);
+        assertTrue(restore.isRestored);
+        assertSame(controlSession, restore.controlSession);
+        assertEquals(5, restore.correlationId);
+        assertEquals(1024, restore.truncatePosition);
+        assertFalse(new File(secondaryDir, Archive.segmentFileName(1, 0)).exists());
+        assertArrayEquals(segment, Files.readAllBytes(new File(archiveDir, Archive.segmentFileName(1, 0)).toPath()));
+        verifyNoInteractions(bytesTieredCounter);
+    }
+}
@@ -336,6 +336,140 @@ public class ConcurrentPublication extends Publication
         return newPosition;
     }
 
+    /**
+     * Non-blocking publish of a batch of messages with a single reservation of space in the log. Each
+     * {@link DirectBufferVector} is a whole message which cannot be greater than {@link #maxPayloadLength()}.
+     * <p>
+     * Messages are accepted in order until the {@link #positionLimit()} is reached or the end of the current term is
+     * tripped, so fewer messages than offered may be accepted. The remainder should be offered again.
+     * <p>
+     * <b>Note:</b> This method is threadsafe. The batch is reserved with a single atomic increment of the term tail
+     * so it is contiguous in the log, but batches from other publishers on the same session may be interleaved
+     * between successive calls.
+     *
+     * @param messages              to be published with each vector being a whole message.
+     * @param index                 in the array of the first message in the batch.
+     * @param count                 of messages in the batch.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} for the frames.
+     * @return the number of messages accepted starting from index, otherwise a negative error value of
+     * {@link #NOT_CONNECTED}, {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED},
+     * or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if a message is greater than {@link #maxPayloadLength()}.
+     */
+    public long offerBatch(
+        final DirectBufferVector[] messages,
+        final int index,
+        final int count,
+        final ReservedValueSupplier reservedValueSupplier)
+    {
+        long result = CLOSED;
+        if (!isClosed)
+        {
+            final long limit = positionLimit.getVolatile();
+            final int termCount = activeTermCount(logMetaDataBuffer);
+            final TermAppender termAppender = termAppenders[indexByTermCount(termCount)];
+            final long rawTail = termAppender.rawTailVolatile();
+            final long termOffset = rawTail & 0xFFFF_FFFFL;
+            final int termId = termId(rawTail);
+            final long position = computeTermBeginPosition(termId, positionBitsToShift, initialTermId) + termOffset;
+
+            if (termCount != (termId - initialTermId))
+            {
+                return ADMIN_ACTION;
+            }
+
+            final int batchCount = batchLimit(messages, index, count, limit - position);
+            if (position < limit)
+            {
+                final long batchResult = termAppender.appendUnfragmentedBatch(
+                    headerWriter, messages, index, batchCount, reservedValueSupplier, termId);
+
+                result = batchResult(termCount, (int)termOffset, termId, position, batchResult);
+            }
+            else
+            {
+                result = backPressureStatus(position, messages[index].length);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Try to claim a batch of ranges in the publication log, with a single reservation of space, into which messages
+     * can be written with zero copy semantics. Once each message has been written then {@link BufferClaim#commit()}
+     * should be called for its claim thus making it available. Each claim must be committed or aborted in order for
+     * subscribers to make progress.
+     * <p>
+     * Claims are made in order until the {@link #positionLimit()} is reached or the end of the current term is
+     * tripped, so fewer claims than requested may be made.
+     * <p>
+     * <b>Note:</b> This method is threadsafe. The claims are reserved with a single atomic increment of the term
+     * tail so they are contiguous in the log, but claims from other publishers on the same session may be
+     * interleaved between successive calls.
+     *
+     * @param lengths      of the ranges to claim, in bytes, each of which cannot be greater than
+     *                     {@link #maxPayloadLength()}.
+     * @param bufferClaims to be populated for each claim that succeeds.
+     * @param count        of claims in the batch.
+     * @return the number of claims made from the start of the arrays, otherwise a negative error value of
+     * {@link #NOT_CONNECTED}, {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED},
+     * or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if a length is greater than {@link #maxPayloadLength()} within an MTU.
+     * @see BufferClaim#commit()
+     * @see BufferClaim#abort()
+     */
+    public long tryClaimBatch(final int[] lengths, final BufferClaim[] bufferClaims, final int count)
+    {
+        long result = CLOSED;
+        if (!isClosed)
+        {
+            final long limit = positionLimit.getVolatile();
+            final int termCount = activeTermCount(logMetaDataBuffer);
+            final TermAppender termAppender = termAppenders[indexByTermCount(termCount)];
+            final long rawTail = termAppender.rawTailVolatile();
+            final long termOffset = rawTail & 0xFFFF_FFFFL;
+            final int termId = termId(rawTail);
+            final long position = computeTermBeginPosition(termId, positionBitsToShift, initialTermId) + termOffset;
+
+            if (termCount != (termId - initialTermId))
+            {
+                return ADMIN_ACTION;
+            }
+
+            final int batchCount = batchLimit(lengths, bufferClaims, count, limit - position);
+            if (position < limit)
+            {
+                final long batchResult = termAppender.claimBatch(
+                    headerWriter, lengths, bufferClaims, batchCount, termId);
+
+                result = batchResult(termCount, (int)termOffset, termId, position, batchResult);
+            }
+            else
+            {
+                result = backPressureStatus(position, lengths[0]);
+            }
+        }
+
+        return result;
+    }
+
+    private long batchResult(
+        final int termCount, final int termOffset, final int termId, final long position, final long batchResult)
+    {
+        final int resultingOffset = TermAppender.batchResultingOffset(batchResult);
+        final int batchCount = TermAppender.batchCount(batchResult);
+
+        if (resultingOffset > 0)
+        {
+            return batchCount;
+        }
+
+        final long newPosition = newPosition(termCount, termOffset, termId, position, resultingOffset);
+
+        return batchCount > 0 ? batchCount : newPosition;
+    }
+
     private long newPosition(
         final int termCount, final int termOffset, final int termId, final long position, final int resultingOffset)
     {
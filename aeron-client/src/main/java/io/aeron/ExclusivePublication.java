@@ -18,6 +18,7 @@ package io.aeron;
 import io.aeron.logbuffer.BufferClaim;
 import io.aeron.logbuffer.ExclusiveTermAppender;
 import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.logbuffer.TermAppender;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -432,6 +433,104 @@ public class ExclusivePublication extends ExclusivePublicationValues
         return newPosition;
     }
 
+    /**
+     * Non-blocking publish of a batch of messages with a single reservation of space in the log. Each
+     * {@link DirectBufferVector} is a whole message which cannot be greater than {@link #maxPayloadLength()}.
+     * <p>
+     * Messages are accepted in order until the {@link #positionLimit()} is reached or the end of the current term is
+     * tripped, so fewer messages than offered may be accepted. The remainder should be offered again.
+     * <p>
+     * <b>Note:</b> This method is not threadsafe and must only be called from the single publishing thread. The
+     * batch is written at the current term offset of this publication so successive batches are contiguous.
+     *
+     * @param messages              to be published with each vector being a whole message.
+     * @param index                 in the array of the first message in the batch.
+     * @param count                 of messages in the batch.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} for the frames.
+     * @return the number of messages accepted starting from index, otherwise a negative error value of
+     * {@link #NOT_CONNECTED}, {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED},
+     * or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if a message is greater than {@link #maxPayloadLength()}.
+     */
+    public long offerBatch(
+        final DirectBufferVector[] messages,
+        final int index,
+        final int count,
+        final ReservedValueSupplier reservedValueSupplier)
+    {
+        long result = CLOSED;
+        if (!isClosed)
+        {
+            final long limit = positionLimit.getVolatile();
+            final ExclusiveTermAppender termAppender = termAppenders[activePartitionIndex];
+            final long position = termBeginPosition + termOffset;
+
+            final int batchCount = batchLimit(messages, index, count, limit - position);
+            if (position < limit)
+            {
+                final long batchResult = termAppender.appendUnfragmentedBatch(
+                    termId, termOffset, headerWriter, messages, index, batchCount, reservedValueSupplier);
+
+                result = batchResult(batchResult);
+            }
+            else
+            {
+                result = backPressureStatus(position, messages[index].length);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Try to claim a batch of ranges in the publication log, with a single reservation of space, into which messages
+     * can be written with zero copy semantics. Once each message has been written then {@link BufferClaim#commit()}
+     * should be called for its claim thus making it available. Each claim must be committed or aborted in order for
+     * subscribers to make progress.
+     * <p>
+     * Claims are made in order until the {@link #positionLimit()} is reached or the end of the current term is
+     * tripped, so fewer claims than requested may be made.
+     * <p>
+     * <b>Note:</b> This method is not threadsafe and must only be called from the single publishing thread. The
+     * claims are made at the current term offset of this publication so successive batches are contiguous.
+     *
+     * @param lengths      of the ranges to claim, in bytes, each of which cannot be greater than
+     *                     {@link #maxPayloadLength()}.
+     * @param bufferClaims to be populated for each claim that succeeds.
+     * @param count        of claims in the batch.
+     * @return the number of claims made from the start of the arrays, otherwise a negative error value of
+     * {@link #NOT_CONNECTED}, {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED},
+     * or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if a length is greater than {@link #maxPayloadLength()} within an MTU.
+     * @see BufferClaim#commit()
+     * @see BufferClaim#abort()
+     */
+    public long tryClaimBatch(final int[] lengths, final BufferClaim[] bufferClaims, final int count)
+    {
+        long result = CLOSED;
+        if (!isClosed)
+        {
+            final long limit = positionLimit.getVolatile();
+            final ExclusiveTermAppender termAppender = termAppenders[activePartitionIndex];
+            final long position = termBeginPosition + termOffset;
+
+            final int batchCount = batchLimit(lengths, bufferClaims, count, limit - position);
+            if (position < limit)
+            {
+                final long batchResult = termAppender.claimBatch(
+                    termId, termOffset, headerWriter, lengths, bufferClaims, batchCount);
+
+                result = batchResult(batchResult);
+            }
+            else
+            {
+                result = backPressureStatus(position, lengths[0]);
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Append a padding record log of a given length to make up the log to a position.
      *
@@ -564,6 +663,14 @@ public class ExclusivePublication extends ExclusivePublicationValues
         return ADMIN_ACTION;
     }
 
+    private long batchResult(final long batchResult)
+    {
+        final int batchCount = TermAppender.batchCount(batchResult);
+        final long newPosition = newPosition(TermAppender.batchResultingOffset(batchResult));
+
+        return batchCount > 0 ? batchCount : newPosition;
+    }
+
     private void rotateTerm()
     {
         final int nextIndex = LogBufferDescriptor.nextPartitionIndex(activePartitionIndex);
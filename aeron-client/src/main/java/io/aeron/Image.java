@@ -656,6 +656,87 @@ public class Image
         return resultingPosition;
     }
 
+    /**
+     * Poll for new messages in a stream. If new messages are found beyond the last consumed position then they
+     * will be delivered to the {@link FragmentBatchHandler} as a single contiguous run of fragments up to a limited
+     * number of fragments and bytes.
+     * <p>
+     * At least one fragment is delivered when available, even if its frame is longer than the byte limit, so an image
+     * always makes progress. The run terminates at the end of a term and any padding frame is consumed without
+     * being delivered.
+     *
+     * @param handler       to which the run of fragments is delivered.
+     * @param fragmentLimit for the number of fragments to be consumed during one polling operation.
+     * @param byteLimit     for the length of the run in bytes including frame headers.
+     * @return the number of fragments that have been consumed.
+     */
+    public int batchPoll(final FragmentBatchHandler handler, final int fragmentLimit, final int byteLimit)
+    {
+        if (isClosed)
+        {
+            return 0;
+        }
+
+        final long position = subscriberPosition.get();
+        final int termOffset = (int)position & termLengthMask;
+        final UnsafeBuffer termBuffer = activeTermBuffer(position);
+        final int capacity = termBuffer.capacity();
+        final long limitOffset = Math.min((long)termOffset + byteLimit, capacity);
+
+        int offset = termOffset;
+        int runEndOffset = termOffset;
+        int fragmentsRead = 0;
+
+        while (fragmentsRead < fragmentLimit && offset < capacity)
+        {
+            final int frameLength = frameLengthVolatile(termBuffer, offset);
+            if (frameLength <= 0)
+            {
+                break;
+            }
+
+            final int alignedFrameLength = BitUtil.align(frameLength, FRAME_ALIGNMENT);
+
+            if (isPaddingFrame(termBuffer, offset))
+            {
+                offset += alignedFrameLength;
+                break;
+            }
+
+            if (fragmentsRead > 0 && (offset + alignedFrameLength) > limitOffset)
+            {
+                break;
+            }
+
+            offset += alignedFrameLength;
+            runEndOffset = offset;
+            ++fragmentsRead;
+        }
+
+        if (offset > termOffset)
+        {
+            try
+            {
+                if (fragmentsRead > 0)
+                {
+                    header.buffer(termBuffer);
+                    header.offset(termOffset);
+                    handler.onFragments(termBuffer, termOffset, runEndOffset - termOffset, fragmentsRead, header);
+                }
+            }
+            catch (final Throwable t)
+            {
+                errorHandler.onError(t);
+            }
+            finally
+            {
+                subscriberPosition.setOrdered(position + (offset - termOffset));
+            }
+        }
+
+        return fragmentsRead;
+    }
+
     /**
      * Poll for new messages in a stream. If new messages are found beyond the last consumed position then they
      * will be delivered to the {@link BlockHandler} up to a limited number of bytes.
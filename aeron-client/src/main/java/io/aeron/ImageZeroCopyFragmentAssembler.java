@@ -0,0 +1,221 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import io.aeron.logbuffer.MessageView;
+import io.aeron.logbuffer.MessageViewHandler;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+
+import static io.aeron.logbuffer.FrameDescriptor.*;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+
+/**
+ * A {@link FragmentHandler} that sits in a chain-of-responsibility pattern that reassembles fragmented messages
+ * so that the next handler in the chain only sees whole messages. This is for a single session on an {@link Image}
+ * and not for multiple session {@link Image}s in a {@link Subscription}.
+ * <p>
+ * Unlike {@link ImageFragmentAssembler} fragmented messages are not copied when all the fragments lie contiguously
+ * in the same term buffer, which is the common case as a publication will not split a message across terms. The
+ * message is delivered as a {@link MessageView} which gathers the fragment payloads in place by skipping over the
+ * headers. Fragments are only copied to a temporary buffer for reassembly when found not to be contiguous, or not
+ * delivered from the term buffer being read, in which case the view will be over the copy.
+ * <p>
+ * Unfragmented messages are delegated without copy as a single vector {@link MessageView}.
+ * <p>
+ * The {@link Header} passed to the delegate on assembling a message will be that of the last fragment.
+ */
+public class ImageZeroCopyFragmentAssembler implements FragmentHandler
+{
+    private final MessageViewHandler delegate;
+    private final BufferBuilder builder;
+    private final MessageView messageView = new MessageView();
+    private DirectBuffer termBuffer;
+    private int termId;
+    private int firstPayloadOffset;
+    private int fragmentLength;
+    private int fragmentStride;
+    private int fragmentCount;
+    private int nextFrameOffset;
+    private int messageLength;
+    private boolean isCopying;
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on only whole messages.
+     *
+     * @param delegate onto which whole messages are forwarded.
+     */
+    public ImageZeroCopyFragmentAssembler(final MessageViewHandler delegate)
+    {
+        this(delegate, 0, false);
+    }
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on only whole messages.
+     *
+     * @param delegate            onto which whole messages are forwarded.
+     * @param initialBufferLength to be used for the session when falling back to a copy.
+     * @param isDirectByteBuffer  is the underlying buffer to be a direct {@link java.nio.ByteBuffer}?
+     */
+    public ImageZeroCopyFragmentAssembler(
+        final MessageViewHandler delegate, final int initialBufferLength, final boolean isDirectByteBuffer)
+    {
+        this.delegate = delegate;
+        this.builder = new BufferBuilder(initialBufferLength, isDirectByteBuffer);
+    }
+
+    /**
+     * Get the delegate unto which assembled messages are delegated.
+     *
+     * @return the delegate unto which assembled messages are delegated.
+     */
+    public MessageViewHandler delegate()
+    {
+        return delegate;
+    }
+
+    /**
+     * Get the {@link BufferBuilder} used when falling back to a copy.
+     *
+     * @return the {@link BufferBuilder} used when falling back to a copy.
+     */
+    public BufferBuilder bufferBuilder()
+    {
+        return builder;
+    }
+
+    /**
+     * Reset the assembler to discard any partially assembled message.
+     */
+    public void reset()
+    {
+        termBuffer = null;
+        fragmentCount = 0;
+        messageLength = 0;
+        isCopying = false;
+        builder.reset();
+    }
+
+    /**
+     * The implementation of {@link FragmentHandler} that reassembles and forwards whole messages.
+     *
+     * @param buffer containing the data.
+     * @param offset at which the data begins.
+     * @param length of the data in bytes.
+     * @param header representing the meta data for the data.
+     */
+    public void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final byte flags = header.flags();
+
+        if ((flags & UNFRAGMENTED) == UNFRAGMENTED)
+        {
+            delegate.onMessage(messageView.wrap(buffer, offset, length), header);
+        }
+        else if ((flags & BEGIN_FRAG_FLAG) == BEGIN_FRAG_FLAG)
+        {
+            onBeginFragment(buffer, offset, length, header);
+        }
+        else if (fragmentCount > 0)
+        {
+            onNextFragment(buffer, offset, length, header, flags);
+        }
+    }
+
+    private void onBeginFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        builder.reset();
+        fragmentCount = 1;
+        messageLength = length;
+
+        if (buffer == header.buffer())
+        {
+            isCopying = false;
+            termBuffer = buffer;
+            termId = header.termId();
+            firstPayloadOffset = offset;
+            fragmentLength = length;
+            fragmentStride = BitUtil.align(length + HEADER_LENGTH, FRAME_ALIGNMENT);
+            nextFrameOffset = header.offset() + fragmentStride;
+        }
+        else
+        {
+            isCopying = true;
+            termBuffer = null;
+            builder.append(buffer, offset, length);
+        }
+    }
+
+    private void onNextFragment(
+        final DirectBuffer buffer, final int offset, final int length, final Header header, final byte flags)
+    {
+        final boolean isEnd = (flags & END_FRAG_FLAG) == END_FRAG_FLAG;
+
+        if (!isCopying)
+        {
+            if (buffer == termBuffer &&
+                header.offset() == nextFrameOffset &&
+                header.termId() == termId &&
+                (isEnd ? length <= fragmentLength : length == fragmentLength))
+            {
+                nextFrameOffset += fragmentStride;
+            }
+            else
+            {
+                copyGatheredFragments();
+                builder.append(buffer, offset, length);
+            }
+        }
+        else
+        {
+            builder.append(buffer, offset, length);
+        }
+
+        fragmentCount++;
+        messageLength += length;
+
+        if (isEnd)
+        {
+            if (isCopying)
+            {
+                messageView.wrap(builder.buffer(), 0, messageLength);
+            }
+            else
+            {
+                messageView.wrap(
+                    termBuffer, firstPayloadOffset, messageLength, fragmentLength, fragmentStride, fragmentCount);
+            }
+
+            delegate.onMessage(messageView, header);
+            reset();
+        }
+    }
+
+    private void copyGatheredFragments()
+    {
+        int payloadOffset = firstPayloadOffset;
+        for (int i = 0; i < fragmentCount; i++)
+        {
+            builder.append(termBuffer, payloadOffset, fragmentLength);
+            payloadOffset += fragmentStride;
+        }
+
+        termBuffer = null;
+        isCopying = true;
+    }
+}
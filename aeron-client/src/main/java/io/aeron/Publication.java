@@ -22,6 +22,7 @@ import io.aeron.logbuffer.HeaderWriter;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.status.LocalSocketAddressStatus;
 import io.aeron.status.ChannelEndpointStatus;
+import org.agrona.BitUtil;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.ReadablePosition;
@@ -542,6 +543,65 @@ public abstract class Publication implements AutoCloseable
      */
     public abstract long tryClaim(int length, BufferClaim bufferClaim);
 
+    /**
+     * Non-blocking publish of a batch of messages with a single reservation of space in the log. Each
+     * {@link DirectBufferVector} is a whole message which cannot be greater than {@link #maxPayloadLength()}.
+     * <p>
+     * Messages are accepted in order until the {@link #positionLimit()} is reached or the end of the current term is
+     * tripped, so fewer messages than offered may be accepted. The remainder should be offered again.
+     *
+     * @param messages to be published with each vector being a whole message.
+     * @return the number of messages accepted from the start of the array, otherwise a negative error value of
+     * {@link #NOT_CONNECTED}, {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED},
+     * or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if a message is greater than {@link #maxPayloadLength()}.
+     */
+    public final long offerBatch(final DirectBufferVector[] messages)
+    {
+        return offerBatch(messages, 0, messages.length, null);
+    }
+
+    /**
+     * Non-blocking publish of a batch of messages with a single reservation of space in the log. Each
+     * {@link DirectBufferVector} is a whole message which cannot be greater than {@link #maxPayloadLength()}.
+     * <p>
+     * Messages are accepted in order until the {@link #positionLimit()} is reached or the end of the current term is
+     * tripped, so fewer messages than offered may be accepted. The remainder should be offered again.
+     *
+     * @param messages              to be published with each vector being a whole message.
+     * @param index                 in the array of the first message in the batch.
+     * @param count                 of messages in the batch.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} for the frames.
+     * @return the number of messages accepted starting from index, otherwise a negative error value of
+     * {@link #NOT_CONNECTED}, {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED},
+     * or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if a message is greater than {@link #maxPayloadLength()}.
+     */
+    public abstract long offerBatch(
+        DirectBufferVector[] messages, int index, int count, ReservedValueSupplier reservedValueSupplier);
+
+    /**
+     * Try to claim a batch of ranges in the publication log, with a single reservation of space, into which messages
+     * can be written with zero copy semantics. Once each message has been written then {@link BufferClaim#commit()}
+     * should be called for its claim thus making it available. Each claim must be committed or aborted in order for
+     * subscribers to make progress.
+     * <p>
+     * Claims are made in order until the {@link #positionLimit()} is reached or the end of the current term is
+     * tripped, so fewer claims than requested may be made.
+     *
+     * @param lengths      of the ranges to claim, in bytes, each of which cannot be greater than
+     *                     {@link #maxPayloadLength()}.
+     * @param bufferClaims to be populated for each claim that succeeds.
+     * @param count        of claims in the batch.
+     * @return the number of claims made from the start of the arrays, otherwise a negative error value of
+     * {@link #NOT_CONNECTED}, {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED},
+     * or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if a length is greater than {@link #maxPayloadLength()} within an MTU.
+     * @see BufferClaim#commit()
+     * @see BufferClaim#abort()
+     */
+    public abstract long tryClaimBatch(int[] lengths, BufferClaim[] bufferClaims, int count);
+
     /**
      * Add a destination manually to a multi-destination-cast Publication.
      *
@@ -666,6 +726,64 @@ public abstract class Publication implements AutoCloseable
         }
     }
 
+    final int batchLimit(
+        final DirectBufferVector[] messages, final int index, final int count, final long availableWindow)
+    {
+        if (index < 0 || count <= 0 || (index + count) > messages.length)
+        {
+            throw new IllegalArgumentException(
+                "invalid batch: index=" + index + " count=" + count + " length=" + messages.length);
+        }
+
+        int batchCount = 0;
+        long batchLength = 0;
+        while (batchCount < count && batchLength < availableWindow)
+        {
+            final int length = messages[index + batchCount].validate().length;
+            checkPayloadLength(length);
+
+            final int alignedLength = BitUtil.align(length + HEADER_LENGTH, FrameDescriptor.FRAME_ALIGNMENT);
+            if ((batchLength + alignedLength) > termBufferLength)
+            {
+                break;
+            }
+
+            batchLength += alignedLength;
+            ++batchCount;
+        }
+
+        return batchCount;
+    }
+
+    final int batchLimit(
+        final int[] lengths, final BufferClaim[] bufferClaims, final int count, final long availableWindow)
+    {
+        if (count <= 0 || count > lengths.length || count > bufferClaims.length)
+        {
+            throw new IllegalArgumentException("invalid batch: count=" + count +
+                " lengths=" + lengths.length + " bufferClaims=" + bufferClaims.length);
+        }
+
+        int batchCount = 0;
+        long batchLength = 0;
+        while (batchCount < count && batchLength < availableWindow)
+        {
+            final int length = lengths[batchCount];
+            checkPayloadLength(length);
+
+            final int alignedLength = BitUtil.align(length + HEADER_LENGTH, FrameDescriptor.FRAME_ALIGNMENT);
+            if ((batchLength + alignedLength) > termBufferLength)
+            {
+                break;
+            }
+
+            batchLength += alignedLength;
+            ++batchCount;
+        }
+
+        return batchCount;
+    }
+
     static int validateAndComputeLength(final int lengthOne, final int lengthTwo)
     {
         if (lengthOne < 0)
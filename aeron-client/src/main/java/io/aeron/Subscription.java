@@ -18,6 +18,7 @@ package io.aeron;
 import io.aeron.exceptions.AeronException;
 import io.aeron.logbuffer.BlockHandler;
 import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.FragmentBatchHandler;
 import io.aeron.logbuffer.FragmentHandler;
 import io.aeron.logbuffer.RawBlockHandler;
 import io.aeron.status.LocalSocketAddressStatus;
@@ -241,6 +242,46 @@ public class Subscription extends SubscriptionFields implements AutoCloseable
         return fragmentsRead;
     }
 
+    /**
+     * Poll the {@link Image}s under the subscription for available message fragments which are delivered as a
+     * contiguous run of fragments per {@link Image} to the {@link FragmentBatchHandler}, rather than as a
+     * callback per fragment.
+     * <p>
+     * Each {@link Image} is polled in turn starting from a round-robin index and can consume at most
+     * imageByteQuota bytes per poll so a few busy publishers cannot starve the others. This is useful when a
+     * subscription has a large number of {@link Image}s for many publishers into one stream.
+     *
+     * @param batchHandler   to receive a run of fragments from each {@link Image}.
+     * @param fragmentLimit  for the total number of fragments across all {@link Image}s during one poll.
+     * @param imageByteQuota for each {@link Image} polled, including frame headers.
+     * @return the number of fragments received
+     * @see Image#batchPoll(FragmentBatchHandler, int, int)
+     */
+    public int batchPoll(final FragmentBatchHandler batchHandler, final int fragmentLimit, final int imageByteQuota)
+    {
+        final Image[] images = this.images;
+        final int length = images.length;
+        int fragmentsRead = 0;
+
+        int startingIndex = roundRobinIndex++;
+        if (startingIndex >= length)
+        {
+            roundRobinIndex = startingIndex = 0;
+        }
+
+        for (int i = startingIndex; i < length && fragmentsRead < fragmentLimit; i++)
+        {
+            fragmentsRead += images[i].batchPoll(batchHandler, fragmentLimit - fragmentsRead, imageByteQuota);
+        }
+
+        for (int i = 0; i < startingIndex && fragmentsRead < fragmentLimit; i++)
+        {
+            fragmentsRead += images[i].batchPoll(batchHandler, fragmentLimit - fragmentsRead, imageByteQuota);
+        }
+
+        return fragmentsRead;
+    }
+
     /**
      * Poll the {@link Image}s under the subscription for available message fragments in blocks.
      * <p>
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import io.aeron.logbuffer.MessageView;
+import io.aeron.logbuffer.MessageViewHandler;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
+
+import static io.aeron.logbuffer.FrameDescriptor.UNFRAGMENTED;
+
+/**
+ * A {@link FragmentHandler} that sits in a chain-of-responsibility pattern that reassembles fragmented messages
+ * so that the next handler in the chain only sees whole messages delivered as a {@link MessageView}.
+ * <p>
+ * Fragmented messages which lie contiguously in a term buffer are delivered without copy as a view which gathers
+ * the payloads in place, and are only copied when found not to be contiguous. See
+ * {@link ImageZeroCopyFragmentAssembler} which is used per session.
+ * <p>
+ * The {@link Header} passed to the delegate on assembling a message will be that of the last fragment.
+ * <p>
+ * Session based assemblers will be allocated as necessary. When sessions go inactive see
+ * {@link UnavailableImageHandler}, it is possible to free the assembler by calling {@link #freeSessionBuffer(int)}.
+ *
+ * @see Subscription#poll(FragmentHandler, int)
+ * @see Image#poll(FragmentHandler, int)
+ */
+public class ZeroCopyFragmentAssembler implements FragmentHandler
+{
+    private final boolean isDirectByteBuffer;
+    private final int initialBufferLength;
+    private final MessageViewHandler delegate;
+    private final MessageView messageView = new MessageView();
+    private final Int2ObjectHashMap<ImageZeroCopyFragmentAssembler> assemblerBySessionIdMap =
+        new Int2ObjectHashMap<>();
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on whole messages.
+     *
+     * @param delegate onto which whole messages are forwarded.
+     */
+    public ZeroCopyFragmentAssembler(final MessageViewHandler delegate)
+    {
+        this(delegate, 0, false);
+    }
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on whole messages.
+     *
+     * @param delegate            onto which whole messages are forwarded.
+     * @param initialBufferLength to be used for each session when falling back to a copy.
+     * @param isDirectByteBuffer  is the underlying buffer to be a direct {@link java.nio.ByteBuffer}?
+     */
+    public ZeroCopyFragmentAssembler(
+        final MessageViewHandler delegate, final int initialBufferLength, final boolean isDirectByteBuffer)
+    {
+        this.initialBufferLength = initialBufferLength;
+        this.delegate = delegate;
+        this.isDirectByteBuffer = isDirectByteBuffer;
+    }
+
+    /**
+     * Get the delegate unto which assembled messages are delegated.
+     *
+     * @return the delegate unto which assembled messages are delegated.
+     */
+    public MessageViewHandler delegate()
+    {
+        return delegate;
+    }
+
+    /**
+     * The implementation of {@link FragmentHandler} that reassembles and forwards whole messages.
+     *
+     * @param buffer containing the data.
+     * @param offset at which the data begins.
+     * @param length of the data in bytes.
+     * @param header representing the meta data for the data.
+     */
+    public void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        if ((header.flags() & UNFRAGMENTED) == UNFRAGMENTED)
+        {
+            delegate.onMessage(messageView.wrap(buffer, offset, length), header);
+        }
+        else
+        {
+            getAssembler(header.sessionId()).onFragment(buffer, offset, length, header);
+        }
+    }
+
+    /**
+     * Free an existing session assembler to reduce memory pressure when an image goes inactive or no more
+     * large messages are expected.
+     *
+     * @param sessionId to have its assembler freed
+     * @return true if an assembler has been freed otherwise false.
+     */
+    public boolean freeSessionBuffer(final int sessionId)
+    {
+        return null != assemblerBySessionIdMap.remove(sessionId);
+    }
+
+    /**
+     * Clear down the cache of assemblers by session for reassembling messages.
+     */
+    public void clear()
+    {
+        assemblerBySessionIdMap.clear();
+    }
+
+    private ImageZeroCopyFragmentAssembler getAssembler(final int sessionId)
+    {
+        ImageZeroCopyFragmentAssembler assembler = assemblerBySessionIdMap.get(sessionId);
+
+        if (null == assembler)
+        {
+            assembler = new ImageZeroCopyFragmentAssembler(delegate, initialBufferLength, isDirectByteBuffer);
+            assemblerBySessionIdMap.put(sessionId, assembler);
+        }
+
+        return assembler;
+    }
+}
@@ -109,6 +109,150 @@ public final class ExclusiveTermAppender
         return resultingOffset;
     }
 
+    /**
+     * Claim a batch of ranges in the term buffer with a single update of the tail for writing in messages with zero
+     * copy semantics. The headers for the batch are written in one pass.
+     * <p>
+     * If the batch trips the end of the term then as many claims as fit before the end of the term are made and the
+     * remainder of the term is padded.
+     *
+     * @param termId       for the current term.
+     * @param termOffset   in the term at which to append.
+     * @param header       for writing the default header.
+     * @param lengths      of the messages to be written.
+     * @param bufferClaims to be updated with the claimed regions.
+     * @param count        of messages in the batch.
+     * @return the resulting offset of the term and the number of claims made packed with
+     * {@link TermAppender#packBatchResult(int, int)}. The resulting offset will be {@link #FAILED} if the end of the
+     * term was tripped.
+     */
+    public long claimBatch(
+        final int termId,
+        final int termOffset,
+        final HeaderWriter header,
+        final int[] lengths,
+        final BufferClaim[] bufferClaims,
+        final int count)
+    {
+        int requiredLength = 0;
+        for (int i = 0; i < count; i++)
+        {
+            requiredLength += align(lengths[i] + HEADER_LENGTH, FRAME_ALIGNMENT);
+        }
+
+        final UnsafeBuffer termBuffer = this.termBuffer;
+        final int termLength = termBuffer.capacity();
+
+        final int resultingOffset = termOffset + requiredLength;
+        putRawTailOrdered(termId, resultingOffset);
+
+        int frameOffset = termOffset;
+        int claimCount = 0;
+
+        for (; claimCount < count; claimCount++)
+        {
+            final int frameLength = lengths[claimCount] + HEADER_LENGTH;
+            final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
+            if ((frameOffset + alignedLength) > termLength)
+            {
+                break;
+            }
+
+            header.write(termBuffer, frameOffset, frameLength, termId);
+            bufferClaims[claimCount].wrap(termBuffer, frameOffset, frameLength);
+            frameOffset += alignedLength;
+        }
+
+        if (resultingOffset > termLength)
+        {
+            return TermAppender.packBatchResult(
+                handleEndOfLogCondition(termBuffer, frameOffset, header, termLength, termId), claimCount);
+        }
+
+        return TermAppender.packBatchResult(resultingOffset, claimCount);
+    }
+
+    /**
+     * Append a batch of unfragmented messages to the term buffer with a single update of the tail. The headers for
+     * the batch are written in one pass, then the messages are copied in and each frame committed in order.
+     * <p>
+     * If the batch trips the end of the term then as many messages as fit before the end of the term are appended and
+     * the remainder of the term is padded.
+     *
+     * @param termId                for the current term.
+     * @param termOffset            in the term at which to append.
+     * @param header                for writing the default header.
+     * @param messages              each of which is a whole message no greater than max payload length.
+     * @param index                 of the first message in the array to append.
+     * @param count                 of messages in the batch.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} for the frames.
+     * @return the resulting offset of the term and the number of messages appended packed with
+     * {@link TermAppender#packBatchResult(int, int)}. The resulting offset will be {@link #FAILED} if the end of the
+     * term was tripped.
+     */
+    public long appendUnfragmentedBatch(
+        final int termId,
+        final int termOffset,
+        final HeaderWriter header,
+        final DirectBufferVector[] messages,
+        final int index,
+        final int count,
+        final ReservedValueSupplier reservedValueSupplier)
+    {
+        int requiredLength = 0;
+        for (int i = index, end = index + count; i < end; i++)
+        {
+            requiredLength += align(messages[i].length + HEADER_LENGTH, FRAME_ALIGNMENT);
+        }
+
+        final UnsafeBuffer termBuffer = this.termBuffer;
+        final int termLength = termBuffer.capacity();
+
+        final int resultingOffset = termOffset + requiredLength;
+        putRawTailOrdered(termId, resultingOffset);
+
+        int frameOffset = termOffset;
+        int appendCount = 0;
+
+        for (; appendCount < count; appendCount++)
+        {
+            final int frameLength = messages[index + appendCount].length + HEADER_LENGTH;
+            final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
+            if ((frameOffset + alignedLength) > termLength)
+            {
+                break;
+            }
+
+            header.write(termBuffer, frameOffset, frameLength, termId);
+            frameOffset += alignedLength;
+        }
+
+        frameOffset = termOffset;
+        for (int i = index, end = index + appendCount; i < end; i++)
+        {
+            final DirectBufferVector message = messages[i];
+            final int frameLength = message.length + HEADER_LENGTH;
+            termBuffer.putBytes(frameOffset + HEADER_LENGTH, message.buffer, message.offset, message.length);
+
+            if (null != reservedValueSupplier)
+            {
+                final long reservedValue = reservedValueSupplier.get(termBuffer, frameOffset, frameLength);
+                termBuffer.putLong(frameOffset + RESERVED_VALUE_OFFSET, reservedValue, LITTLE_ENDIAN);
+            }
+
+            frameLengthOrdered(termBuffer, frameOffset, frameLength);
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+        }
+
+        if (resultingOffset > termLength)
+        {
+            return TermAppender.packBatchResult(
+                handleEndOfLogCondition(termBuffer, frameOffset, header, termLength, termId), appendCount);
+        }
+
+        return TermAppender.packBatchResult(resultingOffset, appendCount);
+    }
+
     /**
      * Pad a length of the term buffer with a padding record.
      *
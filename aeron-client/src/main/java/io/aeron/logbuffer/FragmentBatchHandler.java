@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * Handler for a contiguous run of message fragments read from a log buffer in a single callback rather than
+ * one callback per fragment.
+ * <p>
+ * The run contains only complete data frames, including their headers, so can be walked frame by frame using the
+ * frame length at the start of each frame aligned to {@link FrameDescriptor#FRAME_ALIGNMENT}. The {@link Header} can
+ * be repositioned with {@link Header#offset(int)} to read the meta data of each frame.
+ *
+ * @see io.aeron.Image#batchPoll(FragmentBatchHandler, int, int)
+ * @see io.aeron.Subscription#batchPoll(FragmentBatchHandler, int, int)
+ */
+@FunctionalInterface
+public interface FragmentBatchHandler
+{
+    /**
+     * Callback for handling a run of fragments read from a log.
+     * <p>
+     * Within this callback reentrant calls to the {@link io.aeron.Aeron} client are not permitted and
+     * will result in undefined behaviour.
+     *
+     * @param buffer        containing the run of fragments.
+     * @param offset        at which the first frame begins, including its header.
+     * @param length        of the run in bytes, including the frame headers and aligned up to
+     *                      {@link FrameDescriptor#FRAME_ALIGNMENT}.
+     * @param fragmentCount number of fragments in the run.
+     * @param header        positioned over the first frame in the run.
+     */
+    void onFragments(DirectBuffer buffer, int offset, int length, int fragmentCount, Header header);
+}
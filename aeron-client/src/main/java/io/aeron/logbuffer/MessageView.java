@@ -0,0 +1,323 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+/**
+ * Read only view over a whole message which may be gathered from a sequence of fragments that lie contiguously in a
+ * term buffer. The fragment headers in between the payloads are skipped so the message can be read by logical index
+ * from 0 to {@link #length()} without first copying it into a separate buffer.
+ * <p>
+ * Fragments of a message, other than the last, all have the same payload length and are separated by a fixed stride
+ * in the term which makes it possible to map a logical index to a term offset with simple arithmetic.
+ * <p>
+ * When the message is contiguous, e.g. unfragmented or reassembled by copy, then the view has a single vector.
+ * <p>
+ * <b>Note:</b> The view is only valid for the duration of the {@link MessageViewHandler#onMessage(MessageView, Header)}
+ * callback.
+ */
+public final class MessageView
+{
+    private DirectBuffer buffer;
+    private int offset;
+    private int length;
+    private int fragmentLength;
+    private int fragmentStride;
+    private int vectorCount;
+
+    /**
+     * Wrap a contiguous region of a buffer as a single vector message.
+     *
+     * @param buffer containing the message.
+     * @param offset at which the message begins.
+     * @param length of the message in bytes.
+     * @return this for a fluent API.
+     */
+    public MessageView wrap(final DirectBuffer buffer, final int offset, final int length)
+    {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.fragmentLength = length;
+        this.fragmentStride = length;
+        this.vectorCount = 1;
+
+        return this;
+    }
+
+    /**
+     * Wrap a sequence of fragment payloads which are spread at a fixed stride in a term buffer.
+     *
+     * @param buffer         containing the fragments.
+     * @param offset         of the payload of the first fragment.
+     * @param length         of the whole message in bytes.
+     * @param fragmentLength of the payload in each fragment other than the last.
+     * @param fragmentStride distance between the start of consecutive fragment payloads.
+     * @param fragmentCount  number of fragments which make up the message.
+     * @return this for a fluent API.
+     */
+    public MessageView wrap(
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final int fragmentLength,
+        final int fragmentStride,
+        final int fragmentCount)
+    {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.fragmentLength = fragmentLength;
+        this.fragmentStride = fragmentStride;
+        this.vectorCount = fragmentCount;
+
+        return this;
+    }
+
+    /**
+     * The underlying buffer which is referenced by the view.
+     *
+     * @return the underlying buffer which is referenced by the view.
+     */
+    public DirectBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Length of the whole message in bytes.
+     *
+     * @return the length of the whole message in bytes.
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * Is the message contiguous in the underlying buffer so it can be read directly from {@link #buffer()} starting
+     * at {@link #vectorOffset(int)} for vector 0.
+     *
+     * @return true if the message has a single vector.
+     */
+    public boolean isContiguous()
+    {
+        return 1 == vectorCount;
+    }
+
+    /**
+     * Number of vectors, i.e. fragment payloads, in the underlying buffer which make up the message.
+     *
+     * @return number of vectors in the underlying buffer which make up the message.
+     */
+    public int vectorCount()
+    {
+        return vectorCount;
+    }
+
+    /**
+     * Offset in the underlying buffer at which a vector begins.
+     *
+     * @param vectorIndex of the vector in the range 0 to {@link #vectorCount()} - 1.
+     * @return offset in the underlying buffer at which a vector begins.
+     */
+    public int vectorOffset(final int vectorIndex)
+    {
+        return offset + (vectorIndex * fragmentStride);
+    }
+
+    /**
+     * Length in bytes of a vector in the underlying buffer.
+     *
+     * @param vectorIndex of the vector in the range 0 to {@link #vectorCount()} - 1.
+     * @return length in bytes of a vector in the underlying buffer.
+     */
+    public int vectorLength(final int vectorIndex)
+    {
+        return vectorIndex < vectorCount - 1 ? fragmentLength : length - (vectorIndex * fragmentLength);
+    }
+
+    /**
+     * Get a byte at a logical index in the message.
+     *
+     * @param index in the message.
+     * @return the value at the index.
+     */
+    public byte getByte(final int index)
+    {
+        return buffer.getByte(bufferOffset(index));
+    }
+
+    /**
+     * Get a little endian short at a logical index in the message which may span fragments.
+     *
+     * @param index in the message.
+     * @return the value at the index.
+     */
+    public short getShort(final int index)
+    {
+        if (isWithinVector(index, 2))
+        {
+            return buffer.getShort(bufferOffset(index), LITTLE_ENDIAN);
+        }
+
+        return (short)getLittleEndian(index, 2);
+    }
+
+    /**
+     * Get a little endian int at a logical index in the message which may span fragments.
+     *
+     * @param index in the message.
+     * @return the value at the index.
+     */
+    public int getInt(final int index)
+    {
+        if (isWithinVector(index, 4))
+        {
+            return buffer.getInt(bufferOffset(index), LITTLE_ENDIAN);
+        }
+
+        return (int)getLittleEndian(index, 4);
+    }
+
+    /**
+     * Get a little endian long at a logical index in the message which may span fragments.
+     *
+     * @param index in the message.
+     * @return the value at the index.
+     */
+    public long getLong(final int index)
+    {
+        if (isWithinVector(index, 8))
+        {
+            return buffer.getLong(bufferOffset(index), LITTLE_ENDIAN);
+        }
+
+        return getLittleEndian(index, 8);
+    }
+
+    /**
+     * Copy a range of the message into a destination buffer, gathering across fragments as necessary.
+     *
+     * @param index     in the message at which to begin the copy.
+     * @param dstBuffer into which the bytes will be copied.
+     * @param dstIndex  in the destination buffer at which to begin.
+     * @param length    of the range in bytes.
+     */
+    public void getBytes(final int index, final MutableDirectBuffer dstBuffer, final int dstIndex, final int length)
+    {
+        boundsCheck(index, length);
+
+        int srcIndex = index;
+        int dstOffset = dstIndex;
+        int remaining = length;
+        while (remaining > 0)
+        {
+            final int vectorIndex = srcIndex / fragmentLength;
+            final int vectorRemaining = vectorLength(vectorIndex) - (srcIndex - (vectorIndex * fragmentLength));
+            final int bytesToCopy = Math.min(remaining, vectorRemaining);
+
+            dstBuffer.putBytes(dstOffset, buffer, bufferOffset(srcIndex), bytesToCopy);
+
+            srcIndex += bytesToCopy;
+            dstOffset += bytesToCopy;
+            remaining -= bytesToCopy;
+        }
+    }
+
+    /**
+     * Copy a range of the message into a destination array, gathering across fragments as necessary.
+     *
+     * @param index     in the message at which to begin the copy.
+     * @param dst       into which the bytes will be copied.
+     * @param dstOffset in the destination array at which to begin.
+     * @param length    of the range in bytes.
+     */
+    public void getBytes(final int index, final byte[] dst, final int dstOffset, final int length)
+    {
+        boundsCheck(index, length);
+
+        int srcIndex = index;
+        int dstIndex = dstOffset;
+        int remaining = length;
+        while (remaining > 0)
+        {
+            final int vectorIndex = srcIndex / fragmentLength;
+            final int vectorRemaining = vectorLength(vectorIndex) - (srcIndex - (vectorIndex * fragmentLength));
+            final int bytesToCopy = Math.min(remaining, vectorRemaining);
+
+            buffer.getBytes(bufferOffset(srcIndex), dst, dstIndex, bytesToCopy);
+
+            srcIndex += bytesToCopy;
+            dstIndex += bytesToCopy;
+            remaining -= bytesToCopy;
+        }
+    }
+
+    public String toString()
+    {
+        return "MessageView{" +
+            "offset=" + offset +
+            ", length=" + length +
+            ", fragmentLength=" + fragmentLength +
+            ", fragmentStride=" + fragmentStride +
+            ", vectorCount=" + vectorCount +
+            '}';
+    }
+
+    private int bufferOffset(final int index)
+    {
+        if (index < 0 || index >= length)
+        {
+            throw new IndexOutOfBoundsException("index=" + index + " length=" + length);
+        }
+
+        final int vectorIndex = index / fragmentLength;
+
+        return offset + (vectorIndex * fragmentStride) + (index - (vectorIndex * fragmentLength));
+    }
+
+    private boolean isWithinVector(final int index, final int typeLength)
+    {
+        final int lastIndex = index + typeLength - 1;
+        boundsCheck(index, typeLength);
+
+        return (index / fragmentLength) == (lastIndex / fragmentLength);
+    }
+
+    private long getLittleEndian(final int index, final int typeLength)
+    {
+        long value = 0;
+        for (int i = typeLength - 1; i >= 0; i--)
+        {
+            value = (value << 8) | (buffer.getByte(bufferOffset(index + i)) & 0xFFL);
+        }
+
+        return value;
+    }
+
+    private void boundsCheck(final int index, final int length)
+    {
+        if (index < 0 || length < 0 || (index + (long)length) > this.length)
+        {
+            throw new IndexOutOfBoundsException("index=" + index + " length=" + length + " capacity=" + this.length);
+        }
+    }
+}
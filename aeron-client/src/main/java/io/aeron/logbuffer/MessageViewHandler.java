@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+/**
+ * Handler for whole messages which are delivered as a {@link MessageView} that may gather the payload of multiple
+ * fragments in place within a log buffer rather than a copy.
+ *
+ * @see io.aeron.ImageZeroCopyFragmentAssembler
+ * @see io.aeron.ZeroCopyFragmentAssembler
+ */
+@FunctionalInterface
+public interface MessageViewHandler
+{
+    /**
+     * Callback for handling a whole message.
+     * <p>
+     * Within this callback reentrant calls to the {@link io.aeron.Aeron} client are not permitted and
+     * will result in undefined behaviour.
+     *
+     * @param view   over the message which is only valid for the duration of the callback.
+     * @param header representing the meta data for the last fragment of the message.
+     */
+    void onMessage(MessageView view, Header header);
+}
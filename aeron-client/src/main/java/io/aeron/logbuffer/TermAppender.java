@@ -126,6 +126,189 @@ public final class TermAppender
         return (int)resultingOffset;
     }
 
+    /**
+     * Claim a batch of ranges in the term buffer with a single update of the tail for writing in messages with zero
+     * copy semantics. The headers for the batch are written in one pass.
+     * <p>
+     * If the batch trips the end of the term then as many claims as fit before the end of the term are made and the
+     * remainder of the term is padded.
+     *
+     * @param header       for writing the default header.
+     * @param lengths      of the messages to be written.
+     * @param bufferClaims to be updated with the claimed regions.
+     * @param count        of messages in the batch.
+     * @param activeTermId used for flow control.
+     * @return the resulting offset of the term and the number of claims made packed with
+     * {@link #packBatchResult(int, int)}. The resulting offset will be {@link #FAILED} if the end of the term
+     * was tripped.
+     */
+    public long claimBatch(
+        final HeaderWriter header,
+        final int[] lengths,
+        final BufferClaim[] bufferClaims,
+        final int count,
+        final int activeTermId)
+    {
+        int requiredLength = 0;
+        for (int i = 0; i < count; i++)
+        {
+            requiredLength += align(lengths[i] + HEADER_LENGTH, FRAME_ALIGNMENT);
+        }
+
+        final UnsafeBuffer termBuffer = this.termBuffer;
+        final int termLength = termBuffer.capacity();
+
+        final long rawTail = getAndAddRawTail(requiredLength);
+        final int termId = termId(rawTail);
+        final long termOffset = rawTail & 0xFFFF_FFFFL;
+
+        checkTerm(activeTermId, termId);
+
+        final long resultingOffset = termOffset + requiredLength;
+        int frameOffset = (int)Math.min(termOffset, termLength);
+        int claimCount = 0;
+
+        for (; claimCount < count; claimCount++)
+        {
+            final int frameLength = lengths[claimCount] + HEADER_LENGTH;
+            final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
+            if ((frameOffset + alignedLength) > termLength)
+            {
+                break;
+            }
+
+            header.write(termBuffer, frameOffset, frameLength, termId);
+            bufferClaims[claimCount].wrap(termBuffer, frameOffset, frameLength);
+            frameOffset += alignedLength;
+        }
+
+        if (resultingOffset > termLength)
+        {
+            return packBatchResult(
+                handleEndOfLogCondition(termBuffer, frameOffset, header, termLength, termId), claimCount);
+        }
+
+        return packBatchResult((int)resultingOffset, claimCount);
+    }
+
+    /**
+     * Append a batch of unfragmented messages to the term buffer with a single update of the tail. The headers for
+     * the batch are written in one pass, then the messages are copied in and each frame committed in order.
+     * <p>
+     * If the batch trips the end of the term then as many messages as fit before the end of the term are appended and
+     * the remainder of the term is padded.
+     *
+     * @param header                for writing the default header.
+     * @param messages              each of which is a whole message no greater than max payload length.
+     * @param index                 of the first message in the array to append.
+     * @param count                 of messages in the batch.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} for the frames.
+     * @param activeTermId          used for flow control.
+     * @return the resulting offset of the term and the number of messages appended packed with
+     * {@link #packBatchResult(int, int)}. The resulting offset will be {@link #FAILED} if the end of the term
+     * was tripped.
+     */
+    public long appendUnfragmentedBatch(
+        final HeaderWriter header,
+        final DirectBufferVector[] messages,
+        final int index,
+        final int count,
+        final ReservedValueSupplier reservedValueSupplier,
+        final int activeTermId)
+    {
+        int requiredLength = 0;
+        for (int i = index, end = index + count; i < end; i++)
+        {
+            requiredLength += align(messages[i].length + HEADER_LENGTH, FRAME_ALIGNMENT);
+        }
+
+        final UnsafeBuffer termBuffer = this.termBuffer;
+        final int termLength = termBuffer.capacity();
+
+        final long rawTail = getAndAddRawTail(requiredLength);
+        final int termId = termId(rawTail);
+        final long termOffset = rawTail & 0xFFFF_FFFFL;
+
+        checkTerm(activeTermId, termId);
+
+        final long resultingOffset = termOffset + requiredLength;
+        final int batchOffset = (int)Math.min(termOffset, termLength);
+        int frameOffset = batchOffset;
+        int appendCount = 0;
+
+        for (; appendCount < count; appendCount++)
+        {
+            final int frameLength = messages[index + appendCount].length + HEADER_LENGTH;
+            final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
+            if ((frameOffset + alignedLength) > termLength)
+            {
+                break;
+            }
+
+            header.write(termBuffer, frameOffset, frameLength, termId);
+            frameOffset += alignedLength;
+        }
+
+        frameOffset = batchOffset;
+        for (int i = index, end = index + appendCount; i < end; i++)
+        {
+            final DirectBufferVector message = messages[i];
+            final int frameLength = message.length + HEADER_LENGTH;
+            termBuffer.putBytes(frameOffset + HEADER_LENGTH, message.buffer, message.offset, message.length);
+
+            if (null != reservedValueSupplier)
+            {
+                final long reservedValue = reservedValueSupplier.get(termBuffer, frameOffset, frameLength);
+                termBuffer.putLong(frameOffset + RESERVED_VALUE_OFFSET, reservedValue, LITTLE_ENDIAN);
+            }
+
+            frameLengthOrdered(termBuffer, frameOffset, frameLength);
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+        }
+
+        if (resultingOffset > termLength)
+        {
+            return packBatchResult(
+                handleEndOfLogCondition(termBuffer, frameOffset, header, termLength, termId), appendCount);
+        }
+
+        return packBatchResult((int)resultingOffset, appendCount);
+    }
+
+    /**
+     * Pack the resulting term offset and the count of messages appended by a batch operation into a long.
+     *
+     * @param resultingOffset of the term after the batch, or a failure value.
+     * @param count           of messages appended or claimed in the batch.
+     * @return a long with both ints packed into it.
+     */
+    public static long packBatchResult(final int resultingOffset, final int count)
+    {
+        return ((long)resultingOffset << 32) | count;
+    }
+
+    /**
+     * The resulting term offset, or failure value, from a packed batch result.
+     *
+     * @param batchResult into which the resulting offset was packed.
+     * @return the resulting term offset, or failure value.
+     */
+    public static int batchResultingOffset(final long batchResult)
+    {
+        return (int)(batchResult >> 32);
+    }
+
+    /**
+     * The count of messages appended or claimed from a packed batch result.
+     *
+     * @param batchResult into which the count was packed.
+     * @return the count of messages appended or claimed.
+     */
+    public static int batchCount(final long batchResult)
+    {
+        return (int)batchResult;
+    }
+
     /**
      * Append an unfragmented message to the the term buffer.
      *
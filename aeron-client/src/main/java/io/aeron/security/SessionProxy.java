@@ -43,6 +43,17 @@ public interface SessionProxy
      */
     boolean authenticate(byte[] encodedPrincipal);
 
+    /**
+     * Inform the system of the maximum rate at which messages should be accepted from the session, e.g. based on the
+     * principal. This should be called before {@link #authenticate(byte[])}. Systems which do not support rate
+     * limiting will ignore it.
+     *
+     * @param messagesPerSecond to be accepted from the session, or 0 for unlimited.
+     */
+    default void rateLimit(final long messagesPerSecond)
+    {
+    }
+
     /**
      * Inform the system that the session has NOT met authentication requirements and should be rejected.
      */
@@ -609,6 +609,64 @@ public class ImageTest
         inOrder.verify(position).setOrdered(TERM_BUFFER_LENGTH);
     }
 
+    @Test
+    public void shouldBatchPollContiguousRunOfFragments()
+    {
+        final long initialPosition = computePosition(INITIAL_TERM_ID, 0, POSITION_BITS_TO_SHIFT, INITIAL_TERM_ID);
+        position.setOrdered(initialPosition);
+        final Image image = createImage();
+        final FragmentBatchHandler mockBatchHandler = mock(FragmentBatchHandler.class);
+
+        insertDataFrame(INITIAL_TERM_ID, offsetForFrame(0));
+        insertDataFrame(INITIAL_TERM_ID, offsetForFrame(1));
+        insertDataFrame(INITIAL_TERM_ID, offsetForFrame(2));
+
+        final int fragmentsRead = image.batchPoll(mockBatchHandler, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        assertThat(fragmentsRead, is(3));
+
+        verify(mockBatchHandler).onFragments(
+            any(UnsafeBuffer.class), eq(0), eq(ALIGNED_FRAME_LENGTH * 3), eq(3), any(Header.class));
+        verify(position).setOrdered(initialPosition + (ALIGNED_FRAME_LENGTH * 3));
+    }
+
+    @Test
+    public void shouldBatchPollUpToByteLimitButAtLeastOneFragment()
+    {
+        final long initialPosition = computePosition(INITIAL_TERM_ID, 0, POSITION_BITS_TO_SHIFT, INITIAL_TERM_ID);
+        position.setOrdered(initialPosition);
+        final Image image = createImage();
+        final FragmentBatchHandler mockBatchHandler = mock(FragmentBatchHandler.class);
+
+        insertDataFrame(INITIAL_TERM_ID, offsetForFrame(0));
+        insertDataFrame(INITIAL_TERM_ID, offsetForFrame(1));
+
+        final int fragmentsRead = image.batchPoll(mockBatchHandler, Integer.MAX_VALUE, 1);
+        assertThat(fragmentsRead, is(1));
+
+        verify(mockBatchHandler).onFragments(
+            any(UnsafeBuffer.class), eq(0), eq(ALIGNED_FRAME_LENGTH), eq(1), any(Header.class));
+        verify(position).setOrdered(initialPosition + ALIGNED_FRAME_LENGTH);
+    }
+
+    @Test
+    public void shouldBatchPollAndConsumePaddingWithoutDelivery()
+    {
+        final int termOffset = TERM_BUFFER_LENGTH - ALIGNED_FRAME_LENGTH;
+        final long initialPosition = computePosition(
+            INITIAL_TERM_ID, termOffset, POSITION_BITS_TO_SHIFT, INITIAL_TERM_ID);
+        position.setOrdered(initialPosition);
+        final Image image = createImage();
+        final FragmentBatchHandler mockBatchHandler = mock(FragmentBatchHandler.class);
+
+        insertPaddingFrame(INITIAL_TERM_ID, termOffset);
+
+        final int fragmentsRead = image.batchPoll(mockBatchHandler, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        assertThat(fragmentsRead, is(0));
+
+        verifyNoInteractions(mockBatchHandler);
+        verify(position).setOrdered(TERM_BUFFER_LENGTH);
+    }
+
     private Image createImage()
     {
         return new Image(subscription, SESSION_ID, position, logBuffers, errorHandler, SOURCE_IDENTITY, CORRELATION_ID);
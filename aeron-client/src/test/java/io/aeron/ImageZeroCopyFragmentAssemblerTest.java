@@ -0,0 +1,213 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FrameDescriptor;
+import io.aeron.logbuffer.Header;
+import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.logbuffer.MessageView;
+import io.aeron.logbuffer.MessageViewHandler;
+import org.agrona.BitUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static io.aeron.protocol.DataHeaderFlyweight.*;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageZeroCopyFragmentAssemblerTest
+{
+    private static final int SESSION_ID = 777;
+    private static final int INITIAL_TERM_ID = 3;
+    private static final int FRAGMENT_LENGTH = 96;
+
+    private final UnsafeBuffer termBuffer = new UnsafeBuffer(new byte[LogBufferDescriptor.TERM_MIN_LENGTH]);
+    private final Header header = new Header(INITIAL_TERM_ID, LogBufferDescriptor.TERM_MIN_LENGTH);
+    private final CapturingHandler handler = new CapturingHandler();
+    private final ImageZeroCopyFragmentAssembler assembler = new ImageZeroCopyFragmentAssembler(handler);
+
+    @BeforeEach
+    public void setUp()
+    {
+        header.buffer(termBuffer);
+    }
+
+    @Test
+    public void shouldPassThroughUnfragmentedMessage()
+    {
+        final int frameOffset = 0;
+        appendFrame(frameOffset, FrameDescriptor.UNFRAGMENTED, 32, (byte)'A');
+
+        deliver(frameOffset, 32);
+
+        assertEquals(1, handler.messageCount);
+        assertTrue(handler.isContiguous);
+        assertSame(termBuffer, handler.buffer);
+        assertArrayEquals(payload(32, (byte)'A'), handler.bytes);
+    }
+
+    @Test
+    public void shouldGatherContiguousFragmentsWithoutCopy()
+    {
+        final int lastLength = 40;
+        int frameOffset = 0;
+        final int[] frameOffsets = new int[3];
+        frameOffsets[0] = frameOffset;
+        frameOffset += appendFrame(frameOffset, FrameDescriptor.BEGIN_FRAG_FLAG, FRAGMENT_LENGTH, (byte)'A');
+        frameOffsets[1] = frameOffset;
+        frameOffset += appendFrame(frameOffset, (byte)0, FRAGMENT_LENGTH, (byte)'B');
+        frameOffsets[2] = frameOffset;
+        appendFrame(frameOffset, FrameDescriptor.END_FRAG_FLAG, lastLength, (byte)'C');
+
+        deliver(frameOffsets[0], FRAGMENT_LENGTH);
+        deliver(frameOffsets[1], FRAGMENT_LENGTH);
+        assertEquals(0, handler.messageCount);
+        deliver(frameOffsets[2], lastLength);
+
+        assertEquals(1, handler.messageCount);
+        assertFalse(handler.isContiguous);
+        assertEquals(3, handler.vectorCount);
+        assertSame(termBuffer, handler.buffer);
+        assertEquals(0, assembler.bufferBuilder().capacity());
+        assertArrayEquals(expectedMessage(lastLength), handler.bytes);
+    }
+
+    @Test
+    public void shouldReadPrimitivesSpanningFragments()
+    {
+        int frameOffset = 0;
+        frameOffset += appendFrame(frameOffset, FrameDescriptor.BEGIN_FRAG_FLAG, FRAGMENT_LENGTH, (byte)0);
+        appendFrame(frameOffset, FrameDescriptor.END_FRAG_FLAG, FRAGMENT_LENGTH, (byte)0);
+
+        final long value = 0x0102030405060708L;
+        final int index = FRAGMENT_LENGTH - 3;
+        final UnsafeBuffer expected = new UnsafeBuffer(new byte[8]);
+        expected.putLong(0, value, LITTLE_ENDIAN);
+        for (int i = 0; i < 8; i++)
+        {
+            final int messageIndex = index + i;
+            final int termOffset = messageIndex < FRAGMENT_LENGTH ?
+                HEADER_LENGTH + messageIndex : frameOffset + HEADER_LENGTH + (messageIndex - FRAGMENT_LENGTH);
+            termBuffer.putByte(termOffset, expected.getByte(i));
+        }
+
+        handler.longIndex = index;
+        deliver(0, FRAGMENT_LENGTH);
+        deliver(frameOffset, FRAGMENT_LENGTH);
+
+        assertEquals(value, handler.longValue);
+    }
+
+    @Test
+    public void shouldFallBackToCopyWhenFragmentsAreNotContiguous()
+    {
+        final int lastLength = 40;
+        final int gap = 64;
+        int frameOffset = 0;
+        final int[] frameOffsets = new int[3];
+        frameOffsets[0] = frameOffset;
+        frameOffset += appendFrame(frameOffset, FrameDescriptor.BEGIN_FRAG_FLAG, FRAGMENT_LENGTH, (byte)'A');
+        frameOffsets[1] = frameOffset;
+        frameOffset += appendFrame(frameOffset, (byte)0, FRAGMENT_LENGTH, (byte)'B') + gap;
+        frameOffsets[2] = frameOffset;
+        appendFrame(frameOffset, FrameDescriptor.END_FRAG_FLAG, lastLength, (byte)'C');
+
+        deliver(frameOffsets[0], FRAGMENT_LENGTH);
+        deliver(frameOffsets[1], FRAGMENT_LENGTH);
+        deliver(frameOffsets[2], lastLength);
+
+        assertEquals(1, handler.messageCount);
+        assertTrue(handler.isContiguous);
+        assertSame(assembler.bufferBuilder().buffer(), handler.buffer);
+        assertArrayEquals(expectedMessage(lastLength), handler.bytes);
+    }
+
+    @Test
+    public void shouldDoNothingIfEndArrivesWithoutBegin()
+    {
+        appendFrame(0, FrameDescriptor.END_FRAG_FLAG, FRAGMENT_LENGTH, (byte)'A');
+
+        deliver(0, FRAGMENT_LENGTH);
+
+        assertEquals(0, handler.messageCount);
+    }
+
+    private void deliver(final int frameOffset, final int length)
+    {
+        header.offset(frameOffset);
+        assembler.onFragment(termBuffer, frameOffset + HEADER_LENGTH, length, header);
+    }
+
+    private int appendFrame(final int frameOffset, final byte flags, final int length, final byte value)
+    {
+        final int frameLength = length + HEADER_LENGTH;
+        termBuffer.putInt(frameOffset + FRAME_LENGTH_FIELD_OFFSET, frameLength, LITTLE_ENDIAN);
+        termBuffer.putByte(frameOffset + FLAGS_FIELD_OFFSET, flags);
+        termBuffer.putInt(frameOffset + TERM_OFFSET_FIELD_OFFSET, frameOffset, LITTLE_ENDIAN);
+        termBuffer.putInt(frameOffset + SESSION_ID_FIELD_OFFSET, SESSION_ID, LITTLE_ENDIAN);
+        termBuffer.putInt(frameOffset + TERM_ID_FIELD_OFFSET, INITIAL_TERM_ID, LITTLE_ENDIAN);
+        termBuffer.setMemory(frameOffset + HEADER_LENGTH, length, value);
+
+        return BitUtil.align(frameLength, FrameDescriptor.FRAME_ALIGNMENT);
+    }
+
+    private static byte[] payload(final int length, final byte value)
+    {
+        final byte[] bytes = new byte[length];
+        Arrays.fill(bytes, value);
+
+        return bytes;
+    }
+
+    private static byte[] expectedMessage(final int lastLength)
+    {
+        final byte[] bytes = new byte[(FRAGMENT_LENGTH * 2) + lastLength];
+        Arrays.fill(bytes, 0, FRAGMENT_LENGTH, (byte)'A');
+        Arrays.fill(bytes, FRAGMENT_LENGTH, FRAGMENT_LENGTH * 2, (byte)'B');
+        Arrays.fill(bytes, FRAGMENT_LENGTH * 2, bytes.length, (byte)'C');
+
+        return bytes;
+    }
+
+    static class CapturingHandler implements MessageViewHandler
+    {
+        int messageCount;
+        boolean isContiguous;
+        int vectorCount;
+        Object buffer;
+        byte[] bytes;
+        int longIndex = -1;
+        long longValue;
+
+        public void onMessage(final MessageView view, final Header header)
+        {
+            messageCount++;
+            isContiguous = view.isContiguous();
+            vectorCount = view.vectorCount();
+            buffer = view.buffer();
+            bytes = new byte[view.length()];
+            view.getBytes(0, bytes, 0, bytes.length);
+
+            if (longIndex >= 0)
+            {
+                longValue = view.getLong(longIndex);
+            }
+        }
+    }
+}
@@ -116,6 +116,101 @@ public class TermAppenderTest
         inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameLength);
     }
 
+    @Test
+    public void shouldAppendBatchWithSingleTailUpdateAndHeadersWrittenFirst()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLength = 20;
+        final int frameLength = msgLength + headerLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final DirectBufferVector[] messages =
+        {
+            new DirectBufferVector(buffer, 0, msgLength),
+            new DirectBufferVector(buffer, 32, msgLength),
+        };
+        final int tail = 0;
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tail));
+
+        final long batchResult = termAppender.appendUnfragmentedBatch(headerWriter, messages, 0, 2, RVS, TERM_ID);
+
+        assertEquals(alignedFrameLength * 2, TermAppender.batchResultingOffset(batchResult));
+        assertEquals(2, TermAppender.batchCount(batchResult));
+        assertEquals(
+            packTail(TERM_ID, tail + (alignedFrameLength * 2)), rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX));
+
+        final InOrder inOrder = inOrder(termBuffer, headerWriter);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, tail, frameLength, TERM_ID);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, alignedFrameLength, frameLength, TERM_ID);
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength, buffer, 0, msgLength);
+        inOrder.verify(termBuffer, times(1)).putLong(tail + RESERVED_VALUE_OFFSET, RV, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(alignedFrameLength + headerLength, buffer, 32, msgLength);
+        inOrder.verify(termBuffer, times(1))
+            .putLong(alignedFrameLength + RESERVED_VALUE_OFFSET, RV, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(alignedFrameLength, frameLength);
+    }
+
+    @Test
+    public void shouldAppendPartOfBatchAndPadWhenTrippingEndOfTerm()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLength = 20;
+        final int frameLength = msgLength + headerLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final DirectBufferVector[] messages =
+        {
+            new DirectBufferVector(buffer, 0, msgLength),
+            new DirectBufferVector(buffer, 0, msgLength),
+        };
+        final int tailValue = TERM_BUFFER_LENGTH - alignedFrameLength - FRAME_ALIGNMENT;
+        final int paddingOffset = tailValue + alignedFrameLength;
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tailValue));
+
+        final long batchResult = termAppender.appendUnfragmentedBatch(headerWriter, messages, 0, 2, RVS, TERM_ID);
+
+        assertEquals(FAILED, TermAppender.batchResultingOffset(batchResult));
+        assertEquals(1, TermAppender.batchCount(batchResult));
+        assertEquals(
+            packTail(TERM_ID, tailValue + (alignedFrameLength * 2)),
+            rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX));
+
+        final InOrder inOrder = inOrder(termBuffer, headerWriter);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, tailValue, frameLength, TERM_ID);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tailValue, frameLength);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, paddingOffset, FRAME_ALIGNMENT, TERM_ID);
+        inOrder.verify(termBuffer, times(1))
+            .putShort(typeOffset(paddingOffset), (short)PADDING_FRAME_TYPE, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(paddingOffset, FRAME_ALIGNMENT);
+    }
+
+    @Test
+    public void shouldClaimBatchWithSingleTailUpdate()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int[] lengths = { 20, 100 };
+        final BufferClaim[] bufferClaims = { new BufferClaim(), new BufferClaim() };
+        final int firstAlignedLength = align(lengths[0] + headerLength, FRAME_ALIGNMENT);
+        final int secondAlignedLength = align(lengths[1] + headerLength, FRAME_ALIGNMENT);
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, 0));
+
+        final long batchResult = termAppender.claimBatch(headerWriter, lengths, bufferClaims, 2, TERM_ID);
+
+        assertEquals(firstAlignedLength + secondAlignedLength, TermAppender.batchResultingOffset(batchResult));
+        assertEquals(2, TermAppender.batchCount(batchResult));
+        assertEquals(lengths[0], bufferClaims[0].length());
+        assertEquals(lengths[1], bufferClaims[1].length());
+
+        final InOrder inOrder = inOrder(headerWriter);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, 0, lengths[0] + headerLength, TERM_ID);
+        inOrder.verify(headerWriter, times(1))
+            .write(termBuffer, firstAlignedLength, lengths[1] + headerLength, TERM_ID);
+    }
+
     @Test
     public void shouldPadLogWhenAppendingWithInsufficientRemainingCapacity()
     {
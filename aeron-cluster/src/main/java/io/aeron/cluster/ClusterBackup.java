@@ -23,6 +23,7 @@ import io.aeron.cluster.codecs.mark.ClusterComponentType;
 import io.aeron.cluster.service.ClusterMarkFile;
 import io.aeron.cluster.service.ClusteredServiceContainer;
 import io.aeron.exceptions.ConcurrentConcludeException;
+import io.aeron.exceptions.ConfigurationException;
 import org.agrona.CloseHelper;
 import org.agrona.ErrorHandler;
 import org.agrona.IoUtil;
@@ -69,6 +70,11 @@ public final class ClusterBackup implements AutoCloseable
      */
     public static final int CLUSTER_BACKUP_ERROR_COUNT_TYPE_ID = 211;
 
+    /**
+     * The type id of the {@link Counter} used for the bytes reclaimed by compacting the backup.
+     */
+    public static final int COMPACTED_BYTES_TYPE_ID = 216;
+
     enum State
     {
         INIT(0),
@@ -257,6 +263,19 @@ public final class ClusterBackup implements AutoCloseable
          */
         public static final long CLUSTER_BACKUP_PROGRESS_TIMEOUT_DEFAULT_NS = TimeUnit.SECONDS.toNanos(10);
 
+        /**
+         * Number of the most recent snapshots retained by a cluster backup. When a newer snapshot is retrieved then
+         * older snapshots, and the log segments before the oldest retained snapshot, are purged from the archive.
+         * A value of 0 disables compaction so the backup grows without bound.
+         */
+        public static final String CLUSTER_BACKUP_RETAINED_SNAPSHOT_COUNT_PROP_NAME =
+            "aeron.cluster.backup.retained.snapshot.count";
+
+        /**
+         * Default number of snapshots retained by a cluster backup which disables compaction.
+         */
+        public static final int CLUSTER_BACKUP_RETAINED_SNAPSHOT_COUNT_DEFAULT = 0;
+
         static
         {
             final ClusterMember[] clusterMembers = ClusterMember.parse(ConsensusModule.Configuration.clusterMembers());
@@ -310,6 +329,18 @@ public final class ClusterBackup implements AutoCloseable
             return getDurationInNanos(
                 CLUSTER_BACKUP_PROGRESS_TIMEOUT_PROP_NAME, CLUSTER_BACKUP_PROGRESS_TIMEOUT_DEFAULT_NS);
         }
+
+        /**
+         * Number of the most recent snapshots retained by a cluster backup when compacting.
+         *
+         * @return number of the most recent snapshots retained by a cluster backup when compacting.
+         * @see #CLUSTER_BACKUP_RETAINED_SNAPSHOT_COUNT_PROP_NAME
+         */
+        public static int clusterBackupRetainedSnapshotCount()
+        {
+            return Integer.getInteger(
+                CLUSTER_BACKUP_RETAINED_SNAPSHOT_COUNT_PROP_NAME, CLUSTER_BACKUP_RETAINED_SNAPSHOT_COUNT_DEFAULT);
+        }
     }
 
     /**
@@ -334,6 +365,7 @@ public final class ClusterBackup implements AutoCloseable
         private long clusterBackupIntervalNs = Configuration.clusterBackupIntervalNs();
         private long clusterBackupResponseTimeoutNs = Configuration.clusterBackupResponseTimeoutNs();
         private long clusterBackupProgressTimeoutNs = Configuration.clusterBackupProgressTimeoutNs();
+        private int clusterBackupRetainedSnapshotCount = Configuration.clusterBackupRetainedSnapshotCount();
         private int errorBufferLength = ConsensusModule.Configuration.errorBufferLength();
 
         private boolean deleteDirOnStart = false;
@@ -353,6 +385,7 @@ public final class ClusterBackup implements AutoCloseable
         private Counter stateCounter;
         private Counter liveLogPositionCounter;
         private Counter nextQueryDeadlineMsCounter;
+        private Counter compactedBytesCounter;
 
         private AeronArchive.Context archiveContext;
         private ShutdownSignalBarrier shutdownSignalBarrier;
@@ -476,6 +509,17 @@ public final class ClusterBackup implements AutoCloseable
                 nextQueryDeadlineMsCounter = aeron.addCounter(QUERY_DEADLINE_TYPE_ID, "Next Query Deadline (ms)");
             }
 
+            if (null == compactedBytesCounter)
+            {
+                compactedBytesCounter = aeron.addCounter(COMPACTED_BYTES_TYPE_ID, "Backup Compacted Bytes");
+            }
+
+            if (clusterBackupRetainedSnapshotCount < 0)
+            {
+                throw new ConfigurationException(
+                    "clusterBackupRetainedSnapshotCount must not be negative: " + clusterBackupRetainedSnapshotCount);
+            }
+
             if (null == threadFactory)
             {
                 threadFactory = Thread::new;
@@ -1011,6 +1055,31 @@ public final class ClusterBackup implements AutoCloseable
             return clusterBackupProgressTimeoutNs;
         }
 
+        /**
+         * Number of the most recent snapshots retained by a cluster backup when compacting. Older snapshots and the
+         * log before the oldest retained snapshot are purged. A value of 0 disables compaction.
+         *
+         * @param clusterBackupRetainedSnapshotCount number of the most recent snapshots to retain.
+         * @return this for a fluent API.
+         * @see Configuration#CLUSTER_BACKUP_RETAINED_SNAPSHOT_COUNT_PROP_NAME
+         */
+        public Context clusterBackupRetainedSnapshotCount(final int clusterBackupRetainedSnapshotCount)
+        {
+            this.clusterBackupRetainedSnapshotCount = clusterBackupRetainedSnapshotCount;
+            return this;
+        }
+
+        /**
+         * Number of the most recent snapshots retained by a cluster backup when compacting.
+         *
+         * @return number of the most recent snapshots retained by a cluster backup when compacting.
+         * @see Configuration#CLUSTER_BACKUP_RETAINED_SNAPSHOT_COUNT_PROP_NAME
+         */
+        public int clusterBackupRetainedSnapshotCount()
+        {
+            return clusterBackupRetainedSnapshotCount;
+        }
+
         /**
          * String representing the cluster members member status endpoints.
          * <p>
@@ -1216,6 +1285,28 @@ public final class ClusterBackup implements AutoCloseable
             return this;
         }
 
+        /**
+         * Get the counter for the bytes reclaimed by compacting the backup.
+         *
+         * @return the counter for the bytes reclaimed by compacting the backup.
+         */
+        public Counter compactedBytesCounter()
+        {
+            return compactedBytesCounter;
+        }
+
+        /**
+         * Set the counter for the bytes reclaimed by compacting the backup.
+         *
+         * @param compactedBytesCounter the counter for the bytes reclaimed by compacting the backup.
+         * @return this for a fluent API.
+         */
+        public Context compactedBytesCounter(final Counter compactedBytesCounter)
+        {
+            this.compactedBytesCounter = compactedBytesCounter;
+            return this;
+        }
+
         /**
          * Get the {@link ClusterBackupEventsListener} in use for the backup agent.
          *
@@ -1290,6 +1381,7 @@ public final class ClusterBackup implements AutoCloseable
             {
                 CloseHelper.close(countedErrorHandler, stateCounter);
                 CloseHelper.close(countedErrorHandler, liveLogPositionCounter);
+                CloseHelper.close(countedErrorHandler, compactedBytesCounter);
             }
 
             CloseHelper.close(countedErrorHandler, markFile);
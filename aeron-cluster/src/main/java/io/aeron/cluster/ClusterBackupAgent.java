@@ -37,6 +37,7 @@ import org.agrona.concurrent.EpochClock;
 import org.agrona.concurrent.status.CountersReader;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static io.aeron.Aeron.NULL_VALUE;
@@ -67,6 +68,8 @@ public class ClusterBackupAgent implements Agent, UnavailableCounterHandler
     private final Counter stateCounter;
     private final Counter liveLogPositionCounter;
     private final Counter nextQueryDeadlineMsCounter;
+    private final Counter compactedBytesCounter;
+    private final RecordingExtent recordingExtent = new RecordingExtent();
     private final ClusterBackupEventsListener eventsListener;
     private final long backupResponseTimeoutMs;
     private final long backupQueryIntervalMs;
@@ -127,6 +130,7 @@ public class ClusterBackupAgent implements Agent, UnavailableCounterHandler
         stateCounter = ctx.stateCounter();
         liveLogPositionCounter = ctx.liveLogPositionCounter();
         nextQueryDeadlineMsCounter = ctx.nextQueryDeadlineMsCounter();
+        compactedBytesCounter = ctx.compactedBytesCounter();
     }
 
     public void onStart()
@@ -761,6 +765,20 @@ public class ClusterBackupAgent implements Agent, UnavailableCounterHandler
             eventsListener.onUpdatedRecordingLog(recordingLog, snapshotsRetrieved);
         }
 
+        if (!snapshotsRetrieved.isEmpty() && ctx.clusterBackupRetainedSnapshotCount() > 0)
+        {
+            final long liveLogPosition = NULL_COUNTER_ID != liveLogRecCounterId ?
+                aeron.countersReader().getCounterValue(liveLogRecCounterId) : NULL_POSITION;
+
+            compact(
+                recordingLog,
+                backupArchive,
+                recordingExtent,
+                ctx.clusterBackupRetainedSnapshotCount(),
+                liveLogPosition,
+                compactedBytesCounter);
+        }
+
         snapshotsRetrieved.clear();
         snapshotsToRetrieve.clear();
         snapshotLengthMap.clear();
@@ -803,6 +821,103 @@ public class ClusterBackupAgent implements Agent, UnavailableCounterHandler
         return workCount;
     }
 
+    /**
+     * Compact the backup so that only the most recent snapshots are retained along with the log from the position of
+     * the oldest retained snapshot. Older snapshot entries are invalidated and removed from the recording log and
+     * their recordings truncated, and the log recording has segments before the oldest retained snapshot purged.
+     *
+     * @param recordingLog          of the backup to compact.
+     * @param archive               holding the backup recordings.
+     * @param recordingExtent       to be reused when listing recordings.
+     * @param retainedSnapshotCount of consensus module snapshots to retain.
+     * @param liveLogPosition       recorded for the live log or {@link AeronArchive#NULL_POSITION} if not known.
+     * @param compactedBytesCounter to which the number of bytes reclaimed is added.
+     * @return the number of bytes reclaimed.
+     */
+    static long compact(
+        final RecordingLog recordingLog,
+        final AeronArchive archive,
+        final RecordingExtent recordingExtent,
+        final int retainedSnapshotCount,
+        final long liveLogPosition,
+        final Counter compactedBytesCounter)
+    {
+        final List<RecordingLog.Entry> entries = recordingLog.entries();
+        long compactPosition = NULL_POSITION;
+        int retainedCount = 0;
+
+        for (int i = entries.size() - 1; i >= 0; i--)
+        {
+            final RecordingLog.Entry entry = entries.get(i);
+            if (isValidSnapshot(entry) && ConsensusModule.Configuration.SERVICE_ID == entry.serviceId &&
+                ++retainedCount == retainedSnapshotCount)
+            {
+                compactPosition = entry.logPosition;
+                break;
+            }
+        }
+
+        if (NULL_POSITION == compactPosition)
+        {
+            return 0;
+        }
+
+        long compactedBytes = 0;
+        for (int i = 0, size = entries.size(); i < size; i++)
+        {
+            final RecordingLog.Entry entry = entries.get(i);
+            if (isValidSnapshot(entry) && entry.logPosition < compactPosition)
+            {
+                if (archive.listRecording(entry.recordingId, recordingExtent) > 0 &&
+                    NULL_POSITION != recordingExtent.stopPosition)
+                {
+                    archive.truncateRecording(entry.recordingId, recordingExtent.startPosition);
+                    compactedBytes += recordingExtent.stopPosition - recordingExtent.startPosition;
+                }
+
+                recordingLog.invalidateEntry(entry.leadershipTermId, entry.entryIndex);
+            }
+        }
+
+        recordingLog.compact();
+
+        final RecordingLog.Entry lastTerm = recordingLog.findLastTerm();
+        if (null != lastTerm && archive.listRecording(lastTerm.recordingId, recordingExtent) > 0)
+        {
+            final long startPosition = recordingExtent.startPosition;
+            final int termLength = recordingExtent.termBufferLength;
+            final int segmentLength = recordingExtent.segmentFileLength;
+            long recordedPosition = recordingExtent.stopPosition;
+            if (NULL_POSITION == recordedPosition)
+            {
+                recordedPosition = NULL_POSITION != liveLogPosition ? liveLogPosition : startPosition;
+            }
+
+            final long newStartPosition = AeronArchive.segmentFileBasePosition(
+                startPosition, Math.min(compactPosition, recordedPosition), termLength, segmentLength);
+            final long lowerBound = AeronArchive.segmentFileBasePosition(
+                startPosition, startPosition, termLength, segmentLength) + segmentLength;
+
+            if (newStartPosition >= lowerBound)
+            {
+                archive.purgeSegments(lastTerm.recordingId, newStartPosition);
+                compactedBytes += newStartPosition - startPosition;
+            }
+        }
+
+        if (compactedBytes > 0)
+        {
+            compactedBytesCounter.getAndAddOrdered(compactedBytes);
+        }
+
+        return compactedBytes;
+    }
+
+    private static boolean isValidSnapshot(final RecordingLog.Entry entry)
+    {
+        return entry.isValid && RecordingLog.ENTRY_TYPE_SNAPSHOT == entry.type;
+    }
+
     private void state(final ClusterBackup.State newState, final long nowMs)
     {
         stateChange(state, newState, nowMs);
@@ -793,6 +793,33 @@ public final class ClusterMember
         return true;
     }
 
+    /**
+     * Has a quorum of the members of the cluster reached the provided position in their log.
+     *
+     * @param clusterMembers   to check.
+     * @param position         to compare the {@link #logPosition()} against.
+     * @param leadershipTermId expected of the members.
+     * @return true if a quorum of members have reached this position otherwise false.
+     */
+    public static boolean hasQuorumReachedPosition(
+        final ClusterMember[] clusterMembers, final long position, final long leadershipTermId)
+    {
+        int threshold = quorumThreshold(clusterMembers.length);
+
+        for (final ClusterMember member : clusterMembers)
+        {
+            if (member.logPosition >= position && member.leadershipTermId == leadershipTermId)
+            {
+                if (--threshold <= 0)
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Reset the state of all cluster members.
      *
@@ -992,6 +1019,37 @@ public final class ClusterMember
         return true;
     }
 
+    /**
+     * Is the member the preferred candidate on a unanimous view so it can nominate without a random delay. The
+     * preferred candidate has a log ahead of all other members, or the lowest member id of those with an equal log,
+     * so at most one member is preferred.
+     *
+     * @param clusterMembers to compare the candidate against.
+     * @param candidate      for leadership.
+     * @return true if the candidate is preferred otherwise false.
+     */
+    public static boolean isPreferredCandidate(final ClusterMember[] clusterMembers, final ClusterMember candidate)
+    {
+        for (final ClusterMember member : clusterMembers)
+        {
+            if (member != candidate)
+            {
+                if (NULL_POSITION == member.logPosition)
+                {
+                    return false;
+                }
+
+                final int result = compareLog(candidate, member);
+                if (result < 0 || (0 == result && member.id < candidate.id))
+                {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Has the member achieved a quorum view to be a suitable candidate in an election.
      *
@@ -38,15 +38,20 @@ class ClusterSession
     }
 
     private boolean hasNewLeaderEventPending = false;
+    private boolean isCheckPending = false;
     private final long id;
     private long correlationId;
     private long openedLogPosition = Aeron.NULL_VALUE;
     private long closedLogPosition = Aeron.NULL_VALUE;
     private long timeOfLastActivityNs;
     private boolean isBackupSession = false;
+    private boolean isIngressThrottled = false;
+    private long ingressRateLimit = Aeron.NULL_VALUE;
+    private TokenBucket ingressTokenBucket;
     private final int responseStreamId;
     private final String responseChannel;
     private Publication responsePublication;
+    private boolean isSharedEgress;
     private State state;
     private String responseDetail = null;
     private EventCode eventCode = null;
@@ -90,8 +95,7 @@ class ClusterSession
 
     public void close(final ErrorHandler errorHandler)
     {
-        CloseHelper.close(errorHandler, responsePublication);
-        this.responsePublication = null;
+        disconnect(errorHandler);
         state(State.CLOSED);
     }
 
@@ -100,6 +104,37 @@ class ClusterSession
         return id;
     }
 
+    void ingressRateLimit(final long messagesPerSecond)
+    {
+        ingressRateLimit = messagesPerSecond;
+        ingressTokenBucket = null;
+    }
+
+    long ingressRateLimit()
+    {
+        return ingressRateLimit;
+    }
+
+    TokenBucket ingressTokenBucket()
+    {
+        return ingressTokenBucket;
+    }
+
+    void ingressTokenBucket(final TokenBucket tokenBucket)
+    {
+        ingressTokenBucket = tokenBucket;
+    }
+
+    boolean isIngressThrottled()
+    {
+        return isIngressThrottled;
+    }
+
+    void isIngressThrottled(final boolean isIngressThrottled)
+    {
+        this.isIngressThrottled = isIngressThrottled;
+    }
+
     int responseStreamId()
     {
         return responseStreamId;
@@ -121,25 +156,37 @@ class ClusterSession
         return closeReason;
     }
 
-    void connect(final Aeron aeron)
+    void connect(final Aeron aeron, final Publication sharedEgressPublication)
     {
         if (null != responsePublication)
         {
             throw new ClusterException("response publication already added");
         }
 
-        try
+        if (null != sharedEgressPublication)
         {
-            responsePublication = aeron.addPublication(responseChannel, responseStreamId);
+            responsePublication = sharedEgressPublication;
+            isSharedEgress = true;
         }
-        catch (final InvalidChannelException ignore)
+        else
         {
+            try
+            {
+                responsePublication = aeron.addPublication(responseChannel, responseStreamId);
+            }
+            catch (final InvalidChannelException ignore)
+            {
+            }
         }
     }
 
     void disconnect(final ErrorHandler errorHandler)
     {
-        CloseHelper.close(errorHandler, responsePublication);
+        if (!isSharedEgress)
+        {
+            CloseHelper.close(errorHandler, responsePublication);
+        }
+
         responsePublication = null;
     }
 
@@ -268,6 +315,16 @@ class ClusterSession
         return hasNewLeaderEventPending;
     }
 
+    void isCheckPending(final boolean flag)
+    {
+        isCheckPending = flag;
+    }
+
+    boolean isCheckPending()
+    {
+        return isCheckPending;
+    }
+
     boolean isBackupSession()
     {
         return isBackupSession;
@@ -89,6 +89,11 @@ class ClusterSessionProxy implements SessionProxy
         return false;
     }
 
+    public final void rateLimit(final long messagesPerSecond)
+    {
+        clusterSession.ingressRateLimit(messagesPerSecond);
+    }
+
     public final void reject()
     {
         clusterSession.reject(EventCode.AUTHENTICATION_REJECTED, ConsensusModule.Configuration.SESSION_REJECTED_MSG);
@@ -61,6 +61,7 @@ import static org.agrona.SystemUtil.getDurationInNanos;
  *               remove-member: [memberId] requests removal of a member specified in memberId.
  *              remove-passive: [memberId] requests removal of passive member specified in memberId.
  *                backup-query: [delay] schedules (or displays) time of next backup query for cluster backup.
+ *           snapshot-transfer: prints progress of snapshots retrieved by a dynamically joining member.
  *  invalidate-latest-snapshot: Mark the latest snapshot as invalid so previous is loaded.
  *                    snapshot: Trigger a snapshot on the leader.
  *                     suspend: Suspend reading from the ingress channel.
@@ -157,6 +158,10 @@ public class ClusterTool
                 }
                 break;
 
+            case "snapshot-transfer":
+                snapshotTransfer(System.out, clusterDir);
+                break;
+
             case "invalidate-latest-snapshot":
                 invalidateLatestSnapshot(System.out, clusterDir);
                 break;
@@ -596,6 +601,40 @@ public class ClusterTool
         return result.value;
     }
 
+    public static void snapshotTransfer(final PrintStream out, final File clusterDir)
+    {
+        if (markFileExists(clusterDir) || TIMEOUT_MS > 0)
+        {
+            try (ClusterMarkFile markFile = openMarkFile(clusterDir, null))
+            {
+                snapshotTransfer(out, markFile);
+            }
+        }
+        else
+        {
+            out.println(ClusterMarkFile.FILENAME + " does not exist.");
+        }
+    }
+
+    public static void snapshotTransfer(final PrintStream out, final ClusterMarkFile markFile)
+    {
+        final String aeronDirectoryName = markFile.decoder().aeronDirectory();
+
+        try (Aeron aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(aeronDirectoryName)))
+        {
+            final CountersReader countersReader = aeron.countersReader();
+
+            countersReader.forEach(
+                (counterId, typeId, keyBuffer, label) ->
+                {
+                    if (ConsensusModule.Configuration.SNAPSHOT_TRANSFER_BYTES_TYPE_ID == typeId)
+                    {
+                        out.println(label + " transferred=" + countersReader.getCounterValue(counterId));
+                    }
+                });
+        }
+    }
+
     public static boolean invalidateLatestSnapshot(final PrintStream out, final File clusterDir)
     {
         try (RecordingLog recordingLog = new RecordingLog(clusterDir))
@@ -864,6 +903,8 @@ public class ClusterTool
             "             remove-passive: [memberId] requests removal of passive member specified in memberId.");
         out.println(
             "               backup-query: [delay] display time of next backup query or set time of next backup query.");
+        out.println(
+            "          snapshot-transfer: prints progress of snapshots retrieved by a dynamically joining member.");
         out.println(
             " invalidate-latest-snapshot: Mark the latest snapshot as a invalid so previous is loaded.");
         out.println(
@@ -423,6 +423,16 @@ public class ConsensusModule implements AutoCloseable
          */
         public static final String SESSION_INVALID_VERSION_MSG = "invalid client version";
 
+        /**
+         * Message detail to be sent when a session is throttled due to exceeding its ingress rate limit.
+         */
+        public static final String SESSION_THROTTLED_MSG = "session ingress rate limit exceeded";
+
+        /**
+         * Message detail to be sent when a session is throttled due to the cluster exceeding its ingress rate limit.
+         */
+        public static final String CLUSTER_THROTTLED_MSG = "cluster ingress rate limit exceeded";
+
         /**
          * Channel to be used communicating cluster member status to each other. This can be used for default
          * configuration with the endpoints replaced with those provided by {@link #CLUSTER_MEMBERS_PROP_NAME}.
@@ -495,6 +505,21 @@ public class ConsensusModule implements AutoCloseable
          */
         public static final int ELECTION_STATE_TYPE_ID = Election.ELECTION_STATE_TYPE_ID;
 
+        /**
+         * Counter type id for the duration in nanoseconds of the last completed election.
+         */
+        public static final int ELECTION_DURATION_TYPE_ID = 217;
+
+        /**
+         * Counter type id for the bytes of snapshots retrieved from the leader by a dynamically joining member.
+         */
+        public static final int SNAPSHOT_TRANSFER_BYTES_TYPE_ID = 218;
+
+        /**
+         * Counter type id for the number of times sessions have been throttled from appending ingress to the log.
+         */
+        public static final int CLUSTER_INGRESS_THROTTLED_COUNT_TYPE_ID = 219;
+
         /**
          * The number of services in this cluster instance.
          *
@@ -517,6 +542,29 @@ public class ConsensusModule implements AutoCloseable
          */
         public static final int MAX_CONCURRENT_SESSIONS_DEFAULT = 10;
 
+        /**
+         * Maximum rate in messages per second at which ingress will be appended to the log across all sessions.
+         * Ingress beyond the rate is left in the client publications so they experience back pressure.
+         */
+        public static final String INGRESS_RATE_LIMIT_PROP_NAME = "aeron.cluster.ingress.rate.limit";
+
+        /**
+         * Default for the maximum ingress rate across all sessions is 0 which means unlimited.
+         */
+        public static final long INGRESS_RATE_LIMIT_DEFAULT = 0;
+
+        /**
+         * Maximum rate in messages per second at which ingress will be appended to the log for each session unless
+         * a limit for the session is set during authentication via
+         * {@link io.aeron.security.SessionProxy#rateLimit(long)}.
+         */
+        public static final String SESSION_INGRESS_RATE_LIMIT_PROP_NAME = "aeron.cluster.session.ingress.rate.limit";
+
+        /**
+         * Default for the maximum ingress rate for each session is 0 which means unlimited.
+         */
+        public static final long SESSION_INGRESS_RATE_LIMIT_DEFAULT = 0;
+
         /**
          * Timeout for a session if no activity is observed.
          */
@@ -579,6 +627,19 @@ public class ConsensusModule implements AutoCloseable
          */
         public static final long ELECTION_STATUS_INTERVAL_DEFAULT_NS = TimeUnit.MILLISECONDS.toNanos(20);
 
+        /**
+         * Should elections use the fast path of the preferred candidate nominating immediately on a unanimous
+         * canvass, ignoring vote requests while a leader is known to be alive, and closing once a quorum rather than
+         * all voters have reached the log position of the new leader. The preferred candidate has the most up to date
+         * log and the lowest member id of those with an equal log so only one member nominates without a delay.
+         */
+        public static final String ELECTION_FAST_PROP_NAME = "aeron.cluster.election.fast";
+
+        /**
+         * Default for the fast election mode is disabled.
+         */
+        public static final String ELECTION_FAST_DEFAULT = "false";
+
         /**
          * Interval at which a dynamic joining member will send add cluster member and snapshot recording
          * queries.
@@ -591,6 +652,18 @@ public class ConsensusModule implements AutoCloseable
          */
         public static final long DYNAMIC_JOIN_INTERVAL_DEFAULT_NS = TimeUnit.SECONDS.toNanos(1);
 
+        /**
+         * Maximum number of snapshots a dynamically joining member will retrieve from the leader concurrently. This
+         * limits the replays competing with the live log for the network and archive of the leader.
+         */
+        public static final String SNAPSHOT_TRANSFER_CONCURRENCY_PROP_NAME =
+            "aeron.cluster.dynamic.join.snapshot.transfer.concurrency";
+
+        /**
+         * Default maximum number of snapshots a dynamically joining member will retrieve from the leader concurrently.
+         */
+        public static final int SNAPSHOT_TRANSFER_CONCURRENCY_DEFAULT = 2;
+
         /**
          * Name of class to use as a supplier of {@link Authenticator} for the cluster.
          */
@@ -811,6 +884,28 @@ public class ConsensusModule implements AutoCloseable
             return Integer.getInteger(MAX_CONCURRENT_SESSIONS_PROP_NAME, MAX_CONCURRENT_SESSIONS_DEFAULT);
         }
 
+        /**
+         * Maximum rate in messages per second at which ingress will be appended to the log across all sessions.
+         *
+         * @return maximum rate in messages per second for ingress across all sessions, or 0 for unlimited.
+         * @see #INGRESS_RATE_LIMIT_PROP_NAME
+         */
+        public static long ingressRateLimit()
+        {
+            return Long.getLong(INGRESS_RATE_LIMIT_PROP_NAME, INGRESS_RATE_LIMIT_DEFAULT);
+        }
+
+        /**
+         * Maximum rate in messages per second at which ingress will be appended to the log for each session.
+         *
+         * @return maximum rate in messages per second for ingress from each session, or 0 for unlimited.
+         * @see #SESSION_INGRESS_RATE_LIMIT_PROP_NAME
+         */
+        public static long sessionIngressRateLimit()
+        {
+            return Long.getLong(SESSION_INGRESS_RATE_LIMIT_PROP_NAME, SESSION_INGRESS_RATE_LIMIT_DEFAULT);
+        }
+
         /**
          * Timeout for a session if no activity is observed.
          *
@@ -877,6 +972,17 @@ public class ConsensusModule implements AutoCloseable
             return getDurationInNanos(ELECTION_STATUS_INTERVAL_PROP_NAME, ELECTION_STATUS_INTERVAL_DEFAULT_NS);
         }
 
+        /**
+         * Should elections use the fast path.
+         *
+         * @return true if elections should use the fast path.
+         * @see #ELECTION_FAST_PROP_NAME
+         */
+        public static boolean isFastElection()
+        {
+            return "true".equalsIgnoreCase(System.getProperty(ELECTION_FAST_PROP_NAME, ELECTION_FAST_DEFAULT));
+        }
+
         /**
          * Interval at which a dynamic joining member will send out add cluster members and snapshot recording
          * queries.
@@ -890,6 +996,17 @@ public class ConsensusModule implements AutoCloseable
             return getDurationInNanos(DYNAMIC_JOIN_INTERVAL_PROP_NAME, DYNAMIC_JOIN_INTERVAL_DEFAULT_NS);
         }
 
+        /**
+         * Maximum number of snapshots a dynamically joining member will retrieve from the leader concurrently.
+         *
+         * @return maximum number of snapshots a dynamically joining member will retrieve from the leader concurrently.
+         * @see #SNAPSHOT_TRANSFER_CONCURRENCY_PROP_NAME
+         */
+        public static int snapshotTransferConcurrency()
+        {
+            return Integer.getInteger(SNAPSHOT_TRANSFER_CONCURRENCY_PROP_NAME, SNAPSHOT_TRANSFER_CONCURRENCY_DEFAULT);
+        }
+
         /**
          * Timeout waiting for follower termination by leader.
          *
@@ -1035,6 +1152,8 @@ public class ConsensusModule implements AutoCloseable
         private String clusterMembers = Configuration.clusterMembers();
         private String clusterMembersStatusEndpoints = Configuration.clusterMembersStatusEndpoints();
         private boolean clusterMembersIgnoreSnapshot = Configuration.clusterMembersIgnoreSnapshot();
+        private String sharedEgressChannel = ClusteredServiceContainer.Configuration.sharedEgressChannel();
+        private int sharedEgressStreamId = ClusteredServiceContainer.Configuration.sharedEgressStreamId();
         private String ingressChannel = AeronCluster.Configuration.ingressChannel();
         private int ingressStreamId = AeronCluster.Configuration.ingressStreamId();
         private int ingressFragmentLimit = Configuration.ingressFragmentLimit();
@@ -1054,6 +1173,8 @@ public class ConsensusModule implements AutoCloseable
         private int serviceCount = Configuration.serviceCount();
         private int errorBufferLength = Configuration.errorBufferLength();
         private int maxConcurrentSessions = Configuration.maxConcurrentSessions();
+        private long ingressRateLimit = Configuration.ingressRateLimit();
+        private long sessionIngressRateLimit = Configuration.sessionIngressRateLimit();
         private int ticksPerWheel = Configuration.ticksPerWheel();
         private long wheelTickResolutionNs = Configuration.wheelTickResolutionNs();
         private long sessionTimeoutNs = Configuration.sessionTimeoutNs();
@@ -1062,7 +1183,9 @@ public class ConsensusModule implements AutoCloseable
         private long startupCanvassTimeoutNs = Configuration.startupCanvassTimeoutNs();
         private long electionTimeoutNs = Configuration.electionTimeoutNs();
         private long electionStatusIntervalNs = Configuration.electionStatusIntervalNs();
+        private boolean isFastElection = Configuration.isFastElection();
         private long dynamicJoinIntervalNs = Configuration.dynamicJoinIntervalNs();
+        private int snapshotTransferConcurrency = Configuration.snapshotTransferConcurrency();
         private long terminationTimeoutNs = Configuration.terminationTimeoutNs();
 
         private ThreadFactory threadFactory;
@@ -1077,6 +1200,7 @@ public class ConsensusModule implements AutoCloseable
         private CountedErrorHandler countedErrorHandler;
 
         private Counter electionStateCounter;
+        private Counter electionDurationCounter;
         private Counter moduleStateCounter;
         private Counter clusterNodeRoleCounter;
         private Counter commitPosition;
@@ -1084,6 +1208,8 @@ public class ConsensusModule implements AutoCloseable
         private Counter snapshotCounter;
         private Counter invalidRequestCounter;
         private Counter timedOutClientCounter;
+        private Counter sessionIngressThrottledCounter;
+        private Counter clusterIngressThrottledCounter;
         private ShutdownSignalBarrier shutdownSignalBarrier;
         private Runnable terminationHook;
 
@@ -1132,6 +1258,12 @@ public class ConsensusModule implements AutoCloseable
                 throw new ClusterException("failed to create cluster dir: " + clusterDir.getAbsolutePath());
             }
 
+            if (snapshotTransferConcurrency < 1)
+            {
+                throw new ClusterException(
+                    "snapshotTransferConcurrency must be positive: " + snapshotTransferConcurrency);
+            }
+
             if (null == tempBuffer)
             {
                 tempBuffer = new UnsafeBuffer(new byte[METADATA_LENGTH]);
@@ -1215,6 +1347,11 @@ public class ConsensusModule implements AutoCloseable
                 electionStateCounter = aeron.addCounter(ELECTION_STATE_TYPE_ID, "Election State");
             }
 
+            if (null == electionDurationCounter)
+            {
+                electionDurationCounter = aeron.addCounter(ELECTION_DURATION_TYPE_ID, "Election duration ns");
+            }
+
             if (null == moduleStateCounter)
             {
                 moduleStateCounter = aeron.addCounter(CONSENSUS_MODULE_STATE_TYPE_ID, "Consensus module state");
@@ -1252,6 +1389,18 @@ public class ConsensusModule implements AutoCloseable
                     CLUSTER_CLIENT_TIMEOUT_COUNT_TYPE_ID, "Timed out cluster client count");
             }
 
+            if (null == sessionIngressThrottledCounter)
+            {
+                sessionIngressThrottledCounter = aeron.addCounter(
+                    CLUSTER_INGRESS_THROTTLED_COUNT_TYPE_ID, "Ingress throttled count: reason=session rate limit");
+            }
+
+            if (null == clusterIngressThrottledCounter)
+            {
+                clusterIngressThrottledCounter = aeron.addCounter(
+                    CLUSTER_INGRESS_THROTTLED_COUNT_TYPE_ID, "Ingress throttled count: reason=cluster rate limit");
+            }
+
             if (null == threadFactory)
             {
                 threadFactory = Thread::new;
@@ -1647,6 +1796,56 @@ public class ConsensusModule implements AutoCloseable
             return clusterMembersIgnoreSnapshot;
         }
 
+        /**
+         * Set the channel on which egress for all sessions is published rather than a publication per session on
+         * its response channel. Null for a publication per session.
+         *
+         * @param channel on which egress for all sessions is published or null.
+         * @return this for a fluent API.
+         * @see io.aeron.cluster.service.ClusteredServiceContainer.Configuration#SHARED_EGRESS_CHANNEL_PROP_NAME
+         */
+        public Context sharedEgressChannel(final String channel)
+        {
+            sharedEgressChannel = channel;
+            return this;
+        }
+
+        /**
+         * Get the channel on which egress for all sessions is published rather than a publication per session on
+         * its response channel.
+         *
+         * @return the channel on which egress for all sessions is published or null if not shared.
+         * @see io.aeron.cluster.service.ClusteredServiceContainer.Configuration#SHARED_EGRESS_CHANNEL_PROP_NAME
+         */
+        public String sharedEgressChannel()
+        {
+            return sharedEgressChannel;
+        }
+
+        /**
+         * Set the stream id within the shared egress channel.
+         *
+         * @param streamId within the shared egress channel.
+         * @return this for a fluent API.
+         * @see io.aeron.cluster.service.ClusteredServiceContainer.Configuration#SHARED_EGRESS_STREAM_ID_PROP_NAME
+         */
+        public Context sharedEgressStreamId(final int streamId)
+        {
+            sharedEgressStreamId = streamId;
+            return this;
+        }
+
+        /**
+         * Get the stream id within the shared egress channel.
+         *
+         * @return the stream id within the shared egress channel.
+         * @see io.aeron.cluster.service.ClusteredServiceContainer.Configuration#SHARED_EGRESS_STREAM_ID_PROP_NAME
+         */
+        public int sharedEgressStreamId()
+        {
+            return sharedEgressStreamId;
+        }
+
         /**
          * Set the channel parameter for the ingress channel.
          *
@@ -2107,6 +2306,58 @@ public class ConsensusModule implements AutoCloseable
             return maxConcurrentSessions;
         }
 
+        /**
+         * Set the maximum rate in messages per second at which ingress will be appended to the log across all
+         * sessions.
+         *
+         * @param ingressRateLimit in messages per second, or 0 for unlimited.
+         * @return this for a fluent API
+         * @see Configuration#INGRESS_RATE_LIMIT_PROP_NAME
+         */
+        public Context ingressRateLimit(final long ingressRateLimit)
+        {
+            this.ingressRateLimit = ingressRateLimit;
+            return this;
+        }
+
+        /**
+         * Get the maximum rate in messages per second at which ingress will be appended to the log across all
+         * sessions.
+         *
+         * @return the maximum rate in messages per second for ingress across all sessions, or 0 for unlimited.
+         * @see Configuration#INGRESS_RATE_LIMIT_PROP_NAME
+         */
+        public long ingressRateLimit()
+        {
+            return ingressRateLimit;
+        }
+
+        /**
+         * Set the default maximum rate in messages per second at which ingress will be appended to the log for each
+         * session.
+         *
+         * @param sessionIngressRateLimit in messages per second, or 0 for unlimited.
+         * @return this for a fluent API
+         * @see Configuration#SESSION_INGRESS_RATE_LIMIT_PROP_NAME
+         */
+        public Context sessionIngressRateLimit(final long sessionIngressRateLimit)
+        {
+            this.sessionIngressRateLimit = sessionIngressRateLimit;
+            return this;
+        }
+
+        /**
+         * Get the default maximum rate in messages per second at which ingress will be appended to the log for each
+         * session.
+         *
+         * @return the maximum rate in messages per second for ingress from each session, or 0 for unlimited.
+         * @see Configuration#SESSION_INGRESS_RATE_LIMIT_PROP_NAME
+         */
+        public long sessionIngressRateLimit()
+        {
+            return sessionIngressRateLimit;
+        }
+
         /**
          * Timeout for a session if no activity is observed.
          *
@@ -2255,6 +2506,34 @@ public class ConsensusModule implements AutoCloseable
             return electionStatusIntervalNs;
         }
 
+        /**
+         * Should elections use the fast path of the preferred candidate nominating immediately on a unanimous
+         * canvass, ignoring vote requests while a leader is known to be alive, and closing once a quorum has reached
+         * the log position of the leader.
+         *
+         * @param isFastElection true if elections should use the fast path.
+         * @return this for a fluent API.
+         * @see Configuration#ELECTION_FAST_PROP_NAME
+         */
+        public Context isFastElection(final boolean isFastElection)
+        {
+            this.isFastElection = isFastElection;
+            return this;
+        }
+
+        /**
+         * Should elections use the fast path of the preferred candidate nominating immediately on a unanimous
+         * canvass, ignoring vote requests while a leader is known to be alive, and closing once a quorum has reached
+         * the log position of the leader.
+         *
+         * @return true if elections should use the fast path.
+         * @see Configuration#ELECTION_FAST_PROP_NAME
+         */
+        public boolean isFastElection()
+        {
+            return isFastElection;
+        }
+
         /**
          * Interval at which a dynamic joining member will send add cluster member and snapshot recording queries.
          *
@@ -2282,6 +2561,30 @@ public class ConsensusModule implements AutoCloseable
             return dynamicJoinIntervalNs;
         }
 
+        /**
+         * Maximum number of snapshots a dynamically joining member will retrieve from the leader concurrently.
+         *
+         * @param snapshotTransferConcurrency maximum number of snapshots to retrieve concurrently.
+         * @return this for a fluent API.
+         * @see Configuration#SNAPSHOT_TRANSFER_CONCURRENCY_PROP_NAME
+         */
+        public Context snapshotTransferConcurrency(final int snapshotTransferConcurrency)
+        {
+            this.snapshotTransferConcurrency = snapshotTransferConcurrency;
+            return this;
+        }
+
+        /**
+         * Maximum number of snapshots a dynamically joining member will retrieve from the leader concurrently.
+         *
+         * @return maximum number of snapshots to retrieve concurrently.
+         * @see Configuration#SNAPSHOT_TRANSFER_CONCURRENCY_PROP_NAME
+         */
+        public int snapshotTransferConcurrency()
+        {
+            return snapshotTransferConcurrency;
+        }
+
         /**
          * Timeout to wait for follower termination by leader.
          *
@@ -2486,6 +2789,28 @@ public class ConsensusModule implements AutoCloseable
             return this;
         }
 
+        /**
+         * Get the counter for the duration in nanoseconds of the last completed election.
+         *
+         * @return the counter for the duration in nanoseconds of the last completed election.
+         */
+        public Counter electionDurationCounter()
+        {
+            return electionDurationCounter;
+        }
+
+        /**
+         * Set the counter for the duration in nanoseconds of the last completed election.
+         *
+         * @param electionDurationCounter for the duration in nanoseconds of the last completed election.
+         * @return this for a fluent API.
+         */
+        public Context electionDurationCounter(final Counter electionDurationCounter)
+        {
+            this.electionDurationCounter = electionDurationCounter;
+            return this;
+        }
+
         /**
          * Get the counter for the current state of the consensus module.
          *
@@ -2652,6 +2977,50 @@ public class ConsensusModule implements AutoCloseable
             return this;
         }
 
+        /**
+         * Get the counter for the count of times sessions have been throttled by their session ingress rate limit.
+         *
+         * @return the counter for the count of times sessions have been throttled by their session ingress rate limit.
+         */
+        public Counter sessionIngressThrottledCounter()
+        {
+            return sessionIngressThrottledCounter;
+        }
+
+        /**
+         * Set the counter for the count of times sessions have been throttled by their session ingress rate limit.
+         *
+         * @param sessionIngressThrottledCounter the count of times sessions have been throttled by their limit.
+         * @return this for a fluent API.
+         */
+        public Context sessionIngressThrottledCounter(final Counter sessionIngressThrottledCounter)
+        {
+            this.sessionIngressThrottledCounter = sessionIngressThrottledCounter;
+            return this;
+        }
+
+        /**
+         * Get the counter for the count of times sessions have been throttled by the cluster ingress rate limit.
+         *
+         * @return the counter for the count of times sessions have been throttled by the cluster ingress rate limit.
+         */
+        public Counter clusterIngressThrottledCounter()
+        {
+            return clusterIngressThrottledCounter;
+        }
+
+        /**
+         * Set the counter for the count of times sessions have been throttled by the cluster ingress rate limit.
+         *
+         * @param clusterIngressThrottledCounter the count of times sessions have been throttled by the cluster limit.
+         * @return this for a fluent API.
+         */
+        public Context clusterIngressThrottledCounter(final Counter clusterIngressThrottledCounter)
+        {
+            this.clusterIngressThrottledCounter = clusterIngressThrottledCounter;
+            return this;
+        }
+
         /**
          * {@link Aeron} client for communicating with the local Media Driver.
          * <p>
@@ -2943,11 +3312,14 @@ public class ConsensusModule implements AutoCloseable
                     moduleStateCounter,
                     clusterNodeRoleCounter,
                     electionStateCounter,
+                    electionDurationCounter,
                     commitPosition,
                     controlToggle,
                     snapshotCounter,
                     invalidRequestCounter,
-                    timedOutClientCounter);
+                    timedOutClientCounter,
+                    sessionIngressThrottledCounter,
+                    clusterIngressThrottledCounter);
             }
         }
 
@@ -105,6 +105,9 @@ class ConsensusModuleAgent implements Agent
     private final Counter moduleState;
     private final Counter controlToggle;
     private final TimerService timerService;
+    private final SessionTimeouts sessionTimeouts;
+    private final TokenBucket ingressTokenBucket;
+    private final Publication sharedEgressPublication;
     private final ConsensusModuleAdapter consensusModuleAdapter;
     private final ServiceProxy serviceProxy;
     private final IngressAdapter ingressAdapter;
@@ -117,6 +120,8 @@ class ConsensusModuleAgent implements Agent
     private final ArrayList<ClusterSession> pendingSessions = new ArrayList<>();
     private final ArrayList<ClusterSession> rejectedSessions = new ArrayList<>();
     private final ArrayList<ClusterSession> redirectSessions = new ArrayList<>();
+    private final ArrayList<ClusterSession> sessionsToCheck = new ArrayList<>();
+    private final ArrayList<ClusterSession> timedOutSessions = new ArrayList<>();
     private final Int2ObjectHashMap<ClusterMember> clusterMemberByIdMap = new Int2ObjectHashMap<>();
     private final Long2LongCounterMap expiredTimerCountByCorrelationIdMap = new Long2LongCounterMap(0);
     private final ArrayDeque<ClusterSession> uncommittedClosedSessions = new ArrayDeque<>();
@@ -168,8 +173,17 @@ class ConsensusModuleAgent implements Agent
             0,
             findNextPositivePowerOfTwo(clusterTimeUnit.convert(ctx.wheelTickResolutionNs(), TimeUnit.NANOSECONDS)),
             ctx.ticksPerWheel());
+        this.sessionTimeouts = new SessionTimeouts(
+            sessionTimeoutNs,
+            clusterClock.timeNanos(),
+            findNextPositivePowerOfTwo(ctx.wheelTickResolutionNs()),
+            ctx.ticksPerWheel());
+        this.ingressTokenBucket = ctx.ingressRateLimit() > 0 ?
+            new TokenBucket(ctx.ingressRateLimit(), clusterClock.timeNanos()) : null;
         this.clusterMembers = ClusterMember.parse(ctx.clusterMembers());
         this.sessionProxy = new ClusterSessionProxy(egressPublisher);
+        this.sharedEgressPublication = null != ctx.sharedEgressChannel() ?
+            aeron.addPublication(ctx.sharedEgressChannel(), ctx.sharedEgressStreamId()) : null;
         this.memberId = ctx.clusterMemberId();
         this.clusterRoleCounter = ctx.clusterNodeRoleCounter();
         this.markFile = ctx.clusterMarkFile();
@@ -229,6 +243,7 @@ class ConsensusModuleAgent implements Agent
                 session.close(errorHandler);
             }
 
+            CloseHelper.close(errorHandler, sharedEgressPublication);
             CloseHelper.close(errorHandler, ingressAdapter);
             ClusterMember.closeMemberPublications(errorHandler, clusterMembers);
             CloseHelper.close(errorHandler, memberStatusAdapter);
@@ -337,7 +352,7 @@ class ConsensusModuleAgent implements Agent
         final ClusterSession session = new ClusterSession(clusterSessionId, responseStreamId, responseChannel);
         final long now = clusterClock.time();
         session.lastActivityNs(clusterTimeUnit.toNanos(now), correlationId);
-        session.connect(aeron);
+        session.connect(aeron, sharedEgressPublication);
 
         if (Cluster.Role.LEADER != role)
         {
@@ -378,6 +393,7 @@ class ConsensusModuleAgent implements Agent
                 session.closedLogPosition(logPublisher.position());
                 uncommittedClosedSessions.addLast(session);
                 sessionByIdMap.remove(clusterSessionId);
+                sessionTimeouts.cancel(session);
                 session.close(ctx.errorHandler());
             }
         }
@@ -404,9 +420,16 @@ class ConsensusModuleAgent implements Agent
         if (session.state() == OPEN)
         {
             final long now = clusterClock.time();
+            final long nowNs = clusterTimeUnit.toNanos(now);
+            if (!isIngressAdmitted(session, nowNs))
+            {
+                return ControlledFragmentHandler.Action.ABORT;
+            }
+
             if (logPublisher.appendMessage(leadershipTermId, clusterSessionId, now, buffer, offset, length) > 0)
             {
-                session.timeOfLastActivityNs(clusterTimeUnit.toNanos(now));
+                consumeIngressTokens(session);
+                session.timeOfLastActivityNs(nowNs);
                 return ControlledFragmentHandler.Action.CONTINUE;
             }
         }
@@ -414,6 +437,18 @@ class ConsensusModuleAgent implements Agent
         return ControlledFragmentHandler.Action.ABORT;
     }
 
+    public ControlledFragmentAssembler.Action onReadQuery(
+        final long clusterSessionId, final DirectBuffer buffer, final int offset, final int length)
+    {
+        final ClusterSession session = sessionByIdMap.get(clusterSessionId);
+        if (null == session || session.state() != OPEN || serviceProxy.readQuery(buffer, offset, length))
+        {
+            return ControlledFragmentHandler.Action.CONTINUE;
+        }
+
+        return ControlledFragmentHandler.Action.ABORT;
+    }
+
     public void onSessionKeepAlive(final long leadershipTermId, final long clusterSessionId)
     {
         if (Cluster.Role.LEADER == role && leadershipTermId == this.leadershipTermId)
@@ -500,6 +535,24 @@ class ConsensusModuleAgent implements Agent
         }
         else if (candidateTermId > leadershipTermId)
         {
+            if (ctx.isFastElection() && isLeaderAlive(clusterClock.timeNanos()))
+            {
+                final ClusterMember candidate = clusterMemberByIdMap.get(candidateId);
+                if (null != candidate)
+                {
+                    memberStatusPublisher.placeVote(
+                        candidate.publication(),
+                        candidateTermId,
+                        leadershipTermId,
+                        appendPosition.get(),
+                        candidateId,
+                        memberId,
+                        false);
+                }
+
+                return;
+            }
+
             ctx.countedErrorHandler().onError(new ClusterException(
                 "unexpected vote request", AeronException.Category.WARN));
             enterElection(clusterClock.timeNanos());
@@ -760,7 +813,7 @@ class ConsensusModuleAgent implements Agent
             final long now = clusterClock.time();
             session.lastActivityNs(clusterTimeUnit.toNanos(now), correlationId);
             session.markAsBackupSession();
-            session.connect(aeron);
+            session.connect(aeron, sharedEgressPublication);
 
             if (AeronCluster.Configuration.PROTOCOL_MAJOR_VERSION != SemanticVersion.major(version))
             {
@@ -933,6 +986,16 @@ class ConsensusModuleAgent implements Agent
         }
     }
 
+    ClusterMember clusterMember(final int memberId)
+    {
+        return clusterMemberByIdMap.get(memberId);
+    }
+
+    SessionTimeouts sessionTimeouts()
+    {
+        return sessionTimeouts;
+    }
+
     void appendPositionCounter(final ReadableCounter appendPositionCounter)
     {
         appendPosition = appendPositionCounter;
@@ -946,6 +1009,7 @@ class ConsensusModuleAgent implements Agent
             if (session.openedLogPosition() > logPosition)
             {
                 i.remove();
+                sessionTimeouts.cancel(session);
                 egressPublisher.sendEvent(session, leadershipTermId, memberId, EventCode.CLOSED, "election");
                 session.close(ctx.countedErrorHandler());
             }
@@ -975,6 +1039,7 @@ class ConsensusModuleAgent implements Agent
                 session.closedLogPosition(logPublisher.position());
                 uncommittedClosedSessions.addLast(session);
                 sessionByIdMap.remove(clusterSessionId);
+                sessionTimeouts.cancel(session);
                 session.close(ctx.errorHandler());
             }
         }
@@ -1102,6 +1167,7 @@ class ConsensusModuleAgent implements Agent
         session.lastActivityNs(clusterTimeUnit.toNanos(timestamp), correlationId);
 
         sessionByIdMap.put(clusterSessionId, session);
+        sessionTimeouts.schedule(session);
         if (clusterSessionId >= nextSessionId)
         {
             nextSessionId = clusterSessionId + 1;
@@ -1113,6 +1179,7 @@ class ConsensusModuleAgent implements Agent
         final ClusterSession clusterSession = sessionByIdMap.remove(clusterSessionId);
         if (null != clusterSession)
         {
+            sessionTimeouts.cancel(clusterSession);
             clusterSession.closing(closeReason);
             clusterSession.close(ctx.countedErrorHandler());
         }
@@ -1238,14 +1305,17 @@ class ConsensusModuleAgent implements Agent
         final int responseStreamId,
         final String responseChannel)
     {
-        sessionByIdMap.put(clusterSessionId, new ClusterSession(
+        final ClusterSession session = new ClusterSession(
             clusterSessionId,
             correlationId,
             openedPosition,
             timeOfLastActivity,
             responseStreamId,
             responseChannel,
-            closeReason));
+            closeReason);
+
+        sessionByIdMap.put(clusterSessionId, session);
+        sessionTimeouts.schedule(session);
 
         if (clusterSessionId >= nextSessionId)
         {
@@ -1332,7 +1402,7 @@ class ConsensusModuleAgent implements Agent
             {
                 if (session.state() == OPEN)
                 {
-                    session.connect(aeron);
+                    session.connect(aeron, sharedEgressPublication);
                 }
             }
 
@@ -1343,6 +1413,7 @@ class ConsensusModuleAgent implements Agent
                 {
                     session.timeOfLastActivityNs(nowNs);
                     session.hasNewLeaderEventPending(true);
+                    queueSessionCheck(session);
                 }
             }
         }
@@ -1819,7 +1890,7 @@ class ConsensusModuleAgent implements Agent
                 if (ConsensusModule.State.ACTIVE == state)
                 {
                     workCount += processPendingSessions(pendingSessions, nowMs, nowNs);
-                    workCount += checkSessions(sessionByIdMap, nowNs);
+                    workCount += checkSessions(sessionsToCheck, nowNs);
                     workCount += processPassiveMembers(passiveMembers);
 
                     if (!ClusterMember.hasActiveQuorum(clusterMembers, nowNs, leaderHeartbeatTimeoutNs))
@@ -2086,7 +2157,9 @@ class ConsensusModuleAgent implements Agent
                     ArrayListUtil.fastUnorderedRemove(pendingSessions, i, lastIndex--);
                     session.timeOfLastActivityNs(nowNs);
                     sessionByIdMap.put(session.id(), session);
+                    sessionTimeouts.schedule(session);
                     appendSessionOpen(session);
+                    queueSessionCheck(session);
                 }
 
                 workCount += 1;
@@ -2199,70 +2272,104 @@ class ConsensusModuleAgent implements Agent
         return workCount;
     }
 
-    private int checkSessions(final Long2ObjectHashMap<ClusterSession> sessionByIdMap, final long nowNs)
+    private int checkSessions(final ArrayList<ClusterSession> sessionsToCheck, final long nowNs)
     {
-        int workCount = 0;
+        int workCount = sessionTimeouts.poll(nowNs, timedOutSessions);
 
-        for (final Iterator<ClusterSession> i = sessionByIdMap.values().iterator(); i.hasNext(); )
+        for (int i = 0, size = timedOutSessions.size(); i < size; i++)
         {
-            final ClusterSession session = i.next();
+            queueSessionCheck(timedOutSessions.get(i));
+        }
+        timedOutSessions.clear();
+
+        for (int lastIndex = sessionsToCheck.size() - 1, i = lastIndex; i >= 0; i--)
+        {
+            final ClusterSession session = sessionsToCheck.get(i);
 
-            if (nowNs > (session.timeOfLastActivityNs() + sessionTimeoutNs))
+            if (sessionByIdMap.get(session.id()) == session)
             {
-                if (session.state() == OPEN)
+                if (nowNs > (session.timeOfLastActivityNs() + sessionTimeoutNs))
                 {
-                    session.closing(CloseReason.TIMEOUT);
-                    if (logPublisher.appendSessionClose(session, leadershipTermId, clusterClock.time()))
+                    if (session.state() == OPEN)
                     {
-                        final String msg = session.closeReason().name();
-                        egressPublisher.sendEvent(session, leadershipTermId, memberId, EventCode.CLOSED, msg);
-                        session.closedLogPosition(logPublisher.position());
-                        uncommittedClosedSessions.addLast(session);
-                        i.remove();
-                        session.close(ctx.countedErrorHandler());
-                        ctx.timedOutClientCounter().incrementOrdered();
+                        session.closing(CloseReason.TIMEOUT);
+                        if (logPublisher.appendSessionClose(session, leadershipTermId, clusterClock.time()))
+                        {
+                            final String msg = session.closeReason().name();
+                            egressPublisher.sendEvent(session, leadershipTermId, memberId, EventCode.CLOSED, msg);
+                            session.closedLogPosition(logPublisher.position());
+                            uncommittedClosedSessions.addLast(session);
+                            sessionByIdMap.remove(session.id());
+                            sessionTimeouts.cancel(session);
+                            session.close(ctx.countedErrorHandler());
+                            ctx.timedOutClientCounter().incrementOrdered();
+                        }
                     }
-                }
-                else if (session.state() == CLOSING)
-                {
-                    if (logPublisher.appendSessionClose(session, leadershipTermId, clusterClock.time()))
+                    else if (session.state() == CLOSING)
                     {
-                        final String msg = session.closeReason().name();
-                        egressPublisher.sendEvent(session, leadershipTermId, memberId, EventCode.CLOSED, msg);
-                        session.closedLogPosition(logPublisher.position());
-                        uncommittedClosedSessions.addLast(session);
-                        i.remove();
-                        session.close(ctx.errorHandler());
-
-                        if (session.closeReason() == CloseReason.TIMEOUT)
+                        if (logPublisher.appendSessionClose(session, leadershipTermId, clusterClock.time()))
                         {
-                            ctx.timedOutClientCounter().incrementOrdered();
+                            final String msg = session.closeReason().name();
+                            egressPublisher.sendEvent(session, leadershipTermId, memberId, EventCode.CLOSED, msg);
+                            session.closedLogPosition(logPublisher.position());
+                            uncommittedClosedSessions.addLast(session);
+                            sessionByIdMap.remove(session.id());
+                            sessionTimeouts.cancel(session);
+                            session.close(ctx.errorHandler());
+
+                            if (session.closeReason() == CloseReason.TIMEOUT)
+                            {
+                                ctx.timedOutClientCounter().incrementOrdered();
+                            }
                         }
                     }
+                    else
+                    {
+                        sessionByIdMap.remove(session.id());
+                        sessionTimeouts.cancel(session);
+                        session.close(ctx.countedErrorHandler());
+                    }
+
+                    workCount += 1;
                 }
-                else
+                else if (session.state() == CONNECTED)
                 {
-                    i.remove();
-                    session.close(ctx.countedErrorHandler());
+                    appendSessionOpen(session);
+                    workCount += 1;
+                }
+                else if (session.hasNewLeaderEventPending())
+                {
+                    sendNewLeaderEvent(session);
+                    workCount += 1;
                 }
-
-                workCount += 1;
-            }
-            else if (session.state() == CONNECTED)
-            {
-                appendSessionOpen(session);
-                workCount += 1;
             }
-            else if (session.hasNewLeaderEventPending())
+
+            if (sessionByIdMap.get(session.id()) != session || !hasPendingCheck(session, nowNs))
             {
-                sendNewLeaderEvent(session);
-                workCount += 1;
+                ArrayListUtil.fastUnorderedRemove(sessionsToCheck, i, lastIndex--);
+                session.isCheckPending(false);
             }
         }
 
         return workCount;
     }
 
+    private boolean hasPendingCheck(final ClusterSession session, final long nowNs)
+    {
+        return nowNs > (session.timeOfLastActivityNs() + sessionTimeoutNs) ||
+            session.state() == CONNECTED ||
+            session.hasNewLeaderEventPending();
+    }
+
+    private void queueSessionCheck(final ClusterSession session)
+    {
+        if (!session.isCheckPending())
+        {
+            session.isCheckPending(true);
+            sessionsToCheck.add(session);
+        }
+    }
+
     private void captureServiceAck(final long logPosition, final long ackId, final long relevantId, final int serviceId)
     {
         if (0 == ackId && NULL_VALUE != serviceClientIds[serviceId])
@@ -2591,10 +2698,77 @@ class ConsensusModuleAgent implements Agent
                 session.closedLogPosition(NULL_POSITION);
                 session.state(CLOSING);
                 sessionByIdMap.put(session.id(), session);
+                sessionTimeouts.schedule(session);
             }
         }
     }
 
+    private boolean isIngressAdmitted(final ClusterSession session, final long nowNs)
+    {
+        TokenBucket sessionTokenBucket = session.ingressTokenBucket();
+        if (null == sessionTokenBucket)
+        {
+            final long rateLimit = NULL_VALUE != session.ingressRateLimit() ?
+                session.ingressRateLimit() : ctx.sessionIngressRateLimit();
+
+            if (rateLimit > 0)
+            {
+                sessionTokenBucket = new TokenBucket(rateLimit, nowNs);
+                session.ingressTokenBucket(sessionTokenBucket);
+            }
+        }
+
+        if (null != sessionTokenBucket && !sessionTokenBucket.hasToken(nowNs))
+        {
+            throttleIngress(session, ctx.sessionIngressThrottledCounter(), SESSION_THROTTLED_MSG);
+            return false;
+        }
+
+        if (null != ingressTokenBucket && !ingressTokenBucket.hasToken(nowNs))
+        {
+            throttleIngress(session, ctx.clusterIngressThrottledCounter(), CLUSTER_THROTTLED_MSG);
+            return false;
+        }
+
+        session.isIngressThrottled(false);
+
+        return true;
+    }
+
+    private void throttleIngress(final ClusterSession session, final Counter throttledCounter, final String detail)
+    {
+        if (!session.isIngressThrottled())
+        {
+            session.isIngressThrottled(true);
+            throttledCounter.incrementOrdered();
+            egressPublisher.sendEvent(session, leadershipTermId, memberId, EventCode.THROTTLED, detail);
+        }
+    }
+
+    private void consumeIngressTokens(final ClusterSession session)
+    {
+        final TokenBucket sessionTokenBucket = session.ingressTokenBucket();
+        if (null != sessionTokenBucket)
+        {
+            sessionTokenBucket.consume();
+        }
+
+        if (null != ingressTokenBucket)
+        {
+            ingressTokenBucket.consume();
+        }
+    }
+
+    private boolean isLeaderAlive(final long nowNs)
+    {
+        if (Cluster.Role.LEADER == role)
+        {
+            return ClusterMember.hasActiveQuorum(clusterMembers, nowNs, leaderHeartbeatTimeoutNs);
+        }
+
+        return nowNs < (timeOfLastLogUpdateNs + leaderHeartbeatTimeoutNs);
+    }
+
     private void enterElection(final long nowNs)
     {
         ClusterControl.ToggleState.deactivate(controlToggle);
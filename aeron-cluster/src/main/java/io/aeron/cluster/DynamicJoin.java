@@ -65,6 +65,7 @@ class DynamicJoin implements AutoCloseable
     private final String transferEndpoint;
     private final ArrayList<RecordingLog.Snapshot> leaderSnapshots = new ArrayList<>();
     private final Long2LongHashMap leaderSnapshotLengthMap = new Long2LongHashMap(NULL_LENGTH);
+    private final ArrayList<SnapshotTransfer> snapshotTransfers = new ArrayList<>();
     private final long intervalNs;
 
     private ExclusivePublication memberStatusPublication;
@@ -73,16 +74,16 @@ class DynamicJoin implements AutoCloseable
     private ClusterMember leaderMember;
     private AeronArchive.AsyncConnect leaderArchiveAsyncConnect;
     private AeronArchive leaderArchive;
-    private Subscription snapshotRetrieveSubscription;
-    private Image snapshotRetrieveImage;
-    private SnapshotReader snapshotReader;
+    private Counter snapshotTransferCounter;
     private Counter recoveryStateCounter;
+    private long[] retrievedRecordingIds;
     private long timeOfLastActivityNs = 0;
     private long correlationId = NULL_VALUE;
     private int memberId = NULL_VALUE;
     private int clusterMembersStatusEndpointsCursor = NULL_VALUE;
     private int snapshotCursor = 0;
-    private int snapshotReplaySessionId = NULL_VALUE;
+    private int retrievedSnapshotCount = 0;
+    private long retrievedSnapshotBytes = 0;
 
     DynamicJoin(
         final String clusterMemberStatusEndpoints,
@@ -110,7 +111,12 @@ class DynamicJoin implements AutoCloseable
     {
         final CountedErrorHandler countedErrorHandler = ctx.countedErrorHandler();
         CloseHelper.close(countedErrorHandler, memberStatusPublication);
-        CloseHelper.close(countedErrorHandler, snapshotRetrieveSubscription);
+        for (final SnapshotTransfer snapshotTransfer : snapshotTransfers)
+        {
+            CloseHelper.close(countedErrorHandler, snapshotTransfer.subscription);
+        }
+        snapshotTransfers.clear();
+        CloseHelper.close(countedErrorHandler, snapshotTransferCounter);
         CloseHelper.close(countedErrorHandler, leaderArchive);
         CloseHelper.close(countedErrorHandler, leaderArchiveAsyncConnect);
     }
@@ -247,12 +253,17 @@ class DynamicJoin implements AutoCloseable
                     .controlResponseChannel(ctx.archiveContext().controlResponseChannel())
                     .controlResponseStreamId(ctx.archiveContext().controlResponseStreamId());
 
-                leaderArchiveAsyncConnect = AeronArchive.asyncConnect(leaderArchiveCtx);
+                leaderArchiveAsyncConnect = asyncConnectLeaderArchive(leaderArchiveCtx);
                 state(State.SNAPSHOT_LENGTH_RETRIEVE);
             }
         }
     }
 
+    AeronArchive.AsyncConnect asyncConnectLeaderArchive(final AeronArchive.Context leaderArchiveCtx)
+    {
+        return AeronArchive.asyncConnect(leaderArchiveCtx);
+    }
+
     private int init(final long nowNs)
     {
         if (nowNs > (timeOfLastActivityNs + intervalNs))
@@ -343,6 +354,16 @@ class DynamicJoin implements AutoCloseable
             leaderSnapshotLengthMap.put(snapshotCursor, snapshotStopPosition);
             if (++snapshotCursor >= leaderSnapshots.size())
             {
+                long totalLength = 0;
+                for (int i = 0, size = leaderSnapshots.size(); i < size; i++)
+                {
+                    totalLength += leaderSnapshotLengthMap.get(i);
+                }
+
+                snapshotTransferCounter = ctx.aeron().addCounter(
+                    ConsensusModule.Configuration.SNAPSHOT_TRANSFER_BYTES_TYPE_ID,
+                    "Snapshot transfer bytes: memberId=" + memberId + " totalLength=" + totalLength);
+                retrievedRecordingIds = new long[leaderSnapshots.size()];
                 snapshotCursor = 0;
                 state(State.SNAPSHOT_RETRIEVE);
             }
@@ -363,55 +384,14 @@ class DynamicJoin implements AutoCloseable
             return null == leaderArchive ? 0 : 1;
         }
 
-        if (null != snapshotReader)
-        {
-            if (snapshotReader.poll() == 0)
-            {
-                if (snapshotReader.isDone())
-                {
-                    consensusModuleAgent.retrievedSnapshot(
-                        snapshotReader.recordingId(), leaderSnapshots.get(snapshotCursor));
-
-                    CloseHelper.close(ctx.countedErrorHandler(), snapshotRetrieveSubscription);
-                    snapshotRetrieveSubscription = null;
-                    snapshotRetrieveImage = null;
-                    snapshotReader = null;
-                    correlationId = NULL_VALUE;
-                    snapshotReplaySessionId = NULL_VALUE;
-
-                    if (++snapshotCursor >= leaderSnapshots.size())
-                    {
-                        state(State.SNAPSHOT_LOAD);
-                        workCount++;
-                    }
-                }
-                else if (null != snapshotRetrieveImage && snapshotRetrieveImage.isClosed())
-                {
-                    throw new ClusterException("retrieval of snapshot image ended unexpectedly");
-                }
-            }
-            else
-            {
-                workCount++;
-            }
-        }
-        else if (null == snapshotRetrieveImage && null != snapshotRetrieveSubscription)
-        {
-            snapshotRetrieveImage = snapshotRetrieveSubscription.imageBySessionId(snapshotReplaySessionId);
-            if (null != snapshotRetrieveImage)
-            {
-                snapshotReader = new SnapshotReader(
-                    snapshotRetrieveImage, ctx.aeron().countersReader(), leaderSnapshotLengthMap.get(snapshotCursor));
-                workCount++;
-            }
-        }
-        else if (NULL_VALUE == correlationId)
+        while (snapshotCursor < leaderSnapshots.size() &&
+            snapshotTransfers.size() < ctx.snapshotTransferConcurrency())
         {
             final long replayId = ctx.aeron().nextCorrelationId();
             final RecordingLog.Snapshot snapshot = leaderSnapshots.get(snapshotCursor);
             final String transferChannel = "aeron:udp?endpoint=" + transferEndpoint;
 
-            if (leaderArchive.archiveProxy().replay(
+            if (!leaderArchive.archiveProxy().replay(
                 snapshot.recordingId,
                 0,
                 NULL_LENGTH,
@@ -420,24 +400,92 @@ class DynamicJoin implements AutoCloseable
                 replayId,
                 leaderArchive.controlSessionId()))
             {
-                correlationId = replayId;
+                break;
+            }
+
+            snapshotTransfers.add(new SnapshotTransfer(snapshotCursor, replayId));
+            snapshotCursor++;
+            workCount++;
+        }
+
+        workCount += pollForReplayResponse();
+
+        long transferredBytes = retrievedSnapshotBytes;
+        for (int i = snapshotTransfers.size() - 1; i >= 0; i--)
+        {
+            final SnapshotTransfer snapshotTransfer = snapshotTransfers.get(i);
+            workCount += snapshotTransfer.poll(ctx.aeron().countersReader());
+
+            if (snapshotTransfer.isDone())
+            {
+                final int index = snapshotTransfer.snapshotIndex;
+                retrievedRecordingIds[index] = snapshotTransfer.reader.recordingId();
+                retrievedSnapshotBytes += leaderSnapshotLengthMap.get(index);
+                transferredBytes += leaderSnapshotLengthMap.get(index);
+                retrievedSnapshotCount++;
+
+                CloseHelper.close(ctx.countedErrorHandler(), snapshotTransfer.subscription);
+                snapshotTransfers.remove(i);
                 workCount++;
             }
+            else
+            {
+                transferredBytes += snapshotTransfer.transferredBytes();
+            }
         }
-        else if (pollForResponse(leaderArchive, correlationId))
+
+        snapshotTransferCounter.setOrdered(transferredBytes);
+
+        if (retrievedSnapshotCount >= leaderSnapshots.size())
         {
-            snapshotReplaySessionId = (int)leaderArchive.controlResponsePoller().relevantId();
-            final String replaySubscriptionChannel =
-                "aeron:udp?endpoint=" + transferEndpoint + "|session-id=" + snapshotReplaySessionId;
+            for (int i = 0, size = leaderSnapshots.size(); i < size; i++)
+            {
+                consensusModuleAgent.retrievedSnapshot(retrievedRecordingIds[i], leaderSnapshots.get(i));
+            }
 
-            snapshotRetrieveSubscription = ctx.aeron().addSubscription(replaySubscriptionChannel, ctx.replayStreamId());
-            localArchive.startRecording(replaySubscriptionChannel, ctx.replayStreamId(), SourceLocation.REMOTE, true);
+            state(State.SNAPSHOT_LOAD);
             workCount++;
         }
 
         return workCount;
     }
 
+    private int pollForReplayResponse()
+    {
+        final ControlResponsePoller poller = leaderArchive.controlResponsePoller();
+
+        if (poller.poll() > 0 &&
+            poller.isPollComplete() &&
+            poller.controlSessionId() == leaderArchive.controlSessionId())
+        {
+            for (final SnapshotTransfer snapshotTransfer : snapshotTransfers)
+            {
+                if (poller.correlationId() == snapshotTransfer.replayCorrelationId)
+                {
+                    if (poller.code() == ControlResponseCode.ERROR)
+                    {
+                        throw new ClusterException("archive response for correlationId=" +
+                            poller.correlationId() + ", error: " + poller.errorMessage());
+                    }
+
+                    final int replaySessionId = (int)poller.relevantId();
+                    final String replaySubscriptionChannel =
+                        "aeron:udp?endpoint=" + transferEndpoint + "|session-id=" + replaySessionId;
+
+                    snapshotTransfer.replaySessionId = replaySessionId;
+                    snapshotTransfer.subscription = ctx.aeron().addSubscription(
+                        replaySubscriptionChannel, ctx.replayStreamId());
+                    localArchive.startRecording(
+                        replaySubscriptionChannel, ctx.replayStreamId(), SourceLocation.REMOTE, true);
+
+                    return 1;
+                }
+            }
+        }
+
+        return 0;
+    }
+
     private int snapshotLoad(final long nowNs)
     {
         int workCount = 0;
@@ -503,6 +551,60 @@ class DynamicJoin implements AutoCloseable
         return false;
     }
 
+    final class SnapshotTransfer
+    {
+        final int snapshotIndex;
+        final long replayCorrelationId;
+        int replaySessionId = NULL_VALUE;
+        Subscription subscription;
+        Image image;
+        SnapshotReader reader;
+
+        SnapshotTransfer(final int snapshotIndex, final long replayCorrelationId)
+        {
+            this.snapshotIndex = snapshotIndex;
+            this.replayCorrelationId = replayCorrelationId;
+        }
+
+        int poll(final CountersReader countersReader)
+        {
+            int workCount = 0;
+
+            if (null != reader)
+            {
+                if (reader.poll() > 0)
+                {
+                    workCount++;
+                }
+                else if (!reader.isDone() && image.isClosed())
+                {
+                    throw new ClusterException("retrieval of snapshot image ended unexpectedly");
+                }
+            }
+            else if (null != subscription)
+            {
+                image = subscription.imageBySessionId(replaySessionId);
+                if (null != image)
+                {
+                    reader = new SnapshotReader(image, countersReader, leaderSnapshotLengthMap.get(snapshotIndex));
+                    workCount++;
+                }
+            }
+
+            return workCount;
+        }
+
+        boolean isDone()
+        {
+            return null != reader && reader.isDone();
+        }
+
+        long transferredBytes()
+        {
+            return null == reader ? 0 : Math.max(0, reader.recordingPosition());
+        }
+    }
+
     static class SnapshotReader implements ControlledFragmentHandler
     {
         private static final int FRAGMENT_LIMIT = 10;
@@ -536,6 +638,11 @@ class DynamicJoin implements AutoCloseable
             return recordingId;
         }
 
+        long recordingPosition()
+        {
+            return recordingPosition;
+        }
+
         void pollRecordingPosition()
         {
             if (CountersReader.NULL_COUNTER_ID == counterId)
@@ -110,6 +110,7 @@ public class Election
     private boolean isLeaderStartup;
     private boolean isExtendedCanvass;
     private int logSessionId = CommonContext.NULL_SESSION_ID;
+    private long timeOfElectionStartNs;
     private long timeOfLastStateChangeNs;
     private long timeOfLastUpdateNs;
     private long nominationDeadlineNs;
@@ -480,6 +481,8 @@ public class Election
 
     private int init(final long nowNs)
     {
+        timeOfElectionStartNs = nowNs;
+
         if (!isNodeStartup)
         {
             resetCatchup();
@@ -534,8 +537,16 @@ public class Election
         if (ClusterMember.isUnanimousCandidate(clusterMembers, thisMember) ||
             (ClusterMember.isQuorumCandidate(clusterMembers, thisMember) && nowNs >= canvassDeadlineNs))
         {
-            final long delayNs = (long)(random.nextDouble() * (ctx.electionTimeoutNs() >> 1));
-            nominationDeadlineNs = nowNs + delayNs;
+            if (ctx.isFastElection() && ClusterMember.isPreferredCandidate(clusterMembers, thisMember))
+            {
+                nominationDeadlineNs = nowNs;
+            }
+            else
+            {
+                final long delayNs = (long)(random.nextDouble() * (ctx.electionTimeoutNs() >> 1));
+                nominationDeadlineNs = nowNs + delayNs;
+            }
+
             state(State.NOMINATE, nowNs);
             workCount += 1;
         }
@@ -686,7 +697,11 @@ public class Election
     {
         int workCount = 0;
 
-        if (ClusterMember.haveVotersReachedPosition(clusterMembers, logPosition, leadershipTermId))
+        final boolean hasReachedPosition = ctx.isFastElection() ?
+            ClusterMember.hasQuorumReachedPosition(clusterMembers, logPosition, leadershipTermId) :
+            ClusterMember.haveVotersReachedPosition(clusterMembers, logPosition, leadershipTermId);
+
+        if (hasReachedPosition)
         {
             if (consensusModuleAgent.electionComplete())
             {
@@ -966,6 +981,11 @@ public class Election
                 break;
         }
 
+        if (State.CLOSED == newState)
+        {
+            ctx.electionDurationCounter().setOrdered(nowNs - timeOfElectionStartNs);
+        }
+
         state = newState;
         ctx.electionStateCounter().setOrdered(newState.code());
         timeOfLastStateChangeNs = nowNs;
@@ -35,6 +35,7 @@ class IngressAdapter implements ControlledFragmentHandler, AutoCloseable
     private final SessionMessageHeaderDecoder sessionMessageHeaderDecoder = new SessionMessageHeaderDecoder();
     private final SessionKeepAliveDecoder sessionKeepAliveDecoder = new SessionKeepAliveDecoder();
     private final ChallengeResponseDecoder challengeResponseDecoder = new ChallengeResponseDecoder();
+    private final ReadQueryHeaderDecoder readQueryHeaderDecoder = new ReadQueryHeaderDecoder();
     private final ControlledFragmentAssembler fragmentAssembler = new ControlledFragmentAssembler(this);
     private final ConsensusModuleAgent consensusModuleAgent;
     private final AtomicCounter invalidRequests;
@@ -91,6 +92,18 @@ class IngressAdapter implements ControlledFragmentHandler, AutoCloseable
 
         switch (templateId)
         {
+            case ReadQueryHeaderDecoder.TEMPLATE_ID:
+            {
+                readQueryHeaderDecoder.wrap(
+                    buffer,
+                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                    messageHeaderDecoder.blockLength(),
+                    messageHeaderDecoder.version());
+
+                return consensusModuleAgent.onReadQuery(
+                    readQueryHeaderDecoder.clusterSessionId(), buffer, offset, length);
+            }
+
             case SessionConnectRequestDecoder.TEMPLATE_ID:
             {
                 connectRequestDecoder.wrap(
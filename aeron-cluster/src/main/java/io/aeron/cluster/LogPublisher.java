@@ -37,6 +37,7 @@ class LogPublisher
 
     private final MessageHeaderEncoder messageHeaderEncoder = new MessageHeaderEncoder();
     private final SessionMessageHeaderEncoder sessionHeaderEncoder = new SessionMessageHeaderEncoder();
+    private final SessionMessageHeaderEncoder sessionHeaderClaimEncoder = new SessionMessageHeaderEncoder();
     private final SessionOpenEventEncoder sessionOpenEventEncoder = new SessionOpenEventEncoder();
     private final SessionCloseEventEncoder sessionCloseEventEncoder = new SessionCloseEventEncoder();
     private final TimerEventEncoder timerEventEncoder = new TimerEventEncoder();
@@ -107,6 +108,12 @@ class LogPublisher
         final int offset,
         final int length)
     {
+        final int messageLength = SESSION_HEADER_LENGTH + length;
+        if (messageLength <= publication.maxPayloadLength())
+        {
+            return claimMessage(leadershipTermId, clusterSessionId, timestamp, buffer, offset, length);
+        }
+
         sessionHeaderEncoder
             .leadershipTermId(leadershipTermId)
             .clusterSessionId(clusterSessionId)
@@ -336,6 +343,42 @@ class LogPublisher
         return result;
     }
 
+    private long claimMessage(
+        final long leadershipTermId,
+        final long clusterSessionId,
+        final long timestamp,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length)
+    {
+        int attempts = SEND_ATTEMPTS;
+        long result;
+        do
+        {
+            result = publication.tryClaim(SESSION_HEADER_LENGTH + length, bufferClaim);
+            if (result > 0)
+            {
+                final MutableDirectBuffer claimBuffer = bufferClaim.buffer();
+                final int claimOffset = bufferClaim.offset();
+
+                sessionHeaderClaimEncoder
+                    .wrapAndApplyHeader(claimBuffer, claimOffset, messageHeaderEncoder)
+                    .leadershipTermId(leadershipTermId)
+                    .clusterSessionId(clusterSessionId)
+                    .timestamp(timestamp);
+
+                claimBuffer.putBytes(claimOffset + SESSION_HEADER_LENGTH, buffer, offset, length);
+                bufferClaim.commit();
+                break;
+            }
+
+            checkResult(result);
+        }
+        while (--attempts > 0);
+
+        return result;
+    }
+
     private int computeMembershipChangeEventFragmentedLength(final String clusterMembers)
     {
         final int messageLength = MessageHeaderEncoder.ENCODED_LENGTH +
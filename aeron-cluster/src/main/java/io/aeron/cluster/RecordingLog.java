@@ -20,6 +20,7 @@ import io.aeron.archive.status.RecordingPos;
 import io.aeron.cluster.client.ClusterException;
 import org.agrona.BitUtil;
 import org.agrona.CloseHelper;
+import org.agrona.IoUtil;
 import org.agrona.LangUtil;
 import org.agrona.collections.IntArrayList;
 import org.agrona.collections.Long2LongHashMap;
@@ -30,12 +31,15 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
 import static io.aeron.Aeron.NULL_VALUE;
 import static io.aeron.archive.client.AeronArchive.NULL_POSITION;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.nio.file.StandardOpenOption.*;
 import static org.agrona.BitUtil.*;
 
@@ -390,12 +394,16 @@ public class RecordingLog implements AutoCloseable
 
     private long filePosition = 0;
     private int nextEntryIndex;
-    private final FileChannel fileChannel;
+    private FileChannel fileChannel;
+    private final File parentDir;
+    private final File logFile;
     private final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(4096).order(LITTLE_ENDIAN);
     private final UnsafeBuffer buffer = new UnsafeBuffer(byteBuffer);
     private final ArrayList<Entry> entriesCache = new ArrayList<>();
     private final Long2LongHashMap cacheIndexByLeadershipTermIdMap = new Long2LongHashMap(NULL_VALUE);
     private final IntArrayList invalidSnapshots = new IntArrayList();
+    private final IntArrayList termCacheIndexes = new IntArrayList();
+    private final IntArrayList consensusModuleSnapshotCacheIndexes = new IntArrayList();
 
     /**
      * Create a log that appends to an existing log or creates a new one.
@@ -404,7 +412,8 @@ public class RecordingLog implements AutoCloseable
      */
     public RecordingLog(final File parentDir)
     {
-        final File logFile = new File(parentDir, RECORDING_LOG_FILE_NAME);
+        this.parentDir = parentDir;
+        this.logFile = new File(parentDir, RECORDING_LOG_FILE_NAME);
         final boolean newFile = !logFile.exists();
 
         try
@@ -480,6 +489,8 @@ public class RecordingLog implements AutoCloseable
         entriesCache.clear();
         cacheIndexByLeadershipTermIdMap.clear();
         invalidSnapshots.clear();
+        termCacheIndexes.clear();
+        consensusModuleSnapshotCacheIndexes.clear();
         cacheIndexByLeadershipTermIdMap.compact();
 
         nextEntryIndex = 0;
@@ -536,9 +547,9 @@ public class RecordingLog implements AutoCloseable
      */
     public Entry findLastTerm()
     {
-        for (int i = entriesCache.size() - 1; i >= 0; i--)
+        for (int i = termCacheIndexes.size() - 1; i >= 0; i--)
         {
-            final Entry entry = entriesCache.get(i);
+            final Entry entry = entriesCache.get(termCacheIndexes.getInt(i));
             if (isValidTerm(entry))
             {
                 return entry;
@@ -590,17 +601,18 @@ public class RecordingLog implements AutoCloseable
      */
     public Entry getLatestSnapshot(final int serviceId)
     {
-        for (int i = entriesCache.size() - 1; i >= 0; i--)
+        for (int i = consensusModuleSnapshotCacheIndexes.size() - 1; i >= 0; i--)
         {
-            final Entry entry = entriesCache.get(i);
-            if (isValidSnapshot(entry) && ConsensusModule.Configuration.SERVICE_ID == entry.serviceId)
+            final int index = consensusModuleSnapshotCacheIndexes.getInt(i);
+            final Entry entry = entriesCache.get(index);
+            if (isValidSnapshot(entry))
             {
                 if (ConsensusModule.Configuration.SERVICE_ID == serviceId)
                 {
                     return entry;
                 }
 
-                final int serviceSnapshotIndex = i - (serviceId + 1);
+                final int serviceSnapshotIndex = index - (serviceId + 1);
                 if (serviceSnapshotIndex > 0)
                 {
                     final Entry snapshot = entriesCache.get(serviceSnapshotIndex);
@@ -623,12 +635,12 @@ public class RecordingLog implements AutoCloseable
     public boolean invalidateLatestSnapshot()
     {
         int index = -1;
-        for (int i = entriesCache.size() - 1; i >= 0; i--)
+        for (int i = consensusModuleSnapshotCacheIndexes.size() - 1; i >= 0; i--)
         {
-            final Entry entry = entriesCache.get(i);
-            if (isValidSnapshot(entry) && ConsensusModule.Configuration.SERVICE_ID == entry.serviceId)
+            final int cacheIndex = consensusModuleSnapshotCacheIndexes.getInt(i);
+            if (isValidSnapshot(entriesCache.get(cacheIndex)))
             {
-                index = i;
+                index = cacheIndex;
                 break;
             }
         }
@@ -942,10 +954,11 @@ public class RecordingLog implements AutoCloseable
     public void invalidateEntry(final long leadershipTermId, final int entryIndex)
     {
         Entry invalidEntry = null;
-        for (int i = entriesCache.size() - 1; i >= 0; i--)
+        final int i = findCacheIndex(entryIndex);
+        if (-1 != i)
         {
             final Entry entry = entriesCache.get(i);
-            if (entry.leadershipTermId == leadershipTermId && entry.entryIndex == entryIndex)
+            if (entry.leadershipTermId == leadershipTermId)
             {
                 invalidEntry = entry.invalidate();
                 entriesCache.set(i, invalidEntry);
@@ -958,8 +971,6 @@ public class RecordingLog implements AutoCloseable
                 {
                     invalidSnapshots.add(i);
                 }
-
-                break;
             }
         }
 
@@ -995,14 +1006,10 @@ public class RecordingLog implements AutoCloseable
     void removeEntry(final long leadershipTermId, final int entryIndex)
     {
         int index = -1;
-        for (int i = entriesCache.size() - 1; i >= 0; i--)
+        final int cacheIndex = findCacheIndex(entryIndex);
+        if (-1 != cacheIndex && entriesCache.get(cacheIndex).leadershipTermId == leadershipTermId)
         {
-            final Entry entry = entriesCache.get(i);
-            if (entry.leadershipTermId == leadershipTermId && entry.entryIndex == entryIndex)
-            {
-                index = entry.entryIndex;
-                break;
-            }
+            index = entryIndex;
         }
 
         if (-1 == index)
@@ -1029,6 +1036,86 @@ public class RecordingLog implements AutoCloseable
         }
     }
 
+    /**
+     * Compact the log by removing entries which have been invalidated or removed so they no longer need to be
+     * loaded or scanned. The remaining entries are written to a new file, with new entry indexes, which atomically
+     * replaces the log and the caches are then reloaded. If compaction fails then the temporary file is deleted and
+     * the log remains open and usable.
+     *
+     * @return the number of entries removed from the log.
+     */
+    public int compact()
+    {
+        int validEntryCount = 0;
+        for (int i = 0, size = entriesCache.size(); i < size; i++)
+        {
+            if (entriesCache.get(i).isValid)
+            {
+                validEntryCount++;
+            }
+        }
+
+        final int removedEntryCount = nextEntryIndex - validEntryCount;
+        if (0 == removedEntryCount)
+        {
+            return 0;
+        }
+
+        final File compactFile = new File(parentDir, RECORDING_LOG_FILE_NAME + ".compact");
+        boolean isMoved = false;
+        try
+        {
+            try (FileChannel compactChannel = FileChannel.open(
+                compactFile.toPath(), CREATE, TRUNCATE_EXISTING, WRITE))
+            {
+                long position = 0;
+                for (int i = 0, size = entriesCache.size(); i < size; i++)
+                {
+                    final Entry entry = entriesCache.get(i);
+                    if (entry.isValid)
+                    {
+                        writeEntryToBuffer(entry, buffer, byteBuffer);
+                        if (ENTRY_LENGTH != compactChannel.write(byteBuffer, position))
+                        {
+                            throw new ClusterException("failed to write entry atomically");
+                        }
+                        position += ENTRY_LENGTH;
+                    }
+                }
+
+                compactChannel.force(true);
+            }
+
+            try
+            {
+                fileChannel.close();
+                Files.move(compactFile.toPath(), logFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+                isMoved = true;
+                syncDirectory(parentDir);
+            }
+            finally
+            {
+                fileChannel = FileChannel.open(logFile.toPath(), CREATE, READ, WRITE);
+            }
+        }
+        catch (final Exception ex)
+        {
+            if (isMoved)
+            {
+                reload();
+            }
+            else
+            {
+                IoUtil.delete(compactFile, true);
+            }
+
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        reload();
+
+        return removedEntryCount;
+    }
 
     public String toString()
     {
@@ -1075,6 +1162,46 @@ public class RecordingLog implements AutoCloseable
 
         nextEntryIndex++;
         entriesCache.add(entry);
+        indexEntry(entry, entriesCache.size() - 1);
+    }
+
+    private void indexEntry(final Entry entry, final int cacheIndex)
+    {
+        if (ENTRY_TYPE_TERM == entry.type)
+        {
+            termCacheIndexes.addInt(cacheIndex);
+        }
+        else if (ENTRY_TYPE_SNAPSHOT == entry.type && ConsensusModule.Configuration.SERVICE_ID == entry.serviceId)
+        {
+            consensusModuleSnapshotCacheIndexes.addInt(cacheIndex);
+        }
+    }
+
+    private int findCacheIndex(final int entryIndex)
+    {
+        int low = 0;
+        int high = entriesCache.size() - 1;
+
+        while (low <= high)
+        {
+            final int mid = (low + high) >>> 1;
+            final int midEntryIndex = entriesCache.get(mid).entryIndex;
+
+            if (midEntryIndex < entryIndex)
+            {
+                low = mid + 1;
+            }
+            else if (midEntryIndex > entryIndex)
+            {
+                high = mid - 1;
+            }
+            else
+            {
+                return mid;
+            }
+        }
+
+        return -1;
     }
 
     private void writeEntryToBuffer(final Entry entry, final UnsafeBuffer buffer, final ByteBuffer byteBuffer)
@@ -1114,6 +1241,7 @@ public class RecordingLog implements AutoCloseable
                     nextEntryIndex);
 
                 entries.add(entry);
+                indexEntry(entry, entries.size() - 1);
 
                 if (isValidTerm(entry))
                 {
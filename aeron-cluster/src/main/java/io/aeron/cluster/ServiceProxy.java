@@ -212,6 +212,19 @@ final class ServiceProxy implements AutoCloseable
         throw new ClusterException("failed to send service termination position");
     }
 
+    boolean readQuery(final DirectBuffer buffer, final int offset, final int length)
+    {
+        final long result = publication.offer(buffer, offset, length);
+        if (result > 0)
+        {
+            return true;
+        }
+
+        checkResult(result);
+
+        return false;
+    }
+
     private static void checkResult(final long result)
     {
         if (result == Publication.CLOSED || result == Publication.MAX_POSITION_EXCEEDED)
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster;
+
+import org.agrona.DeadlineTimerWheel;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.Long2ObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the session timeout deadlines of {@link ClusterSession}s in a {@link DeadlineTimerWheel} so the cost of
+ * checking for timeouts is proportional to the number of sessions which are due rather than the number connected.
+ * <p>
+ * Deadlines are re-armed lazily. Activity on a session only updates {@link ClusterSession#timeOfLastActivityNs()}
+ * and when the timer for a session expires the deadline is recalculated from the last activity. If the session has
+ * not timed out then the timer is scheduled again.
+ */
+class SessionTimeouts implements DeadlineTimerWheel.TimerHandler
+{
+    private final long sessionTimeoutNs;
+    private final long wheelSpanNs;
+    private final DeadlineTimerWheel timerWheel;
+    private final Long2LongHashMap timerIdBySessionIdMap = new Long2LongHashMap(Long.MAX_VALUE);
+    private final Long2ObjectHashMap<ClusterSession> sessionByTimerIdMap = new Long2ObjectHashMap<>();
+    private final ArrayList<ClusterSession> expiredTimerSessions = new ArrayList<>();
+
+    SessionTimeouts(
+        final long sessionTimeoutNs, final long startTimeNs, final long tickResolutionNs, final int ticksPerWheel)
+    {
+        this.sessionTimeoutNs = sessionTimeoutNs;
+        this.wheelSpanNs = tickResolutionNs * ticksPerWheel;
+        timerWheel = new DeadlineTimerWheel(TimeUnit.NANOSECONDS, startTimeNs, tickResolutionNs, ticksPerWheel);
+    }
+
+    int poll(final long nowNs, final ArrayList<ClusterSession> timedOutSessions)
+    {
+        if (nowNs - timerWheel.currentTickTime() > wheelSpanNs)
+        {
+            timerWheel.currentTickTime(nowNs - wheelSpanNs);
+        }
+
+        int expired = 0;
+        do
+        {
+            expired += timerWheel.poll(nowNs, this, Integer.MAX_VALUE);
+        }
+        while (timerWheel.currentTickTime() < nowNs);
+
+        final ArrayList<ClusterSession> expiredTimerSessions = this.expiredTimerSessions;
+        for (int i = 0, size = expiredTimerSessions.size(); i < size; i++)
+        {
+            final ClusterSession session = expiredTimerSessions.get(i);
+            if (nowNs > (session.timeOfLastActivityNs() + sessionTimeoutNs))
+            {
+                timedOutSessions.add(session);
+            }
+            else
+            {
+                schedule(session);
+            }
+        }
+        expiredTimerSessions.clear();
+
+        return expired;
+    }
+
+    public boolean onTimerExpiry(final TimeUnit timeUnit, final long now, final long timerId)
+    {
+        final ClusterSession session = sessionByTimerIdMap.remove(timerId);
+        if (null != session)
+        {
+            timerIdBySessionIdMap.remove(session.id());
+            expiredTimerSessions.add(session);
+        }
+
+        return true;
+    }
+
+    void schedule(final ClusterSession session)
+    {
+        cancel(session);
+
+        final long timerId = timerWheel.scheduleTimer(session.timeOfLastActivityNs() + sessionTimeoutNs + 1);
+        timerIdBySessionIdMap.put(session.id(), timerId);
+        sessionByTimerIdMap.put(timerId, session);
+    }
+
+    void cancel(final ClusterSession session)
+    {
+        final long timerId = timerIdBySessionIdMap.remove(session.id());
+        if (Long.MAX_VALUE != timerId)
+        {
+            timerWheel.cancelTimer(timerId);
+            sessionByTimerIdMap.remove(timerId);
+        }
+    }
+
+    int size()
+    {
+        return sessionByTimerIdMap.size();
+    }
+}
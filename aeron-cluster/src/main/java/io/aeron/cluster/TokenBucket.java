@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket for limiting the rate of messages. The bucket holds up to one second worth of tokens at the configured
+ * rate so short bursts are admitted while the average rate is bounded.
+ */
+final class TokenBucket
+{
+    private static final long ONE_SECOND_NS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long ratePerSecond;
+    private long tokens;
+    private long timeOfLastRefillNs;
+
+    TokenBucket(final long ratePerSecond, final long nowNs)
+    {
+        this.ratePerSecond = ratePerSecond;
+        this.tokens = ratePerSecond;
+        this.timeOfLastRefillNs = nowNs;
+    }
+
+    /**
+     * Refill the bucket for the time elapsed and check if a token is available.
+     *
+     * @param nowNs current time.
+     * @return true if a token is available to be consumed.
+     */
+    boolean hasToken(final long nowNs)
+    {
+        if (tokens <= 0)
+        {
+            final long elapsedNs = nowNs - timeOfLastRefillNs;
+            if (elapsedNs >= ONE_SECOND_NS)
+            {
+                tokens = ratePerSecond;
+                timeOfLastRefillNs = nowNs;
+            }
+            else if (elapsedNs > 0)
+            {
+                final long newTokens = (elapsedNs * ratePerSecond) / ONE_SECOND_NS;
+                if (newTokens > 0)
+                {
+                    tokens = newTokens;
+                    timeOfLastRefillNs += (newTokens * ONE_SECOND_NS) / ratePerSecond;
+                }
+            }
+        }
+
+        return tokens > 0;
+    }
+
+    void consume()
+    {
+        tokens--;
+    }
+}
@@ -54,6 +54,12 @@ public final class AeronCluster implements AutoCloseable
     public static final int SESSION_HEADER_LENGTH =
         MessageHeaderEncoder.ENCODED_LENGTH + SessionMessageHeaderEncoder.BLOCK_LENGTH;
 
+    /**
+     * Length of a read query header for cluster ingress.
+     */
+    public static final int READ_QUERY_HEADER_LENGTH =
+        MessageHeaderEncoder.ENCODED_LENGTH + ReadQueryHeaderEncoder.BLOCK_LENGTH;
+
     private static final int SEND_ATTEMPTS = 3;
     private static final int FRAGMENT_LIMIT = 10;
 
@@ -69,6 +75,8 @@ public final class AeronCluster implements AutoCloseable
     private final UnsafeBuffer headerBuffer = new UnsafeBuffer(new byte[SESSION_HEADER_LENGTH]);
     private final DirectBufferVector headerVector = new DirectBufferVector(headerBuffer, 0, SESSION_HEADER_LENGTH);
     private final UnsafeBuffer keepaliveMsgBuffer;
+    private final UnsafeBuffer readQueryHeaderBuffer = new UnsafeBuffer(new byte[READ_QUERY_HEADER_LENGTH]);
+    private final ReadQueryHeaderEncoder readQueryHeaderEncoder = new ReadQueryHeaderEncoder();
     private final MessageHeaderEncoder messageHeaderEncoder;
     private final SessionMessageHeaderEncoder sessionMessageHeaderEncoder = new SessionMessageHeaderEncoder();
     private final SessionKeepAliveEncoder sessionKeepAliveEncoder = new SessionKeepAliveEncoder();
@@ -234,6 +242,10 @@ public final class AeronCluster implements AutoCloseable
             .wrapAndApplyHeader(keepaliveMsgBuffer, 0, messageHeaderEncoder)
             .leadershipTermId(leadershipTermId)
             .clusterSessionId(clusterSessionId);
+
+        readQueryHeaderEncoder
+            .wrapAndApplyHeader(readQueryHeaderBuffer, 0, messageHeaderEncoder)
+            .clusterSessionId(clusterSessionId);
     }
 
     /**
@@ -251,6 +263,7 @@ public final class AeronCluster implements AutoCloseable
             final ErrorHandler errorHandler = ctx.errorHandler();
             CloseHelper.close(errorHandler, subscription);
             CloseHelper.close(errorHandler, publication);
+            endpointByMemberIdMap.values().forEach(MemberEndpoint::disconnect);
         }
 
         isClosed = true;
@@ -409,6 +422,51 @@ public final class AeronCluster implements AutoCloseable
         return publication.offer(vectors, null);
     }
 
+    /**
+     * Non-blocking publish of a read only query to a member of the cluster which can be a follower. The query is not
+     * appended to the log and is delivered to
+     * {@link io.aeron.cluster.service.ClusteredService#onReadQuery(io.aeron.cluster.service.ClientSession, long,
+     * DirectBuffer, int, int)} once the services on the member have applied the log up to at least the
+     * minLogPosition, thus bounding the staleness of the state which is read.
+     * <p>
+     * A minLogPosition of 0 will read whatever state the member has applied. To read state at least as recent as
+     * the effects of messages already responded to then the position can be tracked from responses, e.g. by the
+     * service including {@link io.aeron.cluster.service.Cluster#logPosition()} in its egress messages.
+     * <p>
+     * Responses are sent on the egress and should carry the correlationId in the payload to be matched by the client.
+     * If the query cannot be buffered by the member, or times out waiting for the minLogPosition, then a session event
+     * with {@link EventCode#ERROR} and the correlationId is sent instead.
+     *
+     * @param memberId       of the member to which the query should be sent.
+     * @param correlationId  to be passed to the service for matching the response.
+     * @param minLogPosition the log must be applied to before the query is served.
+     * @param buffer         containing the query.
+     * @param offset         offset in the buffer at which the encoded query begins.
+     * @param length         in bytes of the encoded query.
+     * @return the same as {@link Publication#offer(DirectBuffer, int, int)} or {@link Publication#NOT_CONNECTED} if
+     * the member is not known.
+     */
+    public long offerReadQuery(
+        final int memberId,
+        final long correlationId,
+        final long minLogPosition,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length)
+    {
+        final Publication publication = readQueryPublication(memberId);
+        if (null == publication)
+        {
+            return Publication.NOT_CONNECTED;
+        }
+
+        readQueryHeaderEncoder
+            .correlationId(correlationId)
+            .minLogPosition(minLogPosition);
+
+        return publication.offer(readQueryHeaderBuffer, 0, READ_QUERY_HEADER_LENGTH, buffer, offset, length, null);
+    }
+
     /**
      * Send a keep alive message to the cluster to keep this session open.
      * <p>
@@ -551,6 +609,29 @@ public final class AeronCluster implements AutoCloseable
         return endpointByMemberIdMap;
     }
 
+    private Publication readQueryPublication(final int memberId)
+    {
+        if (memberId == leaderMemberId || endpointByMemberIdMap.isEmpty())
+        {
+            return publication;
+        }
+
+        final MemberEndpoint memberEndpoint = endpointByMemberIdMap.get(memberId);
+        if (null == memberEndpoint)
+        {
+            return null;
+        }
+
+        if (null == memberEndpoint.publication)
+        {
+            final ChannelUri channelUri = ChannelUri.parse(ctx.ingressChannel());
+            channelUri.put(CommonContext.ENDPOINT_PARAM_NAME, memberEndpoint.endpoint);
+            memberEndpoint.publication = addIngressPublication(ctx, channelUri.toString(), ctx.ingressStreamId());
+        }
+
+        return memberEndpoint.publication;
+    }
+
     private void updateMemberEndpoints(final String memberEndpoints, final int leaderMemberId)
     {
         final Int2ObjectHashMap<MemberEndpoint> tempMap = parseMemberEndpoints(memberEndpoints);
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster.client;
+
+import io.aeron.FragmentAssembler;
+import io.aeron.Subscription;
+import io.aeron.cluster.codecs.*;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Long2ObjectHashMap;
+
+import static io.aeron.cluster.client.AeronCluster.SESSION_HEADER_LENGTH;
+
+/**
+ * Adapter for dispatching egress messages from a cluster, for many sessions which share an egress channel, to the
+ * {@link EgressListener} registered for each cluster session id. Egress for sessions which have no listener is
+ * ignored.
+ * <p>
+ * This allows a single egress {@link Subscription} to be polled for all the sessions in a process when the cluster
+ * publishes the egress for all sessions on a shared egress channel rather than a {@link EgressAdapter} per session
+ * each scanning all the egress.
+ *
+ * @see io.aeron.cluster.service.ClusteredServiceContainer.Configuration#SHARED_EGRESS_CHANNEL_PROP_NAME
+ */
+public class MultiplexedEgressAdapter implements FragmentHandler
+{
+    private final int fragmentLimit;
+    private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
+    private final SessionEventDecoder sessionEventDecoder = new SessionEventDecoder();
+    private final NewLeaderEventDecoder newLeaderEventDecoder = new NewLeaderEventDecoder();
+    private final SessionMessageHeaderDecoder sessionMessageHeaderDecoder = new SessionMessageHeaderDecoder();
+    private final FragmentAssembler fragmentAssembler = new FragmentAssembler(this);
+    private final Long2ObjectHashMap<EgressListener> listenerBySessionIdMap = new Long2ObjectHashMap<>();
+    private final Subscription subscription;
+
+    public MultiplexedEgressAdapter(final Subscription subscription, final int fragmentLimit)
+    {
+        this.subscription = subscription;
+        this.fragmentLimit = fragmentLimit;
+    }
+
+    /**
+     * Add a listener for the egress to a cluster session.
+     *
+     * @param clusterSessionId for the egress.
+     * @param listener         to which the egress for the session is dispatched.
+     */
+    public void addListener(final long clusterSessionId, final EgressListener listener)
+    {
+        listenerBySessionIdMap.put(clusterSessionId, listener);
+    }
+
+    /**
+     * Remove the listener for the egress to a cluster session.
+     *
+     * @param clusterSessionId for the egress.
+     * @return the listener which was removed or null if none was registered.
+     */
+    public EgressListener removeListener(final long clusterSessionId)
+    {
+        return listenerBySessionIdMap.remove(clusterSessionId);
+    }
+
+    /**
+     * Number of cluster sessions with a listener registered.
+     *
+     * @return number of cluster sessions with a listener registered.
+     */
+    public int listenerCount()
+    {
+        return listenerBySessionIdMap.size();
+    }
+
+    public int poll()
+    {
+        return subscription.poll(fragmentAssembler, fragmentLimit);
+    }
+
+    public void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        messageHeaderDecoder.wrap(buffer, offset);
+
+        final int schemaId = messageHeaderDecoder.schemaId();
+        if (schemaId != MessageHeaderDecoder.SCHEMA_ID)
+        {
+            throw new ClusterException("expected schemaId=" + MessageHeaderDecoder.SCHEMA_ID + ", actual=" + schemaId);
+        }
+
+        final int templateId = messageHeaderDecoder.templateId();
+        if (SessionMessageHeaderDecoder.TEMPLATE_ID == templateId)
+        {
+            sessionMessageHeaderDecoder.wrap(
+                buffer,
+                offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                messageHeaderDecoder.blockLength(),
+                messageHeaderDecoder.version());
+
+            final long sessionId = sessionMessageHeaderDecoder.clusterSessionId();
+            final EgressListener listener = listenerBySessionIdMap.get(sessionId);
+            if (null != listener)
+            {
+                listener.onMessage(
+                    sessionId,
+                    sessionMessageHeaderDecoder.timestamp(),
+                    buffer,
+                    offset + SESSION_HEADER_LENGTH,
+                    length - SESSION_HEADER_LENGTH,
+                    header);
+            }
+
+            return;
+        }
+
+        switch (templateId)
+        {
+            case SessionEventDecoder.TEMPLATE_ID:
+            {
+                sessionEventDecoder.wrap(
+                    buffer,
+                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                    messageHeaderDecoder.blockLength(),
+                    messageHeaderDecoder.version());
+
+                final long sessionId = sessionEventDecoder.clusterSessionId();
+                final EgressListener listener = listenerBySessionIdMap.get(sessionId);
+                if (null != listener)
+                {
+                    listener.sessionEvent(
+                        sessionEventDecoder.correlationId(),
+                        sessionId,
+                        sessionEventDecoder.leadershipTermId(),
+                        sessionEventDecoder.leaderMemberId(),
+                        sessionEventDecoder.code(),
+                        sessionEventDecoder.detail());
+                }
+                break;
+            }
+
+            case NewLeaderEventDecoder.TEMPLATE_ID:
+            {
+                newLeaderEventDecoder.wrap(
+                    buffer,
+                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                    messageHeaderDecoder.blockLength(),
+                    messageHeaderDecoder.version());
+
+                final long sessionId = newLeaderEventDecoder.clusterSessionId();
+                final EgressListener listener = listenerBySessionIdMap.get(sessionId);
+                if (null != listener)
+                {
+                    listener.newLeader(
+                        sessionId,
+                        newLeaderEventDecoder.leadershipTermId(),
+                        newLeaderEventDecoder.leaderMemberId(),
+                        newLeaderEventDecoder.memberEndpoints());
+                }
+                break;
+            }
+        }
+    }
+}
@@ -40,6 +40,7 @@ public class ClientSession
 
     private final ClusteredServiceAgent clusteredServiceAgent;
     private Publication responsePublication;
+    private boolean isSharedEgress;
     private boolean isClosing;
 
     ClientSession(
@@ -187,9 +188,29 @@ public class ClientSession
         return clusteredServiceAgent.tryClaim(id, responsePublication, length, bufferClaim);
     }
 
-    void connect(final Aeron aeron)
+    /**
+     * Non-blocking publish of a response to a read only query which can be sent from any member of the cluster
+     * regardless of role, unlike {@link #offer(DirectBuffer, int, int)} which is mocked out when a follower.
+     *
+     * @param buffer containing message.
+     * @param offset offset in the buffer at which the encoded message begins.
+     * @param length in bytes of the encoded message.
+     * @return the same as {@link Publication#offer(DirectBuffer, int, int)}.
+     * @see ClusteredService#onReadQuery(ClientSession, long, DirectBuffer, int, int)
+     */
+    public long offerReadResponse(final DirectBuffer buffer, final int offset, final int length)
+    {
+        return clusteredServiceAgent.offerReadResponse(this, buffer, offset, length);
+    }
+
+    void connect(final Aeron aeron, final Publication sharedEgressPublication)
     {
-        if (null == responsePublication)
+        if (null != sharedEgressPublication)
+        {
+            responsePublication = sharedEgressPublication;
+            isSharedEgress = true;
+        }
+        else if (null == responsePublication)
         {
             try
             {
@@ -202,6 +223,11 @@ public class ClientSession
         }
     }
 
+    Publication responsePublication()
+    {
+        return responsePublication;
+    }
+
     void markClosing()
     {
         this.isClosing = true;
@@ -214,7 +240,11 @@ public class ClientSession
 
     void disconnect(final ErrorHandler errorHandler)
     {
-        CloseHelper.close(errorHandler, responsePublication);
+        if (!isSharedEgress)
+        {
+            CloseHelper.close(errorHandler, responsePublication);
+        }
+
         responsePublication = null;
     }
 
@@ -77,6 +77,33 @@ public interface ClusteredService
         int length,
         Header header);
 
+    /**
+     * A read only query has been received which is not appended to the log so can be served by any member of the
+     * cluster. It is delivered once the service has applied the log up to at least the position requested by the
+     * client, which bounds the staleness of the state read. Responses should be sent with
+     * {@link ClientSession#offerReadResponse(DirectBuffer, int, int)} and the service state must not be modified.
+     * <p>
+     * Queries which arrive while the service is behind the requested position are buffered up to
+     * {@link ClusteredServiceContainer.Context#readQueryBufferCapacity()} and delivered as soon as the log reaches
+     * their position regardless of the order in which they arrived. If the buffer is full, or the log does not reach
+     * the position within {@link ClusteredServiceContainer.Context#readQueryTimeoutNs()}, the client is sent a
+     * session event with {@link io.aeron.cluster.codecs.EventCode#ERROR} and the correlationId of the query.
+     *
+     * @param session       for the client which sent the query.
+     * @param correlationId provided by the client to match the response.
+     * @param buffer        containing the query.
+     * @param offset        in the buffer at which the query is encoded.
+     * @param length        of the encoded query.
+     */
+    default void onReadQuery(
+        ClientSession session,
+        long correlationId,
+        DirectBuffer buffer,
+        int offset,
+        int length)
+    {
+    }
+
     /**
      * A scheduled timer has expired.
      *
@@ -18,6 +18,7 @@ package io.aeron.cluster.service;
 import io.aeron.*;
 import io.aeron.archive.client.AeronArchive;
 import io.aeron.archive.status.RecordingPos;
+import io.aeron.cluster.client.AeronCluster;
 import io.aeron.cluster.client.ClusterException;
 import io.aeron.cluster.codecs.*;
 import io.aeron.driver.Configuration;
@@ -25,9 +26,7 @@ import io.aeron.logbuffer.BufferClaim;
 import io.aeron.logbuffer.Header;
 import io.aeron.protocol.DataHeaderFlyweight;
 import io.aeron.status.ReadableCounter;
-import org.agrona.CloseHelper;
-import org.agrona.DirectBuffer;
-import org.agrona.SemanticVersion;
+import org.agrona.*;
 import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.concurrent.*;
 import org.agrona.concurrent.status.CountersReader;
@@ -42,11 +41,18 @@ import static io.aeron.archive.codecs.SourceLocation.LOCAL;
 import static io.aeron.cluster.client.AeronCluster.SESSION_HEADER_LENGTH;
 import static io.aeron.cluster.service.ClusteredServiceContainer.Configuration.MARK_FILE_UPDATE_INTERVAL_NS;
 import static io.aeron.cluster.service.ClusteredServiceContainer.SNAPSHOT_TYPE_ID;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
 import static org.agrona.concurrent.status.CountersReader.NULL_COUNTER_ID;
 
 class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
 {
     static final long MARK_FILE_UPDATE_INTERVAL_MS = TimeUnit.NANOSECONDS.toMillis(MARK_FILE_UPDATE_INTERVAL_NS);
+    private static final int READ_QUERY_LIMIT = 10;
+    private static final int READ_QUERY_CLUSTER_SESSION_ID_OFFSET = 0;
+    private static final int READ_QUERY_CORRELATION_ID_OFFSET = READ_QUERY_CLUSTER_SESSION_ID_OFFSET + SIZE_OF_LONG;
+    private static final int READ_QUERY_MIN_LOG_POSITION_OFFSET = READ_QUERY_CORRELATION_ID_OFFSET + SIZE_OF_LONG;
+    private static final int READ_QUERY_DEADLINE_OFFSET = READ_QUERY_MIN_LOG_POSITION_OFFSET + SIZE_OF_LONG;
+    private static final int READ_QUERY_PAYLOAD_OFFSET = READ_QUERY_DEADLINE_OFFSET + SIZE_OF_LONG;
 
     private volatile boolean isAbort;
     private boolean isServiceActive;
@@ -58,6 +64,9 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
     private long cachedTimeMs;
     private long clusterTime;
     private long logPosition = NULL_POSITION;
+    private long readQueryScanLogPosition = NULL_POSITION;
+    private long readQueryScanDeadlineMs = Long.MAX_VALUE;
+    private int readQueryWorkCount;
 
     private final Runnable abortHandler = this::abort;
     private final IdleStrategy idleStrategy;
@@ -66,6 +75,10 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
     private final AgentInvoker aeronAgentInvoker;
     private final ClusteredService service;
     private final ConsensusModuleProxy consensusModuleProxy;
+    private final Publication sharedEgressPublication;
+    private final PartitionKeyExtractor partitionKeyExtractor;
+    private final int servicePartitionCount;
+    private final int servicePartitionIndex;
     private final ServiceAdapter serviceAdapter;
     private final EpochClock epochClock;
     private final UnsafeBuffer headerBuffer = new UnsafeBuffer(
@@ -77,6 +90,14 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
         new UnmodifiableClientSessionCollection(sessionByIdMap.values());
 
     private final BoundedLogAdapter logAdapter;
+    private final ExpandableRingBuffer pendingReadQueries;
+    private final ExpandableRingBuffer.MessageConsumer pendingReadQueryHandler = this::onPendingReadQuery;
+    private final ExpandableRingBuffer.MessageConsumer completedReadQueryHandler = this::onCompletedReadQuery;
+    private final ExpandableArrayBuffer readQueryBuffer = new ExpandableArrayBuffer();
+    private final ExpandableArrayBuffer sessionEventBuffer = new ExpandableArrayBuffer();
+    private final MessageHeaderEncoder messageHeaderEncoder = new MessageHeaderEncoder();
+    private final SessionEventEncoder sessionEventEncoder = new SessionEventEncoder();
+    private final long readQueryTimeoutMs;
     private ReadableCounter roleCounter;
     private ReadableCounter commitPosition;
     private ActiveLogEvent activeLogEvent;
@@ -99,6 +120,13 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
         consensusModuleProxy = new ConsensusModuleProxy(aeron.addPublication(channel, ctx.consensusModuleStreamId()));
         serviceAdapter = new ServiceAdapter(aeron.addSubscription(channel, ctx.serviceStreamId()), this);
         sessionMessageHeaderEncoder.wrapAndApplyHeader(headerBuffer, 0, new MessageHeaderEncoder());
+        sharedEgressPublication = null != ctx.sharedEgressChannel() ?
+            aeron.addPublication(ctx.sharedEgressChannel(), ctx.sharedEgressStreamId()) : null;
+        partitionKeyExtractor = ctx.partitionKeyExtractor();
+        servicePartitionCount = ctx.servicePartitionCount();
+        servicePartitionIndex = ctx.servicePartitionIndex();
+        pendingReadQueries = new ExpandableRingBuffer(0, ctx.readQueryBufferCapacity(), false);
+        readQueryTimeoutMs = TimeUnit.NANOSECONDS.toMillis(ctx.readQueryTimeoutNs());
         aeron.addCloseHandler(abortHandler);
     }
 
@@ -142,6 +170,7 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
                     session.disconnect(errorHandler);
                 }
 
+                CloseHelper.close(errorHandler, sharedEgressPublication);
                 CloseHelper.close(errorHandler, logAdapter);
                 CloseHelper.close(errorHandler, serviceAdapter);
                 CloseHelper.close(errorHandler, consensusModuleProxy);
@@ -157,10 +186,11 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
 
         if (checkForClockTick())
         {
-            pollServiceAdapter();
             workCount += 1;
         }
 
+        workCount += pollServiceAdapter();
+
         if (null != logAdapter.image())
         {
             final int polled = logAdapter.poll(commitPosition.get());
@@ -172,6 +202,8 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
             workCount += polled;
         }
 
+        workCount += pollPendingReadQueries();
+
         return workCount;
     }
 
@@ -340,11 +372,62 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
     {
         this.logPosition = logPosition;
         clusterTime = timestamp;
+
+        if (servicePartitionCount > 1)
+        {
+            final long partitionKey = partitionKeyExtractor.partitionKey(clusterSessionId, buffer, offset, length);
+            if (PartitionKeyExtractor.partitionIndex(partitionKey, servicePartitionCount) != servicePartitionIndex)
+            {
+                return;
+            }
+        }
+
         final ClientSession clientSession = sessionByIdMap.get(clusterSessionId);
 
         service.onSessionMessage(clientSession, timestamp, buffer, offset, length, header);
     }
 
+    void onReadQuery(
+        final long clusterSessionId,
+        final long correlationId,
+        final long minLogPosition,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length)
+    {
+        if (servicePartitionCount > 1)
+        {
+            final long partitionKey = partitionKeyExtractor.partitionKey(clusterSessionId, buffer, offset, length);
+            if (PartitionKeyExtractor.partitionIndex(partitionKey, servicePartitionCount) != servicePartitionIndex)
+            {
+                return;
+            }
+        }
+
+        if (logPosition >= minLogPosition)
+        {
+            dispatchReadQuery(clusterSessionId, correlationId, buffer, offset, length);
+        }
+        else
+        {
+            final long deadlineMs = cachedTimeMs + readQueryTimeoutMs;
+            readQueryBuffer.putLong(READ_QUERY_CLUSTER_SESSION_ID_OFFSET, clusterSessionId);
+            readQueryBuffer.putLong(READ_QUERY_CORRELATION_ID_OFFSET, correlationId);
+            readQueryBuffer.putLong(READ_QUERY_MIN_LOG_POSITION_OFFSET, minLogPosition);
+            readQueryBuffer.putLong(READ_QUERY_DEADLINE_OFFSET, deadlineMs);
+            readQueryBuffer.putBytes(READ_QUERY_PAYLOAD_OFFSET, buffer, offset, length);
+
+            if (pendingReadQueries.append(readQueryBuffer, 0, READ_QUERY_PAYLOAD_OFFSET + length))
+            {
+                readQueryScanDeadlineMs = Math.min(readQueryScanDeadlineMs, deadlineMs);
+            }
+            else
+            {
+                sendReadQueryError(clusterSessionId, correlationId, "read query buffer is full");
+            }
+        }
+    }
+
     void onTimerEvent(final long logPosition, final long correlationId, final long timestamp)
     {
         this.logPosition = logPosition;
@@ -375,7 +458,7 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
 
         if (Role.LEADER == role && ctx.isRespondingService())
         {
-            session.connect(aeron);
+            session.connect(aeron, sharedEgressPublication);
         }
 
         sessionByIdMap.put(clusterSessionId, session);
@@ -520,6 +603,23 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
         return publication.offer(vectors, null);
     }
 
+    long offerReadResponse(final ClientSession session, final DirectBuffer buffer, final int offset, final int length)
+    {
+        session.connect(aeron, sharedEgressPublication);
+
+        final Publication publication = session.responsePublication();
+        if (null == publication)
+        {
+            return Publication.NOT_CONNECTED;
+        }
+
+        sessionMessageHeaderEncoder
+            .clusterSessionId(session.id())
+            .timestamp(clusterTime);
+
+        return publication.offer(headerBuffer, 0, SESSION_HEADER_LENGTH, buffer, offset, length, null);
+    }
+
     long tryClaim(
         final long clusterSessionId,
         final Publication publication,
@@ -636,7 +736,7 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
             {
                 if (ctx.isRespondingService() && !activeLog.isStartup)
                 {
-                    session.connect(aeron);
+                    session.connect(aeron, sharedEgressPublication);
                 }
 
                 session.resetClosing();
@@ -867,9 +967,121 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
         return false;
     }
 
-    private void pollServiceAdapter()
+    private int pollPendingReadQueries()
+    {
+        if (pendingReadQueries.isEmpty() ||
+            (logPosition == readQueryScanLogPosition && cachedTimeMs < readQueryScanDeadlineMs))
+        {
+            return 0;
+        }
+
+        readQueryWorkCount = 0;
+        readQueryScanLogPosition = logPosition;
+        readQueryScanDeadlineMs = Long.MAX_VALUE;
+
+        pendingReadQueries.forEach(pendingReadQueryHandler, Integer.MAX_VALUE);
+        pendingReadQueries.consume(completedReadQueryHandler, Integer.MAX_VALUE);
+
+        return readQueryWorkCount;
+    }
+
+    private boolean onPendingReadQuery(
+        final MutableDirectBuffer buffer, final int offset, final int length, final int headOffset)
+    {
+        final long deadlineMs = buffer.getLong(offset + READ_QUERY_DEADLINE_OFFSET);
+        if (NULL_VALUE == deadlineMs)
+        {
+            return true;
+        }
+
+        if (readQueryWorkCount >= READ_QUERY_LIMIT)
+        {
+            readQueryScanLogPosition = NULL_POSITION;
+            return false;
+        }
+
+        final long clusterSessionId = buffer.getLong(offset + READ_QUERY_CLUSTER_SESSION_ID_OFFSET);
+        final long correlationId = buffer.getLong(offset + READ_QUERY_CORRELATION_ID_OFFSET);
+        final long minLogPosition = buffer.getLong(offset + READ_QUERY_MIN_LOG_POSITION_OFFSET);
+
+        if (logPosition >= minLogPosition)
+        {
+            dispatchReadQuery(
+                clusterSessionId,
+                correlationId,
+                buffer,
+                offset + READ_QUERY_PAYLOAD_OFFSET,
+                length - READ_QUERY_PAYLOAD_OFFSET);
+        }
+        else if (cachedTimeMs >= deadlineMs)
+        {
+            sendReadQueryError(
+                clusterSessionId,
+                correlationId,
+                "read query timed out waiting for minLogPosition=" + minLogPosition + " logPosition=" + logPosition);
+        }
+        else
+        {
+            readQueryScanDeadlineMs = Math.min(readQueryScanDeadlineMs, deadlineMs);
+            return true;
+        }
+
+        buffer.putLong(offset + READ_QUERY_DEADLINE_OFFSET, NULL_VALUE);
+        readQueryWorkCount++;
+
+        return true;
+    }
+
+    private boolean onCompletedReadQuery(
+        final MutableDirectBuffer buffer, final int offset, final int length, final int headOffset)
     {
-        serviceAdapter.poll();
+        return NULL_VALUE == buffer.getLong(offset + READ_QUERY_DEADLINE_OFFSET);
+    }
+
+    private void sendReadQueryError(final long clusterSessionId, final long correlationId, final String detail)
+    {
+        final ClientSession session = sessionByIdMap.get(clusterSessionId);
+        if (null == session)
+        {
+            return;
+        }
+
+        session.connect(aeron, sharedEgressPublication);
+        final Publication publication = session.responsePublication();
+        if (null != publication)
+        {
+            sessionEventEncoder
+                .wrapAndApplyHeader(sessionEventBuffer, 0, messageHeaderEncoder)
+                .clusterSessionId(clusterSessionId)
+                .correlationId(correlationId)
+                .leadershipTermId(NULL_VALUE)
+                .leaderMemberId(NULL_VALUE)
+                .code(EventCode.ERROR)
+                .version(AeronCluster.Configuration.PROTOCOL_SEMANTIC_VERSION)
+                .detail(detail);
+
+            publication.offer(
+                sessionEventBuffer, 0, MessageHeaderEncoder.ENCODED_LENGTH + sessionEventEncoder.encodedLength());
+        }
+    }
+
+    private void dispatchReadQuery(
+        final long clusterSessionId,
+        final long correlationId,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length)
+    {
+        final ClientSession session = sessionByIdMap.get(clusterSessionId);
+        if (null != session)
+        {
+            service.onReadQuery(session, correlationId, buffer, offset, length);
+        }
+    }
+
+    private int pollServiceAdapter()
+    {
+        final int workCount = serviceAdapter.poll();
 
         if (null != activeLogEvent && null == logAdapter.image())
         {
@@ -882,6 +1094,8 @@ class ClusteredServiceAgent implements Agent, Cluster, IdleStrategy
         {
             terminate();
         }
+
+        return workCount;
     }
 
     private void terminate()
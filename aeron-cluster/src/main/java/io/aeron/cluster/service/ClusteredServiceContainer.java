@@ -40,6 +40,7 @@ import java.util.function.Supplier;
 import static io.aeron.cluster.service.ClusteredServiceContainer.Configuration.CLUSTERED_SERVICE_ERROR_COUNT_TYPE_ID;
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
+import static org.agrona.SystemUtil.getDurationInNanos;
 import static org.agrona.SystemUtil.getSizeAsInt;
 import static org.agrona.SystemUtil.loadPropertiesFiles;
 
@@ -126,6 +127,68 @@ public final class ClusteredServiceContainer implements AutoCloseable
         return new ClusteredServiceContainer(ctx).start();
     }
 
+    /**
+     * Launch a ClusteredServiceContainer, each on its own thread, for every partition of a partitioned service.
+     * <p>
+     * The context is cloned for each partition which is given the service id {@link Context#serviceId()} plus its
+     * partition index. Partitions consume the same log but only process the session messages routed to them by the
+     * {@link Context#partitionKeyExtractor()} so messages with the same key are processed in order by one partition.
+     * Each partition takes its own snapshots and the consensus module should be configured with a service count
+     * which includes all the partitions.
+     * <p>
+     * Each partition is given its own clone of the {@link Context#archiveContext()} and concludes its own
+     * {@link Aeron} client and {@link ClusterMarkFile} so these must not be set on the context.
+     *
+     * @param ctx             for the configuration parameters shared by the partitions.
+     * @param serviceSupplier of the {@link ClusteredService} instance for each partition.
+     * @return a new instance of a ClusteredServiceContainer for each partition.
+     * @throws ConfigurationException if the {@link Context#aeron()} or {@link Context#clusterMarkFile()} is set.
+     * @see Configuration#SERVICE_PARTITION_COUNT_PROP_NAME
+     */
+    public static ClusteredServiceContainer[] launchPartitions(
+        final Context ctx, final Supplier<ClusteredService> serviceSupplier)
+    {
+        if (null != ctx.aeron())
+        {
+            throw new ConfigurationException("aeron client cannot be shared by partitions");
+        }
+
+        if (null != ctx.clusterMarkFile())
+        {
+            throw new ConfigurationException("cluster mark file cannot be shared by partitions");
+        }
+
+        final int partitionCount = ctx.servicePartitionCount();
+        final AeronArchive.Context archiveCtx = ctx.archiveContext();
+        final ClusteredServiceContainer[] containers = new ClusteredServiceContainer[partitionCount];
+
+        try
+        {
+            for (int i = 0; i < partitionCount; i++)
+            {
+                final Context partitionCtx = ctx.clone()
+                    .serviceId(ctx.serviceId() + i)
+                    .serviceName(ctx.serviceName() + "-" + i)
+                    .servicePartitionIndex(i)
+                    .archiveContext(null == archiveCtx ? null : archiveCtx.clone())
+                    .clusteredService(serviceSupplier.get());
+
+                containers[i] = launch(partitionCtx);
+            }
+        }
+        catch (final Throwable ex)
+        {
+            for (final ClusteredServiceContainer container : containers)
+            {
+                CloseHelper.quietClose(container);
+            }
+
+            throw ex;
+        }
+
+        return containers;
+    }
+
     /**
      * Get the {@link Context} that is used by this {@link ClusteredServiceContainer}.
      *
@@ -277,6 +340,71 @@ public final class ClusteredServiceContainer implements AutoCloseable
          */
         public static final boolean RESPONDER_SERVICE_DEFAULT = true;
 
+        /**
+         * Channel, typically multicast or multi-destination-cast, on which egress for all sessions is published
+         * rather than a publication per session on its response channel. Clients subscribe to this channel and
+         * demultiplex the egress by cluster session id.
+         */
+        public static final String SHARED_EGRESS_CHANNEL_PROP_NAME = "aeron.cluster.shared.egress.channel";
+
+        /**
+         * Default to each session having its own publication on its response channel.
+         */
+        public static final String SHARED_EGRESS_CHANNEL_DEFAULT = null;
+
+        /**
+         * Stream id within the shared egress channel.
+         */
+        public static final String SHARED_EGRESS_STREAM_ID_PROP_NAME = "aeron.cluster.shared.egress.stream.id";
+
+        /**
+         * Default stream id within the shared egress channel.
+         */
+        public static final int SHARED_EGRESS_STREAM_ID_DEFAULT = 102;
+
+        /**
+         * Number of partitions for a partitioned service. Each partition runs in its own container with its own
+         * service id and processes the session messages routed to it by a {@link PartitionKeyExtractor}.
+         */
+        public static final String SERVICE_PARTITION_COUNT_PROP_NAME = "aeron.cluster.service.partition.count";
+
+        /**
+         * Default to the service not being partitioned.
+         */
+        public static final int SERVICE_PARTITION_COUNT_DEFAULT = 1;
+
+        /**
+         * Index of the partition of a partitioned service for this container.
+         */
+        public static final String SERVICE_PARTITION_INDEX_PROP_NAME = "aeron.cluster.service.partition.index";
+
+        /**
+         * Default index of the partition for this container.
+         */
+        public static final int SERVICE_PARTITION_INDEX_DEFAULT = 0;
+
+        /**
+         * Capacity of the buffer for read queries which are waiting for the service to apply the log up to the
+         * position requested by the client. Must be a power of two.
+         */
+        public static final String READ_QUERY_BUFFER_CAPACITY_PROP_NAME =
+            "aeron.cluster.service.read.query.buffer.capacity";
+
+        /**
+         * Default capacity of the buffer for read queries waiting on the log position.
+         */
+        public static final int READ_QUERY_BUFFER_CAPACITY_DEFAULT = 1024 * 1024;
+
+        /**
+         * Timeout for a buffered read query waiting on the log position after which an error is sent to the client.
+         */
+        public static final String READ_QUERY_TIMEOUT_PROP_NAME = "aeron.cluster.service.read.query.timeout";
+
+        /**
+         * Default timeout for a buffered read query waiting on the log position.
+         */
+        public static final long READ_QUERY_TIMEOUT_DEFAULT_NS = TimeUnit.SECONDS.toNanos(5);
+
         /**
          * Delegating {@link ErrorHandler} which will be first in the chain before delegating to the
          * {@link Context#errorHandler()}.
@@ -450,6 +578,78 @@ public final class ClusteredServiceContainer implements AutoCloseable
             return "true".equals(property);
         }
 
+        /**
+         * The value {@link #SHARED_EGRESS_CHANNEL_DEFAULT} or system property
+         * {@link #SHARED_EGRESS_CHANNEL_PROP_NAME} if set.
+         *
+         * @return {@link #SHARED_EGRESS_CHANNEL_DEFAULT} or system property {@link #SHARED_EGRESS_CHANNEL_PROP_NAME}
+         * if set.
+         */
+        public static String sharedEgressChannel()
+        {
+            return System.getProperty(SHARED_EGRESS_CHANNEL_PROP_NAME, SHARED_EGRESS_CHANNEL_DEFAULT);
+        }
+
+        /**
+         * The value {@link #SHARED_EGRESS_STREAM_ID_DEFAULT} or system property
+         * {@link #SHARED_EGRESS_STREAM_ID_PROP_NAME} if set.
+         *
+         * @return {@link #SHARED_EGRESS_STREAM_ID_DEFAULT} or system property
+         * {@link #SHARED_EGRESS_STREAM_ID_PROP_NAME} if set.
+         */
+        public static int sharedEgressStreamId()
+        {
+            return Integer.getInteger(SHARED_EGRESS_STREAM_ID_PROP_NAME, SHARED_EGRESS_STREAM_ID_DEFAULT);
+        }
+
+        /**
+         * The value {@link #SERVICE_PARTITION_COUNT_DEFAULT} or system property
+         * {@link #SERVICE_PARTITION_COUNT_PROP_NAME} if set.
+         *
+         * @return {@link #SERVICE_PARTITION_COUNT_DEFAULT} or system property
+         * {@link #SERVICE_PARTITION_COUNT_PROP_NAME} if set.
+         */
+        public static int servicePartitionCount()
+        {
+            return Integer.getInteger(SERVICE_PARTITION_COUNT_PROP_NAME, SERVICE_PARTITION_COUNT_DEFAULT);
+        }
+
+        /**
+         * The value {@link #SERVICE_PARTITION_INDEX_DEFAULT} or system property
+         * {@link #SERVICE_PARTITION_INDEX_PROP_NAME} if set.
+         *
+         * @return {@link #SERVICE_PARTITION_INDEX_DEFAULT} or system property
+         * {@link #SERVICE_PARTITION_INDEX_PROP_NAME} if set.
+         */
+        public static int servicePartitionIndex()
+        {
+            return Integer.getInteger(SERVICE_PARTITION_INDEX_PROP_NAME, SERVICE_PARTITION_INDEX_DEFAULT);
+        }
+
+        /**
+         * The value {@link #READ_QUERY_BUFFER_CAPACITY_DEFAULT} or system property
+         * {@link #READ_QUERY_BUFFER_CAPACITY_PROP_NAME} if set.
+         *
+         * @return {@link #READ_QUERY_BUFFER_CAPACITY_DEFAULT} or system property
+         * {@link #READ_QUERY_BUFFER_CAPACITY_PROP_NAME} if set.
+         */
+        public static int readQueryBufferCapacity()
+        {
+            return getSizeAsInt(READ_QUERY_BUFFER_CAPACITY_PROP_NAME, READ_QUERY_BUFFER_CAPACITY_DEFAULT);
+        }
+
+        /**
+         * The value {@link #READ_QUERY_TIMEOUT_DEFAULT_NS} or system property
+         * {@link #READ_QUERY_TIMEOUT_PROP_NAME} if set.
+         *
+         * @return {@link #READ_QUERY_TIMEOUT_DEFAULT_NS} or system property
+         * {@link #READ_QUERY_TIMEOUT_PROP_NAME} if set.
+         */
+        public static long readQueryTimeoutNs()
+        {
+            return getDurationInNanos(READ_QUERY_TIMEOUT_PROP_NAME, READ_QUERY_TIMEOUT_DEFAULT_NS);
+        }
+
         /**
          * Create a new {@link ClusteredService} based on the configured {@link #SERVICE_CLASS_NAME_PROP_NAME}.
          *
@@ -524,6 +724,13 @@ public final class ClusteredServiceContainer implements AutoCloseable
         private int snapshotStreamId = Configuration.snapshotStreamId();
         private int errorBufferLength = Configuration.errorBufferLength();
         private boolean isRespondingService = Configuration.isRespondingService();
+        private String sharedEgressChannel = Configuration.sharedEgressChannel();
+        private int sharedEgressStreamId = Configuration.sharedEgressStreamId();
+        private int servicePartitionCount = Configuration.servicePartitionCount();
+        private int servicePartitionIndex = Configuration.servicePartitionIndex();
+        private PartitionKeyExtractor partitionKeyExtractor;
+        private int readQueryBufferCapacity = Configuration.readQueryBufferCapacity();
+        private long readQueryTimeoutNs = Configuration.readQueryTimeoutNs();
 
         private CountDownLatch abortLatch;
         private ThreadFactory threadFactory;
@@ -576,6 +783,29 @@ public final class ClusteredServiceContainer implements AutoCloseable
                 throw new ConfigurationException("service id outside allowed range (0-127): " + serviceId);
             }
 
+            if (servicePartitionCount < 1)
+            {
+                throw new ConfigurationException("servicePartitionCount must be positive: " + servicePartitionCount);
+            }
+
+            if (servicePartitionIndex < 0 || servicePartitionIndex >= servicePartitionCount)
+            {
+                throw new ConfigurationException(
+                    "servicePartitionIndex=" + servicePartitionIndex +
+                    " outside range for servicePartitionCount=" + servicePartitionCount);
+            }
+
+            if (null == partitionKeyExtractor)
+            {
+                partitionKeyExtractor = PartitionKeyExtractor.CLUSTER_SESSION_ID;
+            }
+
+            if (!BitUtil.isPowerOfTwo(readQueryBufferCapacity))
+            {
+                throw new ConfigurationException(
+                    "readQueryBufferCapacity must be a power of two: " + readQueryBufferCapacity);
+            }
+
             if (null == threadFactory)
             {
                 threadFactory = Thread::new;
@@ -962,6 +1192,178 @@ public final class ClusteredServiceContainer implements AutoCloseable
             return isRespondingService;
         }
 
+        /**
+         * Set the channel on which egress for all sessions is published rather than a publication per session on
+         * its response channel. Null for a publication per session.
+         *
+         * @param channel on which egress for all sessions is published or null.
+         * @return this for a fluent API.
+         * @see Configuration#SHARED_EGRESS_CHANNEL_PROP_NAME
+         */
+        public Context sharedEgressChannel(final String channel)
+        {
+            sharedEgressChannel = channel;
+            return this;
+        }
+
+        /**
+         * Get the channel on which egress for all sessions is published rather than a publication per session on
+         * its response channel.
+         *
+         * @return the channel on which egress for all sessions is published or null if not shared.
+         * @see Configuration#SHARED_EGRESS_CHANNEL_PROP_NAME
+         */
+        public String sharedEgressChannel()
+        {
+            return sharedEgressChannel;
+        }
+
+        /**
+         * Set the stream id within the shared egress channel.
+         *
+         * @param streamId within the shared egress channel.
+         * @return this for a fluent API.
+         * @see Configuration#SHARED_EGRESS_STREAM_ID_PROP_NAME
+         */
+        public Context sharedEgressStreamId(final int streamId)
+        {
+            sharedEgressStreamId = streamId;
+            return this;
+        }
+
+        /**
+         * Get the stream id within the shared egress channel.
+         *
+         * @return the stream id within the shared egress channel.
+         * @see Configuration#SHARED_EGRESS_STREAM_ID_PROP_NAME
+         */
+        public int sharedEgressStreamId()
+        {
+            return sharedEgressStreamId;
+        }
+
+        /**
+         * Set the number of partitions for a partitioned service of which this container runs one.
+         *
+         * @param servicePartitionCount number of partitions for the service.
+         * @return this for a fluent API.
+         * @see Configuration#SERVICE_PARTITION_COUNT_PROP_NAME
+         */
+        public Context servicePartitionCount(final int servicePartitionCount)
+        {
+            this.servicePartitionCount = servicePartitionCount;
+            return this;
+        }
+
+        /**
+         * Get the number of partitions for a partitioned service of which this container runs one.
+         *
+         * @return number of partitions for the service.
+         * @see Configuration#SERVICE_PARTITION_COUNT_PROP_NAME
+         */
+        public int servicePartitionCount()
+        {
+            return servicePartitionCount;
+        }
+
+        /**
+         * Set the index of the partition of a partitioned service which this container runs.
+         *
+         * @param servicePartitionIndex of the partition run by this container.
+         * @return this for a fluent API.
+         * @see Configuration#SERVICE_PARTITION_INDEX_PROP_NAME
+         */
+        public Context servicePartitionIndex(final int servicePartitionIndex)
+        {
+            this.servicePartitionIndex = servicePartitionIndex;
+            return this;
+        }
+
+        /**
+         * Get the index of the partition of a partitioned service which this container runs.
+         *
+         * @return index of the partition run by this container.
+         * @see Configuration#SERVICE_PARTITION_INDEX_PROP_NAME
+         */
+        public int servicePartitionIndex()
+        {
+            return servicePartitionIndex;
+        }
+
+        /**
+         * Set the {@link PartitionKeyExtractor} by which session messages are routed to partitions.
+         *
+         * @param partitionKeyExtractor by which session messages are routed to partitions.
+         * @return this for a fluent API.
+         */
+        public Context partitionKeyExtractor(final PartitionKeyExtractor partitionKeyExtractor)
+        {
+            this.partitionKeyExtractor = partitionKeyExtractor;
+            return this;
+        }
+
+        /**
+         * Get the {@link PartitionKeyExtractor} by which session messages are routed to partitions.
+         *
+         * @return the {@link PartitionKeyExtractor} by which session messages are routed to partitions.
+         */
+        public PartitionKeyExtractor partitionKeyExtractor()
+        {
+            return partitionKeyExtractor;
+        }
+
+        /**
+         * Set the capacity of the buffer for read queries which are waiting for the log to be applied up to the
+         * position requested by the client.
+         *
+         * @param readQueryBufferCapacity for read queries waiting on the log position.
+         * @return this for a fluent API.
+         * @see Configuration#READ_QUERY_BUFFER_CAPACITY_PROP_NAME
+         */
+        public Context readQueryBufferCapacity(final int readQueryBufferCapacity)
+        {
+            this.readQueryBufferCapacity = readQueryBufferCapacity;
+            return this;
+        }
+
+        /**
+         * Get the capacity of the buffer for read queries which are waiting for the log to be applied up to the
+         * position requested by the client.
+         *
+         * @return capacity of the buffer for read queries waiting on the log position.
+         * @see Configuration#READ_QUERY_BUFFER_CAPACITY_PROP_NAME
+         */
+        public int readQueryBufferCapacity()
+        {
+            return readQueryBufferCapacity;
+        }
+
+        /**
+         * Set the timeout for a buffered read query waiting on the log position after which an error is sent to the
+         * client.
+         *
+         * @param readQueryTimeoutNs for a buffered read query waiting on the log position.
+         * @return this for a fluent API.
+         * @see Configuration#READ_QUERY_TIMEOUT_PROP_NAME
+         */
+        public Context readQueryTimeoutNs(final long readQueryTimeoutNs)
+        {
+            this.readQueryTimeoutNs = readQueryTimeoutNs;
+            return this;
+        }
+
+        /**
+         * Get the timeout for a buffered read query waiting on the log position after which an error is sent to the
+         * client.
+         *
+         * @return timeout for a buffered read query waiting on the log position.
+         * @see Configuration#READ_QUERY_TIMEOUT_PROP_NAME
+         */
+        public long readQueryTimeoutNs()
+        {
+            return readQueryTimeoutNs;
+        }
+
         /**
          * Get the thread factory used for creating threads.
          *
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster.service;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * Extracts the key from a session message by which it is routed to a partition of a partitioned service. Messages
+ * with the same key are processed in log order by the same partition.
+ *
+ * @see ClusteredServiceContainer.Configuration#SERVICE_PARTITION_COUNT_PROP_NAME
+ */
+@FunctionalInterface
+public interface PartitionKeyExtractor
+{
+    /**
+     * Key by the cluster session id of the message so all messages for a session go to the same partition.
+     */
+    PartitionKeyExtractor CLUSTER_SESSION_ID = (clusterSessionId, buffer, offset, length) -> clusterSessionId;
+
+    /**
+     * Extract the partition key for a session message.
+     *
+     * @param clusterSessionId from the header of the session message.
+     * @param buffer           containing the message.
+     * @param offset           at which the message begins after the session header.
+     * @param length           of the message.
+     * @return the key by which the message is partitioned.
+     */
+    long partitionKey(long clusterSessionId, DirectBuffer buffer, int offset, int length);
+
+    /**
+     * Partition index for a key.
+     *
+     * @param partitionKey   for the message.
+     * @param partitionCount number of partitions for the service.
+     * @return the partition index in the range 0 to partitionCount - 1.
+     */
+    static int partitionIndex(final long partitionKey, final int partitionCount)
+    {
+        return (int)Math.floorMod(partitionKey, (long)partitionCount);
+    }
+}
@@ -15,16 +15,21 @@
  */
 package io.aeron.cluster.service;
 
+import io.aeron.ControlledFragmentAssembler;
 import io.aeron.Subscription;
 import io.aeron.cluster.client.ClusterException;
 import io.aeron.cluster.codecs.*;
-import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.ControlledFragmentHandler;
 import io.aeron.logbuffer.Header;
 import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
 
-final class ServiceAdapter implements FragmentHandler, AutoCloseable
+import static io.aeron.cluster.client.AeronCluster.READ_QUERY_HEADER_LENGTH;
+
+final class ServiceAdapter implements ControlledFragmentHandler, AutoCloseable
 {
+    private static final int FRAGMENT_LIMIT = 10;
+
     private final Subscription subscription;
     private final ClusteredServiceAgent clusteredServiceAgent;
 
@@ -32,6 +37,8 @@ final class ServiceAdapter implements FragmentHandler, AutoCloseable
     private final JoinLogDecoder joinLogDecoder = new JoinLogDecoder();
     private final ServiceTerminationPositionDecoder serviceTerminationPositionDecoder =
         new ServiceTerminationPositionDecoder();
+    private final ReadQueryHeaderDecoder readQueryHeaderDecoder = new ReadQueryHeaderDecoder();
+    private final ControlledFragmentAssembler fragmentAssembler = new ControlledFragmentAssembler(this);
 
     ServiceAdapter(final Subscription subscription, final ClusteredServiceAgent clusteredServiceAgent)
     {
@@ -46,10 +53,10 @@ final class ServiceAdapter implements FragmentHandler, AutoCloseable
 
     public int poll()
     {
-        return subscription.poll(this, 1);
+        return subscription.controlledPoll(fragmentAssembler, FRAGMENT_LIMIT);
     }
 
-    public void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    public Action onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
     {
         messageHeaderDecoder.wrap(buffer, offset);
 
@@ -78,7 +85,7 @@ final class ServiceAdapter implements FragmentHandler, AutoCloseable
                     joinLogDecoder.logStreamId(),
                     joinLogDecoder.isStartup() == BooleanType.TRUE,
                     joinLogDecoder.logChannel());
-                break;
+                return Action.BREAK;
 
             case ServiceTerminationPositionDecoder.TEMPLATE_ID:
                 serviceTerminationPositionDecoder.wrap(
@@ -88,7 +95,25 @@ final class ServiceAdapter implements FragmentHandler, AutoCloseable
                     messageHeaderDecoder.version());
 
                 clusteredServiceAgent.onServiceTerminationPosition(serviceTerminationPositionDecoder.logPosition());
+                return Action.BREAK;
+
+            case ReadQueryHeaderDecoder.TEMPLATE_ID:
+                readQueryHeaderDecoder.wrap(
+                    buffer,
+                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                    messageHeaderDecoder.blockLength(),
+                    messageHeaderDecoder.version());
+
+                clusteredServiceAgent.onReadQuery(
+                    readQueryHeaderDecoder.clusterSessionId(),
+                    readQueryHeaderDecoder.correlationId(),
+                    readQueryHeaderDecoder.minLogPosition(),
+                    buffer,
+                    offset + READ_QUERY_HEADER_LENGTH,
+                    length - READ_QUERY_HEADER_LENGTH);
                 break;
         }
+
+        return Action.CONTINUE;
     }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster;
+
+import io.aeron.Counter;
+import io.aeron.archive.client.AeronArchive;
+import io.aeron.archive.client.RecordingDescriptorConsumer;
+import org.agrona.IoUtil;
+import org.agrona.SystemUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static io.aeron.archive.client.AeronArchive.NULL_POSITION;
+import static io.aeron.cluster.ConsensusModule.Configuration.SERVICE_ID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ClusterBackupAgentTest
+{
+    private static final File TEMP_DIR = new File(SystemUtil.tmpDirName());
+    private static final int TERM_LENGTH = 64 * 1024;
+    private static final int SEGMENT_LENGTH = TERM_LENGTH * 2;
+    private static final long LOG_RECORDING_ID = 1L;
+    private static final long SNAPSHOT_LENGTH = 1000L;
+
+    private final AeronArchive archive = mock(AeronArchive.class);
+    private final Counter compactedBytesCounter = mock(Counter.class);
+
+    @AfterEach
+    public void after()
+    {
+        IoUtil.delete(new File(TEMP_DIR, RecordingLog.RECORDING_LOG_FILE_NAME), false);
+    }
+
+    @Test
+    public void shouldRetainMostRecentSnapshotsAndLogFromOldestRetainedSnapshot()
+    {
+        final long liveLogPosition = SEGMENT_LENGTH * 10L;
+        stubRecording(LOG_RECORDING_ID, 0, NULL_POSITION);
+
+        try (RecordingLog recordingLog = new RecordingLog(TEMP_DIR))
+        {
+            recordingLog.appendTerm(LOG_RECORDING_ID, 0, 0, 0);
+            appendSnapshots(recordingLog, 10L, SEGMENT_LENGTH * 2L);
+            appendSnapshots(recordingLog, 20L, SEGMENT_LENGTH * 4L + 64);
+            appendSnapshots(recordingLog, 30L, SEGMENT_LENGTH * 6L);
+
+            final long compactedBytes = ClusterBackupAgent.compact(
+                recordingLog, archive, new RecordingExtent(), 2, liveLogPosition, compactedBytesCounter);
+
+            final long expectedBytes = (2 * SNAPSHOT_LENGTH) + (SEGMENT_LENGTH * 4L);
+            assertEquals(expectedBytes, compactedBytes);
+            verify(compactedBytesCounter).getAndAddOrdered(expectedBytes);
+        }
+
+        verify(archive).truncateRecording(10L, 0);
+        verify(archive).truncateRecording(11L, 0);
+        verify(archive).purgeSegments(LOG_RECORDING_ID, SEGMENT_LENGTH * 4L);
+        verify(archive, never()).truncateRecording(eq(20L), anyLong());
+        verify(archive, never()).truncateRecording(eq(21L), anyLong());
+        verify(archive, never()).truncateRecording(eq(30L), anyLong());
+        verify(archive, never()).truncateRecording(eq(31L), anyLong());
+        verify(archive, never()).truncateRecording(eq(LOG_RECORDING_ID), anyLong());
+
+        try (RecordingLog recordingLog = new RecordingLog(TEMP_DIR))
+        {
+            assertEquals(5, recordingLog.entries().size());
+            for (final RecordingLog.Entry entry : recordingLog.entries())
+            {
+                assertTrue(entry.isValid);
+                assertNotEquals(10L, entry.recordingId);
+                assertNotEquals(11L, entry.recordingId);
+            }
+
+            assertEquals(LOG_RECORDING_ID, recordingLog.findLastTerm().recordingId);
+            assertEquals(30L, recordingLog.getLatestSnapshot(0).recordingId);
+            assertEquals(31L, recordingLog.getLatestSnapshot(SERVICE_ID).recordingId);
+        }
+    }
+
+    @Test
+    public void shouldNotCompactWhenFewerSnapshotsThanRetained()
+    {
+        stubRecording(LOG_RECORDING_ID, 0, NULL_POSITION);
+
+        try (RecordingLog recordingLog = new RecordingLog(TEMP_DIR))
+        {
+            recordingLog.appendTerm(LOG_RECORDING_ID, 0, 0, 0);
+            appendSnapshots(recordingLog, 10L, SEGMENT_LENGTH * 2L);
+
+            final long compactedBytes = ClusterBackupAgent.compact(
+                recordingLog, archive, new RecordingExtent(), 2, SEGMENT_LENGTH * 4L, compactedBytesCounter);
+
+            assertEquals(0, compactedBytes);
+            assertEquals(3, recordingLog.entries().size());
+        }
+
+        verify(archive, never()).truncateRecording(anyLong(), anyLong());
+        verify(archive, never()).purgeSegments(anyLong(), anyLong());
+        verifyNoInteractions(compactedBytesCounter);
+    }
+
+    private void appendSnapshots(final RecordingLog recordingLog, final long recordingId, final long logPosition)
+    {
+        recordingLog.appendSnapshot(recordingId, 0, 0, logPosition, 0, 0);
+        recordingLog.appendSnapshot(recordingId + 1, 0, 0, logPosition, 0, SERVICE_ID);
+        stubRecording(recordingId, 0, SNAPSHOT_LENGTH);
+        stubRecording(recordingId + 1, 0, SNAPSHOT_LENGTH);
+    }
+
+    private void stubRecording(final long recordingId, final long startPosition, final long stopPosition)
+    {
+        when(archive.listRecording(eq(recordingId), any())).thenAnswer(
+            (invocation) ->
+            {
+                final RecordingDescriptorConsumer consumer = invocation.getArgument(1);
+                consumer.onRecordingDescriptor(
+                    0, 0, recordingId, 0, 0, startPosition, stopPosition, 0, SEGMENT_LENGTH, TERM_LENGTH,
+                    1408, 0, 0, "", "", "");
+
+                return 1;
+            });
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.aeron.cluster;
 
+import io.aeron.Counter;
 import io.aeron.test.SlowTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -25,6 +26,7 @@ import java.io.PrintStream;
 import java.nio.file.Path;
 
 import static io.aeron.Aeron.NULL_VALUE;
+import static io.aeron.cluster.ConsensusModule.Configuration.SNAPSHOT_TRANSFER_BYTES_TYPE_ID;
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
@@ -126,6 +128,28 @@ class ClusterToolTest
         }
     }
 
+    @Test
+    @Timeout(30)
+    void shouldPrintSnapshotTransferProgress()
+    {
+        try (TestCluster cluster = TestCluster.startThreeNodeStaticCluster(NULL_VALUE))
+        {
+            final TestNode leader = cluster.awaitLeader();
+            final ConsensusModule.Context ctx = leader.consensusModule().context();
+            final CapturingPrintStream capturingPrintStream = new CapturingPrintStream();
+            final String label = "Snapshot transfer bytes: memberId=3 totalLength=4096";
+
+            try (Counter counter = ctx.aeron().addCounter(SNAPSHOT_TRANSFER_BYTES_TYPE_ID, label))
+            {
+                counter.setOrdered(1024);
+
+                ClusterTool.snapshotTransfer(capturingPrintStream.resetAndGetPrintStream(), ctx.clusterDir());
+
+                assertThat(capturingPrintStream.flushAndGetContent(), containsString(label + " transferred=1024"));
+            }
+        }
+    }
+
     @Test
     void shouldFailIfMarkFileUnavailable(final @TempDir Path emptyClusterDir)
     {
@@ -17,15 +17,21 @@ package io.aeron.cluster;
 
 import io.aeron.*;
 import io.aeron.archive.client.AeronArchive;
+import io.aeron.cluster.client.AeronCluster;
 import io.aeron.cluster.codecs.*;
 import io.aeron.cluster.service.Cluster;
 import io.aeron.cluster.service.ClusterMarkFile;
 import io.aeron.security.DefaultAuthenticatorSupplier;
+import io.aeron.logbuffer.BufferClaim;
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.protocol.DataHeaderFlyweight;
 import io.aeron.status.ReadableCounter;
 import io.aeron.test.Tests;
+import org.agrona.DirectBuffer;
 import org.agrona.collections.MutableLong;
 import org.agrona.concurrent.AgentInvoker;
 import org.agrona.concurrent.NoOpIdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.AtomicCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +46,7 @@ import static io.aeron.cluster.ConsensusModule.Configuration.*;
 import static io.aeron.cluster.ConsensusModuleAgent.SLOW_TICK_INTERVAL_NS;
 import static io.aeron.cluster.client.AeronCluster.Configuration.PROTOCOL_SEMANTIC_VERSION;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.*;
 import static java.lang.Boolean.TRUE;
 
@@ -154,6 +161,43 @@ public class ConsensusModuleAgentTest
             any(ClusterSession.class), anyLong(), anyInt(), eq(EventCode.CLOSED), eq(CloseReason.TIMEOUT.name()));
     }
 
+    @Test
+    public void shouldForwardReadQueryForOpenSessionToServices()
+    {
+        final TestClusterClock clock = new TestClusterClock(TimeUnit.MILLISECONDS);
+        ctx.epochClock(clock)
+            .clusterClock(clock);
+
+        final ConsensusModuleAgent agent = new ConsensusModuleAgent(ctx);
+
+        agent.state(ConsensusModule.State.ACTIVE);
+        agent.role(Cluster.Role.LEADER);
+        agent.appendPositionCounter(mock(ReadableCounter.class));
+        agent.onSessionConnect(1L, 2, PROTOCOL_SEMANTIC_VERSION, RESPONSE_CHANNEL_ONE, new byte[0]);
+
+        clock.update(17, TimeUnit.MILLISECONDS);
+        agent.doWork();
+
+        final ArgumentCaptor<ClusterSession> sessionCaptor = ArgumentCaptor.forClass(ClusterSession.class);
+        verify(mockLogPublisher).appendSessionOpen(sessionCaptor.capture(), anyLong(), anyLong());
+        final long clusterSessionId = sessionCaptor.getValue().id();
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[64]);
+        final int length = AeronCluster.READ_QUERY_HEADER_LENGTH + 8;
+
+        assertEquals(
+            ControlledFragmentHandler.Action.CONTINUE, agent.onReadQuery(clusterSessionId + 1, buffer, 0, length));
+        verify(mockResponsePublication, never()).offer(any(DirectBuffer.class), anyInt(), anyInt());
+
+        when(mockResponsePublication.offer(any(DirectBuffer.class), anyInt(), anyInt()))
+            .thenReturn(Publication.BACK_PRESSURED);
+        assertEquals(ControlledFragmentHandler.Action.ABORT, agent.onReadQuery(clusterSessionId, buffer, 0, length));
+
+        when(mockResponsePublication.offer(any(DirectBuffer.class), anyInt(), anyInt())).thenReturn(128L);
+        assertEquals(ControlledFragmentHandler.Action.CONTINUE, agent.onReadQuery(clusterSessionId, buffer, 0, length));
+        verify(mockResponsePublication, times(2)).offer(buffer, 0, length);
+    }
+
     @Test
     public void shouldCloseTerminatedSession()
     {
@@ -193,6 +237,154 @@ public class ConsensusModuleAgentTest
             eq(CloseReason.SERVICE_ACTION.name()));
     }
 
+    @Test
+    public void shouldCancelSessionTimeoutWhenSessionIsClosed()
+    {
+        final TestClusterClock clock = new TestClusterClock(TimeUnit.MILLISECONDS);
+        ctx.epochClock(clock)
+            .clusterClock(clock);
+
+        final ConsensusModuleAgent agent = new ConsensusModuleAgent(ctx);
+
+        agent.state(ConsensusModule.State.ACTIVE);
+        agent.role(Cluster.Role.LEADER);
+        agent.appendPositionCounter(mock(ReadableCounter.class));
+        agent.onSessionConnect(1L, 2, PROTOCOL_SEMANTIC_VERSION, RESPONSE_CHANNEL_ONE, new byte[0]);
+
+        clock.update(17, TimeUnit.MILLISECONDS);
+        agent.doWork();
+
+        final ArgumentCaptor<ClusterSession> sessionCaptor = ArgumentCaptor.forClass(ClusterSession.class);
+        verify(mockLogPublisher).appendSessionOpen(sessionCaptor.capture(), anyLong(), anyLong());
+        assertEquals(1, agent.sessionTimeouts().size());
+
+        agent.onServiceCloseSession(sessionCaptor.getValue().id());
+
+        verify(mockLogPublisher).appendSessionClose(any(ClusterSession.class), anyLong(), anyLong());
+        assertEquals(0, agent.sessionTimeouts().size());
+    }
+
+    @Test
+    public void shouldCancelSessionTimeoutWhenReplayedSessionIsClosed()
+    {
+        final TestClusterClock clock = new TestClusterClock(TimeUnit.MILLISECONDS);
+        ctx.epochClock(clock)
+            .clusterClock(clock);
+
+        final ConsensusModuleAgent agent = new ConsensusModuleAgent(ctx);
+
+        agent.state(ConsensusModule.State.ACTIVE);
+        agent.role(Cluster.Role.FOLLOWER);
+
+        final long clusterSessionIdOne = 7L;
+        final long clusterSessionIdTwo = 8L;
+        agent.onReplaySessionOpen(0, 1L, clusterSessionIdOne, 0, 2, RESPONSE_CHANNEL_ONE);
+        agent.onReplaySessionOpen(64, 2L, clusterSessionIdTwo, 0, 3, RESPONSE_CHANNEL_TWO);
+        assertEquals(2, agent.sessionTimeouts().size());
+
+        agent.onReplaySessionClose(clusterSessionIdOne, CloseReason.CLIENT_ACTION);
+        assertEquals(1, agent.sessionTimeouts().size());
+
+        agent.onReplaySessionClose(clusterSessionIdTwo, CloseReason.TIMEOUT);
+        assertEquals(0, agent.sessionTimeouts().size());
+    }
+
+    @Test
+    public void shouldRejectVoteRequestWhileLeaderIsAliveWhenFastElection()
+    {
+        final TestClusterClock clock = new TestClusterClock(TimeUnit.MILLISECONDS);
+        final Counter mockControlToggle = mock(Counter.class);
+        ctx.epochClock(clock)
+            .clusterClock(clock)
+            .controlToggleCounter(mockControlToggle)
+            .isFastElection(true)
+            .clusterMembers(
+                "0,clientEndpoint,memberEndpoint,logEndpoint,transferEndpoint,archiveEndpoint|" +
+                "1,clientEndpoint,memberEndpoint,logEndpoint,transferEndpoint,archiveEndpoint|" +
+                "2,clientEndpoint,memberEndpoint,logEndpoint,transferEndpoint,archiveEndpoint");
+
+        final ConsensusModuleAgent agent = new ConsensusModuleAgent(ctx);
+        agent.state(ConsensusModule.State.ACTIVE);
+        agent.role(Cluster.Role.FOLLOWER);
+        agent.appendPositionCounter(mock(ReadableCounter.class));
+
+        final UnsafeBuffer voteBuffer = new UnsafeBuffer(new byte[128]);
+        final ExclusivePublication mockCandidatePublication = mock(ExclusivePublication.class);
+        when(mockCandidatePublication.tryClaim(anyInt(), any(BufferClaim.class))).thenAnswer(
+            (invocation) ->
+            {
+                final int length = invocation.getArgument(0);
+                final BufferClaim bufferClaim = invocation.getArgument(1);
+                bufferClaim.wrap(voteBuffer, 0, length + DataHeaderFlyweight.HEADER_LENGTH);
+                return 64L;
+            });
+        agent.clusterMember(1).publication(mockCandidatePublication);
+
+        final long candidateTermId = 1;
+        agent.onRequestVote(0, 0, candidateTermId, 1);
+
+        final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
+        final VoteDecoder voteDecoder = new VoteDecoder();
+        messageHeaderDecoder.wrap(voteBuffer, DataHeaderFlyweight.HEADER_LENGTH);
+        voteDecoder.wrap(
+            voteBuffer,
+            DataHeaderFlyweight.HEADER_LENGTH + MessageHeaderDecoder.ENCODED_LENGTH,
+            messageHeaderDecoder.blockLength(),
+            messageHeaderDecoder.version());
+
+        assertEquals(VoteDecoder.TEMPLATE_ID, messageHeaderDecoder.templateId());
+        assertEquals(candidateTermId, voteDecoder.candidateTermId());
+        assertEquals(1, voteDecoder.candidateMemberId());
+        assertEquals(0, voteDecoder.followerMemberId());
+        assertEquals(BooleanType.FALSE, voteDecoder.vote());
+        verify(mockControlToggle, never()).set(INACTIVE.code());
+    }
+
+    @Test
+    public void shouldPublishEgressForAllSessionsOnSharedEgressChannel()
+    {
+        final String sharedEgressChannel = "aeron:udp?endpoint=224.0.1.1:40456";
+        final ConcurrentPublication mockSharedPublication = mock(ConcurrentPublication.class);
+        when(mockAeron.addPublication(sharedEgressChannel, 102)).thenReturn(mockSharedPublication);
+        when(mockSharedPublication.isConnected()).thenReturn(TRUE);
+
+        final TestClusterClock clock = new TestClusterClock(TimeUnit.MILLISECONDS);
+        ctx.epochClock(clock)
+            .clusterClock(clock)
+            .sharedEgressChannel(sharedEgressChannel)
+            .sharedEgressStreamId(102);
+
+        final ConsensusModuleAgent agent = new ConsensusModuleAgent(ctx);
+
+        agent.state(ConsensusModule.State.ACTIVE);
+        agent.role(Cluster.Role.LEADER);
+        agent.appendPositionCounter(mock(ReadableCounter.class));
+        agent.onSessionConnect(1L, 2, PROTOCOL_SEMANTIC_VERSION, RESPONSE_CHANNEL_ONE, new byte[0]);
+        agent.onSessionConnect(2L, 3, PROTOCOL_SEMANTIC_VERSION, RESPONSE_CHANNEL_TWO, new byte[0]);
+
+        clock.update(17, TimeUnit.MILLISECONDS);
+        agent.doWork();
+
+        final ArgumentCaptor<ClusterSession> sessionCaptor = ArgumentCaptor.forClass(ClusterSession.class);
+        verify(mockLogPublisher, times(2)).appendSessionOpen(sessionCaptor.capture(), anyLong(), anyLong());
+        verify(mockAeron, times(1)).addPublication(sharedEgressChannel, 102);
+        verify(mockAeron, never()).addPublication(eq(RESPONSE_CHANNEL_ONE), anyInt());
+        verify(mockAeron, never()).addPublication(eq(RESPONSE_CHANNEL_TWO), anyInt());
+
+        final ClusterSession sessionOne = sessionCaptor.getAllValues().get(0);
+        final ClusterSession sessionTwo = sessionCaptor.getAllValues().get(1);
+        assertSame(mockSharedPublication, sessionOne.responsePublication());
+        assertSame(mockSharedPublication, sessionTwo.responsePublication());
+
+        clock.update(clock.time() + SLOW_TICK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        agent.doWork();
+        agent.onServiceCloseSession(sessionOne.id());
+
+        verify(mockLogPublisher).appendSessionClose(eq(sessionOne), anyLong(), anyLong());
+        verify(mockSharedPublication, never()).close();
+        assertSame(mockSharedPublication, sessionTwo.responsePublication());
+    }
+
     @Test
     public void shouldSuspendThenResume()
     {
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster;
+
+import io.aeron.Aeron;
+import io.aeron.ChannelUri;
+import io.aeron.Counter;
+import io.aeron.ExclusivePublication;
+import io.aeron.Image;
+import io.aeron.Subscription;
+import io.aeron.archive.client.AeronArchive;
+import io.aeron.archive.client.ArchiveProxy;
+import io.aeron.archive.client.ControlResponsePoller;
+import io.aeron.archive.codecs.ControlResponseCode;
+import io.aeron.archive.status.RecordingPos;
+import io.aeron.cluster.client.ClusterException;
+import io.aeron.cluster.codecs.SnapshotRecordingsDecoder;
+import io.aeron.cluster.codecs.SnapshotRecordingsEncoder;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.concurrent.CountedErrorHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayDeque;
+
+import static io.aeron.Aeron.NULL_VALUE;
+import static io.aeron.archive.status.RecordingPos.RECORDING_ID_OFFSET;
+import static io.aeron.archive.status.RecordingPos.SESSION_ID_OFFSET;
+import static io.aeron.cluster.ConsensusModule.Configuration.SNAPSHOT_TRANSFER_BYTES_TYPE_ID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class DynamicJoinTest
+{
+    private static final long INTERVAL_NS = 1000;
+    private static final long CONTROL_SESSION_ID = 7;
+    private static final String LEADER_MEMBER_STATUS_ENDPOINT = "localhost:20220";
+    private static final String ACTIVE_MEMBERS =
+        "0,localhost:20110,localhost:20220,localhost:20330,localhost:20440,localhost:8010";
+    private static final String MEMBER_ENDPOINTS =
+        "localhost:20113,localhost:20223,localhost:20333,localhost:20443,localhost:8013";
+    private static final int MEMBER_ID = 3;
+
+    private final Aeron aeron = mock(Aeron.class);
+    private final AeronArchive localArchive = mock(AeronArchive.class);
+    private final AeronArchive leaderArchive = mock(AeronArchive.class);
+    private final AeronArchive.AsyncConnect leaderArchiveAsyncConnect = mock(AeronArchive.AsyncConnect.class);
+    private final ArchiveProxy archiveProxy = mock(ArchiveProxy.class);
+    private final ControlResponsePoller controlResponsePoller = mock(ControlResponsePoller.class);
+    private final MemberStatusAdapter memberStatusAdapter = mock(MemberStatusAdapter.class);
+    private final MemberStatusPublisher memberStatusPublisher = mock(MemberStatusPublisher.class);
+    private final ConsensusModuleAgent consensusModuleAgent = mock(ConsensusModuleAgent.class);
+    private final Counter snapshotTransferCounter = mock(Counter.class);
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(new byte[64 * 1024]), new UnsafeBuffer(new byte[16 * 1024]));
+
+    private final ArrayDeque<ControlResponse> controlResponses = new ArrayDeque<>();
+    private final Long2LongHashMap snapshotLengthByRecordingId = new Long2LongHashMap(NULL_VALUE);
+    private final Long2LongHashMap replayCorrelationIdByRecordingId = new Long2LongHashMap(NULL_VALUE);
+    private final Int2ObjectHashMap<Image> imageBySessionId = new Int2ObjectHashMap<>();
+    private final Int2ObjectHashMap<Integer> counterIdBySessionId = new Int2ObjectHashMap<>();
+    private ControlResponse controlResponse;
+    private long nextCorrelationId = 1000;
+    private long nowNs = 0;
+
+    private final ConsensusModule.Context ctx = new ConsensusModule.Context()
+        .aeron(aeron)
+        .memberEndpoints(MEMBER_ENDPOINTS)
+        .dynamicJoinIntervalNs(INTERVAL_NS)
+        .countedErrorHandler(mock(CountedErrorHandler.class))
+        .archiveContext(new AeronArchive.Context());
+
+    private DynamicJoin dynamicJoin;
+
+    @BeforeEach
+    public void before()
+    {
+        when(aeron.nextCorrelationId()).thenAnswer((invocation) -> nextCorrelationId++);
+        when(aeron.countersReader()).thenReturn(countersManager);
+        when(aeron.addExclusivePublication(anyString(), anyInt())).thenAnswer(
+            (invocation) ->
+            {
+                final ExclusivePublication publication = mock(ExclusivePublication.class);
+                when(publication.isConnected()).thenReturn(true);
+                return publication;
+            });
+        when(aeron.addSubscription(anyString(), anyInt())).thenAnswer(
+            (invocation) ->
+            {
+                final String channel = invocation.getArgument(0);
+                final int sessionId = Integer.parseInt(ChannelUri.parse(channel).get("session-id"));
+                final Subscription subscription = mock(Subscription.class);
+                when(subscription.imageBySessionId(sessionId)).thenAnswer((i) -> imageBySessionId.get(sessionId));
+                return subscription;
+            });
+        when(aeron.addCounter(eq(SNAPSHOT_TRANSFER_BYTES_TYPE_ID), anyString())).thenReturn(snapshotTransferCounter);
+
+        when(memberStatusPublisher.addPassiveMember(any(), anyLong(), anyString())).thenReturn(true);
+        when(memberStatusPublisher.snapshotRecordingQuery(any(), anyLong(), anyInt())).thenReturn(true);
+
+        when(leaderArchiveAsyncConnect.poll()).thenReturn(leaderArchive);
+        when(leaderArchive.archiveProxy()).thenReturn(archiveProxy);
+        when(leaderArchive.controlResponsePoller()).thenReturn(controlResponsePoller);
+        when(leaderArchive.controlSessionId()).thenReturn(CONTROL_SESSION_ID);
+
+        when(archiveProxy.getStopPosition(anyLong(), anyLong(), eq(CONTROL_SESSION_ID))).thenAnswer(
+            (invocation) ->
+            {
+                final long recordingId = invocation.getArgument(0);
+                final long correlationId = invocation.getArgument(1);
+                controlResponses.add(new ControlResponse(
+                    correlationId, ControlResponseCode.OK, snapshotLengthByRecordingId.get(recordingId), ""));
+                return true;
+            });
+        when(archiveProxy.replay(
+            anyLong(), anyLong(), anyLong(), anyString(), anyInt(), anyLong(), eq(CONTROL_SESSION_ID))).thenAnswer(
+            (invocation) ->
+            {
+                final long recordingId = invocation.getArgument(0);
+                final long correlationId = invocation.getArgument(5);
+                replayCorrelationIdByRecordingId.put(recordingId, correlationId);
+                return true;
+            });
+
+        when(controlResponsePoller.poll()).thenAnswer(
+            (invocation) ->
+            {
+                controlResponse = controlResponses.poll();
+                return null == controlResponse ? 0 : 1;
+            });
+        when(controlResponsePoller.isPollComplete()).thenReturn(true);
+        when(controlResponsePoller.controlSessionId()).thenReturn(CONTROL_SESSION_ID);
+        when(controlResponsePoller.correlationId()).thenAnswer((invocation) -> controlResponse.correlationId);
+        when(controlResponsePoller.code()).thenAnswer((invocation) -> controlResponse.code);
+        when(controlResponsePoller.relevantId()).thenAnswer((invocation) -> controlResponse.relevantId);
+        when(controlResponsePoller.errorMessage()).thenAnswer((invocation) -> controlResponse.errorMessage);
+    }
+
+    @Test
+    public void shouldRetrieveSnapshotsOneAtATimeWithConcurrencyOfOne()
+    {
+        ctx.serviceCount(1).snapshotTransferConcurrency(1);
+        awaitSnapshotRetrieve(snapshot(100, -1, 1024), snapshot(101, 0, 2048));
+
+        dynamicJoin.doWork(nowNs);
+        verify(archiveProxy).replay(eq(100L), anyLong(), anyLong(), anyString(), anyInt(), anyLong(), anyLong());
+        verify(archiveProxy, never())
+            .replay(eq(101L), anyLong(), anyLong(), anyString(), anyInt(), anyLong(), anyLong());
+
+        respondToReplay(100, 1);
+        recordTransfer(1, 200, 1024);
+        pollTransfers();
+
+        dynamicJoin.doWork(nowNs);
+        verify(archiveProxy).replay(eq(101L), anyLong(), anyLong(), anyString(), anyInt(), anyLong(), anyLong());
+
+        respondToReplay(101, 2);
+        recordTransfer(2, 201, 2048);
+        pollTransfers();
+
+        final InOrder inOrder = inOrder(consensusModuleAgent);
+        inOrder.verify(consensusModuleAgent).retrievedSnapshot(eq(200L), argThat((s) -> 100 == s.recordingId));
+        inOrder.verify(consensusModuleAgent).retrievedSnapshot(eq(201L), argThat((s) -> 101 == s.recordingId));
+        verify(snapshotTransferCounter).setOrdered(1024 + 2048);
+
+        verify(consensusModuleAgent, atLeastOnce()).loadSnapshotsForDynamicJoin();
+    }
+
+    @Test
+    public void shouldRetrieveSnapshotsConcurrentlyWhenTheyCompleteOutOfOrder()
+    {
+        ctx.serviceCount(2).snapshotTransferConcurrency(2);
+        awaitSnapshotRetrieve(snapshot(100, -1, 1024), snapshot(101, 0, 2048), snapshot(102, 1, 4096));
+
+        dynamicJoin.doWork(nowNs);
+        verify(archiveProxy).replay(eq(100L), anyLong(), anyLong(), anyString(), anyInt(), anyLong(), anyLong());
+        verify(archiveProxy).replay(eq(101L), anyLong(), anyLong(), anyString(), anyInt(), anyLong(), anyLong());
+        verify(archiveProxy, never())
+            .replay(eq(102L), anyLong(), anyLong(), anyString(), anyInt(), anyLong(), anyLong());
+
+        respondToReplay(101, 2);
+        respondToReplay(100, 1);
+
+        recordTransfer(1, 200, 512);
+        recordTransfer(2, 201, 2048);
+        pollTransfers();
+        verify(snapshotTransferCounter, atLeastOnce()).setOrdered(2048 + 512);
+        verify(consensusModuleAgent, never()).retrievedSnapshot(anyLong(), any());
+
+        dynamicJoin.doWork(nowNs);
+        verify(archiveProxy).replay(eq(102L), anyLong(), anyLong(), anyString(), anyInt(), anyLong(), anyLong());
+
+        respondToReplay(102, 3);
+        recordTransfer(3, 202, 4096);
+        pollTransfers();
+        recordTransfer(1, 200, 1024);
+        pollTransfers();
+
+        final InOrder inOrder = inOrder(consensusModuleAgent);
+        inOrder.verify(consensusModuleAgent).retrievedSnapshot(eq(200L), argThat((s) -> 100 == s.recordingId));
+        inOrder.verify(consensusModuleAgent).retrievedSnapshot(eq(201L), argThat((s) -> 101 == s.recordingId));
+        inOrder.verify(consensusModuleAgent).retrievedSnapshot(eq(202L), argThat((s) -> 102 == s.recordingId));
+        verify(snapshotTransferCounter).setOrdered(1024 + 2048 + 4096);
+    }
+
+    @Test
+    public void shouldThrowWhenReplayIsRejectedWithError()
+    {
+        ctx.serviceCount(1).snapshotTransferConcurrency(2);
+        awaitSnapshotRetrieve(snapshot(100, -1, 1024), snapshot(101, 0, 2048));
+
+        dynamicJoin.doWork(nowNs);
+        controlResponses.add(new ControlResponse(
+            replayCorrelationIdByRecordingId.get(101), ControlResponseCode.ERROR, 0, "unknown recording"));
+
+        final ClusterException ex = assertThrows(ClusterException.class, () -> dynamicJoin.doWork(nowNs));
+        assertThat(ex.getMessage(), containsString("unknown recording"));
+        verify(localArchive, never()).startRecording(anyString(), anyInt(), any(), anyBoolean());
+    }
+
+    @Test
+    public void shouldThrowWhenSnapshotImageClosesBeforeTransferIsComplete()
+    {
+        ctx.serviceCount(1).snapshotTransferConcurrency(2);
+        awaitSnapshotRetrieve(snapshot(100, -1, 1024), snapshot(101, 0, 2048));
+
+        dynamicJoin.doWork(nowNs);
+        respondToReplay(100, 1);
+        respondToReplay(101, 2);
+        recordTransfer(1, 200, 512);
+        recordTransfer(2, 201, 1024);
+        dynamicJoin.doWork(nowNs);
+
+        when(imageBySessionId.get(2).isClosed()).thenReturn(true);
+
+        final ClusterException ex = assertThrows(ClusterException.class, () -> dynamicJoin.doWork(nowNs));
+        assertThat(ex.getMessage(), containsString("ended unexpectedly"));
+        verify(consensusModuleAgent, never()).retrievedSnapshot(anyLong(), any());
+    }
+
+    private void awaitSnapshotRetrieve(final RecordingLog.Snapshot... snapshots)
+    {
+        dynamicJoin = new DynamicJoin(
+            LEADER_MEMBER_STATUS_ENDPOINT,
+            localArchive,
+            memberStatusAdapter,
+            memberStatusPublisher,
+            ctx,
+            consensusModuleAgent)
+        {
+            AeronArchive.AsyncConnect asyncConnectLeaderArchive(final AeronArchive.Context leaderArchiveCtx)
+            {
+                return leaderArchiveAsyncConnect;
+            }
+        };
+
+        nowNs += INTERVAL_NS + 1;
+        dynamicJoin.doWork(nowNs);
+        dynamicJoin.doWork(nowNs);
+        dynamicJoin.onClusterMembersChange(
+            nextCorrelationId - 1, 0, ACTIVE_MEMBERS, MEMBER_ID + "," + MEMBER_ENDPOINTS);
+        assertEquals(MEMBER_ID, dynamicJoin.memberId());
+
+        nowNs += INTERVAL_NS + 1;
+        dynamicJoin.doWork(nowNs);
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[1024]);
+        final SnapshotRecordingsEncoder encoder = new SnapshotRecordingsEncoder().wrap(buffer, 0);
+        final SnapshotRecordingsEncoder.SnapshotsEncoder snapshotsEncoder = encoder
+            .correlationId(nextCorrelationId - 1)
+            .snapshotsCount(snapshots.length);
+        for (final RecordingLog.Snapshot snapshot : snapshots)
+        {
+            snapshotsEncoder.next()
+                .recordingId(snapshot.recordingId)
+                .leadershipTermId(snapshot.leadershipTermId)
+                .termBaseLogPosition(snapshot.termBaseLogPosition)
+                .logPosition(snapshot.logPosition)
+                .timestamp(snapshot.timestamp)
+                .serviceId(snapshot.serviceId);
+        }
+        encoder.memberEndpoints(MEMBER_ENDPOINTS);
+
+        dynamicJoin.onSnapshotRecordings(
+            nextCorrelationId - 1,
+            new SnapshotRecordingsDecoder().wrap(buffer, 0, encoder.sbeBlockLength(), encoder.sbeSchemaVersion()));
+
+        for (int i = 0; i < snapshots.length * 2 + 1; i++)
+        {
+            dynamicJoin.doWork(nowNs);
+        }
+
+        verify(aeron).addCounter(eq(SNAPSHOT_TRANSFER_BYTES_TYPE_ID), argThat(
+            (label) -> label.contains("memberId=" + MEMBER_ID) && label.contains("totalLength=")));
+    }
+
+    private RecordingLog.Snapshot snapshot(final long recordingId, final int serviceId, final long length)
+    {
+        snapshotLengthByRecordingId.put(recordingId, length);
+        return new RecordingLog.Snapshot(recordingId, 1, 0, 4096, 0, serviceId);
+    }
+
+    private void respondToReplay(final long recordingId, final int replaySessionId)
+    {
+        final Image image = mock(Image.class);
+        when(image.sessionId()).thenReturn(replaySessionId);
+        imageBySessionId.put(replaySessionId, image);
+
+        controlResponses.add(new ControlResponse(
+            replayCorrelationIdByRecordingId.get(recordingId), ControlResponseCode.OK, replaySessionId, ""));
+        dynamicJoin.doWork(nowNs);
+
+        verify(localArchive).startRecording(
+            argThat((channel) -> channel.endsWith("session-id=" + replaySessionId)), anyInt(), any(), eq(true));
+    }
+
+    private void recordTransfer(final int replaySessionId, final long localRecordingId, final long position)
+    {
+        Integer counterId = counterIdBySessionId.get(replaySessionId);
+        if (null == counterId)
+        {
+            counterId = countersManager.allocate(
+                "recording-pos: " + localRecordingId,
+                RecordingPos.RECORDING_POSITION_TYPE_ID,
+                (keyBuffer) ->
+                {
+                    keyBuffer.putLong(RECORDING_ID_OFFSET, localRecordingId);
+                    keyBuffer.putInt(SESSION_ID_OFFSET, replaySessionId);
+                });
+            counterIdBySessionId.put(replaySessionId, counterId);
+        }
+
+        countersManager.setCounterValue(counterId, position);
+    }
+
+    private void pollTransfers()
+    {
+        for (int i = 0; i < 5; i++)
+        {
+            dynamicJoin.doWork(nowNs);
+        }
+    }
+
+    static final class ControlResponse
+    {
+        final long correlationId;
+        final ControlResponseCode code;
+        final long relevantId;
+        final String errorMessage;
+
+        ControlResponse(
+            final long correlationId, final ControlResponseCode code, final long relevantId, final String errorMessage)
+        {
+            this.correlationId = correlationId;
+            this.code = code;
+            this.relevantId = relevantId;
+            this.errorMessage = errorMessage;
+        }
+    }
+}
@@ -41,6 +41,7 @@ public class ElectionTest
     private static final int LOG_SESSION_ID = 777;
     private final Aeron aeron = mock(Aeron.class);
     private final Counter electionStateCounter = mock(Counter.class);
+    private final Counter electionDurationCounter = mock(Counter.class);
     private final RecordingLog recordingLog = mock(RecordingLog.class);
     private final ClusterMarkFile clusterMarkFile = mock(ClusterMarkFile.class);
     private final MemberStatusAdapter memberStatusAdapter = mock(MemberStatusAdapter.class);
@@ -53,6 +54,7 @@ public class ElectionTest
         .clusterClock(new TestClusterClock(TimeUnit.MILLISECONDS))
         .random(new Random())
         .electionStateCounter(electionStateCounter)
+        .electionDurationCounter(electionDurationCounter)
         .clusterMarkFile(clusterMarkFile);
 
     @BeforeEach
@@ -452,6 +454,142 @@ public class ElectionTest
         verify(electionStateCounter).setOrdered(Election.State.LEADER_REPLAY.code());
     }
 
+    @Test
+    public void shouldNominateImmediatelyOnUnanimousCanvassWhenFastElectionAndLogIsAhead()
+    {
+        final long leadershipTermId = Aeron.NULL_VALUE;
+        final long logPosition = 64;
+        final ClusterMember[] clusterMembers = prepareClusterMembers();
+        final ClusterMember candidateMember = clusterMembers[1];
+
+        ctx.isFastElection(true);
+        final Election election = newElection(leadershipTermId, logPosition, clusterMembers, candidateMember);
+
+        final long t1 = 1;
+        election.doWork(t1);
+        verify(electionStateCounter).setOrdered(Election.State.CANVASS.code());
+
+        election.onCanvassPosition(leadershipTermId, 0, 0);
+        election.onCanvassPosition(leadershipTermId, 0, 2);
+
+        final long t2 = t1 + 1;
+        election.doWork(t2);
+        verify(electionStateCounter).setOrdered(Election.State.NOMINATE.code());
+
+        final long t3 = t2 + 1;
+        election.doWork(t3);
+        verify(electionStateCounter).setOrdered(Election.State.CANDIDATE_BALLOT.code());
+    }
+
+    @Test
+    public void shouldNominateImmediatelyOnUnanimousCanvassWhenFastElectionAndLowestMemberIdWithEqualLog()
+    {
+        final long leadershipTermId = Aeron.NULL_VALUE;
+        final long logPosition = 0;
+        final ClusterMember[] clusterMembers = prepareClusterMembers();
+        final ClusterMember candidateMember = clusterMembers[0];
+
+        ctx.isFastElection(true);
+        final Election election = newElection(leadershipTermId, logPosition, clusterMembers, candidateMember);
+
+        final long t1 = 1;
+        election.doWork(t1);
+        verify(electionStateCounter).setOrdered(Election.State.CANVASS.code());
+
+        election.onCanvassPosition(leadershipTermId, logPosition, 1);
+        election.onCanvassPosition(leadershipTermId, logPosition, 2);
+
+        final long t2 = t1 + 1;
+        election.doWork(t2);
+        verify(electionStateCounter).setOrdered(Election.State.NOMINATE.code());
+
+        final long t3 = t2 + 1;
+        election.doWork(t3);
+        verify(electionStateCounter).setOrdered(Election.State.CANDIDATE_BALLOT.code());
+    }
+
+    @Test
+    public void shouldDelayContestedNominationOnUnanimousCanvassWhenFastElection()
+    {
+        final long leadershipTermId = Aeron.NULL_VALUE;
+        final long logPosition = 0;
+        final ClusterMember[] clusterMembers = prepareClusterMembers();
+        final ClusterMember candidateMember = clusterMembers[1];
+
+        ctx.isFastElection(true).random(new Random(7));
+        final Election election = newElection(leadershipTermId, logPosition, clusterMembers, candidateMember);
+
+        final long t1 = 1;
+        election.doWork(t1);
+        verify(electionStateCounter).setOrdered(Election.State.CANVASS.code());
+
+        election.onCanvassPosition(leadershipTermId, logPosition, 0);
+        election.onCanvassPosition(leadershipTermId, logPosition, 2);
+
+        final long t2 = t1 + 1;
+        election.doWork(t2);
+        verify(electionStateCounter).setOrdered(Election.State.NOMINATE.code());
+
+        final long t3 = t2 + 1;
+        election.doWork(t3);
+        verify(electionStateCounter, never()).setOrdered(Election.State.CANDIDATE_BALLOT.code());
+
+        final long t4 = t2 + (ctx.electionTimeoutNs() >> 1);
+        election.doWork(t4);
+        verify(electionStateCounter).setOrdered(Election.State.CANDIDATE_BALLOT.code());
+    }
+
+    @Test
+    public void shouldCloseLeaderReadyOnceQuorumHasReachedPositionWhenFastElection()
+    {
+        final long leadershipTermId = Aeron.NULL_VALUE;
+        final long logPosition = 0;
+        final ClusterMember[] clusterMembers = prepareClusterMembers();
+        final ClusterMember candidateMember = clusterMembers[0];
+
+        ctx.isFastElection(true);
+        final Election election = newElection(leadershipTermId, logPosition, clusterMembers, candidateMember);
+
+        final long candidateTermId = leadershipTermId + 1;
+        final long t1 = 1;
+        election.doWork(t1);
+        election.onCanvassPosition(leadershipTermId, logPosition, 1);
+        election.onCanvassPosition(leadershipTermId, logPosition, 2);
+
+        final long t2 = t1 + 1;
+        election.doWork(t2);
+        election.doWork(t2);
+        election.doWork(t2);
+        verify(electionStateCounter).setOrdered(Election.State.CANDIDATE_BALLOT.code());
+
+        when(consensusModuleAgent.role()).thenReturn(Cluster.Role.CANDIDATE);
+        election.onVote(
+            candidateTermId, leadershipTermId, logPosition, candidateMember.id(), clusterMembers[1].id(), true);
+        election.onVote(
+            candidateTermId, leadershipTermId, logPosition, candidateMember.id(), clusterMembers[2].id(), true);
+
+        when(recordingLog.isUnknown(candidateTermId)).thenReturn(Boolean.TRUE);
+        final long t3 = t2 + 1;
+        election.doWork(t3);
+        election.doWork(t3);
+        election.doWork(t3);
+        verify(electionStateCounter).setOrdered(Election.State.LEADER_READY.code());
+
+        when(consensusModuleAgent.electionComplete()).thenReturn(true);
+
+        final long t4 = t3 + 1;
+        election.doWork(t4);
+        verify(electionStateCounter, never()).setOrdered(Election.State.CLOSED.code());
+
+        election.onAppendPosition(candidateTermId, logPosition, clusterMembers[1].id());
+
+        final long t5 = t4 + 1;
+        election.doWork(t5);
+        final InOrder inOrder = inOrder(consensusModuleAgent, electionStateCounter);
+        inOrder.verify(consensusModuleAgent).electionComplete();
+        inOrder.verify(electionStateCounter).setOrdered(Election.State.CLOSED.code());
+    }
+
     @Test
     public void shouldTimeoutCandidateBallotWithoutMajority()
     {
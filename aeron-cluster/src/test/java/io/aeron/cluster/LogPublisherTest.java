@@ -0,0 +1,179 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster;
+
+import io.aeron.ExclusivePublication;
+import io.aeron.Publication;
+import io.aeron.ReservedValueSupplier;
+import io.aeron.cluster.codecs.MessageHeaderDecoder;
+import io.aeron.cluster.codecs.SessionMessageHeaderDecoder;
+import io.aeron.logbuffer.BufferClaim;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.aeron.cluster.client.AeronCluster.SESSION_HEADER_LENGTH;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.agrona.BufferUtil.allocateDirectAligned;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class LogPublisherTest
+{
+    private static final int MAX_PAYLOAD_LENGTH = 1376;
+    private static final long LEADERSHIP_TERM_ID = 3;
+    private static final long CLUSTER_SESSION_ID = 7;
+    private static final long TIMESTAMP = 1234567;
+    private static final long POSITION = 4096;
+
+    private final ExclusivePublication publication = mock(ExclusivePublication.class);
+    private final UnsafeBuffer termBuffer = new UnsafeBuffer(allocateDirectAligned(4096, 64));
+    private final UnsafeBuffer offeredHeader = new UnsafeBuffer(new byte[SESSION_HEADER_LENGTH]);
+    private final UnsafeBuffer messageBuffer = new UnsafeBuffer(new byte[MAX_PAYLOAD_LENGTH + 1]);
+    private final LogPublisher logPublisher = new LogPublisher();
+
+    @BeforeEach
+    public void before()
+    {
+        when(publication.maxPayloadLength()).thenReturn(MAX_PAYLOAD_LENGTH);
+        when(publication.tryClaim(anyInt(), any(BufferClaim.class))).thenAnswer(
+            (invocation) ->
+            {
+                final int length = invocation.getArgument(0);
+                final BufferClaim bufferClaim = invocation.getArgument(1);
+                bufferClaim.wrap(termBuffer, 0, length + HEADER_LENGTH);
+                return POSITION;
+            });
+        when(publication.offer(
+            any(DirectBuffer.class), anyInt(), anyInt(), any(DirectBuffer.class), anyInt(), anyInt(), isNull()))
+            .thenAnswer(
+                (invocation) ->
+                {
+                    final DirectBuffer header = invocation.getArgument(0);
+                    offeredHeader.putBytes(0, header, invocation.getArgument(1), invocation.getArgument(2));
+                    return POSITION;
+                });
+
+        for (int i = 0; i < messageBuffer.capacity(); i++)
+        {
+            messageBuffer.putByte(i, (byte)i);
+        }
+
+        logPublisher.publication(publication);
+    }
+
+    @Test
+    public void shouldClaimMessageWhichIsExactlyMaxPayloadLength()
+    {
+        final int length = MAX_PAYLOAD_LENGTH - SESSION_HEADER_LENGTH;
+
+        assertEquals(POSITION, appendMessage(length));
+
+        verify(publication).tryClaim(eq(MAX_PAYLOAD_LENGTH), any(BufferClaim.class));
+        verify(publication, never()).offer(
+            any(DirectBuffer.class), anyInt(), anyInt(), any(DirectBuffer.class), anyInt(), anyInt(),
+            nullable(ReservedValueSupplier.class));
+        assertSessionHeader(termBuffer, HEADER_LENGTH);
+
+        for (int i = 0; i < length; i++)
+        {
+            assertEquals(messageBuffer.getByte(i), termBuffer.getByte(HEADER_LENGTH + SESSION_HEADER_LENGTH + i));
+        }
+    }
+
+    @Test
+    public void shouldOfferMessageWhichIsOneByteOverMaxPayloadLength()
+    {
+        final int length = MAX_PAYLOAD_LENGTH - SESSION_HEADER_LENGTH + 1;
+
+        assertEquals(POSITION, appendMessage(length));
+
+        verify(publication, never()).tryClaim(anyInt(), any(BufferClaim.class));
+        verify(publication).offer(
+            any(DirectBuffer.class), eq(0), eq(SESSION_HEADER_LENGTH), eq(messageBuffer), eq(0), eq(length), isNull());
+        assertSessionHeader(offeredHeader, 0);
+    }
+
+    @Test
+    public void shouldRetryClaimWhenBackPressured()
+    {
+        final BufferClaim[] claims = new BufferClaim[1];
+        when(publication.tryClaim(anyInt(), any(BufferClaim.class))).thenAnswer(
+            (invocation) ->
+            {
+                if (null == claims[0])
+                {
+                    claims[0] = invocation.getArgument(1);
+                    return Publication.BACK_PRESSURED;
+                }
+
+                final int length = invocation.getArgument(0);
+                claims[0].wrap(termBuffer, 0, length + HEADER_LENGTH);
+                return POSITION;
+            });
+
+        assertEquals(POSITION, appendMessage(64));
+
+        verify(publication, times(2)).tryClaim(eq(SESSION_HEADER_LENGTH + 64), any(BufferClaim.class));
+        assertSessionHeader(termBuffer, HEADER_LENGTH);
+    }
+
+    @Test
+    public void shouldReturnBackPressuredWhenClaimIsBackPressuredForAllAttempts()
+    {
+        when(publication.tryClaim(anyInt(), any(BufferClaim.class))).thenReturn(Publication.BACK_PRESSURED);
+
+        assertEquals(Publication.BACK_PRESSURED, appendMessage(64));
+
+        verify(publication, times(3)).tryClaim(eq(SESSION_HEADER_LENGTH + 64), any(BufferClaim.class));
+        assertEquals(0, termBuffer.getLong(HEADER_LENGTH));
+    }
+
+    @Test
+    public void shouldEncodeSessionHeaderTheSameWhenClaimingAndOffering()
+    {
+        appendMessage(64);
+        appendMessage(MAX_PAYLOAD_LENGTH);
+
+        final UnsafeBuffer claimedHeader = new UnsafeBuffer(new byte[SESSION_HEADER_LENGTH]);
+        claimedHeader.putBytes(0, termBuffer, HEADER_LENGTH, SESSION_HEADER_LENGTH);
+
+        assertEquals(offeredHeader, claimedHeader);
+    }
+
+    private long appendMessage(final int length)
+    {
+        return logPublisher.appendMessage(LEADERSHIP_TERM_ID, CLUSTER_SESSION_ID, TIMESTAMP, messageBuffer, 0, length);
+    }
+
+    private static void assertSessionHeader(final DirectBuffer buffer, final int offset)
+    {
+        final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder().wrap(buffer, offset);
+        assertEquals(SessionMessageHeaderDecoder.TEMPLATE_ID, messageHeaderDecoder.templateId());
+
+        final SessionMessageHeaderDecoder sessionMessageHeaderDecoder = new SessionMessageHeaderDecoder().wrap(
+            buffer,
+            offset + MessageHeaderDecoder.ENCODED_LENGTH,
+            messageHeaderDecoder.blockLength(),
+            messageHeaderDecoder.version());
+
+        assertEquals(LEADERSHIP_TERM_ID, sessionMessageHeaderDecoder.leadershipTermId());
+        assertEquals(CLUSTER_SESSION_ID, sessionMessageHeaderDecoder.clusterSessionId());
+        assertEquals(TIMESTAMP, sessionMessageHeaderDecoder.timestamp());
+    }
+}
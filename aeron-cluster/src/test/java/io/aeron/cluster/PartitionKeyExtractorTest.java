@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster;
+
+import io.aeron.cluster.service.PartitionKeyExtractor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionKeyExtractorTest
+{
+    @Test
+    public void shouldKeyByClusterSessionIdByDefault()
+    {
+        assertEquals(7L, PartitionKeyExtractor.CLUSTER_SESSION_ID.partitionKey(7L, null, 0, 0));
+    }
+
+    @Test
+    public void shouldSpreadSequentialKeysEvenlyAcrossPartitions()
+    {
+        final int partitionCount = 4;
+        final int[] counts = new int[partitionCount];
+
+        for (long key = 0; key < 1000; key++)
+        {
+            counts[PartitionKeyExtractor.partitionIndex(key, partitionCount)]++;
+        }
+
+        for (final int count : counts)
+        {
+            assertEquals(250, count);
+        }
+    }
+
+    @Test
+    public void shouldMapNegativeKeysToPartitionInRange()
+    {
+        final int partitionCount = 3;
+
+        for (long key = -10; key < 0; key++)
+        {
+            final int partitionIndex = PartitionKeyExtractor.partitionIndex(key, partitionCount);
+            assertTrue(partitionIndex >= 0 && partitionIndex < partitionCount, "key=" + key);
+        }
+
+        assertEquals(
+            PartitionKeyExtractor.partitionIndex(Long.MIN_VALUE, partitionCount),
+            PartitionKeyExtractor.partitionIndex(Long.MIN_VALUE, partitionCount));
+    }
+}
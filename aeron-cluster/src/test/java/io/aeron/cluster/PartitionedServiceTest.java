@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster;
+
+import io.aeron.Aeron;
+import io.aeron.archive.Archive;
+import io.aeron.archive.ArchiveThreadingMode;
+import io.aeron.archive.client.AeronArchive;
+import io.aeron.cluster.client.AeronCluster;
+import io.aeron.cluster.service.ClientSession;
+import io.aeron.cluster.service.ClusterMarkFile;
+import io.aeron.cluster.service.ClusteredServiceContainer;
+import io.aeron.cluster.service.PartitionKeyExtractor;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.exceptions.ConfigurationException;
+import io.aeron.logbuffer.Header;
+import io.aeron.test.Tests;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class PartitionedServiceTest
+{
+    private static final long MAX_CATALOG_ENTRIES = 1024;
+    private static final int PARTITION_COUNT = 2;
+    private static final int MESSAGE_COUNT = 10;
+
+    private final AtomicInteger[] messageCountByPartition = { new AtomicInteger(), new AtomicInteger() };
+    private final AtomicInteger misroutedMessageCount = new AtomicInteger();
+    private final AtomicInteger nextPartitionIndex = new AtomicInteger();
+
+    private ClusteredMediaDriver clusteredMediaDriver;
+    private ClusteredServiceContainer[] containers;
+    private AeronCluster aeronCluster;
+
+    final class PartitionService extends StubClusteredService
+    {
+        private final int partitionIndex = nextPartitionIndex.getAndIncrement();
+
+        public void onSessionMessage(
+            final ClientSession session,
+            final long timestamp,
+            final DirectBuffer buffer,
+            final int offset,
+            final int length,
+            final Header header)
+        {
+            final long key = buffer.getLong(offset);
+            if (PartitionKeyExtractor.partitionIndex(key, PARTITION_COUNT) != partitionIndex)
+            {
+                misroutedMessageCount.incrementAndGet();
+            }
+
+            messageCountByPartition[partitionIndex].incrementAndGet();
+        }
+    }
+
+    @BeforeEach
+    public void before()
+    {
+        clusteredMediaDriver = ClusteredMediaDriver.launch(
+            new MediaDriver.Context()
+                .threadingMode(ThreadingMode.SHARED)
+                .termBufferSparseFile(true)
+                .errorHandler(ClusterTests.errorHandler(0))
+                .dirDeleteOnStart(true),
+            new Archive.Context()
+                .maxCatalogEntries(MAX_CATALOG_ENTRIES)
+                .threadingMode(ArchiveThreadingMode.SHARED)
+                .recordingEventsEnabled(false)
+                .deleteArchiveOnStart(true),
+            new ConsensusModule.Context()
+                .errorHandler(ClusterTests.errorHandler(0))
+                .terminationHook(ClusterTests.TERMINATION_HOOK)
+                .serviceCount(PARTITION_COUNT)
+                .logChannel("aeron:ipc")
+                .deleteDirOnStart(true));
+    }
+
+    @AfterEach
+    public void after()
+    {
+        final ConsensusModule consensusModule = null == clusteredMediaDriver ?
+            null : clusteredMediaDriver.consensusModule();
+
+        CloseHelper.close(aeronCluster);
+        CloseHelper.close(consensusModule);
+        if (null != containers)
+        {
+            CloseHelper.closeAll(containers);
+        }
+        CloseHelper.close(clusteredMediaDriver);
+
+        if (null != clusteredMediaDriver)
+        {
+            clusteredMediaDriver.consensusModule().context().deleteDirectory();
+            clusteredMediaDriver.archive().context().deleteDirectory();
+            clusteredMediaDriver.mediaDriver().context().deleteDirectory();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    public void shouldRouteSessionMessagesToPartitionByKey()
+    {
+        final AeronArchive.Context archiveCtx = new AeronArchive.Context()
+            .controlRequestChannel(AeronArchive.Configuration.localControlChannel())
+            .controlResponseChannel(AeronArchive.Configuration.localControlChannel())
+            .controlRequestStreamId(AeronArchive.Configuration.localControlStreamId());
+
+        containers = ClusteredServiceContainer.launchPartitions(
+            new ClusteredServiceContainer.Context()
+                .servicePartitionCount(PARTITION_COUNT)
+                .partitionKeyExtractor((clusterSessionId, buffer, offset, length) -> buffer.getLong(offset))
+                .archiveContext(archiveCtx)
+                .terminationHook(ClusterTests.TERMINATION_HOOK)
+                .errorHandler(ClusterTests.errorHandler(0)),
+            PartitionService::new);
+
+        assertEquals(PARTITION_COUNT, containers.length);
+        for (int i = 0; i < PARTITION_COUNT; i++)
+        {
+            final ClusteredServiceContainer.Context ctx = containers[i].context();
+            assertEquals(i, ctx.serviceId());
+            assertEquals(i, ctx.servicePartitionIndex());
+            assertNotSame(archiveCtx, ctx.archiveContext());
+            assertSame(ctx.aeron(), ctx.archiveContext().aeron());
+        }
+        assertNotSame(containers[0].context().aeron(), containers[1].context().aeron());
+
+        aeronCluster = AeronCluster.connect(
+            new AeronCluster.Context()
+                .ingressChannel("aeron:udp")
+                .clusterMemberEndpoints("0=localhost:9010,1=localhost:9011,2=localhost:9012"));
+
+        final ExpandableArrayBuffer msgBuffer = new ExpandableArrayBuffer();
+        for (long key = 0; key < MESSAGE_COUNT; key++)
+        {
+            msgBuffer.putLong(0, key);
+            while (aeronCluster.offer(msgBuffer, 0, SIZE_OF_LONG) < 0)
+            {
+                Thread.yield();
+                Tests.checkInterruptStatus();
+            }
+        }
+
+        while (messageCountByPartition[0].get() + messageCountByPartition[1].get() < MESSAGE_COUNT)
+        {
+            Thread.yield();
+            Tests.checkInterruptStatus();
+        }
+
+        assertEquals(MESSAGE_COUNT / PARTITION_COUNT, messageCountByPartition[0].get());
+        assertEquals(MESSAGE_COUNT / PARTITION_COUNT, messageCountByPartition[1].get());
+        assertEquals(0, misroutedMessageCount.get());
+
+        ClusterTests.failOnClusterError();
+    }
+
+    @Test
+    public void shouldRejectSharedAeronClient()
+    {
+        final ClusteredServiceContainer.Context ctx = new ClusteredServiceContainer.Context()
+            .servicePartitionCount(PARTITION_COUNT)
+            .aeron(mock(Aeron.class));
+
+        assertThrows(ConfigurationException.class,
+            () -> ClusteredServiceContainer.launchPartitions(ctx, PartitionService::new));
+        assertEquals(0, nextPartitionIndex.get());
+    }
+
+    @Test
+    public void shouldRejectSharedMarkFile()
+    {
+        final ClusteredServiceContainer.Context ctx = new ClusteredServiceContainer.Context()
+            .servicePartitionCount(PARTITION_COUNT)
+            .clusterMarkFile(mock(ClusterMarkFile.class));
+
+        assertThrows(ConfigurationException.class,
+            () -> ClusteredServiceContainer.launchPartitions(ctx, PartitionService::new));
+        assertEquals(0, nextPartitionIndex.get());
+    }
+}
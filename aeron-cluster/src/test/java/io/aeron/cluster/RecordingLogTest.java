@@ -23,6 +23,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 
 import static io.aeron.Aeron.NULL_VALUE;
@@ -353,6 +354,80 @@ public class RecordingLogTest
         }
     }
 
+    @Test
+    public void shouldCompactInvalidatedEntries()
+    {
+        final long termBaseLogPosition = 0L;
+        final long leadershipTermId = 7L;
+        final long timestamp = 1000L;
+
+        try (RecordingLog recordingLog = new RecordingLog(TEMP_DIR))
+        {
+            recordingLog.appendTerm(1L, leadershipTermId, termBaseLogPosition, timestamp);
+            recordingLog.appendSnapshot(2L, leadershipTermId, termBaseLogPosition, 640L, timestamp, 0);
+            recordingLog.appendSnapshot(3L, leadershipTermId, termBaseLogPosition, 640L, timestamp, SERVICE_ID);
+            recordingLog.appendSnapshot(4L, leadershipTermId, termBaseLogPosition, 1280L, timestamp, 0);
+            recordingLog.appendSnapshot(5L, leadershipTermId, termBaseLogPosition, 1280L, timestamp, SERVICE_ID);
+            recordingLog.appendTerm(1L, leadershipTermId + 1, 1280L, timestamp);
+
+            assertTrue(recordingLog.invalidateLatestSnapshot());
+            assertEquals(2, recordingLog.compact());
+            assertEquals(0, recordingLog.compact());
+            assertEquals(4, recordingLog.entries().size());
+            assertEquals(4, recordingLog.nextEntryIndex());
+        }
+
+        try (RecordingLog recordingLog = new RecordingLog(TEMP_DIR))
+        {
+            assertEquals(4, recordingLog.entries().size());
+            assertEquals(4, recordingLog.nextEntryIndex());
+
+            for (final RecordingLog.Entry entry : recordingLog.entries())
+            {
+                assertTrue(entry.isValid);
+            }
+
+            assertEquals(2L, recordingLog.getLatestSnapshot(0).recordingId);
+            assertEquals(3L, recordingLog.getLatestSnapshot(SERVICE_ID).recordingId);
+            assertEquals(leadershipTermId + 1, recordingLog.findLastTerm().leadershipTermId);
+            assertEquals(leadershipTermId, recordingLog.getTermEntry(leadershipTermId).leadershipTermId);
+        }
+    }
+
+    @Test
+    public void shouldRemainUsableAndRemoveCompactFileWhenCompactionFails()
+    {
+        final File compactFile = new File(TEMP_DIR, RecordingLog.RECORDING_LOG_FILE_NAME + ".compact");
+        final long leadershipTermId = 7L;
+
+        try (RecordingLog recordingLog = new RecordingLog(TEMP_DIR))
+        {
+            recordingLog.appendTerm(1L, leadershipTermId, 0L, 1000L);
+            recordingLog.appendSnapshot(2L, leadershipTermId, 0L, 640L, 1000L, SERVICE_ID);
+            assertTrue(recordingLog.invalidateLatestSnapshot());
+
+            assertTrue(compactFile.mkdir());
+            assertThrows(IOException.class, recordingLog::compact);
+            assertFalse(compactFile.exists());
+            assertEquals(2, recordingLog.entries().size());
+
+            recordingLog.appendTerm(1L, leadershipTermId + 1, 1280L, 2000L);
+            assertEquals(3, recordingLog.entries().size());
+            assertEquals(1, recordingLog.compact());
+            assertEquals(2, recordingLog.entries().size());
+        }
+
+        try (RecordingLog recordingLog = new RecordingLog(TEMP_DIR))
+        {
+            assertEquals(2, recordingLog.entries().size());
+            assertEquals(leadershipTermId + 1, recordingLog.findLastTerm().leadershipTermId);
+        }
+        finally
+        {
+            IoUtil.delete(compactFile, true);
+        }
+    }
+
     @Test
     void shouldRecoverSnapshotsMidLogMarkedInvalid()
     {
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SessionTimeoutsTest
+{
+    private static final long SESSION_TIMEOUT_NS = TimeUnit.SECONDS.toNanos(10);
+    private static final long TICK_RESOLUTION_NS = 1 << 20;
+    private static final int TICKS_PER_WHEEL = 128;
+    private static final String RESPONSE_CHANNEL = "aeron:udp?endpoint=localhost:11111";
+
+    private final ArrayList<ClusterSession> timedOutSessions = new ArrayList<>();
+    private final SessionTimeouts sessionTimeouts = new SessionTimeouts(
+        SESSION_TIMEOUT_NS, 0, TICK_RESOLUTION_NS, TICKS_PER_WHEEL);
+
+    @Test
+    public void shouldTimeOutSessionAfterInactivity()
+    {
+        final ClusterSession session = newSession(1, 0);
+        sessionTimeouts.schedule(session);
+
+        sessionTimeouts.poll(SESSION_TIMEOUT_NS, timedOutSessions);
+        assertThat(timedOutSessions, empty());
+
+        sessionTimeouts.poll(SESSION_TIMEOUT_NS + 1, timedOutSessions);
+        assertThat(timedOutSessions, contains(session));
+        assertEquals(0, sessionTimeouts.size());
+    }
+
+    @Test
+    public void shouldRescheduleFromLastActivityWhenTimerExpires()
+    {
+        final ClusterSession session = newSession(1, 0);
+        sessionTimeouts.schedule(session);
+
+        final long activityNs = TimeUnit.SECONDS.toNanos(3);
+        session.timeOfLastActivityNs(activityNs);
+
+        assertEquals(1, sessionTimeouts.poll(SESSION_TIMEOUT_NS + 1, timedOutSessions));
+        assertThat(timedOutSessions, empty());
+        assertEquals(1, sessionTimeouts.size());
+
+        sessionTimeouts.poll(activityNs + SESSION_TIMEOUT_NS, timedOutSessions);
+        assertThat(timedOutSessions, empty());
+
+        sessionTimeouts.poll(activityNs + SESSION_TIMEOUT_NS + 1, timedOutSessions);
+        assertThat(timedOutSessions, contains(session));
+    }
+
+    @Test
+    public void shouldNotTimeOutCancelledSession()
+    {
+        final ClusterSession session = newSession(1, 0);
+        sessionTimeouts.schedule(session);
+        sessionTimeouts.cancel(session);
+
+        assertEquals(0, sessionTimeouts.poll(SESSION_TIMEOUT_NS + 1, timedOutSessions));
+        assertThat(timedOutSessions, empty());
+        assertEquals(0, sessionTimeouts.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1_000, 100_000 })
+    public void shouldOnlyExpireTimersForSessionsWhichAreDue(final int sessionCount)
+    {
+        final int dueSessionCount = 10;
+        for (int i = 0; i < sessionCount; i++)
+        {
+            final long timeOfLastActivityNs = i < dueSessionCount ? 0 : SESSION_TIMEOUT_NS;
+            sessionTimeouts.schedule(newSession(i, timeOfLastActivityNs));
+        }
+
+        assertEquals(dueSessionCount, sessionTimeouts.poll(SESSION_TIMEOUT_NS + 1, timedOutSessions));
+        assertEquals(dueSessionCount, timedOutSessions.size());
+        assertEquals(sessionCount - dueSessionCount, sessionTimeouts.size());
+    }
+
+    private static ClusterSession newSession(final long sessionId, final long timeOfLastActivityNs)
+    {
+        final ClusterSession session = new ClusterSession(sessionId, 0, RESPONSE_CHANNEL);
+        session.timeOfLastActivityNs(timeOfLastActivityNs);
+
+        return session;
+    }
+}
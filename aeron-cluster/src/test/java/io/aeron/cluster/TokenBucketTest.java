@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTest
+{
+    @Test
+    public void shouldAdmitBurstUpToRateThenThrottle()
+    {
+        final long nowNs = 0;
+        final TokenBucket tokenBucket = new TokenBucket(3, nowNs);
+
+        for (int i = 0; i < 3; i++)
+        {
+            assertTrue(tokenBucket.hasToken(nowNs));
+            tokenBucket.consume();
+        }
+
+        assertFalse(tokenBucket.hasToken(nowNs));
+    }
+
+    @Test
+    public void shouldRefillProportionallyToElapsedTime()
+    {
+        final long nowNs = 0;
+        final TokenBucket tokenBucket = new TokenBucket(10, nowNs);
+
+        for (int i = 0; i < 10; i++)
+        {
+            tokenBucket.consume();
+        }
+
+        assertFalse(tokenBucket.hasToken(nowNs + TimeUnit.MILLISECONDS.toNanos(50)));
+        assertTrue(tokenBucket.hasToken(nowNs + TimeUnit.MILLISECONDS.toNanos(100)));
+        tokenBucket.consume();
+        assertFalse(tokenBucket.hasToken(nowNs + TimeUnit.MILLISECONDS.toNanos(150)));
+        assertTrue(tokenBucket.hasToken(nowNs + TimeUnit.MILLISECONDS.toNanos(200)));
+    }
+
+    @Test
+    public void shouldRefillToFullRateAfterOneSecond()
+    {
+        final long nowNs = 0;
+        final TokenBucket tokenBucket = new TokenBucket(2, nowNs);
+        tokenBucket.consume();
+        tokenBucket.consume();
+
+        final long laterNs = nowNs + TimeUnit.SECONDS.toNanos(5);
+        assertTrue(tokenBucket.hasToken(laterNs));
+        tokenBucket.consume();
+        assertTrue(tokenBucket.hasToken(laterNs));
+        tokenBucket.consume();
+        assertFalse(tokenBucket.hasToken(laterNs));
+    }
+}
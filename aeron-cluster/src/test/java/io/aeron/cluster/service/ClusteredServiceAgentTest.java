@@ -0,0 +1,177 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster.service;
+
+import io.aeron.Aeron;
+import io.aeron.ConcurrentPublication;
+import io.aeron.Subscription;
+import io.aeron.cluster.codecs.EventCode;
+import io.aeron.cluster.codecs.MessageHeaderDecoder;
+import io.aeron.cluster.codecs.SessionEventDecoder;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.CachedEpochClock;
+import org.agrona.concurrent.NoOpIdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ClusteredServiceAgentTest
+{
+    private static final long CLUSTER_SESSION_ID = 7L;
+    private static final long READ_QUERY_TIMEOUT_MS = 1_000L;
+
+    private final Aeron mockAeron = mock(Aeron.class);
+    private final ConcurrentPublication mockResponsePublication = mock(ConcurrentPublication.class);
+    private final ClusteredService mockService = mock(ClusteredService.class);
+    private final CachedEpochClock epochClock = new CachedEpochClock();
+    private final UnsafeBuffer queryBuffer = new UnsafeBuffer(new byte[64]);
+
+    private final ClusteredServiceContainer.Context ctx = new ClusteredServiceContainer.Context()
+        .aeron(mockAeron)
+        .clusteredService(mockService)
+        .idleStrategySupplier(NoOpIdleStrategy::new)
+        .epochClock(epochClock)
+        .clusterMarkFile(mock(ClusterMarkFile.class))
+        .readQueryTimeoutNs(TimeUnit.MILLISECONDS.toNanos(READ_QUERY_TIMEOUT_MS));
+
+    @BeforeEach
+    public void before()
+    {
+        when(mockAeron.addPublication(anyString(), anyInt())).thenReturn(mockResponsePublication);
+        when(mockAeron.addSubscription(anyString(), anyInt())).thenReturn(mock(Subscription.class));
+        epochClock.update(1);
+    }
+
+    @Test
+    public void shouldDispatchReadyReadQueryWhileEarlierQueryIsPending()
+    {
+        final ClusteredServiceAgent agent = newAgent();
+        agent.doWork();
+
+        agent.onReadQuery(CLUSTER_SESSION_ID, 1, 200, queryBuffer, 0, queryBuffer.capacity());
+        agent.onReadQuery(CLUSTER_SESSION_ID, 2, 100, queryBuffer, 0, queryBuffer.capacity());
+
+        verify(mockService, never()).onReadQuery(any(), eq(1L), any(), anyInt(), anyInt());
+        verify(mockService).onReadQuery(any(), eq(2L), any(), anyInt(), anyInt());
+
+        agent.onTimerEvent(200, 0, 0);
+        agent.doWork();
+
+        verify(mockService).onReadQuery(any(), eq(1L), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldDispatchPendingReadQueriesInTheOrderTheLogReachesTheirPosition()
+    {
+        final ClusteredServiceAgent agent = newAgent();
+        agent.doWork();
+
+        agent.onReadQuery(CLUSTER_SESSION_ID, 1, 300, queryBuffer, 0, queryBuffer.capacity());
+        agent.onReadQuery(CLUSTER_SESSION_ID, 2, 200, queryBuffer, 0, queryBuffer.capacity());
+
+        agent.onTimerEvent(200, 0, 0);
+        agent.doWork();
+
+        verify(mockService, never()).onReadQuery(any(), eq(1L), any(), anyInt(), anyInt());
+        verify(mockService).onReadQuery(any(), eq(2L), any(), anyInt(), anyInt());
+
+        agent.onTimerEvent(300, 0, 0);
+        agent.doWork();
+
+        verify(mockService).onReadQuery(any(), eq(1L), any(), anyInt(), anyInt());
+        verify(mockService, times(2)).onReadQuery(any(), anyLong(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldSendErrorWhenPendingReadQueryTimesOut()
+    {
+        final ClusteredServiceAgent agent = newAgent();
+        agent.doWork();
+
+        agent.onReadQuery(CLUSTER_SESSION_ID, 1, 200, queryBuffer, 0, queryBuffer.capacity());
+
+        epochClock.advance(READ_QUERY_TIMEOUT_MS - 1);
+        agent.doWork();
+        verify(mockResponsePublication, never()).offer(any(DirectBuffer.class), anyInt(), anyInt());
+
+        epochClock.advance(1);
+        agent.doWork();
+
+        verifyErrorSent(1);
+
+        agent.onTimerEvent(200, 0, 0);
+        agent.doWork();
+
+        verify(mockService, never()).onReadQuery(any(), anyLong(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldSendErrorWhenReadQueryBufferIsFull()
+    {
+        ctx.readQueryBufferCapacity(128);
+        final ClusteredServiceAgent agent = newAgent();
+        agent.doWork();
+
+        agent.onReadQuery(CLUSTER_SESSION_ID, 1, 200, queryBuffer, 0, queryBuffer.capacity());
+        verify(mockResponsePublication, never()).offer(any(DirectBuffer.class), anyInt(), anyInt());
+
+        agent.onReadQuery(CLUSTER_SESSION_ID, 2, 200, queryBuffer, 0, queryBuffer.capacity());
+        verifyErrorSent(2);
+
+        agent.onTimerEvent(200, 0, 0);
+        agent.doWork();
+
+        verify(mockService).onReadQuery(any(), eq(1L), any(), anyInt(), anyInt());
+        verify(mockService, never()).onReadQuery(any(), eq(2L), any(), anyInt(), anyInt());
+    }
+
+    private ClusteredServiceAgent newAgent()
+    {
+        final ClusteredServiceAgent agent = new ClusteredServiceAgent(ctx);
+        agent.onSessionOpen(0, 100, CLUSTER_SESSION_ID, 0, 1, "aeron:ipc", new byte[0]);
+
+        return agent;
+    }
+
+    private void verifyErrorSent(final long correlationId)
+    {
+        final ArgumentCaptor<DirectBuffer> bufferCaptor = ArgumentCaptor.forClass(DirectBuffer.class);
+        final ArgumentCaptor<Integer> offsetCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(mockResponsePublication).offer(bufferCaptor.capture(), offsetCaptor.capture(), anyInt());
+
+        final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
+        final SessionEventDecoder sessionEventDecoder = new SessionEventDecoder();
+        final DirectBuffer buffer = bufferCaptor.getValue();
+        final int offset = offsetCaptor.getValue();
+        messageHeaderDecoder.wrap(buffer, offset);
+        sessionEventDecoder.wrap(
+            buffer,
+            offset + MessageHeaderDecoder.ENCODED_LENGTH,
+            messageHeaderDecoder.blockLength(),
+            messageHeaderDecoder.version());
+
+        assertEquals(CLUSTER_SESSION_ID, sessionEventDecoder.clusterSessionId());
+        assertEquals(correlationId, sessionEventDecoder.correlationId());
+        assertEquals(EventCode.ERROR, sessionEventDecoder.code());
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.*;
+import io.aeron.driver.*;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import io.aeron.logbuffer.MessageView;
+import org.agrona.*;
+import org.agrona.concurrent.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+
+/**
+ * Throughput test of large fragmented messages over IPC transport comparing reassembly by copy with
+ * {@link ImageFragmentAssembler} against in place gathering with {@link ImageZeroCopyFragmentAssembler}.
+ * <p>
+ * Set the system property {@link #ZERO_COPY_PROP} to false to measure reassembly by copy. The message length
+ * defaults to 64 KB unless {@link SampleConfiguration#MESSAGE_LENGTH_PROP} is set.
+ */
+public class EmbeddedLargeMessageIpcThroughput
+{
+    public static final String ZERO_COPY_PROP = "aeron.sample.zeroCopyAssembly";
+    public static final boolean ZERO_COPY = !"false".equals(System.getProperty(ZERO_COPY_PROP));
+    public static final int MESSAGE_LENGTH = Integer.getInteger(SampleConfiguration.MESSAGE_LENGTH_PROP, 64 * 1024);
+    public static final int FRAGMENT_COUNT_LIMIT = SampleConfiguration.FRAGMENT_COUNT_LIMIT;
+    public static final String CHANNEL = CommonContext.IPC_CHANNEL + "?term-length=16m";
+    public static final int STREAM_ID = SampleConfiguration.STREAM_ID;
+
+    public static void main(final String[] args) throws Exception
+    {
+        loadPropertiesFiles(args);
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        SigInt.register(() -> running.set(false));
+
+        final MediaDriver.Context ctx = new MediaDriver.Context()
+            .threadingMode(ThreadingMode.SHARED);
+
+        System.out.println((ZERO_COPY ? "Zero copy" : "Copy") + " reassembly of " + MESSAGE_LENGTH + " byte messages");
+
+        try (MediaDriver ignore = MediaDriver.launch(ctx);
+            Aeron aeron = Aeron.connect();
+            Subscription subscription = aeron.addSubscription(CHANNEL, STREAM_ID);
+            ExclusivePublication publication = aeron.addExclusivePublication(CHANNEL, STREAM_ID))
+        {
+            final RateReporter reporter = new RateReporter(1_000_000_000, SamplesUtil::printRate);
+            final Subscriber subscriber = new Subscriber(running, subscription, reporter);
+            final Thread subscriberThread = new Thread(subscriber);
+            subscriberThread.setName("subscriber");
+            final Thread publisherThread = new Thread(new Publisher(running, publication));
+            publisherThread.setName("publisher");
+            final Thread rateReporterThread = new Thread(reporter);
+            rateReporterThread.setName("rate-reporter");
+
+            rateReporterThread.start();
+            subscriberThread.start();
+            publisherThread.start();
+
+            subscriberThread.join();
+            publisherThread.join();
+            reporter.halt();
+            rateReporterThread.join();
+        }
+    }
+
+    public static final class Subscriber implements Runnable
+    {
+        private final AtomicBoolean running;
+        private final Subscription subscription;
+        private final RateReporter reporter;
+        private long checksum;
+
+        public Subscriber(final AtomicBoolean running, final Subscription subscription, final RateReporter reporter)
+        {
+            this.running = running;
+            this.subscription = subscription;
+            this.reporter = reporter;
+        }
+
+        public void run()
+        {
+            while (!subscription.isConnected())
+            {
+                Thread.yield();
+            }
+
+            final Image image = subscription.images().get(0);
+            final FragmentHandler fragmentHandler = ZERO_COPY ?
+                new ImageZeroCopyFragmentAssembler(this::onMessageView) :
+                new ImageFragmentAssembler(this::onMessage);
+            final IdleStrategy idleStrategy = SampleConfiguration.newIdleStrategy();
+
+            while (running.get())
+            {
+                idleStrategy.idle(image.poll(fragmentHandler, FRAGMENT_COUNT_LIMIT));
+            }
+
+            System.out.format("Subscriber checksum: %d%n", checksum);
+        }
+
+        private void onMessageView(final MessageView view, final Header header)
+        {
+            checksum += view.getLong(0) + view.getLong(view.length() - BitUtil.SIZE_OF_LONG);
+            reporter.onMessage(view.length());
+        }
+
+        private void onMessage(final DirectBuffer buffer, final int offset, final int length, final Header header)
+        {
+            checksum += buffer.getLong(offset) + buffer.getLong(offset + length - BitUtil.SIZE_OF_LONG);
+            reporter.onMessage(length);
+        }
+    }
+
+    public static final class Publisher implements Runnable
+    {
+        private final AtomicBoolean running;
+        private final ExclusivePublication publication;
+
+        public Publisher(final AtomicBoolean running, final ExclusivePublication publication)
+        {
+            this.running = running;
+            this.publication = publication;
+        }
+
+        public void run()
+        {
+            final IdleStrategy idleStrategy = SampleConfiguration.newIdleStrategy();
+            final AtomicBoolean running = this.running;
+            final ExclusivePublication publication = this.publication;
+            final ByteBuffer byteBuffer = BufferUtil.allocateDirectAligned(MESSAGE_LENGTH, CACHE_LINE_LENGTH);
+            final UnsafeBuffer buffer = new UnsafeBuffer(byteBuffer);
+            long backPressureCount = 0;
+            long totalMessageCount = 0;
+
+            outputResults:
+            while (running.get())
+            {
+                buffer.putLong(0, totalMessageCount);
+                buffer.putLong(MESSAGE_LENGTH - BitUtil.SIZE_OF_LONG, totalMessageCount);
+
+                idleStrategy.reset();
+                while (publication.offer(buffer, 0, MESSAGE_LENGTH, null) <= 0)
+                {
+                    ++backPressureCount;
+                    if (!running.get())
+                    {
+                        break outputResults;
+                    }
+
+                    idleStrategy.idle();
+                }
+
+                ++totalMessageCount;
+            }
+
+            final double backPressureRatio = backPressureCount / (double)totalMessageCount;
+            System.out.format("Publisher back pressure ratio: %f%n", backPressureRatio);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.*;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.logbuffer.FragmentBatchHandler;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.*;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+
+/**
+ * Throughput test of a {@link Subscription} with many {@link Image}s, one per publisher into the same stream,
+ * comparing {@link Subscription#poll(FragmentHandler, int)} against
+ * {@link Subscription#batchPoll(FragmentBatchHandler, int, int)} with a per image byte quota.
+ * <p>
+ * Set the system property {@link #BATCH_POLL_PROP} to false to measure the fragment at a time poll.
+ */
+public class EmbeddedManyImagesBatchPollThroughput
+{
+    public static final String BATCH_POLL_PROP = "aeron.sample.batchPoll";
+    public static final String IMAGE_COUNT_PROP = "aeron.sample.imageCount";
+    public static final String IMAGE_BYTE_QUOTA_PROP = "aeron.sample.imageByteQuota";
+    public static final boolean BATCH_POLL = !"false".equals(System.getProperty(BATCH_POLL_PROP));
+    public static final int IMAGE_COUNT = Integer.getInteger(IMAGE_COUNT_PROP, 1000);
+    public static final int IMAGE_BYTE_QUOTA = Integer.getInteger(IMAGE_BYTE_QUOTA_PROP, 4096);
+    public static final int MESSAGE_LENGTH = SampleConfiguration.MESSAGE_LENGTH;
+    public static final int FRAGMENT_COUNT_LIMIT = SampleConfiguration.FRAGMENT_COUNT_LIMIT;
+    public static final String CHANNEL = CommonContext.IPC_CHANNEL + "?term-length=64k";
+    public static final int STREAM_ID = SampleConfiguration.STREAM_ID;
+
+    public static void main(final String[] args) throws Exception
+    {
+        loadPropertiesFiles(args);
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        SigInt.register(() -> running.set(false));
+
+        final MediaDriver.Context ctx = new MediaDriver.Context()
+            .threadingMode(ThreadingMode.SHARED);
+
+        System.out.println((BATCH_POLL ? "Batch poll" : "Poll") + " of " + IMAGE_COUNT + " images");
+
+        try (MediaDriver ignore = MediaDriver.launch(ctx);
+            Aeron aeron = Aeron.connect();
+            Subscription subscription = aeron.addSubscription(CHANNEL, STREAM_ID))
+        {
+            final ExclusivePublication[] publications = new ExclusivePublication[IMAGE_COUNT];
+            for (int i = 0; i < IMAGE_COUNT; i++)
+            {
+                publications[i] = aeron.addExclusivePublication(CHANNEL, STREAM_ID);
+            }
+
+            while (subscription.imageCount() < IMAGE_COUNT)
+            {
+                Thread.yield();
+            }
+
+            final Subscriber subscriber = new Subscriber(running, subscription);
+            final Thread subscriberThread = new Thread(subscriber);
+            subscriberThread.setName("subscriber");
+            final Thread publisherThread = new Thread(new Publisher(running, publications));
+            publisherThread.setName("publisher");
+
+            subscriberThread.start();
+            publisherThread.start();
+
+            long lastTimestampNs = System.nanoTime();
+            long lastTotalFragments = 0;
+            while (running.get())
+            {
+                LockSupport.parkNanos(1_000_000_000);
+
+                final long timestampNs = System.nanoTime();
+                final long totalFragments = subscriber.totalFragments();
+                final double fragmentsPerSec =
+                    (totalFragments - lastTotalFragments) * 1_000_000_000d / (timestampNs - lastTimestampNs);
+
+                System.out.format("%.04g msgs/sec, total %,d messages%n", fragmentsPerSec, totalFragments);
+
+                lastTimestampNs = timestampNs;
+                lastTotalFragments = totalFragments;
+            }
+
+            subscriberThread.join();
+            publisherThread.join();
+        }
+    }
+
+    public static final class Subscriber implements Runnable
+    {
+        private final AtomicBoolean running;
+        private final Subscription subscription;
+        private final AtomicLong totalFragments = new AtomicLong();
+        private long fragments;
+
+        public Subscriber(final AtomicBoolean running, final Subscription subscription)
+        {
+            this.running = running;
+            this.subscription = subscription;
+        }
+
+        public long totalFragments()
+        {
+            return totalFragments.get();
+        }
+
+        public void run()
+        {
+            final IdleStrategy idleStrategy = SampleConfiguration.newIdleStrategy();
+            final FragmentBatchHandler batchHandler = this::onFragments;
+            final FragmentHandler fragmentHandler = this::onFragment;
+
+            while (running.get())
+            {
+                final int fragmentsRead = BATCH_POLL ?
+                    subscription.batchPoll(batchHandler, FRAGMENT_COUNT_LIMIT, IMAGE_BYTE_QUOTA) :
+                    subscription.poll(fragmentHandler, FRAGMENT_COUNT_LIMIT);
+
+                totalFragments.lazySet(fragments);
+                idleStrategy.idle(fragmentsRead);
+            }
+        }
+
+        private void onFragments(
+            final DirectBuffer buffer, final int offset, final int length, final int fragmentCount, final Header header)
+        {
+            fragments += fragmentCount;
+        }
+
+        private void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+        {
+            ++fragments;
+        }
+    }
+
+    public static final class Publisher implements Runnable
+    {
+        private final AtomicBoolean running;
+        private final ExclusivePublication[] publications;
+
+        public Publisher(final AtomicBoolean running, final ExclusivePublication[] publications)
+        {
+            this.running = running;
+            this.publications = publications;
+        }
+
+        public void run()
+        {
+            final IdleStrategy idleStrategy = SampleConfiguration.newIdleStrategy();
+            final AtomicBoolean running = this.running;
+            final ExclusivePublication[] publications = this.publications;
+            final UnsafeBuffer buffer = new UnsafeBuffer(
+                BufferUtil.allocateDirectAligned(MESSAGE_LENGTH, CACHE_LINE_LENGTH));
+
+            while (running.get())
+            {
+                int workCount = 0;
+                for (final ExclusivePublication publication : publications)
+                {
+                    if (publication.offer(buffer, 0, MESSAGE_LENGTH) > 0)
+                    {
+                        ++workCount;
+                    }
+                }
+
+                idleStrategy.idle(workCount);
+            }
+        }
+    }
+}
@@ -42,6 +42,9 @@ import static org.agrona.SystemUtil.loadPropertiesFiles;
 
 /**
  * Tests the throughput when recording a stream of messages.
+ * <p>
+ * Run with {@code -Daeron.archive.recording.writer.mapped=true} to compare the memory mapped recording writer against
+ * the default file channel writer.
  */
 public class EmbeddedRecordingThroughput implements AutoCloseable
 {
@@ -148,9 +151,13 @@ public class EmbeddedRecordingThroughput implements AutoCloseable
             final double recordingMb = stopPosition / MEGABYTE;
             final long msgRate = (NUMBER_OF_MESSAGES / durationMs) * 1000L;
 
+            final Archive.Context archiveCtx = archivingMediaDriver.archive().context();
+            final String writerMode = archiveCtx.recordingWriterMapped() ? "mapped" : "file channel";
+
             System.out.printf(
-                "Recorded %.02f MB @ %.02f MB/s - %,d msg/sec - %d byte payload + 32 byte header%n",
-                recordingMb, dataRate, msgRate, MESSAGE_LENGTH);
+                "Recorded %.02f MB @ %.02f MB/s - %,d msg/sec - %d byte payload + 32 byte header - %s writer, " +
+                "file sync level %d%n",
+                recordingMb, dataRate, msgRate, MESSAGE_LENGTH, writerMode, archiveCtx.fileSyncLevel());
 
             return RecordingPos.getRecordingId(counters, counterId);
         }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples.cluster;
+
+import io.aeron.cluster.RecordingLog;
+import org.agrona.IoUtil;
+
+import java.io.File;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.aeron.cluster.ConsensusModule.Configuration.SERVICE_ID;
+
+/**
+ * Measures the time to load, query, and compact a {@link RecordingLog} with a large number of entries as
+ * accumulates in long lived clusters with frequent elections and snapshots.
+ * <p>
+ * The number of entries can be set with the {@code aeron.sample.recording.log.entries} system property.
+ */
+public class RecordingLogBenchmark
+{
+    private static final int ENTRY_COUNT = Integer.getInteger("aeron.sample.recording.log.entries", 1_000_000);
+    private static final int TERMS_PER_SNAPSHOT = 4;
+    private static final int LOOKUP_COUNT = 1_000_000;
+    private static final long TERM_LENGTH = 64 * 1024;
+
+    /**
+     * Main method for launching the process.
+     *
+     * @param args passed to the process.
+     */
+    public static void main(final String[] args)
+    {
+        final File dir = new File(IoUtil.tmpDirName(), "recording-log-benchmark");
+        IoUtil.delete(dir, true);
+        IoUtil.ensureDirectoryExists(dir, "recording log benchmark");
+
+        try
+        {
+            long leadershipTermId = 0;
+            long startNs = System.nanoTime();
+            try (RecordingLog recordingLog = new RecordingLog(dir))
+            {
+                int entryCount = 0;
+                while (entryCount < ENTRY_COUNT)
+                {
+                    final long termBaseLogPosition = leadershipTermId * TERM_LENGTH;
+                    recordingLog.appendTerm(1, leadershipTermId, termBaseLogPosition, leadershipTermId);
+                    entryCount++;
+
+                    if (0 == (leadershipTermId % TERMS_PER_SNAPSHOT))
+                    {
+                        final long logPosition = termBaseLogPosition + (TERM_LENGTH >> 1);
+                        recordingLog.appendSnapshot(
+                            2, leadershipTermId, termBaseLogPosition, logPosition, leadershipTermId, 0);
+                        recordingLog.appendSnapshot(
+                            3, leadershipTermId, termBaseLogPosition, logPosition, leadershipTermId, SERVICE_ID);
+                        entryCount += 2;
+                    }
+
+                    leadershipTermId++;
+                }
+            }
+            report("append", ENTRY_COUNT, startNs);
+
+            startNs = System.nanoTime();
+            try (RecordingLog recordingLog = new RecordingLog(dir))
+            {
+                report("reload", recordingLog.entries().size(), startNs);
+
+                final ThreadLocalRandom random = ThreadLocalRandom.current();
+                long checksum = 0;
+
+                startNs = System.nanoTime();
+                for (int i = 0; i < LOOKUP_COUNT; i++)
+                {
+                    checksum += recordingLog.getTermEntry(random.nextLong(leadershipTermId)).termBaseLogPosition;
+                }
+                report("getTermEntry", LOOKUP_COUNT, startNs);
+
+                startNs = System.nanoTime();
+                for (int i = 0; i < LOOKUP_COUNT; i++)
+                {
+                    checksum += recordingLog.getLatestSnapshot(SERVICE_ID).logPosition;
+                    checksum += recordingLog.findLastTerm().leadershipTermId;
+                }
+                report("getLatestSnapshot+findLastTerm", LOOKUP_COUNT, startNs);
+
+                startNs = System.nanoTime();
+                int invalidatedCount = 0;
+                while (invalidatedCount < 100 && recordingLog.invalidateLatestSnapshot())
+                {
+                    invalidatedCount++;
+                }
+                report("invalidateLatestSnapshot", invalidatedCount, startNs);
+
+                startNs = System.nanoTime();
+                final int removedCount = recordingLog.compact();
+                report("compact", removedCount, startNs);
+
+                System.out.println("checksum=" + checksum + " entries=" + recordingLog.entries().size());
+            }
+        }
+        finally
+        {
+            IoUtil.delete(dir, true);
+        }
+    }
+
+    private static void report(final String operation, final int count, final long startNs)
+    {
+        final long durationNs = System.nanoTime() - startNs;
+        System.out.format(
+            "%s: count=%,d total=%,dms avg=%,dns%n",
+            operation,
+            count,
+            durationNs / 1_000_000,
+            count > 0 ? durationNs / count : 0);
+    }
+}
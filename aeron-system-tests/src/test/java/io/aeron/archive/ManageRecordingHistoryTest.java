@@ -33,11 +33,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 
 import static io.aeron.archive.Common.awaitPosition;
 import static io.aeron.archive.Common.offerToPosition;
 import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ManageRecordingHistoryTest
 {
@@ -70,6 +75,7 @@ public class ManageRecordingHistoryTest
             new Archive.Context()
                 .maxCatalogEntries(Common.MAX_CATALOG_ENTRIES)
                 .segmentFileLength(SEGMENT_LENGTH)
+                .recordingIndexInterval(MTU_LENGTH)
                 .deleteArchiveOnStart(true)
                 .archiveDir(new File(SystemUtil.tmpDirName(), "archive"))
                 .fileSyncLevel(0)
@@ -93,7 +99,7 @@ public class ManageRecordingHistoryTest
 
     @Test
     @Timeout(10)
-    public void shouldPurgeForStreamJoinedAtTheBeginning()
+    public void shouldPurgeForStreamJoinedAtTheBeginning() throws IOException
     {
         final String messagePrefix = "Message-Prefix-";
         final long targetPosition = (SEGMENT_LENGTH * 3L) + 1;
@@ -111,9 +117,14 @@ public class ManageRecordingHistoryTest
             final long segmentFileBasePosition = AeronArchive.segmentFileBasePosition(
                 startPosition, SEGMENT_LENGTH * 2L, TERM_LENGTH, SEGMENT_LENGTH);
 
+            final File indexFile = new File(archivingMediaDriver.archive().context().archiveDir(),
+                Archive.indexFileName(recordingId));
+            assertEquals(startPosition, firstIndexedPosition(indexFile));
+
             final long count = aeronArchive.purgeSegments(recordingId, segmentFileBasePosition);
             assertEquals(2L, count);
             assertEquals(segmentFileBasePosition, aeronArchive.getStartPosition(recordingId));
+            assertTrue(firstIndexedPosition(indexFile) >= segmentFileBasePosition);
 
             aeronArchive.stopRecording(publication);
         }
@@ -313,4 +324,11 @@ public class ManageRecordingHistoryTest
             assertEquals(startPosition, aeronArchive.getStopPosition(srcRecordingId));
         }
     }
+
+    private static long firstIndexedPosition(final File indexFile) throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile.toPath())).order(LITTLE_ENDIAN);
+
+        return buffer.getLong(RecordingTimestampIndex.POSITION_OFFSET);
+    }
 }
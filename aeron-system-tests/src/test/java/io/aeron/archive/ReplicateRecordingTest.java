@@ -25,6 +25,7 @@ import io.aeron.driver.ThreadingMode;
 import io.aeron.test.Tests;
 import org.agrona.CloseHelper;
 import org.agrona.SystemUtil;
+import org.agrona.collections.MutableBoolean;
 import org.agrona.collections.MutableLong;
 import org.agrona.collections.MutableReference;
 import org.agrona.collections.ObjectHashSet;
@@ -58,6 +59,7 @@ public class ReplicateRecordingTest
     private static final String SRC_REPLICATION_CHANNEL = "aeron:udp?endpoint=localhost:8040";
     private static final String DST_REPLICATION_CHANNEL = "aeron:udp?endpoint=localhost:8041";
 
+    private static final long QUEUED_REPLICATION_CHECK_MS = 500;
     private static final int LIVE_STREAM_ID = 1033;
     private static final String LIVE_CHANNEL = new ChannelUriStringBuilder()
         .media("udp")
@@ -76,7 +78,6 @@ public class ReplicateRecordingTest
     public void before()
     {
         final String srcAeronDirectoryName = generateRandomDirName();
-        final String dstAeronDirectoryName = generateRandomDirName();
 
         srcArchivingMediaDriver = ArchivingMediaDriver.launch(
             new MediaDriver.Context()
@@ -98,34 +99,10 @@ public class ReplicateRecordingTest
                 .fileSyncLevel(0)
                 .threadingMode(ArchiveThreadingMode.SHARED));
 
-        dstArchivingMediaDriver = ArchivingMediaDriver.launch(
-            new MediaDriver.Context()
-                .aeronDirectoryName(dstAeronDirectoryName)
-                .termBufferSparseFile(true)
-                .threadingMode(ThreadingMode.SHARED)
-                .errorHandler(Tests::onError)
-                .spiesSimulateConnection(true)
-                .dirDeleteOnStart(true),
-            new Archive.Context()
-                .maxCatalogEntries(MAX_CATALOG_ENTRIES)
-                .aeronDirectoryName(dstAeronDirectoryName)
-                .controlChannel(DST_CONTROL_REQUEST_CHANNEL)
-                .archiveClientContext(new AeronArchive.Context().controlResponseChannel(DST_CONTROL_RESPONSE_CHANNEL))
-                .recordingEventsEnabled(false)
-                .replicationChannel(DST_REPLICATION_CHANNEL)
-                .deleteArchiveOnStart(true)
-                .archiveDir(new File(SystemUtil.tmpDirName(), "dst-archive"))
-                .fileSyncLevel(0)
-                .threadingMode(ArchiveThreadingMode.SHARED));
-
         srcAeron = Aeron.connect(
             new Aeron.Context()
                 .aeronDirectoryName(srcAeronDirectoryName));
 
-        dstAeron = Aeron.connect(
-            new Aeron.Context()
-                .aeronDirectoryName(dstAeronDirectoryName));
-
         srcAeronArchive = AeronArchive.connect(
             new AeronArchive.Context()
                 .idleStrategy(YieldingIdleStrategy.INSTANCE)
@@ -133,12 +110,7 @@ public class ReplicateRecordingTest
                 .controlResponseChannel(SRC_CONTROL_RESPONSE_CHANNEL)
                 .aeron(srcAeron));
 
-        dstAeronArchive = AeronArchive.connect(
-            new AeronArchive.Context()
-                .idleStrategy(YieldingIdleStrategy.INSTANCE)
-                .controlRequestChannel(DST_CONTROL_REQUEST_CHANNEL)
-                .controlResponseChannel(DST_CONTROL_RESPONSE_CHANNEL)
-                .aeron(dstAeron));
+        launchDstArchive(Archive.Configuration.MAX_CONCURRENT_REPLICATIONS_DEFAULT);
     }
 
     @AfterEach
@@ -291,6 +263,103 @@ public class ReplicateRecordingTest
         assertEquals(dstAeronArchive.getStopPosition(1), position);
     }
 
+    @Test
+    public void shouldQueueReplicationBeyondMaxConcurrentReplicationsUntilActiveReplicationIsRemoved()
+    {
+        relaunchDstArchive(1);
+
+        final String messagePrefix = "Message-Prefix-";
+        final int messageCount = 10;
+        final CountersReader srcCounters = srcAeron.countersReader();
+        final long stoppedSrcRecordingId;
+        final long stoppedPosition;
+
+        final long stoppedSubscriptionId = srcAeronArchive.startRecording(LIVE_CHANNEL, LIVE_STREAM_ID, LOCAL);
+
+        try (Publication publication = srcAeron.addPublication(LIVE_CHANNEL, LIVE_STREAM_ID))
+        {
+            final int counterId = awaitRecordingCounterId(srcCounters, publication.sessionId());
+            stoppedSrcRecordingId = RecordingPos.getRecordingId(srcCounters, counterId);
+
+            offer(publication, messageCount, messagePrefix);
+            stoppedPosition = publication.position();
+            awaitPosition(srcCounters, counterId, stoppedPosition);
+        }
+
+        srcAeronArchive.stopRecording(stoppedSubscriptionId);
+
+        final MutableLong dstRecordingId = new MutableLong();
+        final MutableReference<RecordingSignal> signalRef = new MutableReference<>();
+        final RecordingSignalAdapter adapter = newRecordingSignalAdapter(signalRef, dstRecordingId);
+        final CountersReader dstCounters = dstAeron.countersReader();
+
+        final long liveSubscriptionId = srcAeronArchive.startRecording(LIVE_CHANNEL, LIVE_STREAM_ID, LOCAL);
+
+        try (Publication publication = srcAeron.addPublication(LIVE_CHANNEL, LIVE_STREAM_ID))
+        {
+            final int counterId = awaitRecordingCounterId(srcCounters, publication.sessionId());
+            final long liveSrcRecordingId = RecordingPos.getRecordingId(srcCounters, counterId);
+
+            offer(publication, messageCount, messagePrefix);
+            awaitPosition(srcCounters, counterId, publication.position());
+
+            final long liveReplicationId = dstAeronArchive.replicate(
+                liveSrcRecordingId, NULL_VALUE, SRC_CONTROL_STREAM_ID, SRC_CONTROL_REQUEST_CHANNEL, null);
+
+            awaitSignal(signalRef, adapter);
+            assertEquals(RecordingSignal.REPLICATE, signalRef.get());
+
+            awaitSignal(signalRef, adapter);
+            assertEquals(RecordingSignal.EXTEND, signalRef.get());
+
+            final long liveDstRecordingId = dstRecordingId.get();
+            final int dstCounterId = RecordingPos.findCounterIdByRecording(dstCounters, liveDstRecordingId);
+
+            final long queuedReplicationId = dstAeronArchive.replicate(
+                stoppedSrcRecordingId, NULL_VALUE, SRC_CONTROL_STREAM_ID, SRC_CONTROL_REQUEST_CHANNEL, null);
+
+            offer(publication, messageCount, messagePrefix);
+            awaitPosition(dstCounters, dstCounterId, publication.position());
+
+            signalRef.set(null);
+            final long deadlineMs = System.currentTimeMillis() + QUEUED_REPLICATION_CHECK_MS;
+            while (System.currentTimeMillis() < deadlineMs)
+            {
+                if (0 == adapter.poll())
+                {
+                    Thread.yield();
+                    Tests.checkInterruptStatus();
+                }
+                assertNull(signalRef.get());
+            }
+            assertTrue(hasReplicationCounter(dstCounters, liveReplicationId));
+            assertFalse(hasReplicationCounter(dstCounters, queuedReplicationId));
+
+            dstAeronArchive.stopReplication(liveReplicationId);
+
+            boolean isLiveStopped = false;
+            long queuedDstRecordingId = NULL_VALUE;
+            boolean isQueuedStopped = false;
+            while (!isLiveStopped || !isQueuedStopped)
+            {
+                awaitSignal(signalRef, adapter);
+                if (dstRecordingId.get() == liveDstRecordingId)
+                {
+                    isLiveStopped |= RecordingSignal.STOP == signalRef.get();
+                }
+                else
+                {
+                    queuedDstRecordingId = dstRecordingId.get();
+                    isQueuedStopped |= RecordingSignal.STOP == signalRef.get();
+                }
+            }
+
+            assertEquals(stoppedPosition, dstAeronArchive.getStopPosition(queuedDstRecordingId));
+        }
+
+        srcAeronArchive.stopRecording(liveSubscriptionId);
+    }
+
     @Test
     public void shouldReplicateLiveWithoutMergingRecording()
     {
@@ -558,6 +627,70 @@ public class ReplicateRecordingTest
         assertEquals(RecordingSignal.STOP, signalRef.get());
     }
 
+    private void launchDstArchive(final int maxConcurrentReplications)
+    {
+        final String dstAeronDirectoryName = generateRandomDirName();
+
+        dstArchivingMediaDriver = ArchivingMediaDriver.launch(
+            new MediaDriver.Context()
+                .aeronDirectoryName(dstAeronDirectoryName)
+                .termBufferSparseFile(true)
+                .threadingMode(ThreadingMode.SHARED)
+                .errorHandler(Tests::onError)
+                .spiesSimulateConnection(true)
+                .dirDeleteOnStart(true),
+            new Archive.Context()
+                .maxCatalogEntries(MAX_CATALOG_ENTRIES)
+                .aeronDirectoryName(dstAeronDirectoryName)
+                .controlChannel(DST_CONTROL_REQUEST_CHANNEL)
+                .archiveClientContext(new AeronArchive.Context().controlResponseChannel(DST_CONTROL_RESPONSE_CHANNEL))
+                .recordingEventsEnabled(false)
+                .replicationChannel(DST_REPLICATION_CHANNEL)
+                .deleteArchiveOnStart(true)
+                .archiveDir(new File(SystemUtil.tmpDirName(), "dst-archive"))
+                .fileSyncLevel(0)
+                .maxConcurrentReplications(maxConcurrentReplications)
+                .threadingMode(ArchiveThreadingMode.SHARED));
+
+        dstAeron = Aeron.connect(
+            new Aeron.Context()
+                .aeronDirectoryName(dstAeronDirectoryName));
+
+        dstAeronArchive = AeronArchive.connect(
+            new AeronArchive.Context()
+                .idleStrategy(YieldingIdleStrategy.INSTANCE)
+                .controlRequestChannel(DST_CONTROL_REQUEST_CHANNEL)
+                .controlResponseChannel(DST_CONTROL_RESPONSE_CHANNEL)
+                .aeron(dstAeron));
+    }
+
+    private void relaunchDstArchive(final int maxConcurrentReplications)
+    {
+        CloseHelper.closeAll(dstAeronArchive, dstAeron, dstArchivingMediaDriver);
+        dstArchivingMediaDriver.archive().context().deleteDirectory();
+        dstArchivingMediaDriver.mediaDriver().context().deleteDirectory();
+
+        launchDstArchive(maxConcurrentReplications);
+    }
+
+    private static boolean hasReplicationCounter(final CountersReader counters, final long replicationId)
+    {
+        final String labelPrefix = "archive-replication: replicationId=" + replicationId + " ";
+        final MutableBoolean found = new MutableBoolean();
+
+        counters.forEach(
+            (counterId, typeId, keyBuffer, label) ->
+            {
+                if (Archive.Configuration.ARCHIVE_REPLICATION_POSITION_TYPE_ID == typeId &&
+                    label.startsWith(labelPrefix))
+                {
+                    found.set(true);
+                }
+            });
+
+        return found.get();
+    }
+
     private RecordingSignalAdapter newRecordingSignalAdapter(
         final ControlEventListener listener,
         final MutableReference<RecordingSignal> signalRef,
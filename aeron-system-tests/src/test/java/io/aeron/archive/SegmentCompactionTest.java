@@ -0,0 +1,247 @@
+/*
+ * Copyright 2014-2020 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.archive;
+
+import io.aeron.Aeron;
+import io.aeron.ChannelUriStringBuilder;
+import io.aeron.Publication;
+import io.aeron.Subscription;
+import io.aeron.archive.client.AeronArchive;
+import io.aeron.archive.codecs.SourceLocation;
+import io.aeron.archive.status.RecordingPos;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.test.Tests;
+import org.agrona.CloseHelper;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.SystemUtil;
+import org.agrona.concurrent.status.CountersReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.File;
+
+import static io.aeron.archive.Common.awaitPosition;
+import static io.aeron.archive.Common.consume;
+import static io.aeron.archive.Common.offer;
+import static io.aeron.archive.client.AeronArchive.NULL_POSITION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SegmentCompactionTest
+{
+    private static final int TERM_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int SEGMENT_LENGTH = TERM_LENGTH * 2;
+    private static final int STREAM_ID = 1033;
+    private static final int REPLAY_STREAM_ID = 1066;
+    private static final String MESSAGE_PREFIX = "Message-Prefix-";
+    private static final int MESSAGE_COUNT = 8000;
+    private static final int ALIGNED_MESSAGE_LENGTH = 64;
+
+    private static final String RECORDED_CHANNEL = new ChannelUriStringBuilder()
+        .media("udp")
+        .endpoint("localhost:3333")
+        .termLength(TERM_LENGTH)
+        .build();
+
+    private static final String REPLAY_CHANNEL = new ChannelUriStringBuilder()
+        .media("udp")
+        .endpoint("localhost:6666")
+        .build();
+
+    private ArchivingMediaDriver archivingMediaDriver;
+    private Aeron aeron;
+    private AeronArchive aeronArchive;
+    private File archiveDir;
+    private int initialTermId;
+
+    @BeforeEach
+    public void before()
+    {
+        archiveDir = new File(SystemUtil.tmpDirName(), "archive");
+
+        archivingMediaDriver = ArchivingMediaDriver.launch(
+            new MediaDriver.Context()
+                .termBufferSparseFile(true)
+                .threadingMode(ThreadingMode.SHARED)
+                .errorHandler(Tests::onError)
+                .spiesSimulateConnection(true)
+                .dirDeleteOnStart(true),
+            new Archive.Context()
+                .maxCatalogEntries(Common.MAX_CATALOG_ENTRIES)
+                .segmentFileLength(SEGMENT_LENGTH)
+                .segmentCompressionEnabled(true)
+                .deleteArchiveOnStart(true)
+                .archiveDir(archiveDir)
+                .fileSyncLevel(0)
+                .threadingMode(ArchiveThreadingMode.SHARED));
+
+        aeron = Aeron.connect();
+
+        aeronArchive = AeronArchive.connect(
+            new AeronArchive.Context()
+                .aeron(aeron));
+    }
+
+    @AfterEach
+    public void after()
+    {
+        CloseHelper.closeAll(aeronArchive, aeron, archivingMediaDriver);
+
+        archivingMediaDriver.archive().context().deleteDirectory();
+        archivingMediaDriver.mediaDriver().context().deleteDirectory();
+    }
+
+    @Test
+    @Timeout(10)
+    public void shouldReplayFromCompressedSegmentsThenTruncate()
+    {
+        final long recordingId = recordMessages();
+        final long stopPosition = aeronArchive.getStopPosition(recordingId);
+        final long lastSegmentBasePosition = AeronArchive.segmentFileBasePosition(
+            0L, stopPosition, TERM_LENGTH, SEGMENT_LENGTH);
+
+        for (long position = 0; position <= lastSegmentBasePosition; position += SEGMENT_LENGTH)
+        {
+            awaitCompressed(recordingId, position);
+        }
+
+        try (Subscription subscription = aeronArchive.replay(
+            recordingId, 0L, stopPosition, REPLAY_CHANNEL, REPLAY_STREAM_ID))
+        {
+            consume(subscription, MESSAGE_COUNT, MESSAGE_PREFIX);
+            assertEquals(stopPosition, subscription.imageAtIndex(0).position());
+        }
+
+        final long truncatePosition = SEGMENT_LENGTH + TERM_LENGTH;
+        aeronArchive.truncateRecording(recordingId, truncatePosition);
+
+        assertEquals(truncatePosition, aeronArchive.getStopPosition(recordingId));
+        assertTrue(new File(archiveDir, Archive.segmentFileName(recordingId, SEGMENT_LENGTH)).exists());
+        assertFalse(new File(archiveDir, Archive.compressedSegmentFileName(recordingId, SEGMENT_LENGTH)).exists());
+        assertFalse(new File(archiveDir, Archive.compressedSegmentFileName(recordingId, SEGMENT_LENGTH * 2L)).exists());
+
+        try (Subscription subscription = aeronArchive.replay(
+            recordingId, 0L, truncatePosition, REPLAY_CHANNEL, REPLAY_STREAM_ID))
+        {
+            consume(subscription, (int)(truncatePosition / ALIGNED_MESSAGE_LENGTH), MESSAGE_PREFIX);
+            assertEquals(truncatePosition, subscription.imageAtIndex(0).position());
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    public void shouldExtendRecordingFromCompressedLastSegment()
+    {
+        final long recordingId = recordMessages();
+        final long stopPosition = aeronArchive.getStopPosition(recordingId);
+        final long lastSegmentBasePosition = AeronArchive.segmentFileBasePosition(
+            0L, stopPosition, TERM_LENGTH, SEGMENT_LENGTH);
+        awaitCompressed(recordingId, lastSegmentBasePosition);
+
+        final String extendChannel = new ChannelUriStringBuilder()
+            .media("udp")
+            .endpoint("localhost:3333")
+            .initialPosition(stopPosition, initialTermId, TERM_LENGTH)
+            .build();
+
+        final int extendCount = 10;
+        final long extendSubscriptionId;
+        final long extendedStopPosition;
+
+        try (Publication publication = aeron.addExclusivePublication(extendChannel, STREAM_ID))
+        {
+            extendSubscriptionId = aeronArchive.extendRecording(
+                recordingId, RECORDED_CHANNEL, STREAM_ID, SourceLocation.LOCAL);
+
+            final CountersReader counters = aeron.countersReader();
+            final int counterId = Common.awaitRecordingCounterId(counters, publication.sessionId());
+
+            final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+            for (int i = MESSAGE_COUNT; i < MESSAGE_COUNT + extendCount; i++)
+            {
+                final int length = buffer.putStringWithoutLengthAscii(0, MESSAGE_PREFIX + i);
+                while (publication.offer(buffer, 0, length) <= 0)
+                {
+                    Thread.yield();
+                    Tests.checkInterruptStatus();
+                }
+            }
+
+            extendedStopPosition = publication.position();
+            awaitPosition(counters, counterId, extendedStopPosition);
+
+            aeronArchive.stopRecording(extendSubscriptionId);
+        }
+
+        while (aeronArchive.getStopPosition(recordingId) != extendedStopPosition)
+        {
+            Thread.yield();
+            Tests.checkInterruptStatus();
+        }
+
+        try (Subscription subscription = aeronArchive.replay(
+            recordingId, 0L, extendedStopPosition, REPLAY_CHANNEL, REPLAY_STREAM_ID))
+        {
+            consume(subscription, MESSAGE_COUNT + extendCount, MESSAGE_PREFIX);
+            assertEquals(extendedStopPosition, subscription.imageAtIndex(0).position());
+        }
+    }
+
+    private long recordMessages()
+    {
+        final long recordingId;
+
+        try (Publication publication = aeronArchive.addRecordedPublication(RECORDED_CHANNEL, STREAM_ID))
+        {
+            final CountersReader counters = aeron.countersReader();
+            final int counterId = Common.awaitRecordingCounterId(counters, publication.sessionId());
+            recordingId = RecordingPos.getRecordingId(counters, counterId);
+            initialTermId = publication.initialTermId();
+
+            offer(publication, MESSAGE_COUNT, MESSAGE_PREFIX);
+            assertEquals((long)MESSAGE_COUNT * ALIGNED_MESSAGE_LENGTH, publication.position());
+            awaitPosition(counters, counterId, publication.position());
+
+            aeronArchive.stopRecording(publication);
+        }
+
+        while (NULL_POSITION == aeronArchive.getStopPosition(recordingId))
+        {
+            Thread.yield();
+            Tests.checkInterruptStatus();
+        }
+
+        return recordingId;
+    }
+
+    private void awaitCompressed(final long recordingId, final long segmentBasePosition)
+    {
+        final File file = new File(archiveDir, Archive.segmentFileName(recordingId, segmentBasePosition));
+        final File compressedFile = new File(
+            archiveDir, Archive.compressedSegmentFileName(recordingId, segmentBasePosition));
+
+        while (file.exists() || !compressedFile.exists())
+        {
+            Thread.yield();
+            Tests.checkInterruptStatus();
+        }
+    }
+}